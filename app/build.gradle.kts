@@ -1,5 +1,16 @@
 import java.util.Properties
 import java.io.FileInputStream
+import groovy.json.JsonSlurper
+
+// 빌드 시점 레시피 DB 생성용 (SQLite JDBC)
+buildscript {
+    repositories {
+        mavenCentral()
+    }
+    dependencies {
+        classpath("org.xerial:sqlite-jdbc:3.46.1.3")
+    }
+}
 
 plugins {
     alias(libs.plugins.android.application)
@@ -17,6 +28,14 @@ if (localPropertiesFile.exists()) {
 val openaiApiKey: String = localProperties.getProperty("OPENAI_API_KEY") ?: ""
 val geminiApiKey: String = localProperties.getProperty("GEMINI_API_KEY") ?: ""
 
+// 번들 레시피 CSV의 SHA-256 (hex)
+// 앱은 실행할 때마다 CSV 전체를 해시하지 않고 BuildConfig 값을 recipe_dataset에 저장된 값과 비교 (RecipeDatasetSync)
+// 빌드 시점 DB의 recipe_dataset에도 같은 값을 저장
+val recipesCsv = file("src/main/assets/recipes.csv")
+val recipesCsvChecksum: String = java.security.MessageDigest.getInstance("SHA-256")
+    .digest(recipesCsv.readBytes())
+    .joinToString("") { "%02x".format(it) }
+
 android {
     namespace = "com.example.makefoods"
     compileSdk = 35
@@ -33,6 +52,14 @@ android {
         // BuildConfig에 API 키 추가
         buildConfigField("String", "OPENAI_API_KEY", "\"$openaiApiKey\"")
         buildConfigField("String", "GEMINI_API_KEY", "\"$geminiApiKey\"")
+        buildConfigField("String", "RECIPES_CSV_SHA256", "\"$recipesCsvChecksum\"")
+
+        // Room 스키마 JSON 내보내기 (빌드 시점 레시피 DB 생성에 사용)
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
 
     // BuildConfig 기능 활성화
@@ -54,6 +81,11 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+
+    // 로컬 단위 테스트(app/src/test)에서 android.util.Log 같은 프레임워크 호출은 기본값 반환
+    testOptions {
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 // 버전 강제 고정
@@ -113,4 +145,453 @@ dependencies {
     // Room Database (로컬 데이터베이스)
     implementation("androidx.room:room-runtime:2.6.1")
     annotationProcessor("androidx.room:room-compiler:2.6.1")
+
+    // Paging 3 (레시피 검색 결과 페이지 단위 로딩, RecipePagingSource)
+    implementation("androidx.paging:paging-runtime:3.3.2")
+    implementation("androidx.paging:paging-guava:3.3.2")
+}
+
+
+// ===== 빌드 시점 레시피 DB 생성 =====
+//
+// assets/recipes.csv → Room 스키마와 동일한 SQLite 파일(databases/makefoods.db)
+// 앱은 Room createFromAsset()으로 이 파일을 복사해서 열기 때문에
+// 기기에서 CSV 파싱 / 2000개 INSERT를 하지 않아도 됨
+//
+// 스키마는 Room이 내보낸 schemas/<버전>.json의 createSql을 그대로 사용하고
+// recipes 테이블 컬럼이 아래 매핑과 다르거나 행 개수가 예상과 다르면 빌드 실패
+//
+// 파생 테이블(recipe_ingredients, recipe_name_trigrams, recipe_signatures, recipe_lsh_bands)도 여기서 채움
+// 규칙을 따로 옮기지 않고 컴파일된 앱 클래스(RecipeDerivedRows)를 불러서 기기와 같은 행을 만듦
+// → recipe_dataset.derivedIndexVersion = RecipeIndexBuilder.CURRENT_VERSION, 기기에서는 재생성하지 않음
+//
+// 이름 자동완성 색인(indexes/recipe_name_index.bin), 설명/조리 단계 검색 색인(indexes/recipe_text_index.bin) 파일도
+// 같은 방식으로 RecipeNameIndexSnapshot, RecipeTextIndexSnapshot을 불러서 생성
+// 헤더에 recipe_dataset과 같은 버전/갱신 시각을 기록 → 기기의 RecipeNameIndex, RecipeTextIndex는 데이터셋이 그대로면 읽기만 함
+
+abstract class BuildRecipeDatabaseTask : DefaultTask() {
+
+    @get:InputFile
+    abstract val csvFile: RegularFileProperty
+
+    @get:InputDirectory
+    abstract val schemaDir: DirectoryProperty
+
+    // csvFile의 SHA-256 (BuildConfig.RECIPES_CSV_SHA256과 같은 값)
+    @get:Input
+    abstract val csvChecksum: Property<String>
+
+    // 컴파일된 앱 클래스 (RecipeDerivedRows, RecipeIndexBuilder.CURRENT_VERSION, 색인 스냅샷 클래스)
+    @get:Classpath
+    abstract val appClasses: ConfigurableFileCollection
+
+    // CSV에 들어있어야 하는 레시피 개수 (CSV를 바꾸면 같이 수정)
+    @get:Input
+    abstract val expectedRowCount: Property<Int>
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    // recipes 테이블 컬럼 → CSV 값 매핑 (Recipe 엔티티와 RecipeCsvLoader의 파싱 규칙과 동일해야 함)
+    private val columnMapping: Map<String, (Map<String, String>) -> Any?> = linkedMapOf(
+        "recipeId" to { row -> row.getValue("RCP_SNO").javaTrim().toInt() },
+        "name" to { row -> row.getValue("RCP_TTL").javaTrim() },
+        "ingredients" to { row -> row.getValue("CKG_MTRL_CN").javaTrim() },
+        "cookingSteps" to { row -> row.getValue("COOKING_STEPS").javaTrim() },
+        "cookingTime" to { row -> row.getValue("CKG_TIME_NM").javaTrim() },
+        "difficulty" to { row -> row.getValue("CKG_DODF_NM").javaTrim() },
+        "imageUrl" to { row -> row.getValue("RCP_IMG_URL").javaTrim() },
+        "description" to { row -> row.getValue("CKG_IPDC").javaTrim() },
+        "dishName" to { row -> row.getValue("CKG_NM").javaTrim() },
+        "viewCount" to { row -> row.getValue("INQ_CNT").javaTrim().toIntOrNull() ?: 0 },
+        "recommendCount" to { row -> row.getValue("RCMM_CNT").javaTrim().toIntOrNull() ?: 0 },
+        "scrapCount" to { row -> row.getValue("SRAP_CNT").javaTrim().toIntOrNull() ?: 0 },
+        "cookingMethod" to { row -> row.getValue("CKG_MTH_ACTO_NM").javaTrim() },
+        "cookingSituation" to { row -> row.getValue("CKG_STA_ACTO_NM").javaTrim() },
+        "mainMaterial" to { row -> row.getValue("CKG_MTRL_ACTO_NM").javaTrim() },
+        "dishKind" to { row -> row.getValue("CKG_KND_ACTO_NM").javaTrim() },
+        "servings" to { row -> parseServings(row.getValue("CKG_INBUN_NM").javaTrim()) },
+        "registeredAt" to { row -> parseRegisteredAt(row.getValue("FIRST_REG_DT").javaTrim()) },
+        "cookingMinutes" to { row -> parseCookingMinutes(row.getValue("CKG_TIME_NM").javaTrim()) },
+        "difficultyLevel" to { row -> parseDifficultyLevel(row.getValue("CKG_DODF_NM").javaTrim()) },
+        "contentHash" to { row -> contentHash(row) },
+        "datasetVersion" to { _ -> DATASET_VERSION }
+    )
+
+    // Java String.trim()과 같은 규칙 (' ' 이하 제어문자까지 제거, CKG_MTRL_CN 끝의 \u0007 포함)
+    private fun String.javaTrim(): String = trim { it <= ' ' }
+
+    // RecipeCsvLoader.parseServings()와 같은 규칙 ("6인분이상" → 6, 빈 값 → 0)
+    private fun parseServings(text: String): Int =
+        text.takeWhile { it in '0'..'9' }.fold(0) { acc, c -> acc * 10 + (c - '0') }
+
+    // RecipeCsvLoader.parseRegisteredAt()와 같은 규칙 (한국 시간 yyyyMMddHHmmss → 밀리초, 실패시 0)
+    private fun parseRegisteredAt(text: String): Long = try {
+        java.time.LocalDateTime.parse(text, java.time.format.DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+            .atZone(java.time.ZoneId.of("Asia/Seoul"))
+            .toInstant()
+            .toEpochMilli()
+    } catch (e: java.time.format.DateTimeParseException) {
+        0L
+    }
+
+    // RecipeCsvLoader.parseCookingMinutes()와 같은 규칙 ("30분이내" → 30, "2시간이상" → 121, 빈 값 → 0)
+    private fun parseCookingMinutes(text: String): Int {
+        val digits = text.takeWhile { it in '0'..'9' }
+        if (digits.isEmpty()) return 0
+        val value = digits.toInt()
+        val minutes = if (text.startsWith("시간", digits.length)) value * 60 else value
+        return if (text.endsWith("이상")) minutes + 1 else minutes
+    }
+
+    // RecipeCsvLoader.parseDifficultyLevel()과 같은 규칙 (Recipe.DIFFICULTY_*)
+    private fun parseDifficultyLevel(text: String): Int = when (text) {
+        "아무나" -> 1
+        "초급" -> 2
+        "중급" -> 3
+        "고급" -> 4
+        else -> 0
+    }
+
+    // RecipeCsvLoader.contentHash()와 같은 FNV-1a 64비트 해시 (같은 필드, 같은 순서)
+    private fun contentHash(row: Map<String, String>): Long {
+        val fields = listOf("RCP_TTL", "CKG_MTRL_CN", "COOKING_STEPS", "CKG_TIME_NM", "CKG_DODF_NM", "RCP_IMG_URL", "CKG_IPDC", "CKG_NM")
+            .map { row.getValue(it).javaTrim() } +
+            listOf("INQ_CNT", "RCMM_CNT", "SRAP_CNT").map { (row.getValue(it).javaTrim().toIntOrNull() ?: 0).toString() } +
+            listOf("CKG_MTH_ACTO_NM", "CKG_STA_ACTO_NM", "CKG_MTRL_ACTO_NM", "CKG_KND_ACTO_NM").map { row.getValue(it).javaTrim() } +
+            parseServings(row.getValue("CKG_INBUN_NM").javaTrim()).toString() +
+            parseRegisteredAt(row.getValue("FIRST_REG_DT").javaTrim()).toString() +
+            parseCookingMinutes(row.getValue("CKG_TIME_NM").javaTrim()).toString() +
+            parseDifficultyLevel(row.getValue("CKG_DODF_NM").javaTrim()).toString()
+
+        var hash = -3750763034362895579L  // 0xcbf29ce484222325
+        for (field in fields) {
+            for (ch in field) {
+                hash = (hash xor ch.code.toLong()) * 1099511628211L
+            }
+            hash = (hash xor 0x1FL) * 1099511628211L
+        }
+        return hash
+    }
+
+    @TaskAction
+    fun build() {
+        // ===== Room 스키마 읽기 (가장 높은 버전) =====
+        val schemaFile = schemaDir.get().asFile
+            .resolve("com.example.makefoods.database.AppDatabase")
+            .listFiles { f -> f.extension == "json" }
+            ?.maxByOrNull { it.nameWithoutExtension.toInt() }
+            ?: throw GradleException("Room 스키마 JSON이 없습니다: ${schemaDir.get().asFile}")
+
+        @Suppress("UNCHECKED_CAST")
+        val database = (JsonSlurper().parse(schemaFile) as Map<String, Any?>)["database"] as Map<String, Any?>
+        val version = (database["version"] as Number).toInt()
+
+        @Suppress("UNCHECKED_CAST")
+        val entities = database["entities"] as List<Map<String, Any?>>
+
+        // ===== 스키마 드리프트 검사 =====
+        val recipeEntity = entities.firstOrNull { it["tableName"] == "recipes" }
+            ?: throw GradleException("스키마에 recipes 테이블이 없습니다")
+
+        @Suppress("UNCHECKED_CAST")
+        val recipeColumns = (recipeEntity["fields"] as List<Map<String, Any?>>).map { it["columnName"] as String }
+        val mapping = columnMapping
+
+        if (recipeColumns.toSet() != mapping.keys) {
+            throw GradleException(
+                "Recipe 엔티티와 빌드 매핑이 다릅니다\n" +
+                    "엔티티에만 있음: ${recipeColumns - mapping.keys}\n" +
+                    "매핑에만 있음: ${mapping.keys - recipeColumns.toSet()}"
+            )
+        }
+
+        // ===== DB 파일 생성 =====
+        val dbFile = outputDir.get().asFile.resolve("databases/makefoods.db")
+        dbFile.parentFile.mkdirs()
+        dbFile.delete()
+
+        var derivedCounts = emptyMap<String, Int>()
+        // recipe_dataset.updatedAt (색인 파일 헤더에도 같은 값을 기록)
+        val datasetUpdatedAt = System.currentTimeMillis()
+        org.sqlite.JDBC().connect("jdbc:sqlite:${dbFile.absolutePath}", Properties())!!.use { conn ->
+            conn.createStatement().use { st ->
+                // 테이블, 인덱스, FTS 동기화 트리거, 뷰를 Room과 똑같이 생성
+                for (entity in entities) {
+                    val table = entity["tableName"] as String
+                    st.execute((entity["createSql"] as String).replace("\${TABLE_NAME}", table))
+
+                    @Suppress("UNCHECKED_CAST")
+                    for (index in (entity["indices"] as List<Map<String, Any?>>?).orEmpty()) {
+                        st.execute((index["createSql"] as String).replace("\${TABLE_NAME}", table))
+                    }
+
+                    @Suppress("UNCHECKED_CAST")
+                    for (trigger in (entity["contentSyncTriggers"] as List<String>?).orEmpty()) {
+                        st.execute(trigger)
+                    }
+                }
+
+                @Suppress("UNCHECKED_CAST")
+                for (view in (database["views"] as List<Map<String, Any?>>?).orEmpty()) {
+                    st.execute((view["createSql"] as String).replace("\${VIEW_NAME}", view["viewName"] as String))
+                }
+
+                // room_master_table + identity hash
+                @Suppress("UNCHECKED_CAST")
+                for (query in database["setupQueries"] as List<String>) {
+                    st.execute(query)
+                }
+            }
+
+            // ===== CSV → recipes =====
+            conn.autoCommit = false
+            val columns = mapping.keys.toList()
+            val insertSql = "INSERT INTO recipes (" + columns.joinToString(",") { "`$it`" } + ") VALUES (" +
+                columns.joinToString(",") { "?" } + ")"
+
+            var inserted = 0
+            val derivedSources = mutableListOf<Triple<Int, String, String>>()   // recipeId, name, ingredients
+            conn.prepareStatement(insertSql).use { insert ->
+                csvFile.get().asFile.bufferedReader(Charsets.UTF_8).use { reader ->
+                    val records = readCsvRecords(reader)
+                    val header = records.firstOrNull()?.map { it.removePrefix("\uFEFF").javaTrim() }
+                        ?: throw GradleException("CSV가 비어있습니다")
+
+                    for ((lineIndex, record) in records.drop(1).withIndex()) {
+                        if (record.size != header.size) {
+                            throw GradleException("CSV ${lineIndex + 2}번째 레코드: 필드 개수 ${record.size}/${header.size}")
+                        }
+                        val row = header.zip(record).toMap()
+                        columns.forEachIndexed { i, column -> insert.setObject(i + 1, mapping.getValue(column)(row)) }
+                        insert.addBatch()
+                        derivedSources.add(Triple(
+                            mapping.getValue("recipeId")(row) as Int,
+                            mapping.getValue("name")(row) as String,
+                            mapping.getValue("ingredients")(row) as String
+                        ))
+                        inserted++
+                    }
+                }
+                insert.executeBatch()
+            }
+
+            // ===== 파생 테이블 =====
+            val (derivedVersion, counts) = insertDerivedRows(conn, entities, derivedSources)
+            derivedCounts = counts
+
+            // 반영된 CSV 체크섬 (앱에서 BuildConfig.RECIPES_CSV_SHA256과 비교, RecipeDatasetSync)
+            // 파생 테이블 버전도 저장 → 기기의 RecipeIndexBuilder는 CURRENT_VERSION이 올라간 앱 업데이트 때만 재생성
+            val checksum = csvChecksum.get()
+            conn.prepareStatement("INSERT INTO recipe_dataset (id, assetChecksum, version, updatedAt, derivedIndexVersion) VALUES (0, ?, ?, ?, ?)").use { st ->
+                st.setString(1, checksum)
+                st.setInt(2, DATASET_VERSION)
+                st.setLong(3, datasetUpdatedAt)
+                st.setInt(4, derivedVersion)
+                st.executeUpdate()
+            }
+
+            conn.commit()
+            conn.autoCommit = true
+
+            // ===== 행 개수 검증 =====
+            val count = conn.createStatement().use { st ->
+                st.executeQuery("SELECT COUNT(*) FROM recipes").use { rs -> rs.next(); rs.getInt(1) }
+            }
+            if (count != expectedRowCount.get() || inserted != count) {
+                throw GradleException("레시피 개수가 예상과 다릅니다: CSV $inserted, DB $count, 예상 ${expectedRowCount.get()}")
+            }
+
+            conn.createStatement().use { st ->
+                // FTS 색인은 INSERT 트리거로 채워졌으므로 세그먼트를 하나로 합침 (검색 속도, 파일 크기)
+                for (entity in entities.filter { it["ftsVersion"] != null }) {
+                    val table = entity["tableName"] as String
+                    st.execute("INSERT INTO `$table`(`$table`) VALUES ('optimize')")
+                }
+
+                st.execute("PRAGMA user_version = $version")
+                st.execute("ANALYZE")
+                st.execute("VACUUM")
+            }
+
+            // ===== 색인 파일 =====
+            writeIndexFiles(conn, datasetUpdatedAt)
+        }
+
+        logger.lifecycle("레시피 DB 생성 완료: ${dbFile.name} (스키마 v$version, 레시피 ${expectedRowCount.get()}개, 파생 테이블 $derivedCounts)")
+    }
+
+    // 앱의 RecipeNameIndexSnapshot, RecipeTextIndexSnapshot으로 색인 파일 생성
+    // 기기의 RecipeNameIndex.build(), RecipeTextIndex.build()와 같은 입력 (recipeId 순서의 DB 값)
+    private fun writeIndexFiles(conn: java.sql.Connection, datasetUpdatedAt: Long) {
+        val recipeIds = mutableListOf<Int>()
+        val names = mutableListOf<String>()
+        val descriptions = mutableListOf<String?>()
+        val cookingSteps = mutableListOf<String?>()
+        conn.createStatement().use { st ->
+            st.executeQuery("SELECT recipeId, name, description, cookingSteps FROM recipes ORDER BY recipeId").use { rs ->
+                while (rs.next()) {
+                    recipeIds.add(rs.getInt(1))
+                    names.add(rs.getString(2) ?: "")
+                    descriptions.add(rs.getString(3))
+                    cookingSteps.add(rs.getString(4))
+                }
+            }
+        }
+
+        val indexDir = outputDir.get().asFile.resolve("indexes")
+        indexDir.mkdirs()
+
+        val urls = appClasses.files.map { it.toURI().toURL() }.toTypedArray()
+        java.net.URLClassLoader(urls, ClassLoader.getPlatformClassLoader()).use { loader ->
+            val nameIndexClass = loader.loadClass("com.example.makefoods.database.RecipeNameIndexSnapshot")
+            val nameIndex = nameIndexClass.getMethod("create", IntArray::class.java, Array<String>::class.java)
+                .invoke(null, recipeIds.toIntArray(), names.toTypedArray())
+            writeIndexFile(indexDir.resolve("recipe_name_index.bin"), nameIndex, datasetUpdatedAt)
+
+            val textBuilderClass = loader.loadClass("com.example.makefoods.database.RecipeTextIndexSnapshot\$Builder")
+            val textBuilder = textBuilderClass.getConstructor().newInstance()
+            val addText = textBuilderClass.getMethod("add", Int::class.javaPrimitiveType, String::class.java, String::class.java)
+            recipeIds.forEachIndexed { i, recipeId -> addText.invoke(textBuilder, recipeId, descriptions[i], cookingSteps[i]) }
+            val textIndex = textBuilderClass.getMethod("build").invoke(textBuilder)
+            writeIndexFile(indexDir.resolve("recipe_text_index.bin"), textIndex, datasetUpdatedAt)
+        }
+    }
+
+    // 색인 스냅샷의 writeTo(OutputStream, 데이터셋 버전, 갱신 시각) 호출
+    private fun writeIndexFile(file: java.io.File, index: Any, datasetUpdatedAt: Long) {
+        file.outputStream().buffered().use { out ->
+            index.javaClass.getMethod("writeTo", java.io.OutputStream::class.java, Int::class.javaPrimitiveType, Long::class.javaPrimitiveType)
+                .invoke(index, out, DATASET_VERSION, datasetUpdatedAt)
+        }
+    }
+
+    // 앱의 RecipeDerivedRows로 파생 테이블 행을 만들어서 저장
+    // @return 파생 테이블 버전 (RecipeIndexBuilder.CURRENT_VERSION), 테이블별 행 수
+    private fun insertDerivedRows(
+        conn: java.sql.Connection,
+        entities: List<Map<String, Any?>>,
+        recipes: List<Triple<Int, String, String>>
+    ): Pair<Int, Map<String, Int>> {
+        val urls = appClasses.files.map { it.toURI().toURL() }.toTypedArray()
+        java.net.URLClassLoader(urls, ClassLoader.getPlatformClassLoader()).use { loader ->
+            val derivedVersion = loader.loadClass("com.example.makefoods.database.RecipeIndexBuilder")
+                .getField("CURRENT_VERSION").getInt(null)
+            val addRows = loader.loadClass("com.example.makefoods.database.RecipeDerivedRows").getMethod(
+                "add", Int::class.javaPrimitiveType, String::class.java, String::class.java,
+                List::class.java, List::class.java, List::class.java, List::class.java
+            )
+
+            // RecipeDerivedRows.add의 목록 순서와 같음
+            val rowsByTable = linkedMapOf<String, MutableList<Any>>(
+                "recipe_ingredients" to mutableListOf(),
+                "recipe_name_trigrams" to mutableListOf(),
+                "recipe_signatures" to mutableListOf(),
+                "recipe_lsh_bands" to mutableListOf()
+            )
+            val lists = rowsByTable.values.toList()
+            for ((recipeId, name, ingredients) in recipes) {
+                addRows.invoke(null, recipeId, name, ingredients, lists[0], lists[1], lists[2], lists[3])
+            }
+
+            for ((table, rows) in rowsByTable) {
+                insertEntityRows(conn, entities, table, rows)
+            }
+            return derivedVersion to rowsByTable.mapValues { it.value.size }
+        }
+    }
+
+    // 엔티티 객체를 Room 스키마의 필드(fieldPath → columnName) 순서대로 INSERT
+    private fun insertEntityRows(conn: java.sql.Connection, entities: List<Map<String, Any?>>, table: String, rows: List<Any>) {
+        if (rows.isEmpty()) return
+
+        val entity = entities.firstOrNull { it["tableName"] == table }
+            ?: throw GradleException("스키마에 $table 테이블이 없습니다")
+
+        @Suppress("UNCHECKED_CAST")
+        val fields = entity["fields"] as List<Map<String, Any?>>
+        val rowClass = rows.first().javaClass
+        val javaFields = fields.map { field ->
+            val path = field["fieldPath"] as String
+            try {
+                rowClass.getField(path)
+            } catch (e: NoSuchFieldException) {
+                throw GradleException("$table: ${rowClass.simpleName}에 public 필드 $path 가 없습니다")
+            }
+        }
+
+        val sql = "INSERT INTO `$table` (" + fields.joinToString(",") { "`${it["columnName"]}`" } + ") VALUES (" +
+            fields.joinToString(",") { "?" } + ")"
+        conn.prepareStatement(sql).use { insert ->
+            for (row in rows) {
+                javaFields.forEachIndexed { i, javaField -> insert.setObject(i + 1, javaField.get(row)) }
+                insert.addBatch()
+            }
+            insert.executeBatch()
+        }
+    }
+
+    companion object {
+        // 빌드 시점 DB의 recipe_dataset.version, recipes.datasetVersion
+        private const val DATASET_VERSION = 1
+    }
+
+    // 따옴표 안의 줄바꿈까지 처리하는 CSV 레코드 리더
+    private fun readCsvRecords(reader: java.io.Reader): List<List<String>> {
+        val records = mutableListOf<List<String>>()
+        var fields = mutableListOf<String>()
+        val field = StringBuilder()
+        var insideQuotes = false
+        var c = reader.read()
+
+        while (c != -1) {
+            val ch = c.toChar()
+            if (insideQuotes) {
+                if (ch == '"') {
+                    val next = reader.read()
+                    if (next == '"'.code) {
+                        field.append('"')
+                    } else {
+                        insideQuotes = false
+                        c = next
+                        continue
+                    }
+                } else {
+                    field.append(ch)
+                }
+            } else when (ch) {
+                '"' -> insideQuotes = true
+                ',' -> { fields.add(field.toString()); field.setLength(0) }
+                '\r' -> {}
+                '\n' -> {
+                    fields.add(field.toString()); field.setLength(0)
+                    records.add(fields); fields = mutableListOf()
+                }
+                else -> field.append(ch)
+            }
+            c = reader.read()
+        }
+        if (field.isNotEmpty() || fields.isNotEmpty()) {
+            fields.add(field.toString())
+            records.add(fields)
+        }
+        return records
+    }
+}
+
+androidComponents {
+    onVariants { variant ->
+        val variantName = variant.name.replaceFirstChar { it.uppercase() }
+        val buildRecipeDb = tasks.register<BuildRecipeDatabaseTask>("build${variantName}RecipeDatabase") {
+            csvFile.set(layout.projectDirectory.file("src/main/assets/recipes.csv"))
+            csvChecksum.set(recipesCsvChecksum)
+            schemaDir.set(layout.projectDirectory.dir("schemas"))
+            expectedRowCount.set(2001)
+            // 스키마 JSON은 Room 어노테이션 프로세서(javac)가 생성, 파생 테이블은 javac 출력 클래스로 생성
+            dependsOn("compile${variantName}JavaWithJavac")
+            appClasses.from(tasks.named("compile${variantName}JavaWithJavac", JavaCompile::class.java)
+                .flatMap { it.destinationDirectory })
+        }
+        variant.sources.assets?.addGeneratedSourceDirectory(buildRecipeDb, BuildRecipeDatabaseTask::outputDir)
+    }
 }
@@ -0,0 +1,152 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeFtsMatch;
+import com.example.makefoods.model.RecipeSummary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * recipes_fts 검색 시간 측정 (기기에서 실행)
+ *
+ * 메모리 DB에 가짜 레시피를 2천 개, 20만 개 넣고
+ * 전문 검색(MATCH)과 예전 LIKE '%...%' 검색의 중앙값 시간을 비교
+ * 결과는 logcat(RecipeFtsLatencyTest)으로 출력
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecipeFtsLatencyTest {
+
+    private static final String TAG = "RecipeFtsLatencyTest";
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 15;
+
+    // 몇 개 레시피에만 들어가는 이름 단어 (선택도가 높은 검색)
+    private static final String RARE_WORD = "송이비법덮밥";
+    private static final int RARE_EVERY = 10_000;
+
+    private static final String[] MAINS = {
+            "김치", "돼지고기", "소고기", "닭", "두부", "감자", "계란", "어묵", "오징어", "버섯",
+            "애호박", "콩나물", "참치", "새우", "떡", "고등어"
+    };
+    private static final String[] DISHES = {
+            "찌개", "볶음", "조림", "국", "전", "무침", "구이", "덮밥", "볶음밥", "샐러드", "튀김"
+    };
+
+    private AppDatabase database;
+    private RecipeDao recipeDao;
+
+    @Before
+    public void createDatabase() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        recipeDao = database.recipeDao();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+
+    @Test
+    public void fullTextSearchWith2kRecipes() {
+        measure(2_000);
+    }
+
+    @Test
+    public void fullTextSearchWith200kRecipes() {
+        measure(200_000);
+    }
+
+
+    private void measure(int recipeCount) {
+        long insertStart = System.nanoTime();
+        insertRecipes(recipeCount);
+        Log.d(TAG, recipeCount + "개 저장: " + (System.nanoTime() - insertStart) / 1_000_000 + "ms");
+
+        // ===== 선택도가 높은 검색: FTS가 LIKE 전체 훑기보다 빨라야 함 =====
+        String rareQuery = RecipeFtsQuery.build(RARE_WORD, RecipeFtsQuery.COLUMN_NAME);
+        int expectedRare = (recipeCount + RARE_EVERY - 1) / RARE_EVERY;
+
+        assertEquals(expectedRare, recipeDao.matchFullText(rareQuery).size());
+        assertEquals(expectedRare, recipeDao.searchSummariesByName(RARE_WORD).size());
+
+        long ftsRare = medianMicros(() -> recipeDao.matchFullText(rareQuery));
+        long likeRare = medianMicros(() -> recipeDao.searchSummariesByName(RARE_WORD));
+
+        // ===== 흔한 단어 두 개 (일치 행이 많아서 matchinfo 점수 계산 비용 포함) =====
+        String commonQuery = RecipeFtsQuery.build("김치 찌개", null);
+        List<RecipeFtsMatch> commonMatches = recipeDao.matchFullText(commonQuery);
+        List<RecipeSummary> commonLike = recipeDao.searchSummariesByName("김치 찌개");
+        assertTrue(commonMatches.size() >= commonLike.size());
+
+        long ftsCommon = medianMicros(() -> {
+            for (RecipeFtsMatch match : recipeDao.matchFullText(commonQuery)) {
+                RecipeFtsQuery.score(match.matchInfo);
+            }
+        });
+        long likeCommon = medianMicros(() -> recipeDao.searchSummariesByName("김치 찌개"));
+
+        Log.d(TAG, recipeCount + "개 / 드문 단어(" + expectedRare + "개 일치): FTS " + ftsRare
+                + "us, LIKE " + likeRare + "us / 흔한 단어(" + commonMatches.size() + "개 일치): FTS+점수 "
+                + ftsCommon + "us, LIKE " + likeCommon + "us");
+
+        if (recipeCount >= 100_000) {
+            assertTrue("FTS " + ftsRare + "us / LIKE " + likeRare + "us", ftsRare < likeRare);
+        }
+    }
+
+    private void insertRecipes(int recipeCount) {
+        int batchSize = 1000;
+        for (int start = 0; start < recipeCount; start += batchSize) {
+            int end = Math.min(recipeCount, start + batchSize);
+            List<Recipe> batch = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                batch.add(syntheticRecipe(i));
+            }
+            database.runInTransaction(() -> recipeDao.insertRecipes(batch));
+        }
+    }
+
+    // recipes.csv와 같은 형식의 재료 문자열 (이름\u0007분량\u0007단위\u0007| ...)
+    private static Recipe syntheticRecipe(int index) {
+        String main = MAINS[index % MAINS.length];
+        String dish = DISHES[(index / MAINS.length) % DISHES.length];
+        String side = MAINS[(index * 7 + 3) % MAINS.length];
+
+        String name = (index % RARE_EVERY == 0 ? RARE_WORD + " " : "") + main + " " + dish + " " + index;
+        String ingredients = "[재료] " + main + "\u0007200\u0007g\u0007| " + side + "\u00071\u0007개\u0007"
+                + " [양념] 간장\u00071\u0007큰술\u0007| 다진마늘\u00070.5\u0007큰술\u0007";
+        String description = main + "와 " + side + "로 만드는 간단한 " + dish + " 레시피";
+
+        return new Recipe(index + 1, name, ingredients, "1. 재료를 손질한다.", "30분 이내", "초급", "", description);
+    }
+
+    private static long medianMicros(Runnable search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.run();
+        }
+        long[] micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            search.run();
+            micros[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(micros);
+        return micros[MEASURED_RUNS / 2];
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.makefoods.data.recipe;
+
+import android.util.Log;
+import androidx.room.InvalidationTracker;
+import com.example.makefoods.database.AppDatabase;
+import com.example.makefoods.database.RecipeDao;
+import com.example.makefoods.database.RecipeIngredientParser;
+import com.example.makefoods.model.RecipeIngredientName;
+import com.example.makefoods.model.RecipePopularity;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IngredientBitmapIndex
+ *
+ * 재료 이름 → 레시피 집합(RecipeBitmap) 메모리 색인
+ * "냉장고 재료로 뭘 만들 수 있지?" 검색을 DB 조회 없이 비트맵 연산으로 처리
+ *
+ * 구조:
+ * - 레시피마다 순번(ordinal) 부여 (recipeId 오름차순, 0부터)
+ * - 정규화된 재료 이름(recipe_ingredients.name)마다 그 재료가 들어간 레시피 순번의 비트맵
+ * - 재료 이름은 정렬해서 저장 → 이진 탐색으로 조회 (IngredientNormalizer로 정규화한 이름이 같을 때만 일치)
+ * - 순번별 재료 개수, 인기도 (RecipeRanker 점수 계산용)
+ *
+ * 갱신:
+ * - 첫 검색 때 recipes, recipe_ingredients를 읽어서 생성
+ * - 두 테이블이 바뀌면 (InvalidationTracker) 다음 검색 때 다시 생성
+ *   감지 등록은 첫 snapshot() 때 (검색하는 백그라운드 스레드에서, 메인 스레드에서 생성돼도 괜찮음)
+ *
+ * 앱 전체에서 하나만 사용 (getInstance)
+ * 검색은 불변 스냅샷(Snapshot)으로 처리하므로 여러 스레드에서 동시에 호출 가능
+ * 순번은 같은 스냅샷 안에서만 의미가 있으므로 한 번의 검색에는 snapshot()을 한 번만 호출해서 사용
+ */
+public class IngredientBitmapIndex {
+
+    private static final String TAG = "IngredientBitmapIndex";
+
+    private static IngredientBitmapIndex instance;
+
+    private final AppDatabase database;
+    private final RecipeDao recipeDao;
+    private volatile boolean observerRegistered;
+
+    // 재생성 필요 여부 (recipes, recipe_ingredients가 바뀌면 true)
+    private volatile boolean stale = true;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+
+    public static synchronized IngredientBitmapIndex getInstance(AppDatabase database) {
+        if (instance == null) {
+            instance = new IngredientBitmapIndex(database);
+        }
+        return instance;
+    }
+
+    private IngredientBitmapIndex(AppDatabase database) {
+        this.database = database;
+        this.recipeDao = database.recipeDao();
+    }
+
+
+    /**
+     * 현재 색인 (최신이 아니면 이 호출에서 다시 생성)
+     * DB를 읽을 수 있으므로 백그라운드 스레드에서 호출
+     */
+    public Snapshot snapshot() {
+        registerObserverIfNeeded();
+
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    // 생성 중에 바뀌면 다음 검색 때 다시 생성하도록 먼저 표시를 지움
+                    stale = false;
+                    snapshot = build();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+
+    /**
+     * 테이블 변경 감지 등록 (처음 한 번만)
+     * addObserver는 DB 트리거를 만들 수 있으므로 생성자가 아니라 첫 검색 스레드에서 실행
+     * 처음에는 stale이 true라서 등록이 끝난 뒤 생성하므로 놓치는 변경은 없음
+     */
+    private void registerObserverIfNeeded() {
+        if (observerRegistered) {
+            return;
+        }
+        synchronized (this) {
+            if (!observerRegistered) {
+                // 레시피나 재료 테이블이 바뀌면 다음 검색 때 다시 생성
+                database.getInvalidationTracker().addObserver(
+                        new InvalidationTracker.Observer("recipes", "recipe_ingredients") {
+                            @Override
+                            public void onInvalidated(Set<String> tables) {
+                                stale = true;
+                            }
+                        });
+                observerRegistered = true;
+            }
+        }
+    }
+
+    private Snapshot build() {
+        long startTime = System.currentTimeMillis();
+
+        // ===== 1. 레시피 순번 (recipeId 오름차순) + 인기도 =====
+        List<RecipePopularity> recipes = recipeDao.getAllRecipePopularity();
+        int[] recipeIds = new int[recipes.size()];
+        float[] popularity = new float[recipes.size()];
+
+        double maxScore = 0;
+        for (int i = 0; i < recipeIds.length; i++) {
+            RecipePopularity recipe = recipes.get(i);
+            recipeIds[i] = recipe.recipeId;
+            double score = popularityScore(recipe);
+            popularity[i] = (float) score;
+            maxScore = Math.max(maxScore, score);
+        }
+
+        // 0~1로 정규화
+        if (maxScore > 0) {
+            for (int i = 0; i < popularity.length; i++) {
+                popularity[i] = (float) (popularity[i] / maxScore);
+            }
+        }
+
+        // ===== 2. 재료별 비트맵 + 레시피별 재료 개수 =====
+        int[] ingredientCounts = new int[recipeIds.length];
+        Map<String, RecipeBitmap> bitmapsByName = new HashMap<>();
+
+        for (RecipeIngredientName row : recipeDao.getAllIngredientNames()) {
+            int ordinal = Arrays.binarySearch(recipeIds, row.recipeId);
+            if (ordinal < 0 || row.name == null) {
+                continue;
+            }
+
+            RecipeBitmap bitmap = bitmapsByName.get(row.name);
+            if (bitmap == null) {
+                bitmap = new RecipeBitmap();
+                bitmapsByName.put(row.name, bitmap);
+            }
+
+            // 한 레시피에 같은 재료가 두 번 나와도 (예: 양념용 소금, 밑간용 소금) 한 개로 셈
+            if (!bitmap.contains(ordinal)) {
+                bitmap.add(ordinal);
+                ingredientCounts[ordinal]++;
+            }
+        }
+
+        // ===== 3. 이름순 정렬 (이진 탐색용) =====
+        String[] names = bitmapsByName.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+
+        RecipeBitmap[] bitmaps = new RecipeBitmap[names.length];
+        long memoryBytes = 16 + recipeIds.length * 12L + names.length * 8L;
+        for (int i = 0; i < names.length; i++) {
+            bitmaps[i] = bitmapsByName.get(names[i]);
+            bitmaps[i].trim();
+            memoryBytes += bitmaps[i].sizeInBytes() + 40 + names[i].length() * 2L;
+        }
+
+        Log.d(TAG, "재료 색인 생성: 레시피 " + recipeIds.length + "개, 재료 " + names.length + "개, 약 "
+                + (memoryBytes / 1024) + "KB, " + (System.currentTimeMillis() - startTime) + "ms");
+
+        return new Snapshot(recipeIds, ingredientCounts, popularity, names, bitmaps, memoryBytes);
+    }
+
+    // 스크랩은 조회보다 강한 신호이므로 10배 가중, 조회수 분포가 넓어서 로그 스케일
+    private static double popularityScore(RecipePopularity recipe) {
+        return Math.log1p(Math.max(0, recipe.viewCount) + 10.0 * Math.max(0, recipe.scrapCount));
+    }
+
+
+    /**
+     * 한 번 만들어진 색인 (불변)
+     */
+    public static class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new int[0], new int[0], new float[0],
+                new String[0], new RecipeBitmap[0], 0);
+
+        private final int[] recipeIds;          // 순번 → recipeId
+        private final int[] ingredientCounts;   // 순번 → 재료 개수 (정규화한 이름 기준, 중복 제외)
+        private final float[] popularity;       // 순번 → 인기도 (0~1)
+        private final String[] names;           // 정렬된 재료 이름
+        private final RecipeBitmap[] bitmaps;   // names와 같은 순서
+        private final long memoryBytes;
+
+        Snapshot(int[] recipeIds, int[] ingredientCounts, float[] popularity,
+                 String[] names, RecipeBitmap[] bitmaps, long memoryBytes) {
+            this.recipeIds = recipeIds;
+            this.ingredientCounts = ingredientCounts;
+            this.popularity = popularity;
+            this.names = names;
+            this.bitmaps = bitmaps;
+            this.memoryBytes = memoryBytes;
+        }
+
+        /**
+         * 재료 하나가 들어간 레시피 (정규화한 이름이 같은 재료)
+         * 반환한 비트맵은 색인이 가지고 있는 것이므로 바꾸면 안 됨
+         */
+        public RecipeBitmap lookup(String ingredient) {
+            String name = RecipeIngredientParser.canonicalName(ingredient);
+            int index = name.isEmpty() ? -1 : Arrays.binarySearch(names, name);
+            return index >= 0 ? bitmaps[index] : new RecipeBitmap();
+        }
+
+        /**
+         * 재료 중 하나라도 들어간 레시피 (OR)
+         */
+        public RecipeBitmap union(List<String> ingredients) {
+            RecipeBitmap result = new RecipeBitmap();
+            for (String ingredient : ingredients) {
+                result = RecipeBitmap.or(result, lookup(ingredient));
+            }
+            return result;
+        }
+
+        /**
+         * 재료가 모두 들어간 레시피 (AND)
+         */
+        public RecipeBitmap intersection(List<String> ingredients) {
+            RecipeBitmap result = null;
+            for (String ingredient : ingredients) {
+                if (RecipeIngredientParser.canonicalName(ingredient).isEmpty()) {
+                    continue;
+                }
+                RecipeBitmap found = lookup(ingredient);
+                result = result == null ? found : RecipeBitmap.and(result, found);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result != null ? result : new RecipeBitmap();
+        }
+
+        /**
+         * 레시피 순번별로 검색 재료 중 몇 개가 들어있는지 (커버리지)
+         * 정규화한 이름이 같은 검색 재료는 한 번만 셈 (예: "달걀", "계란 2개")
+         *
+         * @return 길이 = 레시피 수, [순번] = 일치한 재료 수
+         */
+        public int[] coverage(List<String> ingredients) {
+            int[] counts = new int[recipeIds.length];
+            Set<String> seen = new HashSet<>();
+            for (String ingredient : ingredients) {
+                String name = RecipeIngredientParser.canonicalName(ingredient);
+                if (name.isEmpty() || !seen.add(name)) {
+                    continue;
+                }
+                lookup(ingredient).forEach(ordinal -> counts[ordinal]++);
+            }
+            return counts;
+        }
+
+        public int recipeCount() {
+            return recipeIds.length;
+        }
+
+        public int recipeIdAt(int ordinal) {
+            return recipeIds[ordinal];
+        }
+
+        public int ingredientCountAt(int ordinal) {
+            return ingredientCounts[ordinal];
+        }
+
+        public float popularityAt(int ordinal) {
+            return popularity[ordinal];
+        }
+
+        /**
+         * 색인의 대략적인 메모리 사용량 (바이트)
+         * 저사양 기기 메모리 예산 확인용
+         */
+        public long memoryBytes() {
+            return memoryBytes;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.makefoods.data.recipe;
+
+import java.util.Arrays;
+
+/**
+ * RecipeBitmap
+ *
+ * 레시피 순번(ordinal) 집합을 저장하는 압축 비트맵 (Roaring 방식)
+ *
+ * 구조:
+ * - 순번의 상위 16비트로 구간(container)을 나눔 (구간 하나 = 65536개 순번)
+ * - 구간 안의 값이 적으면 정렬된 char 배열 (값 1개 = 2바이트)
+ * - 4096개를 넘으면 65536비트 비트맵 (8KB 고정)
+ * → 드문 재료는 배열로 작게, 흔한 재료는 비트맵으로 빠르게 저장
+ *
+ * 불변 객체로 사용 (빌드가 끝난 뒤에는 add() 호출하지 않음)
+ * IngredientBitmapIndex에서 재료 → 레시피 집합을 저장하는 데 사용
+ */
+public class RecipeBitmap {
+
+    // 배열 → 비트맵 전환 기준 (이보다 많으면 비트맵이 더 작음: 4096 × 2바이트 = 8KB)
+    private static final int ARRAY_MAX_SIZE = 4096;
+
+    private static final int BITMAP_WORDS = 1024;   // 65536비트 / 64
+
+    private char[] keys = new char[0];              // 구간 번호 (상위 16비트), 오름차순
+    private Object[] containers = new Object[0];    // char[] (배열) 또는 long[] (비트맵)
+    private int[] containerSizes = new int[0];      // 구간별 원소 수
+    private int containerCount = 0;
+
+
+    // ===== 생성 =====
+
+    /**
+     * 순번 추가
+     * 오름차순으로 추가하면 항상 마지막 구간 끝에 붙이므로 빠름
+     */
+    public void add(int ordinal) {
+        char key = (char) (ordinal >>> 16);
+        char low = (char) ordinal;
+
+        int index = containerIndex(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key);
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] bitmap = (long[]) container;
+            long mask = 1L << low;
+            if ((bitmap[low >>> 6] & mask) == 0) {
+                bitmap[low >>> 6] |= mask;
+                containerSizes[index]++;
+            }
+            return;
+        }
+
+        char[] array = (char[]) container;
+        int size = containerSizes[index];
+
+        // 오름차순 추가면 끝에 붙임, 아니면 정렬 위치에 삽입
+        int position = size > 0 && array[size - 1] < low ? -(size + 1) : Arrays.binarySearch(array, 0, size, low);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+
+        if (size == ARRAY_MAX_SIZE) {
+            long[] bitmap = toBitmap(array, size);
+            bitmap[low >>> 6] |= 1L << low;
+            containers[index] = bitmap;
+            containerSizes[index] = size + 1;
+            return;
+        }
+
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.min(ARRAY_MAX_SIZE, Math.max(4, size * 2)));
+            containers[index] = array;
+        }
+        System.arraycopy(array, position, array, position + 1, size - position);
+        array[position] = low;
+        containerSizes[index] = size + 1;
+    }
+
+    /**
+     * 빌드가 끝난 뒤 배열 구간의 남는 공간 제거 (메모리 절약)
+     */
+    public void trim() {
+        for (int i = 0; i < containerCount; i++) {
+            if (containers[i] instanceof char[] && ((char[]) containers[i]).length != containerSizes[i]) {
+                containers[i] = Arrays.copyOf((char[]) containers[i], containerSizes[i]);
+            }
+        }
+        if (keys.length != containerCount) {
+            keys = Arrays.copyOf(keys, containerCount);
+            containers = Arrays.copyOf(containers, containerCount);
+            containerSizes = Arrays.copyOf(containerSizes, containerCount);
+        }
+    }
+
+
+    // ===== 조회 =====
+
+    public boolean contains(int ordinal) {
+        int index = containerIndex((char) (ordinal >>> 16));
+        if (index < 0) {
+            return false;
+        }
+
+        char low = (char) ordinal;
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, containerSizes[index], low) >= 0;
+    }
+
+    /**
+     * 원소 개수
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < containerCount; i++) {
+            total += containerSizes[i];
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    /**
+     * 모든 순번을 오름차순으로 전달
+     */
+    public void forEach(OrdinalConsumer consumer) {
+        for (int i = 0; i < containerCount; i++) {
+            int high = keys[i] << 16;
+            Object container = containers[i];
+
+            if (container instanceof long[]) {
+                long[] bitmap = (long[]) container;
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long bits = bitmap[word];
+                    while (bits != 0) {
+                        consumer.accept(high | (word << 6) | Long.numberOfTrailingZeros(bits));
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                char[] array = (char[]) container;
+                for (int j = 0; j < containerSizes[i]; j++) {
+                    consumer.accept(high | array[j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 대략적인 메모리 사용량 (바이트)
+     * 객체 헤더 16바이트, 배열 헤더 16바이트 기준 추정치
+     */
+    public long sizeInBytes() {
+        long bytes = 16 + 3 * 16 + keys.length * 2L + containers.length * 4L + containerSizes.length * 4L;
+        for (int i = 0; i < containerCount; i++) {
+            Object container = containers[i];
+            bytes += 16 + (container instanceof long[] ? BITMAP_WORDS * 8L : ((char[]) container).length * 2L);
+        }
+        return bytes;
+    }
+
+
+    // ===== 집합 연산 (새 비트맵 반환, 입력은 바꾸지 않음) =====
+
+    /**
+     * 합집합 (재료 중 하나라도 들어간 레시피)
+     */
+    public static RecipeBitmap or(RecipeBitmap a, RecipeBitmap b) {
+        RecipeBitmap result = new RecipeBitmap();
+        int i = 0;
+        int j = 0;
+
+        while (i < a.containerCount || j < b.containerCount) {
+            if (j == b.containerCount || (i < a.containerCount && a.keys[i] < b.keys[j])) {
+                result.appendContainer(a.keys[i], copy(a.containers[i], a.containerSizes[i]), a.containerSizes[i]);
+                i++;
+            } else if (i == a.containerCount || b.keys[j] < a.keys[i]) {
+                result.appendContainer(b.keys[j], copy(b.containers[j], b.containerSizes[j]), b.containerSizes[j]);
+                j++;
+            } else {
+                long[] bitmap = toBitmap(a.containers[i], a.containerSizes[i]);
+                orInto(bitmap, b.containers[j], b.containerSizes[j]);
+                result.appendBitmap(a.keys[i], bitmap);
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 교집합 (재료가 모두 들어간 레시피)
+     */
+    public static RecipeBitmap and(RecipeBitmap a, RecipeBitmap b) {
+        RecipeBitmap result = new RecipeBitmap();
+        int i = 0;
+        int j = 0;
+
+        while (i < a.containerCount && j < b.containerCount) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (b.keys[j] < a.keys[i]) {
+                j++;
+            } else {
+                Object x = a.containers[i];
+                Object y = b.containers[j];
+
+                if (x instanceof char[] || y instanceof char[]) {
+                    // 배열 쪽 원소만 검사 (작은 쪽 기준)
+                    boolean xIsArray = x instanceof char[]
+                            && (!(y instanceof char[]) || a.containerSizes[i] <= b.containerSizes[j]);
+                    char[] array = (char[]) (xIsArray ? x : y);
+                    int arraySize = xIsArray ? a.containerSizes[i] : b.containerSizes[j];
+                    RecipeBitmap other = xIsArray ? b : a;
+                    int otherIndex = xIsArray ? j : i;
+
+                    char[] values = new char[arraySize];
+                    int count = 0;
+                    for (int k = 0; k < arraySize; k++) {
+                        if (other.containsLow(otherIndex, array[k])) {
+                            values[count++] = array[k];
+                        }
+                    }
+                    if (count > 0) {
+                        result.appendContainer(a.keys[i], Arrays.copyOf(values, count), count);
+                    }
+                } else {
+                    long[] bitmap = ((long[]) x).clone();
+                    long[] other = (long[]) y;
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        bitmap[w] &= other[w];
+                    }
+                    result.appendBitmap(a.keys[i], bitmap);
+                }
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * 순번을 하나씩 받는 콜백 (박싱 없음)
+     */
+    public interface OrdinalConsumer {
+        void accept(int ordinal);
+    }
+
+
+    // ===== 내부 구현 =====
+
+    private int containerIndex(char key) {
+        // 대부분 마지막 구간에 추가되므로 먼저 확인
+        if (containerCount > 0 && keys[containerCount - 1] == key) {
+            return containerCount - 1;
+        }
+        return Arrays.binarySearch(keys, 0, containerCount, key);
+    }
+
+    private boolean containsLow(int index, char low) {
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, containerSizes[index], low) >= 0;
+    }
+
+    private void insertContainer(int index, char key) {
+        if (containerCount == keys.length) {
+            int capacity = Math.max(4, containerCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            containerSizes = Arrays.copyOf(containerSizes, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        System.arraycopy(containerSizes, index, containerSizes, index + 1, containerCount - index);
+
+        keys[index] = key;
+        containers[index] = new char[4];
+        containerSizes[index] = 0;
+        containerCount++;
+    }
+
+    private void appendContainer(char key, Object container, int size) {
+        insertContainer(containerCount, key);
+        containers[containerCount - 1] = container;
+        containerSizes[containerCount - 1] = size;
+    }
+
+    // 비트맵 결과를 원소 수에 맞는 형태(배열/비트맵)로 추가
+    private void appendBitmap(char key, long[] bitmap) {
+        int size = 0;
+        for (long word : bitmap) {
+            size += Long.bitCount(word);
+        }
+        if (size == 0) {
+            return;
+        }
+        if (size > ARRAY_MAX_SIZE) {
+            appendContainer(key, bitmap, size);
+            return;
+        }
+
+        char[] array = new char[size];
+        int count = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long bits = bitmap[w];
+            while (bits != 0) {
+                array[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        appendContainer(key, array, size);
+    }
+
+    private static Object copy(Object container, int size) {
+        return container instanceof long[] ? ((long[]) container).clone() : Arrays.copyOf((char[]) container, size);
+    }
+
+    private static long[] toBitmap(Object container, int size) {
+        if (container instanceof long[]) {
+            return ((long[]) container).clone();
+        }
+        long[] bitmap = new long[BITMAP_WORDS];
+        orInto(bitmap, container, size);
+        return bitmap;
+    }
+
+    private static void orInto(long[] bitmap, Object container, int size) {
+        if (container instanceof long[]) {
+            long[] other = (long[]) container;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                bitmap[w] |= other[w];
+            }
+        } else {
+            char[] array = (char[]) container;
+            for (int k = 0; k < size; k++) {
+                bitmap[array[k] >>> 6] |= 1L << array[k];
+            }
+        }
+    }
+}
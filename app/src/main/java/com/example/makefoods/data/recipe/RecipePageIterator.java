@@ -0,0 +1,54 @@
+package com.example.makefoods.data.recipe;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * RecipePageIterator
+ *
+ * 검색 결과를 한 페이지씩 읽어오는 Iterator (백그라운드 작업용)
+ * 현재 페이지를 다 쓰면 다음 페이지를 조회하므로 메모리에는 한 페이지만 올라감
+ * 페이지마다 쿼리를 따로 실행하므로 백그라운드 스레드에서만 사용
+ *
+ * 예: for (Iterator<RecipeMatch> it = repository.iterateRecipeMatches(재료, 100); it.hasNext(); ) { ... }
+ */
+public class RecipePageIterator<T> implements Iterator<T> {
+
+    private final RecipePageLoader<T> loader;
+    private final int pageSize;
+
+    private List<T> page;
+    private int position;
+    private boolean lastPage;
+
+    public RecipePageIterator(RecipePageLoader<T> loader, int pageSize) {
+        this.loader = loader;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (page != null && position < page.size()) {
+            return true;
+        }
+        if (lastPage) {
+            return false;
+        }
+
+        // ===== 다음 페이지 조회 (이전 페이지 마지막 행 기준) =====
+        T last = page == null || page.isEmpty() ? null : page.get(page.size() - 1);
+        page = loader.loadAfter(last, pageSize);
+        position = 0;
+        lastPage = page.size() < pageSize;
+        return !page.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(position++);
+    }
+}
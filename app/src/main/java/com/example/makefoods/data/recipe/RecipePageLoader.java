@@ -0,0 +1,22 @@
+package com.example.makefoods.data.recipe;
+
+import java.util.List;
+
+/**
+ * RecipePageLoader
+ *
+ * keyset 방식 페이지 조회 (RecipePageIterator, RecipePagingSource에서 사용)
+ * 이전 페이지의 마지막 행을 기준으로 그 뒤의 행만 pageSize개 읽음
+ * → OFFSET과 달리 뒤 페이지로 가도 앞 행을 다시 읽지 않음
+ *
+ * @param <T> 행 타입 (정렬 키를 들고 있어야 함, 예: RecipeMatch의 matchCount + recipeId)
+ */
+public interface RecipePageLoader<T> {
+
+    /**
+     * @param last 이전 페이지의 마지막 행 (첫 페이지면 null)
+     * @param pageSize 최대 개수
+     * @return 다음 페이지 (pageSize개보다 적으면 마지막 페이지)
+     */
+    List<T> loadAfter(T last, int pageSize);
+}
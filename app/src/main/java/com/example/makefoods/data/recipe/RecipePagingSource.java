@@ -0,0 +1,104 @@
+package com.example.makefoods.data.recipe;
+
+import android.util.Log;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+import androidx.room.InvalidationTracker;
+import com.example.makefoods.database.AppDatabase;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import kotlin.Unit;
+
+/**
+ * RecipePagingSource
+ *
+ * 레시피 검색 결과를 Paging 라이브러리(Pager, PagingDataAdapter)에 연결하는 PagingSource
+ *
+ * - 키: 이전 페이지의 마지막 행 (keyset, RecipePageLoader)
+ *   → 스크롤한 만큼만 DB에서 읽고, 메모리는 Paging이 들고 있는 페이지만큼만 사용
+ * - 앞으로만 읽음 (prevKey 없음), 새로고침은 처음 페이지부터
+ * - 검색 대상 테이블이 바뀌면 (InvalidationTracker) invalidate() → Pager가 새 PagingSource를 만듦
+ *   그래서 Pager에는 PagingSource를 만드는 함수를 넘겨야 함
+ *   (예: new Pager<>(config, () -> repository.recipeMatchPagingSource(재료)))
+ * - 변경 감지는 첫 페이지를 읽을 때 EXECUTOR에서 등록 (Room의 LimitOffsetPagingSource와 같은 방식)
+ *   Pager는 메인 스레드에서 PagingSource를 만드는데, 등록할 때 DB에 트리거를 만들기 때문
+ */
+public class RecipePagingSource<T> extends ListenableFuturePagingSource<T, T> {
+
+    private static final String TAG = "RecipePagingSource";
+
+    // 페이지 조회용 (모든 PagingSource가 같이 사용, 한 번에 한 페이지씩)
+    private static final ListeningExecutorService EXECUTOR =
+            MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor());
+
+    private final AppDatabase database;
+    private final RecipePageLoader<T> loader;
+    private final InvalidationTracker.Observer observer;
+    private final AtomicBoolean observerRegistered = new AtomicBoolean(false);
+
+    /**
+     * @param database DB (테이블 변경 감지용)
+     * @param loader 페이지 조회
+     * @param tables 검색 대상 테이블 (예: "recipes", "recipe_ingredients")
+     */
+    public RecipePagingSource(AppDatabase database, RecipePageLoader<T> loader, String... tables) {
+        this.database = database;
+        this.loader = loader;
+
+        this.observer = new InvalidationTracker.Observer(tables) {
+            @Override
+            public void onInvalidated(Set<String> changedTables) {
+                invalidate();
+            }
+        };
+
+        // 무효화된 뒤에는 더 알림을 받을 필요 없음
+        registerInvalidatedCallback(() -> {
+            database.getInvalidationTracker().removeObserver(observer);
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Override
+    public ListenableFuture<LoadResult<T, T>> loadFuture(LoadParams<T> params) {
+        return EXECUTOR.submit(() -> {
+            try {
+                registerObserverIfNeeded();
+
+                int loadSize = params.getLoadSize();
+                List<T> page = loader.loadAfter(params.getKey(), loadSize);
+
+                // 요청한 개수보다 적으면 마지막 페이지
+                T nextKey = page.size() < loadSize ? null : page.get(page.size() - 1);
+                return new LoadResult.Page<>(page, null, nextKey);
+            } catch (Exception e) {
+                Log.e(TAG, "페이지 조회 실패: " + e.getMessage(), e);
+                return new LoadResult.Error<>(e);
+            }
+        });
+    }
+
+    /**
+     * 테이블 변경 감지 등록 (처음 한 번만, EXECUTOR에서)
+     * 등록 전에 이미 무효화됐으면 무효화 콜백의 해제가 먼저 실행됐으므로 여기서 다시 해제
+     */
+    private void registerObserverIfNeeded() {
+        if (observerRegistered.compareAndSet(false, true)) {
+            database.getInvalidationTracker().addObserver(observer);
+            if (getInvalid()) {
+                database.getInvalidationTracker().removeObserver(observer);
+            }
+        }
+    }
+
+    @Override
+    public T getRefreshKey(PagingState<T, T> state) {
+        // keyset은 중간 위치로 바로 갈 수 없으므로 처음부터 다시 읽음
+        return null;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.makefoods.data.recipe;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * RecipeRanker
+ *
+ * 냉장고 재료로 만들 수 있는 레시피 중 상위 K개만 고르는 추천 엔진
+ *
+ * 점수 (클수록 추천):
+ * - 재료 충족률: 레시피 재료 중 냉장고에 있는 비율 (가중치 0.6)
+ * - 부족한 재료 수: 적을수록 좋음, MISSING_CAP개 이상이면 0점 (가중치 0.25)
+ * - 인기도: 조회수/스크랩수 (가중치 0.15)
+ * 예: 5개 중 5개 보유 > 20개 중 5개 보유 (부족 15개)
+ *
+ * 소비기한 가중치 (topK에 expiryWeights를 넘긴 경우):
+ * - 임박 재료마다 긴급도(0~1, 오늘 끝나면 1)를 받아서
+ *   레시피가 쓰는 임박 재료 긴급도 합 / 전체 임박 재료 긴급도 합을 점수에 더함 (가중치 0.5)
+ * → 곧 버려질 재료를 많이 쓰는 레시피가 위로 올라옴
+ *
+ * 부족한 재료 N개 이하 (withinMissing):
+ * - 레시피 재료 수 - 일치한 재료 수 <= N인 레시피만, 부족한 재료가 적은 순 (같으면 recipeId 순)
+ * - 예: N = 2 → 재료를 두 개까지 더 사면 만들 수 있는 레시피
+ *
+ * 후보 n개를 크기 K인 최소 힙으로 거르므로 O(n log K), 정렬은 마지막 K개만
+ */
+public class RecipeRanker {
+
+    private static final double WEIGHT_COVERAGE = 0.6;
+    private static final double WEIGHT_MISSING = 0.25;
+    private static final double WEIGHT_POPULARITY = 0.15;
+    private static final double WEIGHT_EXPIRY = 0.5;
+
+    // 이 개수 이상 부족하면 부족 점수 0
+    private static final int MISSING_CAP = 10;
+
+    /**
+     * 상위 K개 순위 계산
+     *
+     * @param snapshot 재료 색인 (한 번의 검색 동안 같은 스냅샷 사용)
+     * @param ingredients 냉장고 재료 이름 목록
+     * @param k 최대 개수
+     * @return 점수 높은 순 결과 (최대 k개, 재료가 하나도 일치하지 않는 레시피는 제외)
+     */
+    public static Ranked[] topK(IngredientBitmapIndex.Snapshot snapshot, List<String> ingredients, int k) {
+        return topK(snapshot, ingredients, null, k);
+    }
+
+    /**
+     * 상위 K개 순위 계산 (소비기한 임박 재료 가중)
+     *
+     * @param snapshot 재료 색인 (한 번의 검색 동안 같은 스냅샷 사용)
+     * @param ingredients 냉장고 재료 이름 목록
+     * @param expiryWeights 임박 재료 이름 → 긴급도 (0~1), null이면 가중치 없음
+     * @param k 최대 개수
+     * @return 점수 높은 순 결과 (최대 k개, 재료가 하나도 일치하지 않는 레시피는 제외)
+     */
+    public static Ranked[] topK(IngredientBitmapIndex.Snapshot snapshot, List<String> ingredients,
+                                Map<String, Double> expiryWeights, int k) {
+        if (k <= 0 || ingredients == null || ingredients.isEmpty()) {
+            return new Ranked[0];
+        }
+
+        int[] coverage = snapshot.coverage(ingredients);
+        double[] urgency = expiryUrgency(snapshot, expiryWeights);
+
+        // 가장 낮은 점수가 맨 앞 (꽉 차면 맨 앞과 비교해서 교체)
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(k + 1, RecipeRanker::compareAscending);
+
+        for (int ordinal = 0; ordinal < coverage.length; ordinal++) {
+            int matched = coverage[ordinal];
+            if (matched == 0) {
+                continue;
+            }
+
+            // 냉장고 재료 하나가 레시피 재료 여러 개와 일치할 수도 있으므로 전체 재료 수로 제한
+            int total = Math.max(snapshot.ingredientCountAt(ordinal), matched);
+            matched = Math.min(matched, total);
+            int missing = total - matched;
+
+            double score = WEIGHT_COVERAGE * matched / total
+                    + WEIGHT_MISSING * (1.0 - Math.min(missing, MISSING_CAP) / (double) MISSING_CAP)
+                    + WEIGHT_POPULARITY * snapshot.popularityAt(ordinal);
+            if (urgency != null) {
+                score += WEIGHT_EXPIRY * urgency[ordinal];
+            }
+
+            if (heap.size() < k) {
+                heap.add(new Ranked(snapshot.recipeIdAt(ordinal), matched, total, score));
+            } else if (score > heap.peek().score) {
+                heap.poll();
+                heap.add(new Ranked(snapshot.recipeIdAt(ordinal), matched, total, score));
+            }
+        }
+
+        Ranked[] result = heap.toArray(new Ranked[0]);
+        Arrays.sort(result, (a, b) -> compareAscending(b, a));
+        return result;
+    }
+
+    /**
+     * 부족한 재료가 maxMissing개 이하인 레시피 (부족한 재료가 적은 순, 최대 k개)
+     *
+     * 레시피별 재료 수와 커버리지 배열만 비교하므로 문자열 비교 없이 O(레시피 수)
+     *
+     * @param snapshot 재료 색인 (한 번의 검색 동안 같은 스냅샷 사용)
+     * @param ingredients 가지고 있는 재료 이름 목록
+     * @param maxMissing 부족해도 되는 재료 수 (0이면 지금 바로 만들 수 있는 레시피)
+     * @param k 최대 개수
+     * @return 부족한 재료가 적은 순 결과 (재료가 하나도 일치하지 않는 레시피는 제외, score는 인기도)
+     */
+    public static Ranked[] withinMissing(IngredientBitmapIndex.Snapshot snapshot, List<String> ingredients,
+                                         int maxMissing, int k) {
+        if (k <= 0 || maxMissing < 0 || ingredients == null || ingredients.isEmpty()) {
+            return new Ranked[0];
+        }
+
+        int[] coverage = snapshot.coverage(ingredients);
+
+        // 순서가 가장 뒤인 것이 맨 앞 (부족한 재료가 많고 recipeId가 큰 것)
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(k + 1, (a, b) -> compareByMissing(b, a));
+
+        for (int ordinal = 0; ordinal < coverage.length; ordinal++) {
+            int matched = coverage[ordinal];
+            if (matched == 0) {
+                continue;
+            }
+
+            int total = snapshot.ingredientCountAt(ordinal);
+            if (total - matched > maxMissing) {
+                continue;
+            }
+
+            Ranked candidate = new Ranked(snapshot.recipeIdAt(ordinal), matched, total, snapshot.popularityAt(ordinal));
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (compareByMissing(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+
+        Ranked[] result = heap.toArray(new Ranked[0]);
+        Arrays.sort(result, RecipeRanker::compareByMissing);
+        return result;
+    }
+
+    /**
+     * 레시피 순번별 임박 재료 사용 정도 (0~1)
+     * = 레시피가 쓰는 임박 재료의 긴급도 합 / 전체 임박 재료 긴급도 합
+     *
+     * @return 순번별 값, 임박 재료가 없으면 null
+     */
+    private static double[] expiryUrgency(IngredientBitmapIndex.Snapshot snapshot, Map<String, Double> expiryWeights) {
+        if (expiryWeights == null || expiryWeights.isEmpty()) {
+            return null;
+        }
+
+        double totalWeight = 0;
+        for (double weight : expiryWeights.values()) {
+            totalWeight += weight;
+        }
+        if (totalWeight <= 0) {
+            return null;
+        }
+
+        double[] urgency = new double[snapshot.recipeCount()];
+        double normalizer = totalWeight;
+        for (Map.Entry<String, Double> entry : expiryWeights.entrySet()) {
+            double weight = entry.getValue() / normalizer;
+            snapshot.lookup(entry.getKey()).forEach(ordinal -> urgency[ordinal] += weight);
+        }
+        return urgency;
+    }
+
+    // 부족한 재료가 적은 순, 같으면 recipeId 순 (recipe_fridge_matches 인덱스와 같은 순서)
+    private static int compareByMissing(Ranked a, Ranked b) {
+        int byMissing = Integer.compare(a.ingredientCount - a.matchCount, b.ingredientCount - b.matchCount);
+        return byMissing != 0 ? byMissing : Integer.compare(a.recipeId, b.recipeId);
+    }
+
+    // 점수 낮은 순, 같으면 recipeId 큰 쪽이 낮음 (결과 순서를 항상 같게)
+    private static int compareAscending(Ranked a, Ranked b) {
+        int byScore = Double.compare(a.score, b.score);
+        return byScore != 0 ? byScore : Integer.compare(b.recipeId, a.recipeId);
+    }
+
+
+    /**
+     * 순위 계산 결과 한 개
+     */
+    public static class Ranked {
+        public final int recipeId;
+        public final int matchCount;          // 냉장고에 있는 재료 수
+        public final int ingredientCount;     // 레시피 전체 재료 수
+        public final double score;
+
+        Ranked(int recipeId, int matchCount, int ingredientCount, double score) {
+            this.recipeId = recipeId;
+            this.matchCount = matchCount;
+            this.ingredientCount = ingredientCount;
+            this.score = score;
+        }
+    }
+}
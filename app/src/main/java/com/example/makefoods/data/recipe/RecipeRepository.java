@@ -1,12 +1,47 @@
 package com.example.makefoods.data.recipe;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.os.CancellationSignal;
 import android.util.Log;
+import androidx.paging.PagingSource;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
 import com.example.makefoods.database.AppDatabase;
+import com.example.makefoods.database.IngredientDao;
+import com.example.makefoods.database.IngredientMatchQuery;
+import com.example.makefoods.database.ParallelRecipeCsvLoader;
+import com.example.makefoods.database.RecipeCsvLoader;
 import com.example.makefoods.database.RecipeDao;
+import com.example.makefoods.database.RecipeFtsQuery;
+import com.example.makefoods.database.RecipeMinHash;
+import com.example.makefoods.database.RecipeNameIndex;
+import com.example.makefoods.database.RecipeNameIndexSnapshot;
+import com.example.makefoods.database.RecipeNameTrigrams;
+import com.example.makefoods.database.RecipeTextIndex;
+import com.example.makefoods.database.RecipeTextIndexSnapshot;
+import com.example.makefoods.model.Ingredient;
 import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeFilter;
+import com.example.makefoods.model.RecipeFtsMatch;
+import com.example.makefoods.model.RecipeIngredient;
+import com.example.makefoods.model.RecipeMatch;
+import com.example.makefoods.model.RecipeNameTrigram;
+import com.example.makefoods.model.RecipeRecommendation;
+import com.example.makefoods.model.RecipeSignature;
+import com.example.makefoods.model.RecipeSummary;
+import com.example.makefoods.model.RecipeWithMissing;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * RecipeRepository
@@ -24,7 +59,25 @@ import java.util.List;
 public class RecipeRepository {
 
     private static final String TAG = "RecipeRepository";
+
+    // IN (...) 쿼리 한 번에 넣을 ID 개수 (SQLite 변수 개수 제한 999)
+    private static final int ID_CHUNK_SIZE = 500;
+
+    // 추천 음식 이름 → 레시피 연결 기준
+    private static final double MIN_NAME_CONTAINMENT = 0.5;    // 검색 이름 조각의 절반 이상이 일치해야 후보
+    private static final int MAX_NAME_CANDIDATES = 20;         // 이름당 유사도를 계산할 후보 수 (공통 조각 많은 순)
+
+    // 비슷한 레시피 (MinHash/LSH)
+    private static final int MAX_SIMILAR_CANDIDATES = 200;     // 서명을 비교할 후보 수 (공유 밴드 많은 순)
+    private static final double MIN_SIMILARITY = 0.2;          // 추정 Jaccard가 이보다 낮으면 제외
+
+    private final AppDatabase database;
     private final RecipeDao recipeDao;
+    private final IngredientDao ingredientDao;
+    private final IngredientBitmapIndex ingredientIndex;
+    private final RecipeNameIndex nameIndex;
+    private final RecipeTextIndex textIndex;
+    private final RecipeSearchCache searchCache;
 
     /**
      * RecipeRepository 생성자
@@ -32,8 +85,13 @@ public class RecipeRepository {
      * @param context 안드로이드 컨텍스트
      */
     public RecipeRepository(Context context) {
-        AppDatabase database = AppDatabase.getInstance(context);
+        this.database = AppDatabase.getInstance(context);
         this.recipeDao = database.recipeDao();
+        this.ingredientDao = database.ingredientDao();
+        this.ingredientIndex = IngredientBitmapIndex.getInstance(database);
+        this.nameIndex = RecipeNameIndex.getInstance(context);
+        this.textIndex = RecipeTextIndex.getInstance(context);
+        this.searchCache = RecipeSearchCache.getInstance(database);
     }
 
 
@@ -46,7 +104,12 @@ public class RecipeRepository {
      * 3. 결과 정렬
      *
      * 예: 사용자가 "소고기, 계란, 파"를 인식
-     *     → 이들 중 하나라도 포함된 모든 레시피 반환
+     *     → 이들 중 하나라도 포함된 모든 레시피 반환 (포함된 재료가 많은 순)
+     *
+     * 재료 테이블(recipe_ingredients)의 이름 인덱스로 검색하므로
+     * 비용이 전체 레시피 수가 아니라 일치하는 재료 행 수에 비례함
+     * 재료 이름은 IngredientNormalizer로 정규화해서 같을 때만 일치
+     * (예: "소고기" → 소고기, 소고기다짐육 / "파" → 대파, 파프리카는 제외)
      *
      * 모듈화 포인트: Gemini 인식 결과를 직접 처리하는 핵심 메서드
      *
@@ -54,41 +117,19 @@ public class RecipeRepository {
      * @return 매칭되는 레시피 목록 (중복 없음)
      */
     public List<Recipe> searchRecipesByIngredients(List<String> ingredients) {
-        if (ingredients == null || ingredients.isEmpty()) {
+        SimpleSQLiteQuery query = IngredientMatchQuery.forRecipes(ingredients);
+        if (query == null) {
             Log.w(TAG, "재료 목록이 비어있음");
             return new ArrayList<>();
         }
 
-        // ===== 중복 제거를 위해 Set 사용 =====
-        // Recipe를 직접 Set에 넣으면 equals() 구현 필요하므로
-        // 레시피 ID로 중복 체크
-        java.util.Set<Integer> foundRecipeIds = new java.util.HashSet<>();
-        List<Recipe> allResults = new ArrayList<>();
-
-        // ===== 각 재료별로 검색 =====
-        for (String ingredient : ingredients) {
-            if (ingredient == null || ingredient.trim().isEmpty()) {
-                continue;
-            }
-
-            Log.d(TAG, "재료로 검색: " + ingredient);
-
-            // DB에서 해당 재료를 포함하는 레시피 검색
-            List<Recipe> results = recipeDao.searchByIngredient(ingredient.trim());
-
-            // 중복이 아닌 것만 추가
-            for (Recipe recipe : results) {
-                if (!foundRecipeIds.contains(recipe.getRecipeId())) {
-                    foundRecipeIds.add(recipe.getRecipeId());
-                    allResults.add(recipe);
-                }
-            }
-        }
+        // 재료 수와 상관없이 쿼리 1번 (레시피당 1행, 일치한 재료가 많은 순)
+        List<Recipe> results = recipeDao.searchByIngredients(query);
 
         Log.d(TAG, "검색 완료: " + ingredients.size() + "개 재료로 " +
-                allResults.size() + "개 레시피 찾음");
+                results.size() + "개 레시피 찾음");
 
-        return allResults;
+        return results;
     }
 
 
@@ -102,7 +143,7 @@ public class RecipeRepository {
         if (ingredient == null || ingredient.trim().isEmpty()) {
             return new ArrayList<>();
         }
-        return recipeDao.searchByIngredient(ingredient.trim());
+        return recipeDao.searchByIngredientName(IngredientMatchQuery.nameKey(ingredient));
     }
 
 
@@ -122,6 +163,877 @@ public class RecipeRepository {
     }
 
 
+    /**
+     * 재료 목록으로 레시피 요약 검색
+     *
+     * searchRecipesByIngredients()와 같지만 카드에 필요한 컬럼만 읽음
+     * (조리 단계, 설명 같은 큰 텍스트는 DB에서 가져오지 않음)
+     *
+     * @param ingredients 재료 목록
+     * @return 매칭되는 레시피 요약 목록 (중복 없음)
+     */
+    public List<RecipeSummary> searchRecipeSummariesByIngredients(List<String> ingredients) {
+        return new ArrayList<>(searchRecipeMatchesByIngredients(ingredients));
+    }
+
+
+    /**
+     * 재료 목록으로 레시피 검색 + 레시피별 일치한 재료 수
+     *
+     * 재료 수와 상관없이 쿼리 1번으로 처리 (IngredientMatchQuery)
+     * 일치한 재료가 많은 순으로 정렬됨
+     * 같은 재료 조합(순서, 동의어 무관)은 캐시에서 반환 (RecipeSearchCache)
+     *
+     * @param ingredients 재료 목록
+     * @return 레시피 요약 + matchCount 목록 (중복 없음)
+     */
+    public List<RecipeMatch> searchRecipeMatchesByIngredients(List<String> ingredients) {
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummaries(ingredients);
+        if (query == null) {
+            Log.w(TAG, "재료 목록이 비어있음");
+            return new ArrayList<>();
+        }
+        return searchCache.getOrLoad(RecipeSearchCache.ingredientKey("matches", ingredients),
+                () -> recipeDao.searchMatchesByIngredients(query));
+    }
+
+
+    /**
+     * searchRecipeMatchesByIngredients()의 취소 가능한 버전 (RecipeSearchRunner용)
+     * 취소 신호를 SQLite 쿼리까지 넘겨서 실행 중에도 중단됨, 캐시는 같이 사용
+     *
+     * @param signal 취소 신호
+     * @throws android.os.OperationCanceledException 취소된 경우
+     */
+    public List<RecipeMatch> searchRecipeMatchesByIngredients(List<String> ingredients, CancellationSignal signal) {
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummaries(ingredients);
+        if (query == null) {
+            Log.w(TAG, "재료 목록이 비어있음");
+            return new ArrayList<>();
+        }
+        return searchCache.getOrLoad(RecipeSearchCache.ingredientKey("matches", ingredients),
+                () -> querySummaries(query, signal, RecipeMatch::new));
+    }
+
+
+    /**
+     * 재료 목록으로 레시피 검색 + 레시피별 일치한 재료 수 - 조리 시간, 난이도 조건
+     *
+     * 예: [계란, 대파], new RecipeFilter(30, Recipe.DIFFICULTY_BEGINNER) → 30분 이내 아무나/초급 레시피만
+     * 조건은 SQLite에서 recipes.cookingMinutes, difficultyLevel로 거름 (문자열 파싱 없음)
+     *
+     * @param ingredients 재료 목록
+     * @param filter 조리 시간, 난이도 조건
+     * @return 레시피 요약 + matchCount 목록 (중복 없음, 일치한 재료가 많은 순)
+     */
+    public List<RecipeMatch> searchRecipeMatchesByIngredients(List<String> ingredients, RecipeFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return searchRecipeMatchesByIngredients(ingredients);
+        }
+
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummaries(ingredients, filter);
+        if (query == null) {
+            Log.w(TAG, "재료 목록이 비어있음");
+            return new ArrayList<>();
+        }
+        return searchCache.getOrLoad(RecipeSearchCache.ingredientKey("matches:" + filter.key(), ingredients),
+                () -> recipeDao.searchMatchesByIngredients(query));
+    }
+
+
+    /**
+     * 재료 목록으로 레시피 검색 - 한 페이지 (keyset)
+     *
+     * searchRecipeMatchesByIngredients()와 같은 순서 (일치한 재료가 많은 순, 같으면 recipeId 순)에서
+     * after 뒤의 pageSize개만 조회
+     *
+     * @param ingredients 재료 목록
+     * @param after 이전 페이지의 마지막 행 (첫 페이지면 null)
+     * @param pageSize 최대 개수
+     * @return 레시피 요약 + matchCount 목록
+     */
+    public List<RecipeMatch> searchRecipeMatchesPage(List<String> ingredients, RecipeMatch after, int pageSize) {
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummariesPage(ingredients, after, pageSize);
+        if (query == null) {
+            return new ArrayList<>();
+        }
+        return recipeDao.searchMatchesByIngredients(query);
+    }
+
+
+    /**
+     * 재료 목록 검색 결과를 한 페이지씩 읽는 Iterator (백그라운드 작업용)
+     *
+     * @param ingredients 재료 목록
+     * @param pageSize 한 번에 읽을 개수
+     */
+    public Iterator<RecipeMatch> iterateRecipeMatches(List<String> ingredients, int pageSize) {
+        return new RecipePageIterator<>((last, size) -> searchRecipeMatchesPage(ingredients, last, size), pageSize);
+    }
+
+
+    /**
+     * 재료 목록 검색 결과 PagingSource (목록 화면용, Pager에 연결)
+     * 레시피나 재료 테이블이 바뀌면 무효화됨
+     *
+     * @param ingredients 재료 목록
+     */
+    public PagingSource<RecipeMatch, RecipeMatch> recipeMatchPagingSource(List<String> ingredients) {
+        return new RecipePagingSource<>(database,
+                (last, size) -> searchRecipeMatchesPage(ingredients, last, size),
+                "recipes", "recipe_ingredients");
+    }
+
+
+    /**
+     * 재료 목록으로 레시피 검색 (메모리 색인 사용) + 레시피별 일치한 재료 수
+     *
+     * searchRecipeMatchesByIngredients()와 결과는 같지만
+     * 어떤 레시피가 몇 개 일치하는지를 비트맵 연산으로 계산하고 DB는 요약 조회에만 사용
+     * 일치한 재료가 많은 순, 같으면 recipeId 순
+     *
+     * @param ingredients 재료 목록 (예: 냉장고 재료 전체)
+     * @return 레시피 요약 + matchCount 목록 (중복 없음)
+     */
+    public List<RecipeMatch> searchRecipeMatchesInMemory(List<String> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        IngredientBitmapIndex.Snapshot snapshot = ingredientIndex.snapshot();
+        int[] coverage = snapshot.coverage(ingredients);
+
+        // ===== 일치한 레시피 (순번) 모으기 =====
+        List<int[]> matched = new ArrayList<>();   // [recipeId, matchCount]
+        for (int ordinal = 0; ordinal < coverage.length; ordinal++) {
+            if (coverage[ordinal] > 0) {
+                matched.add(new int[]{snapshot.recipeIdAt(ordinal), coverage[ordinal]});
+            }
+        }
+        matched.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+
+        List<Integer> recipeIds = new ArrayList<>(matched.size());
+        Map<Integer, Integer> matchCounts = new HashMap<>();
+        for (int[] match : matched) {
+            recipeIds.add(match[0]);
+            matchCounts.put(match[0], match[1]);
+        }
+
+        List<RecipeMatch> results = new ArrayList<>(recipeIds.size());
+        for (RecipeSummary summary : getSummariesInOrder(recipeIds)) {
+            RecipeMatch match = new RecipeMatch();
+            copySummary(summary, match);
+            match.matchCount = matchCounts.get(summary.getRecipeId());
+            results.add(match);
+        }
+        return results;
+    }
+
+
+    /**
+     * 재료가 모두 들어간 레시피 (메모리 색인 사용)
+     *
+     * @param ingredients 재료 목록
+     * @return 레시피 요약 목록 (recipeId 순)
+     */
+    public List<RecipeSummary> searchRecipesWithAllIngredients(List<String> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        IngredientBitmapIndex.Snapshot snapshot = ingredientIndex.snapshot();
+        List<Integer> recipeIds = new ArrayList<>();
+        snapshot.intersection(ingredients).forEach(ordinal -> recipeIds.add(snapshot.recipeIdAt(ordinal)));
+        return getSummariesInOrder(recipeIds);
+    }
+
+
+    /**
+     * 냉장고 재료 기반 레시피 추천 (상위 limit개)
+     *
+     * 재료 충족률, 부족한 재료 수, 인기도로 점수를 매겨서 (RecipeRanker)
+     * 상위 limit개만 DB에서 요약을 읽어옴
+     * 같은 재료 조합(순서, 동의어 무관)은 캐시에서 반환 (RecipeSearchCache)
+     *
+     * 예: [계란, 대파, 두부] → 계란말이(3/4), 두부조림(2/5), ...
+     *
+     * @param ingredients 냉장고 재료 이름 목록
+     * @param limit 최대 개수
+     * @return 점수 높은 순 추천 목록
+     */
+    public List<RecipeRecommendation> recommendRecipes(List<String> ingredients, int limit) {
+        return recommendRecipes(ingredients, limit, null);
+    }
+
+
+    /**
+     * recommendRecipes()의 취소 가능한 버전 (RecipeSearchRunner용)
+     * 순위 계산이 끝난 뒤 요약을 읽기 전에 취소 여부 확인
+     *
+     * @param signal 취소 신호 (null이면 취소 안 함)
+     * @throws android.os.OperationCanceledException 취소된 경우
+     */
+    public List<RecipeRecommendation> recommendRecipes(List<String> ingredients, int limit, CancellationSignal signal) {
+        List<RecipeRecommendation> results = searchCache.getOrLoad(
+                RecipeSearchCache.ingredientKey("recommend:" + limit, ingredients),
+                () -> {
+                    RecipeRanker.Ranked[] ranked = RecipeRanker.topK(ingredientIndex.snapshot(), ingredients, limit);
+                    throwIfCanceled(signal);
+                    return toRecommendations(ranked);
+                });
+
+        Log.d(TAG, "레시피 추천: 재료 " + (ingredients != null ? ingredients.size() : 0) + "개 → 상위 " + results.size() + "개");
+        return results;
+    }
+
+
+    /**
+     * 소비기한 임박 재료를 우선 쓰는 레시피 추천 (상위 limit개)
+     *
+     * 냉장고 재료 전체로 recommendRecipes()와 같은 점수를 매기고
+     * withinDays일 안에 소비기한이 끝나는 재료를 쓰는 레시피에 가중치를 더함
+     * 임박 재료 긴급도: 오늘 끝나면 1, withinDays일 뒤에 끝나면 1 / (withinDays + 1)
+     *
+     * LLM 호출 없이 로컬 DB만 사용 (오프라인 가능)
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @param withinDays 임박 기준 일수 (예: 3)
+     * @param limit 최대 개수
+     * @return 점수 높은 순 추천 목록
+     */
+    public List<RecipeRecommendation> recommendRecipesForExpiringIngredients(int withinDays, int limit) {
+        long now = System.currentTimeMillis();
+
+        // ===== 1. 냉장고 재료 이름 (expiryDate 인덱스 범위 검색, 소비기한이 지난 재료는 추천에 쓰지 않음) =====
+        // 정규화한 이름 기준 → 동의어(달걀/계란)나 같은 재료 여러 묶음은 한 번만
+        Set<String> fridgeKeys = new LinkedHashSet<>();
+        for (Ingredient ingredient : ingredientDao.getUnexpiredIngredientsSync(now)) {
+            if (ingredient.getNameKey() != null && !ingredient.getNameKey().isEmpty()) {
+                fridgeKeys.add(ingredient.getNameKey());
+            }
+        }
+        List<String> fridgeNames = new ArrayList<>(fridgeKeys);
+
+        // ===== 2. 임박 재료 긴급도 (expiryDate 인덱스 범위 검색) =====
+        Map<String, Double> expiryWeights = new HashMap<>();
+        for (Ingredient ingredient : ingredientDao.getIngredientsExpiringBetweenSync(now, now + withinDays * IngredientDao.DAY_MILLIS)) {
+            if (ingredient.getNameKey() == null || ingredient.getNameKey().isEmpty()) {
+                continue;
+            }
+            long daysLeft = (ingredient.getExpiryDate() - now) / IngredientDao.DAY_MILLIS;
+            double urgency = (withinDays + 1 - daysLeft) / (double) (withinDays + 1);
+
+            // 같은 재료(정규화한 이름 기준)가 여러 개면 가장 급한 것 기준 → 긴급도 합계에 한 번만 들어감
+            expiryWeights.merge(ingredient.getNameKey(), urgency, Math::max);
+        }
+
+        // ===== 3. 순위 계산 =====
+        RecipeRanker.Ranked[] ranked = RecipeRanker.topK(ingredientIndex.snapshot(), fridgeNames, expiryWeights, limit);
+        List<RecipeRecommendation> results = toRecommendations(ranked);
+
+        Log.d(TAG, "임박 재료 추천: 냉장고 " + fridgeNames.size() + "개 (임박 " + expiryWeights.size()
+                + "개) → 상위 " + results.size() + "개");
+        return results;
+    }
+
+
+    /**
+     * 검색 캐시 적중 횟수 (앱 실행 후 누적)
+     */
+    public long getSearchCacheHitCount() {
+        return searchCache.getHitCount();
+    }
+
+    /**
+     * 검색 캐시 실패 횟수 (DB를 읽은 횟수, 앱 실행 후 누적)
+     */
+    public long getSearchCacheMissCount() {
+        return searchCache.getMissCount();
+    }
+
+
+    /**
+     * 지금 냉장고 재료로 만들기 좋은 레시피 (부족한 재료가 적은 순, 상위 limit개)
+     *
+     * 냉장고 재료가 바뀔 때마다 미리 갱신해둔 표(recipe_fridge_matches)를 인덱스 순서대로 읽기만 함
+     * 냉장고 재료를 하나도 쓰지 않는 레시피는 제외
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @param limit 최대 개수
+     * @return 부족한 재료가 적은 순 추천 목록 (score는 계산하지 않음)
+     */
+    public List<RecipeRecommendation> getCookableRecipes(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return recipeDao.getCookableRecipes(Integer.MAX_VALUE, limit);
+    }
+
+
+    /**
+     * 재료를 maxMissing개까지 더 사면 만들 수 있는 레시피 (부족한 재료 목록 포함)
+     *
+     * 메모리 색인의 레시피별 재료 수와 커버리지만 비교 (문자열 비교 없음, O(레시피 수))
+     * 결과 limit개만 DB에서 요약과 재료 행을 읽어서 부족한 재료 목록을 만듦
+     * 재료가 하나도 일치하지 않는 레시피는 제외
+     *
+     * 예: [계란, 대파], maxMissing = 1 → 계란말이(부족: 당근), 파전(부족: 부침가루), ...
+     *
+     * @param ingredients 가지고 있는 재료 이름 목록
+     * @param maxMissing 부족해도 되는 재료 수 (0이면 지금 바로 만들 수 있는 레시피)
+     * @param limit 최대 개수
+     * @return 부족한 재료가 적은 순 목록 (같으면 recipeId 순)
+     */
+    public List<RecipeWithMissing> findRecipesMissingAtMost(List<String> ingredients, int maxMissing, int limit) {
+        RecipeRanker.Ranked[] ranked = RecipeRanker.withinMissing(ingredientIndex.snapshot(), ingredients, maxMissing, limit);
+        List<RecipeWithMissing> results = withMissingIngredients(toRecommendations(ranked), ingredients);
+
+        Log.d(TAG, "부족 재료 " + maxMissing + "개 이하: 재료 " + (ingredients != null ? ingredients.size() : 0)
+                + "개 → " + results.size() + "개");
+        return results;
+    }
+
+
+    /**
+     * 지금 냉장고 재료로 maxMissing개까지 더 사면 만들 수 있는 레시피 (부족한 재료 목록 포함)
+     *
+     * 미리 갱신해둔 보유 현황 표(recipe_fridge_matches)의 인덱스 범위만 읽음
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @param maxMissing 부족해도 되는 재료 수
+     * @param limit 최대 개수
+     * @return 부족한 재료가 적은 순 목록 (같으면 recipeId 순)
+     */
+    public List<RecipeWithMissing> findFridgeRecipesMissingAtMost(int maxMissing, int limit) {
+        if (maxMissing < 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<String> fridgeNames = new ArrayList<>();
+        for (Ingredient ingredient : ingredientDao.getAllIngredientsSync()) {
+            fridgeNames.add(ingredient.getName());
+        }
+        return withMissingIngredients(recipeDao.getCookableRecipes(maxMissing, limit), fridgeNames);
+    }
+
+
+    /**
+     * 재료 메모리 색인의 대략적인 크기 (바이트)
+     * 색인이 아직 없으면 이 호출에서 생성됨 (백그라운드 스레드에서 호출)
+     */
+    public long getIngredientIndexMemoryBytes() {
+        return ingredientIndex.snapshot().memoryBytes();
+    }
+
+
+    /**
+     * 음식 이름으로 레시피 요약 검색
+     * 같은 키워드는 캐시에서 반환 (RecipeSearchCache)
+     *
+     * @param keyword 검색 키워드 (음식 이름)
+     * @return 매칭되는 레시피 요약 목록
+     */
+    public List<RecipeSummary> searchRecipeSummariesByName(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        String trimmed = keyword.trim();
+        return searchCache.getOrLoad("name|" + trimmed, () -> recipeDao.searchSummariesByName(trimmed));
+    }
+
+
+    /**
+     * searchRecipeSummariesByName()의 취소 가능한 버전 (RecipeSearchRunner용)
+     * RecipeDao.searchSummariesByName(keyword, signal)로 실행, 캐시는 같이 사용
+     *
+     * @param signal 취소 신호
+     * @throws android.os.OperationCanceledException 취소된 경우
+     */
+    public List<RecipeSummary> searchRecipeSummariesByName(String keyword, CancellationSignal signal) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        String trimmed = keyword.trim();
+        return searchCache.getOrLoad("name|" + trimmed, () -> recipeDao.searchSummariesByName(trimmed, signal));
+    }
+
+
+    /**
+     * 음식 이름으로 레시피 요약 검색 - 조리 시간, 난이도 조건
+     *
+     * @param keyword 검색 키워드 (음식 이름)
+     * @param filter 조리 시간, 난이도 조건
+     * @return 매칭되는 레시피 요약 목록
+     */
+    public List<RecipeSummary> searchRecipeSummariesByName(String keyword, RecipeFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return searchRecipeSummariesByName(keyword);
+        }
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        String trimmed = keyword.trim();
+        return searchCache.getOrLoad("name:" + filter.key() + "|" + trimmed,
+                () -> recipeDao.searchSummariesByNameFiltered(trimmed, filter.minMinutes(), filter.maxMinutes(),
+                        filter.minDifficulty(), filter.maxDifficulty()));
+    }
+
+
+    /**
+     * 음식 이름으로 레시피 요약 검색 - 한 페이지 (recipeId 순 keyset)
+     *
+     * @param keyword 검색 키워드 (음식 이름)
+     * @param after 이전 페이지의 마지막 행 (첫 페이지면 null)
+     * @param pageSize 최대 개수
+     * @return 레시피 요약 목록
+     */
+    public List<RecipeSummary> searchRecipeSummariesByNamePage(String keyword, RecipeSummary after, int pageSize) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        int afterRecipeId = after != null ? after.getRecipeId() : Integer.MIN_VALUE;
+        return recipeDao.searchSummariesByNamePage(keyword.trim(), afterRecipeId, Math.max(1, pageSize));
+    }
+
+
+    /**
+     * 음식 이름 검색 결과를 한 페이지씩 읽는 Iterator (백그라운드 작업용)
+     *
+     * @param keyword 검색 키워드 (음식 이름)
+     * @param pageSize 한 번에 읽을 개수
+     */
+    public Iterator<RecipeSummary> iterateRecipeSummariesByName(String keyword, int pageSize) {
+        return new RecipePageIterator<>((last, size) -> searchRecipeSummariesByNamePage(keyword, last, size), pageSize);
+    }
+
+
+    /**
+     * 음식 이름 검색 결과 PagingSource (목록 화면용, Pager에 연결)
+     * 레시피 테이블이 바뀌면 무효화됨
+     *
+     * @param keyword 검색 키워드 (음식 이름)
+     */
+    public PagingSource<RecipeSummary, RecipeSummary> recipeNamePagingSource(String keyword) {
+        return new RecipePagingSource<>(database,
+                (last, size) -> searchRecipeSummariesByNamePage(keyword, last, size),
+                "recipes");
+    }
+
+
+    /**
+     * 음식 이름으로 검색해서 이름만 반환
+     *
+     * 채팅의 레시피 추천 버튼처럼 이름만 필요할 때 사용
+     *
+     * @param keyword 검색 키워드 (음식 이름)
+     * @return 매칭되는 레시피 이름 목록
+     */
+    public List<String> searchRecipeNamesByName(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return recipeDao.searchNamesByName(keyword.trim());
+    }
+
+
+    /**
+     * GPT가 추천한 음식 이름들을 가장 비슷한 DB 레시피로 연결 (한 번에 처리)
+     *
+     * 예: "소고기 떡국" → "멸치육수 소고기 떡국 만드는법"
+     *
+     * 동작:
+     * 1. 모든 이름을 trigram으로 나눔 (RecipeNameTrigrams)
+     * 2. 조각이 하나라도 일치하는 레시피를 한 번에 조회 (recipe_name_trigrams 기본 키 범위 조회)
+     * 3. 이름마다 공통 조각이 많은 후보만 골라서 요약 조회
+     * 4. 유사도(포함률 + Jaccard)가 가장 높은 레시피 선택
+     *
+     * LIKE '%이름%' 전체 스캔과 달리 어순이나 군더더기 단어가 달라도 연결됨
+     * 조각의 절반도 일치하지 않으면 연결하지 않음 (엉뚱한 레시피 방지)
+     *
+     * @param names 추천 음식 이름 목록
+     * @return 이름 → 연결된 레시피 (입력 순서 유지, 연결 못 한 이름은 빠짐)
+     */
+    public Map<String, RecipeSummary> resolveRecipeNames(List<String> names) {
+        Map<String, RecipeSummary> resolved = new LinkedHashMap<>();
+        if (names == null || names.isEmpty()) {
+            return resolved;
+        }
+
+        // ===== 1. 이름별 조각 =====
+        Map<String, Set<String>> trigramsByName = new LinkedHashMap<>();
+        Set<String> allTrigrams = new HashSet<>();
+        for (String name : names) {
+            Set<String> trigrams = RecipeNameTrigrams.of(name);
+            if (!trigrams.isEmpty()) {
+                trigramsByName.put(name, trigrams);
+                allTrigrams.addAll(trigrams);
+            }
+        }
+        if (allTrigrams.isEmpty()) {
+            return resolved;
+        }
+
+        // ===== 2. 조각 → 레시피 (모든 이름을 한 번에 조회) =====
+        Map<String, List<Integer>> recipesByTrigram = new HashMap<>();
+        List<String> trigramList = new ArrayList<>(allTrigrams);
+        for (int i = 0; i < trigramList.size(); i += ID_CHUNK_SIZE) {
+            for (RecipeNameTrigram hit : recipeDao.getNameTrigramHits(trigramList.subList(i, Math.min(i + ID_CHUNK_SIZE, trigramList.size())))) {
+                recipesByTrigram.computeIfAbsent(hit.trigram, key -> new ArrayList<>()).add(hit.recipeId);
+            }
+        }
+
+        // ===== 3. 이름별 후보 (공통 조각 수 많은 순) =====
+        Map<String, Map<Integer, Integer>> candidatesByName = new LinkedHashMap<>();
+        Set<Integer> candidateIds = new HashSet<>();
+
+        for (Map.Entry<String, Set<String>> entry : trigramsByName.entrySet()) {
+            Map<Integer, Integer> sharedCounts = new HashMap<>();
+            for (String trigram : entry.getValue()) {
+                List<Integer> recipeIds = recipesByTrigram.get(trigram);
+                if (recipeIds != null) {
+                    for (Integer recipeId : recipeIds) {
+                        sharedCounts.merge(recipeId, 1, Integer::sum);
+                    }
+                }
+            }
+
+            int minShared = (int) Math.ceil(entry.getValue().size() * MIN_NAME_CONTAINMENT);
+            List<Map.Entry<Integer, Integer>> candidates = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> shared : sharedCounts.entrySet()) {
+                if (shared.getValue() >= minShared) {
+                    candidates.add(shared);
+                }
+            }
+            candidates.sort((a, b) -> b.getValue().equals(a.getValue())
+                    ? Integer.compare(a.getKey(), b.getKey())
+                    : Integer.compare(b.getValue(), a.getValue()));
+
+            Map<Integer, Integer> top = new LinkedHashMap<>();
+            for (Map.Entry<Integer, Integer> candidate : candidates.subList(0, Math.min(MAX_NAME_CANDIDATES, candidates.size()))) {
+                top.put(candidate.getKey(), candidate.getValue());
+                candidateIds.add(candidate.getKey());
+            }
+            candidatesByName.put(entry.getKey(), top);
+        }
+
+        // ===== 4. 후보 요약 조회 후 유사도 가장 높은 레시피 선택 =====
+        Map<Integer, RecipeSummary> summaries = new HashMap<>();
+        for (RecipeSummary summary : getSummariesInOrder(new ArrayList<>(candidateIds))) {
+            summaries.put(summary.getRecipeId(), summary);
+        }
+
+        for (Map.Entry<String, Map<Integer, Integer>> entry : candidatesByName.entrySet()) {
+            int queryCount = trigramsByName.get(entry.getKey()).size();
+            RecipeSummary best = null;
+            double bestScore = 0;
+
+            for (Map.Entry<Integer, Integer> candidate : entry.getValue().entrySet()) {
+                RecipeSummary summary = summaries.get(candidate.getKey());
+                if (summary == null) {
+                    continue;
+                }
+                int recipeCount = RecipeNameTrigrams.of(summary.getName()).size();
+                double score = RecipeNameTrigrams.similarity(queryCount, recipeCount, candidate.getValue());
+                if (score > bestScore) {
+                    best = summary;
+                    bestScore = score;
+                }
+            }
+
+            if (best != null) {
+                resolved.put(entry.getKey(), best);
+            }
+        }
+
+        Log.d(TAG, "추천 이름 연결: " + names.size() + "개 중 " + resolved.size() + "개 (조각 "
+                + allTrigrams.size() + "개, 후보 " + candidateIds.size() + "개)");
+        return resolved;
+    }
+
+
+    /**
+     * 레시피 이름 자동완성 (입력 중인 글자 기준)
+     *
+     * 이름 속 단어가 입력한 글자로 시작하는 레시피 이름을 사전순으로 반환
+     * 예: "떡구" → 떡국, "ㄸㄱ" → 떡국, "ㄱㅊㅉㄱ" → 김치찌개
+     *
+     * DB 대신 메모리 색인(RecipeNameIndex)으로 처리 (이진 탐색)
+     * 첫 호출 때 색인 파일을 읽을 수 있으므로 백그라운드 스레드에서 호출
+     *
+     * @param query 입력 중인 글자 (음절, 초성, 섞어서 모두 가능)
+     * @param limit 최대 개수
+     * @return 레시피 이름 목록 (같은 레시피는 한 번만)
+     */
+    public List<String> autocompleteRecipeNames(String query, int limit) {
+        RecipeNameIndexSnapshot snapshot = nameIndex.snapshot();
+        int[] ordinals = snapshot.suggest(query, limit);
+
+        List<String> names = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            names.add(snapshot.nameAt(ordinal));
+        }
+        return names;
+    }
+
+
+    /**
+     * 자유 문장 검색 (설명, 조리 단계) - BM25 점수 순
+     *
+     * 예: "추운 날 따뜻하고 매콤한 거" → 설명/조리 단계에 따뜻, 매콤이 많이 나오는 레시피
+     * 네트워크 없이 메모리 색인(RecipeTextIndex)으로 처리 → 채팅 오프라인 답변용
+     * 첫 호출 때 색인 파일을 읽을 수 있으므로 백그라운드 스레드에서 호출
+     *
+     * @param text 검색 문장
+     * @param limit 최대 개수
+     * @return 점수 높은 순 레시피 요약 목록
+     */
+    public List<RecipeSummary> searchRecipesByText(String text, int limit) {
+        return searchRecipesByText(text, limit, null);
+    }
+
+
+    /**
+     * searchRecipesByText()의 취소 가능한 버전 (RecipeSearchRunner용)
+     * 점수 계산이 끝난 뒤 요약을 읽기 전에 취소 여부 확인
+     *
+     * @param signal 취소 신호 (null이면 취소 안 함)
+     * @throws android.os.OperationCanceledException 취소된 경우
+     */
+    public List<RecipeSummary> searchRecipesByText(String text, int limit, CancellationSignal signal) {
+        long startTime = System.nanoTime();
+        RecipeTextIndexSnapshot snapshot = textIndex.snapshot();
+        int[] ordinals = snapshot.search(text, limit);
+        throwIfCanceled(signal);
+
+        List<Integer> recipeIds = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            recipeIds.add(snapshot.recipeIdAt(ordinal));
+        }
+
+        List<RecipeSummary> results = getSummariesInOrder(recipeIds);
+
+        Log.d(TAG, "문장 검색 '" + text + "': " + results.size() + "개, "
+                + (System.nanoTime() - startTime) / 1_000_000 + "ms");
+        return results;
+    }
+
+
+    /**
+     * 전문 검색 (이름, 재료, 설명) - 관련도 순
+     *
+     * 단어마다 앞부분 일치로 검색하고 모든 단어가 들어간 레시피만 반환
+     * 예: "김치 돼지" → 김치찌개(돼지고기 포함), 돼지고기 김치볶음, ...
+     *
+     * @param text 검색어
+     * @param limit 최대 개수
+     * @return 관련도 높은 순 레시피 요약 목록
+     */
+    public List<RecipeSummary> searchRecipesFullText(String text, int limit) {
+        return searchFullTextRanked(RecipeFtsQuery.build(text, null), limit);
+    }
+
+
+    /**
+     * 음식 이름 전문 검색 - 관련도 순
+     *
+     * @param keyword 검색 키워드 (음식 이름)
+     * @param limit 최대 개수
+     * @return 관련도 높은 순 레시피 요약 목록
+     */
+    public List<RecipeSummary> searchRecipesByNameRanked(String keyword, int limit) {
+        return searchFullTextRanked(RecipeFtsQuery.build(keyword, RecipeFtsQuery.COLUMN_NAME), limit);
+    }
+
+
+    /**
+     * 재료 전문 검색 - 관련도 순
+     *
+     * @param ingredient 재료명
+     * @param limit 최대 개수
+     * @return 관련도 높은 순 레시피 요약 목록
+     */
+    public List<RecipeSummary> searchRecipesByIngredientRanked(String ingredient, int limit) {
+        return searchFullTextRanked(RecipeFtsQuery.build(ingredient, RecipeFtsQuery.COLUMN_INGREDIENTS), limit);
+    }
+
+
+    /**
+     * MATCH 결과를 점수순으로 정렬해서 상위 limit개의 요약만 조회
+     */
+    private List<RecipeSummary> searchFullTextRanked(String matchQuery, int limit) {
+        if (matchQuery.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // ===== 1. 일치한 레시피 점수 계산 =====
+        List<RecipeFtsMatch> matches = recipeDao.matchFullText(matchQuery);
+        double[] scores = new double[matches.size()];
+        Integer[] order = new Integer[matches.size()];
+        for (int i = 0; i < matches.size(); i++) {
+            scores[i] = RecipeFtsQuery.score(matches.get(i).matchInfo);
+            order[i] = i;
+        }
+
+        // 점수 높은 순, 같으면 recipeId 순
+        java.util.Arrays.sort(order, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(matches.get(a).recipeId, matches.get(b).recipeId);
+        });
+
+        // ===== 2. 상위 limit개만 요약 조회 =====
+        int count = Math.min(limit, order.length);
+        List<Integer> topIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            topIds.add(matches.get(order[i]).recipeId);
+        }
+
+        List<RecipeSummary> results = getSummariesInOrder(topIds);
+
+        Log.d(TAG, "전문 검색 '" + matchQuery + "': " + matches.size() + "개 일치, 상위 " + results.size() + "개 반환");
+        return results;
+    }
+
+
+    /**
+     * 재료 구성이 비슷한 레시피 ("비슷한 레시피" 버튼)
+     *
+     * 동작:
+     * 1. LSH 밴드를 하나라도 공유하는 레시피를 후보로 조회 (전체 레시피와 비교하지 않음)
+     * 2. 후보마다 MinHash 서명으로 재료 집합 Jaccard 유사도 추정
+     * 3. 유사도 높은 순, 같으면 recipeId 순으로 상위 limit개
+     *
+     * 서명은 레시피를 저장할 때 만들어 두므로 (recipe_signatures) 여기서는 계산만 함
+     *
+     * @param recipeId 기준 레시피
+     * @param limit 최대 개수
+     * @return 비슷한 순 레시피 요약 목록 (기준 레시피 제외, 재료가 없는 레시피면 빈 목록)
+     */
+    public List<RecipeSummary> findSimilarRecipes(int recipeId, int limit) {
+        return findSimilarRecipes(recipeId, limit, null);
+    }
+
+
+    /**
+     * findSimilarRecipes()의 취소 가능한 버전 (RecipeSearchRunner용)
+     * 쿼리 사이, 유사도 계산이 끝난 뒤 요약을 읽기 전에 취소 여부 확인
+     *
+     * @param signal 취소 신호 (null이면 취소 안 함)
+     * @throws android.os.OperationCanceledException 취소된 경우
+     */
+    public List<RecipeSummary> findSimilarRecipes(int recipeId, int limit, CancellationSignal signal) {
+        RecipeSignature target = recipeDao.getSignature(recipeId);
+        if (target == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        throwIfCanceled(signal);
+
+        // ===== 1. 후보 + 추정 유사도 =====
+        int[] targetSignature = RecipeMinHash.fromBytes(target.signature);
+        List<RecipeSignature> candidates = recipeDao.getSimilarCandidates(recipeId, MAX_SIMILAR_CANDIDATES);
+        throwIfCanceled(signal);
+
+        int[] ids = new int[candidates.size()];
+        double[] similarities = new double[candidates.size()];
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            RecipeSignature candidate = candidates.get(i);
+            ids[i] = candidate.recipeId;
+            similarities[i] = RecipeMinHash.similarity(targetSignature, RecipeMinHash.fromBytes(candidate.signature));
+            order[i] = i;
+        }
+
+        // 유사도 높은 순, 같으면 recipeId 순
+        java.util.Arrays.sort(order, (a, b) -> {
+            int bySimilarity = Double.compare(similarities[b], similarities[a]);
+            return bySimilarity != 0 ? bySimilarity : Integer.compare(ids[a], ids[b]);
+        });
+
+        // ===== 2. 상위 limit개만 요약 조회 =====
+        List<Integer> topIds = new ArrayList<>();
+        for (int i = 0; i < order.length && topIds.size() < limit; i++) {
+            if (similarities[order[i]] < MIN_SIMILARITY) {
+                break;
+            }
+            topIds.add(ids[order[i]]);
+        }
+        throwIfCanceled(signal);
+
+        List<RecipeSummary> results = getSummariesInOrder(topIds);
+
+        Log.d(TAG, "비슷한 레시피 " + recipeId + ": 후보 " + candidates.size() + "개, 상위 " + results.size() + "개 반환");
+        return results;
+    }
+
+
+    /**
+     * 요리 종류별 인기 레시피 (스크랩수, 조회수 순)
+     *
+     * @param dishKind 요리 종류 (예: "밑반찬", "국/탕")
+     * @param limit 최대 개수
+     * @return 인기순 레시피 요약 목록
+     */
+    public List<RecipeSummary> getPopularRecipesByDishKind(String dishKind, int limit) {
+        if (dishKind == null || dishKind.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return recipeDao.getPopularSummariesByDishKind(dishKind.trim(), limit);
+    }
+
+
+    /**
+     * 조리 시간, 난이도 조건에 맞는 인기 레시피 (스크랩수, 조회수 순)
+     *
+     * 예: new RecipeFilter(15, 0) → 15분 이내 레시피 중 인기순
+     *
+     * @param filter 조리 시간, 난이도 조건
+     * @param limit 최대 개수
+     * @return 인기순 레시피 요약 목록
+     */
+    public List<RecipeSummary> getPopularRecipes(RecipeFilter filter, int limit) {
+        RecipeFilter range = filter != null ? filter : RecipeFilter.NONE;
+        return recipeDao.getPopularSummariesFiltered(range.minMinutes(), range.maxMinutes(),
+                range.minDifficulty(), range.maxDifficulty(), limit);
+    }
+
+
+    /**
+     * 주재료 분류별 인기 레시피 (스크랩수, 조회수 순)
+     *
+     * @param mainMaterial 재료 분류 (예: "채소류", "돼지고기")
+     * @param limit 최대 개수
+     * @return 인기순 레시피 요약 목록
+     */
+    public List<RecipeSummary> getPopularRecipesByMainMaterial(String mainMaterial, int limit) {
+        if (mainMaterial == null || mainMaterial.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return recipeDao.getPopularSummariesByMainMaterial(mainMaterial.trim(), limit);
+    }
+
+
+    /**
+     * 요리 상황별 인기 레시피 (스크랩수, 조회수 순)
+     *
+     * @param cookingSituation 요리 상황 (예: "일상", "손님접대")
+     * @param limit 최대 개수
+     * @return 인기순 레시피 요약 목록
+     */
+    public List<RecipeSummary> getPopularRecipesBySituation(String cookingSituation, int limit) {
+        if (cookingSituation == null || cookingSituation.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return recipeDao.getPopularSummariesBySituation(cookingSituation.trim(), limit);
+    }
+
+
+    /**
+     * DB에 있는 요리 종류 목록 (가나다순)
+     */
+    public List<String> getDishKinds() {
+        return recipeDao.getDishKinds();
+    }
+
+
     /**
      * 특정 ID의 레시피 조회
      *
@@ -145,4 +1057,174 @@ public class RecipeRepository {
     public int getRecipeCount() {
         return recipeDao.getRecipeCount();
     }
-}
\ No newline at end of file
+
+
+    /**
+     * 대용량 레시피 덤프 파일 임포트
+     *
+     * 번들 CSV와 같은 컬럼 구성의 외부 CSV를 여러 코어로 병렬 파싱하고
+     * CSV 순서대로 배치 단위 트랜잭션으로 저장
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @param csvFile 레시피 CSV 파일
+     * @return 저장된 레시피 개수
+     */
+    public int importRecipesFromFile(File csvFile) throws IOException {
+        int imported = ParallelRecipeCsvLoader.streamRecipes(
+                csvFile,
+                RecipeCsvLoader.DEFAULT_BATCH_SIZE,
+                recipeDao::upsertRecipesWithIngredients
+        );
+
+        Log.d(TAG, "덤프 임포트 완료: " + imported + "개 레시피");
+        return imported;
+    }
+
+
+    /**
+     * 요약 조회 쿼리를 취소 신호와 함께 실행
+     * IngredientMatchQuery로 만든 쿼리는 DAO 메서드가 없으므로 직접 실행해서 커서를 읽음
+     *
+     * @param factory 행 객체 생성 (RecipeSummary::new, RecipeMatch::new - RecipeMatch면 matchCount도 읽음)
+     */
+    private <T extends RecipeSummary> List<T> querySummaries(SupportSQLiteQuery query, CancellationSignal signal,
+                                                             java.util.function.Supplier<T> factory) {
+        List<T> results = new ArrayList<>();
+        try (Cursor cursor = database.query(query, signal)) {
+            int recipeId = cursor.getColumnIndexOrThrow("recipeId");
+            int name = cursor.getColumnIndexOrThrow("name");
+            int ingredients = cursor.getColumnIndexOrThrow("ingredients");
+            int cookingTime = cursor.getColumnIndexOrThrow("cookingTime");
+            int difficulty = cursor.getColumnIndexOrThrow("difficulty");
+            int matchCount = cursor.getColumnIndex("matchCount");
+
+            while (cursor.moveToNext()) {
+                T row = factory.get();
+                row.recipeId = cursor.getInt(recipeId);
+                row.name = cursor.getString(name);
+                row.ingredients = cursor.getString(ingredients);
+                row.cookingTime = cursor.getString(cookingTime);
+                row.difficulty = cursor.getString(difficulty);
+                if (row instanceof RecipeMatch && matchCount >= 0) {
+                    ((RecipeMatch) row).matchCount = cursor.getInt(matchCount);
+                }
+                results.add(row);
+            }
+        }
+        return results;
+    }
+
+    private static void throwIfCanceled(CancellationSignal signal) {
+        if (signal != null) {
+            signal.throwIfCanceled();
+        }
+    }
+
+
+    /**
+     * ID 목록의 레시피 요약을 같은 순서로 조회 (IN 쿼리를 ID_CHUNK_SIZE개씩 나눠서 실행)
+     * DB에 없는 ID는 건너뜀
+     */
+    private List<RecipeSummary> getSummariesInOrder(List<Integer> recipeIds) {
+        Map<Integer, RecipeSummary> byId = new HashMap<>();
+        for (int i = 0; i < recipeIds.size(); i += ID_CHUNK_SIZE) {
+            for (RecipeSummary summary : recipeDao.getSummariesByIds(recipeIds.subList(i, Math.min(i + ID_CHUNK_SIZE, recipeIds.size())))) {
+                byId.put(summary.getRecipeId(), summary);
+            }
+        }
+
+        List<RecipeSummary> results = new ArrayList<>(byId.size());
+        for (Integer recipeId : recipeIds) {
+            RecipeSummary summary = byId.get(recipeId);
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return results;
+    }
+
+
+    // 순위 결과 → 추천 목록 (상위 K개 요약만 조회, 순서 유지)
+    private List<RecipeRecommendation> toRecommendations(RecipeRanker.Ranked[] ranked) {
+        List<Integer> recipeIds = new ArrayList<>(ranked.length);
+        Map<Integer, RecipeRanker.Ranked> rankedById = new HashMap<>();
+        for (RecipeRanker.Ranked entry : ranked) {
+            recipeIds.add(entry.recipeId);
+            rankedById.put(entry.recipeId, entry);
+        }
+
+        List<RecipeRecommendation> results = new ArrayList<>(ranked.length);
+        for (RecipeSummary summary : getSummariesInOrder(recipeIds)) {
+            RecipeRanker.Ranked entry = rankedById.get(summary.getRecipeId());
+
+            RecipeRecommendation recommendation = new RecipeRecommendation();
+            copySummary(summary, recommendation);
+            recommendation.matchCount = entry.matchCount;
+            recommendation.ingredientCount = entry.ingredientCount;
+            recommendation.missingCount = entry.ingredientCount - entry.matchCount;
+            recommendation.score = entry.score;
+            results.add(recommendation);
+        }
+        return results;
+    }
+
+
+    // 추천 목록 + 레시피별 부족한 재료 (재료 행을 ID_CHUNK_SIZE개 레시피씩 한 번에 조회)
+    private List<RecipeWithMissing> withMissingIngredients(List<RecipeRecommendation> recommendations, List<String> owned) {
+        Set<String> ownedKeys = new HashSet<>();
+        if (owned != null) {
+            for (String name : owned) {
+                ownedKeys.add(IngredientMatchQuery.nameKey(name));
+            }
+        }
+
+        List<Integer> recipeIds = new ArrayList<>(recommendations.size());
+        for (RecipeRecommendation recommendation : recommendations) {
+            recipeIds.add(recommendation.getRecipeId());
+        }
+
+        // ===== 레시피별 부족한 재료 (같은 재료는 한 번만, 레시피에 적힌 순서) =====
+        Map<Integer, List<String>> missingById = new HashMap<>();
+        for (int i = 0; i < recipeIds.size(); i += ID_CHUNK_SIZE) {
+            Set<String> seen = new HashSet<>();
+            int currentRecipeId = Integer.MIN_VALUE;
+
+            for (RecipeIngredient row : recipeDao.getIngredientsForRecipes(recipeIds.subList(i, Math.min(i + ID_CHUNK_SIZE, recipeIds.size())))) {
+                if (row.recipeId != currentRecipeId) {
+                    currentRecipeId = row.recipeId;
+                    seen.clear();
+                }
+                if (row.name == null || row.name.isEmpty() || ownedKeys.contains(row.name) || !seen.add(row.name)) {
+                    continue;
+                }
+                missingById.computeIfAbsent(row.recipeId, key -> new ArrayList<>()).add(row.rawName);
+            }
+        }
+
+        List<RecipeWithMissing> results = new ArrayList<>(recommendations.size());
+        for (RecipeRecommendation recommendation : recommendations) {
+            RecipeWithMissing result = new RecipeWithMissing();
+            copySummary(recommendation, result);
+            result.matchCount = recommendation.matchCount;
+            result.ingredientCount = recommendation.ingredientCount;
+            result.missingCount = recommendation.missingCount;
+            result.score = recommendation.score;
+
+            List<String> missing = missingById.get(recommendation.getRecipeId());
+            if (missing != null) {
+                result.missingIngredients = missing;
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+
+    private static void copySummary(RecipeSummary from, RecipeSummary to) {
+        to.recipeId = from.recipeId;
+        to.name = from.name;
+        to.ingredients = from.ingredients;
+        to.cookingTime = from.cookingTime;
+        to.difficulty = from.difficulty;
+    }
+}
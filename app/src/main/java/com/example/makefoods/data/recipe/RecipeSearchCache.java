@@ -0,0 +1,202 @@
+package com.example.makefoods.data.recipe;
+
+import android.util.Log;
+import androidx.room.InvalidationTracker;
+import com.example.makefoods.database.AppDatabase;
+import com.example.makefoods.database.IngredientMatchQuery;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * RecipeSearchCache
+ *
+ * 레시피 검색 결과 캐시 (LRU)
+ * 카메라 인식, 채팅에서 같은 재료 조합을 반복해서 검색할 때 DB를 다시 읽지 않음
+ *
+ * - 키: 검색 종류 + 정규화해서 정렬한 재료 목록 (순서, 동의어가 달라도 같은 키)
+ *   예: [달걀, 파] 와 [대파, 계란 2개] → "matches|계란|대파"
+ * - 크기 제한: 최대 MAX_ENTRIES개, 결과 행 합계 MAX_ROWS개 (넘으면 오래 안 쓴 것부터 삭제)
+ *   결과가 MAX_ROWS개보다 많은 검색은 저장하지 않음
+ * - 레시피 테이블이 바뀌면 (InvalidationTracker) 전부 삭제
+ *   조회 중에 바뀐 경우 그 결과는 저장하지 않음 (세대 번호 비교)
+ *   감지 등록은 첫 getOrLoad 때 (조회하는 백그라운드 스레드에서, 메인 스레드에서 생성돼도 괜찮음)
+ *
+ * 앱 전체에서 하나만 사용 (getInstance), 여러 스레드에서 동시에 호출 가능
+ * 결과 목록은 복사해서 돌려주지만 안의 객체는 공유하므로 수정하면 안 됨
+ */
+public class RecipeSearchCache {
+
+    private static final String TAG = "RecipeSearchCache";
+
+    static final int MAX_ENTRIES = 64;
+    static final int MAX_ROWS = 5000;
+
+    private static RecipeSearchCache instance;
+
+    // 접근 순서 (맨 앞이 가장 오래 안 쓴 것)
+    private final LinkedHashMap<String, List<?>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int rowCount;
+
+    // 테이블이 바뀔 때마다 증가
+    private long generation;
+
+    // 테이블 변경 감지 등록 (InvalidationTracker.addObserver)
+    private final Consumer<InvalidationTracker.Observer> observerRegistrar;
+    private final Object observerLock = new Object();
+    private volatile boolean observerRegistered;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+
+    public static synchronized RecipeSearchCache getInstance(AppDatabase database) {
+        if (instance == null) {
+            instance = new RecipeSearchCache(database);
+        }
+        return instance;
+    }
+
+    private RecipeSearchCache(AppDatabase database) {
+        this(observer -> database.getInvalidationTracker().addObserver(observer));
+    }
+
+    // 테스트용 (등록 대신 감지 객체를 받아서 직접 호출)
+    RecipeSearchCache(Consumer<InvalidationTracker.Observer> observerRegistrar) {
+        this.observerRegistrar = observerRegistrar;
+    }
+
+
+    /**
+     * 재료 목록 검색 키 (정규화, 중복 제거, 정렬)
+     *
+     * @param kind 검색 종류 (예: "matches", "recommend:10")
+     * @param ingredients 재료 목록
+     */
+    public static String ingredientKey(String kind, List<String> ingredients) {
+        Set<String> keys = new TreeSet<>();
+        if (ingredients != null) {
+            for (String ingredient : ingredients) {
+                String key = IngredientMatchQuery.nameKey(ingredient);
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(kind);
+        for (String key : keys) {
+            sb.append('|').append(key);
+        }
+        return sb.toString();
+    }
+
+
+    /**
+     * 캐시에 있으면 그 결과, 없으면 loader로 조회해서 저장
+     * loader는 호출한 스레드에서 실행 (DB 조회라면 백그라운드 스레드에서 호출)
+     *
+     * @param key 검색 키 (ingredientKey 등)
+     * @param loader 실제 조회
+     * @return 결과 목록 (복사본)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getOrLoad(String key, Supplier<List<T>> loader) {
+        registerObserverIfNeeded();
+
+        long loadGeneration;
+        synchronized (this) {
+            List<?> cached = entries.get(key);
+            if (cached != null) {
+                hitCount.incrementAndGet();
+                return new ArrayList<>((List<T>) cached);
+            }
+            loadGeneration = generation;
+        }
+
+        missCount.incrementAndGet();
+        List<T> result = loader.get();
+        put(key, loadGeneration, result);
+        return result;
+    }
+
+
+    /**
+     * 전부 삭제 (레시피 테이블이 바뀌었을 때)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        rowCount = 0;
+        generation++;
+        Log.d(TAG, "캐시 비움 (적중 " + hitCount.get() + ", 실패 " + missCount.get() + ")");
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+
+    /**
+     * 테이블 변경 감지 등록 (처음 한 번만)
+     * addObserver는 DB 트리거를 만들 수 있으므로 생성자가 아니라 첫 조회 스레드에서 실행
+     * 등록이 끝나야 조회를 시작하므로 등록 전에 저장되는 결과는 없음
+     */
+    private void registerObserverIfNeeded() {
+        if (observerRegistered) {
+            return;
+        }
+        synchronized (observerLock) {
+            if (!observerRegistered) {
+                // 검색에 쓰는 테이블이 바뀌면 전부 삭제
+                observerRegistrar.accept(new InvalidationTracker.Observer(
+                        "recipes", "recipe_ingredients", "recipe_name_trigrams") {
+                    @Override
+                    public void onInvalidated(Set<String> tables) {
+                        clear();
+                    }
+                });
+                observerRegistered = true;
+            }
+        }
+    }
+
+    private synchronized void put(String key, long loadGeneration, List<?> result) {
+        // 조회 중에 테이블이 바뀌었거나 너무 큰 결과는 저장하지 않음
+        if (loadGeneration != generation || result.size() > MAX_ROWS) {
+            return;
+        }
+
+        List<?> previous = entries.put(key, Collections.unmodifiableList(new ArrayList<>(result)));
+        if (previous != null) {
+            rowCount -= previous.size();
+        }
+        rowCount += result.size();
+
+        // ===== 오래 안 쓴 것부터 삭제 =====
+        Iterator<Map.Entry<String, List<?>>> it = entries.entrySet().iterator();
+        while ((entries.size() > MAX_ENTRIES || rowCount > MAX_ROWS) && it.hasNext()) {
+            Map.Entry<String, List<?>> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            rowCount -= eldest.getValue().size();
+            it.remove();
+        }
+    }
+}
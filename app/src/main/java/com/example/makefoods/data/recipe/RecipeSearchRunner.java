@@ -0,0 +1,160 @@
+package com.example.makefoods.data.recipe;
+
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import android.util.Log;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * RecipeSearchRunner
+ *
+ * 레시피 검색을 백그라운드에서 실행하고 가장 최근 요청의 결과만 전달하는 실행기
+ * 입력 중 검색(자동완성), 연속으로 누르는 검색 버튼처럼 요청이 빠르게 바뀌는 곳에서 사용
+ *
+ * 동작:
+ * - submit()하면 이전 요청을 취소 (CancellationSignal.cancel())
+ *   → 실행 중인 SQLite 쿼리는 바로 중단 (OperationCanceledException), 아직 시작 전이면 실행하지 않음
+ * - 결과를 전달하기 직전에 더 새로운 요청이 있었는지 확인 → 늦게 끝난 예전 결과가 새 결과를 덮어쓰지 않음
+ * - 취소된 검색은 콜백을 호출하지 않음
+ * - 콜백은 submit()과 같은 잠금 밖에서 호출 → 콜백이 오래 걸려도 메인 스레드의 submit()이 기다리지 않음
+ *
+ * 검색 화면(또는 ViewModel)의 검색 종류마다 하나씩 만들어서 사용하고, 화면이 끝나면 cancel()
+ * 콜백은 백그라운드 스레드에서 호출됨 (LiveData는 postValue 사용)
+ */
+public class RecipeSearchRunner {
+
+    private static final String TAG = "RecipeSearchRunner";
+
+    // 검색 실행용 (모든 실행기가 같이 사용, 예전 요청은 취소되므로 스레드 2개면 충분)
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
+
+    /**
+     * 검색 (CancellationSignal을 쿼리까지 넘겨야 실행 중에도 취소됨)
+     */
+    public interface Search<T> {
+        T run(CancellationSignal signal) throws Exception;
+    }
+
+    public interface Callback<T> {
+        void onResult(T result);
+
+        void onError(Exception e);
+    }
+
+    private final ExecutorService executor;
+
+    // 결과 전달 순서 유지용 (전달 여부는 this 잠금으로 정하고, 콜백은 이 잠금만 잡고 호출)
+    private final Object deliveryLock = new Object();
+
+    private Handle current;
+
+
+    public RecipeSearchRunner() {
+        this(EXECUTOR);
+    }
+
+    // 테스트에서 실행 순서를 정할 수 있도록 실행기 지정
+    RecipeSearchRunner(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 검색 요청 (이전 요청은 취소)
+     *
+     * @return 이 요청의 핸들 (따로 취소할 때 사용)
+     */
+    public synchronized <T> Handle submit(Search<T> search, Callback<T> callback) {
+        if (current != null) {
+            current.cancel();
+        }
+
+        Handle handle = new Handle();
+        current = handle;
+        handle.future = executor.submit(() -> run(handle, search, callback));
+        return handle;
+    }
+
+    /**
+     * 진행 중인 요청 취소 (화면이 끝날 때 호출)
+     */
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancel();
+            current = null;
+        }
+    }
+
+    private <T> void run(Handle handle, Search<T> search, Callback<T> callback) {
+        if (handle.isCancelled()) {
+            return;
+        }
+
+        T result;
+        try {
+            result = search.run(handle.signal);
+        } catch (OperationCanceledException e) {
+            Log.d(TAG, "검색 취소됨 (실행 중)");
+            return;
+        } catch (Exception e) {
+            deliverError(handle, callback, e);
+            return;
+        }
+
+        // 전달 여부는 submit()과 같은 잠금 안에서 정하고, 콜백은 그 잠금 밖에서 호출
+        // deliveryLock으로 전달을 한 번에 하나씩 → 먼저 정해진 예전 결과가 새 결과보다 늦게 전달되지 않음
+        synchronized (deliveryLock) {
+            if (!claim(handle)) {
+                Log.d(TAG, "더 새로운 검색이 있어서 결과 버림");
+                return;
+            }
+            callback.onResult(result);
+        }
+    }
+
+    private <T> void deliverError(Handle handle, Callback<T> callback, Exception e) {
+        synchronized (deliveryLock) {
+            if (!claim(handle)) {
+                return;
+            }
+            callback.onError(e);
+        }
+    }
+
+    // 아직 가장 최근 요청이면 전달 확정 (current를 비움)
+    private synchronized boolean claim(Handle handle) {
+        if (handle != current || handle.isCancelled()) {
+            return false;
+        }
+        current = null;
+        return true;
+    }
+
+
+    /**
+     * 검색 요청 하나 (취소 가능)
+     */
+    public static class Handle {
+
+        private final CancellationSignal signal = new CancellationSignal();
+        private volatile boolean cancelled = false;   // 취소 여부 (signal은 쿼리 중단용)
+        private volatile Future<?> future;
+
+        /**
+         * 취소: 실행 중인 쿼리는 중단, 시작 전이면 실행하지 않음, 결과는 전달하지 않음
+         */
+        public void cancel() {
+            cancelled = true;
+            signal.cancel();
+            Future<?> started = future;
+            if (started != null) {
+                started.cancel(false);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
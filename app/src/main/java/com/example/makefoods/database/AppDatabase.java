@@ -6,6 +6,13 @@ import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import com.example.makefoods.model.Ingredient;
 import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeDataset;
+import com.example.makefoods.model.RecipeFridgeMatch;
+import com.example.makefoods.model.RecipeFts;
+import com.example.makefoods.model.RecipeIngredient;
+import com.example.makefoods.model.RecipeLshBand;
+import com.example.makefoods.model.RecipeNameTrigram;
+import com.example.makefoods.model.RecipeSignature;
 
 /**
  * AppDatabase
@@ -16,14 +23,36 @@ import com.example.makefoods.model.Recipe;
  * 데이터베이스 구성:
  * - Ingredient: 냉장고에 저장된 재료들
  * - Recipe: CSV에서 로드한 레시피 데이터 (2000개)
+ * - RecipeIngredient: 레시피별 재료 (Recipe.ingredients를 파싱한 검색용 테이블)
+ * - RecipeNameTrigram: 레시피 이름 세 글자 조각 (추천 음식 이름을 비슷한 레시피로 연결)
+ * - RecipeFridgeMatch: 레시피별 냉장고 재료 보유 현황 (재료가 바뀔 때 트리거로 갱신, FridgeMatchTriggers)
+ * - RecipeSignature, RecipeLshBand: 재료 집합의 MinHash 서명과 LSH 밴드 (비슷한 레시피 검색, RecipeMinHash)
+ * - RecipeFts: 레시피 이름/재료/설명 전문 검색 색인 (recipes와 트리거로 자동 동기화)
+ * - RecipeDataset: DB에 반영된 CSV 체크섬과 데이터셋 버전
  *
+ * 레시피 데이터는 빌드 시점에 만들어진 DB 파일(assets/databases/makefoods.db)을
+ * createFromAsset()으로 복사해서 사용 (app/build.gradle.kts의 BuildRecipeDatabaseTask)
+ * 앱 업데이트로 CSV가 바뀌면 바뀐 레시피만 반영 (RecipeDatasetSync)
+ * 반영 후 파생 테이블(RecipeIndexBuilder), 이름 자동완성 색인 파일(RecipeNameIndex),
+ * 설명/조리 단계 검색 색인 파일(RecipeTextIndex)을 확인
+ *
+ * 스키마 버전이 바뀌면 냉장고 재료(ingredients)는 그대로 두고 바뀐 부분만 반영,
+ * 레시피 쪽 테이블은 미리 만든 DB의 내용으로 교체 (AppMigrations)
  */
 @Database(
-        entities = {Ingredient.class, Recipe.class},
-        version = 2
+        entities = {Ingredient.class, Recipe.class, RecipeIngredient.class, RecipeNameTrigram.class,
+                RecipeFridgeMatch.class, RecipeSignature.class, RecipeLshBand.class, RecipeFts.class,
+                RecipeDataset.class},
+        version = AppDatabase.VERSION
 )
 public abstract class AppDatabase extends RoomDatabase {
 
+    // 스키마 버전 (올릴 때 AppMigrations에 단계 추가)
+    static final int VERSION = 12;
+
+    // 빌드 시점에 생성되는 레시피 DB (assets 기준 경로)
+    private static final String PREBUILT_DB_ASSET = "databases/makefoods.db";
+
     private static AppDatabase instance;
     private static boolean isLoadingRecipes = false;
 
@@ -48,6 +77,8 @@ public abstract class AppDatabase extends RoomDatabase {
                             AppDatabase.class,
                             "makefoods.db"  // 데이터베이스 파일명
                     )
+                    .createFromAsset(PREBUILT_DB_ASSET)  // 첫 실행시 미리 만들어진 레시피 DB 복사
+                    .addMigrations(AppMigrations.all(context, PREBUILT_DB_ASSET))  // 스키마 변경시 냉장고 재료는 유지
                     .allowMainThreadQueries()  // 메인 스레드에서 DB 접근 허용
                     .addCallback(new RoomDatabase.Callback() {
                         @Override
@@ -60,7 +91,9 @@ public abstract class AppDatabase extends RoomDatabase {
                         public void onOpen(androidx.sqlite.db.SupportSQLiteDatabase db) {
                             super.onOpen(db);
                             android.util.Log.d("AppDatabase", "DB 오픈됨");
-                            // 별도 스레드에서 CSV 로드
+                            // 냉장고 재료 → 레시피별 보유 현황 갱신 트리거 (Room 스키마 밖이라 직접 생성)
+                            FridgeMatchTriggers.create(db);
+                            // 별도 스레드에서 CSV 변경 여부 확인 후 반영
                             new Thread(() -> checkAndLoadRecipesIfNeeded(context)).start();
                         }
                     })
@@ -89,28 +122,20 @@ public abstract class AppDatabase extends RoomDatabase {
                 return;
             }
 
-            RecipeDao recipeDao = instance.recipeDao();
+            // CSV 체크섬이 바뀌었거나 테이블이 비어있으면 바뀐 레시피만 반영
+            int changed = RecipeDatasetSync.sync(context, instance);
 
-            // 레시피 테이블의 레코드 수 확인
-            int recipeCount = recipeDao.getRecipeCount();
+            // 재료 테이블 등 파생 테이블이 없거나 예전 버전이면 다시 생성
+            RecipeIndexBuilder.rebuildIfNeeded(instance);
 
-            if (recipeCount == 0) {
+            // 이름 자동완성 색인이 예전 데이터셋 기준이면 다시 만들어서 파일로 저장
+            RecipeNameIndex.getInstance(context).rebuildIfNeeded();
 
-                android.util.Log.d("AppDatabase", "레시피 테이블이 비어있음. CSV에서 로드 중...");
+            // 설명/조리 단계 검색 색인도 같은 방식으로 파일로 저장 (채팅 오프라인 답변용)
+            RecipeTextIndex.getInstance(context).rebuildIfNeeded();
 
-                // CSV 파일 로드
-                java.util.List<Recipe> recipes = RecipeCsvLoader.loadRecipesFromCsv(context);
-
-                // 로드된 레시피를 DB에 저장
-                if (!recipes.isEmpty()) {
-                    recipeDao.insertRecipes(recipes);
-                    android.util.Log.d("AppDatabase", "CSV 임포트 완료 총 " + recipes.size() + "개 레시피 저장됨");
-                } else {
-                    android.util.Log.w("AppDatabase", "CSV 파일에서 레시피를 찾지 못함");
-                }
-            } else {
-                android.util.Log.d("AppDatabase", "레시피 테이블에 이미 " + recipeCount + "개 데이터 있음");
-            }
+            android.util.Log.d("AppDatabase", "레시피 테이블에 " + instance.recipeDao().getRecipeCount()
+                    + "개 데이터 있음 (이번 동기화 " + changed + "개 변경)");
         } catch (Exception e) {
             android.util.Log.e("AppDatabase", "레시피 임포트 실패: " + e.getMessage(), e);
         } finally {
@@ -0,0 +1,317 @@
+package com.example.makefoods.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AppMigrations
+ *
+ * 스키마 버전 사이의 마이그레이션 (AppDatabase.getInstance에서 등록)
+ *
+ * 테이블을 두 종류로 나눠서 처리:
+ * - ingredients: 사용자가 직접 넣은 냉장고 재료 → 지우지 않고 바뀐 컬럼/인덱스만 단계별로 반영
+ * - 나머지 레시피 쪽 테이블: 전부 CSV에서 다시 만들 수 있음
+ *   → 마지막 단계에서 한 번만 지우고 미리 만든 DB(assets/databases/makefoods.db)의 스키마와 데이터로 교체
+ *   → 파생 테이블은 빈 상태(derivedIndexVersion = 0)로 들어오므로 DB를 연 뒤 RecipeIndexBuilder가 다시 생성
+ *
+ * 스키마 버전을 올릴 때는 step()을 하나 추가
+ * ingredients가 바뀌었으면 그 단계에 ALTER TABLE / CREATE INDEX를 넣고, 레시피 쪽만 바뀌었으면 빈 단계
+ *
+ * 마이그레이션은 DB를 처음 쓰는 스레드에서 실행됨 (allowMainThreadQueries라 메인 스레드일 수 있음)
+ * 미리 만든 DB를 캐시에 복사하고 레시피 2000개를 옮기는 정도라 앱 업데이트 후 한 번만 걸림
+ */
+public class AppMigrations {
+
+    private static final String TAG = "AppMigrations";
+
+    // 마이그레이션 중 미리 만든 DB를 풀어놓는 임시 파일 (끝나면 삭제)
+    private static final String PREBUILT_COPY_NAME = "makefoods_migration.db";
+
+    // 레시피 쪽 교체에서 제외하는 테이블 (사용자 데이터, Room/SQLite 내부 테이블)
+    private static final String USER_TABLE = "ingredients";
+
+    /**
+     * 한 단계에서 ingredients에 적용할 변경
+     */
+    private interface IngredientsChange {
+        void apply(SupportSQLiteDatabase db);
+    }
+
+
+    /**
+     * 등록할 마이그레이션 전체
+     *
+     * @param prebuiltAsset 미리 만든 레시피 DB (assets 기준 경로)
+     */
+    static Migration[] all(Context context, String prebuiltAsset) {
+        Context appContext = context.getApplicationContext();
+        List<Migration> steps = new ArrayList<>();
+
+        // ===== 단계별 ingredients 변경 (레시피 쪽만 바뀐 단계는 빈 단계) =====
+        steps.add(step(appContext, prebuiltAsset, 2, 3, null));  // 레시피 데이터셋 체크섬 (recipe_dataset)
+        steps.add(step(appContext, prebuiltAsset, 3, 4, null));  // recipe_ingredients
+        steps.add(step(appContext, prebuiltAsset, 4, 5, null));  // recipes 나머지 CSV 컬럼
+        steps.add(step(appContext, prebuiltAsset, 5, 6, null));  // recipes_fts
+        steps.add(step(appContext, prebuiltAsset, 6, 7, AppMigrations::addExpiryDateIndex));
+        steps.add(step(appContext, prebuiltAsset, 7, 8, null));  // recipe_name_trigrams
+        steps.add(step(appContext, prebuiltAsset, 8, 9, AppMigrations::addNameKey));  // + recipe_fridge_matches
+        steps.add(step(appContext, prebuiltAsset, 9, 10, null));  // 조리 시간/난이도 컬럼
+        steps.add(step(appContext, prebuiltAsset, 10, 11, null));  // recipe_signatures, recipe_lsh_bands
+        steps.add(step(appContext, prebuiltAsset, 11, 12, AppMigrations::addRegisteredDateIndex));
+
+        return steps.toArray(new Migration[0]);
+    }
+
+    private static Migration step(Context context, String prebuiltAsset, int from, int to, IngredientsChange change) {
+        return new Migration(from, to) {
+            @Override
+            public void migrate(SupportSQLiteDatabase db) {
+                if (change != null) {
+                    change.apply(db);
+                }
+                // 여러 단계를 거치는 업데이트라도 레시피 쪽 교체는 최신 버전으로 가는 마지막 단계에서 한 번만
+                if (to == AppDatabase.VERSION) {
+                    replaceRecipeTables(context, prebuiltAsset, db);
+                }
+                Log.d(TAG, "마이그레이션 " + from + " → " + to + " 완료");
+            }
+        };
+    }
+
+
+    // ===== ingredients 변경 =====
+
+    // 6 → 7: 소비기한 임박 재료 조회용 인덱스
+    private static void addExpiryDateIndex(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS `index_ingredients_expiryDate` ON `ingredients` (`expiryDate`)");
+    }
+
+    // 8 → 9: 정규화한 재료 이름 (레시피 재료와 비교, FridgeMatchTriggers) + 인덱스
+    // 기존 재료도 지금 사전으로 채워둠 (사전이 바뀌면 RecipeIndexBuilder가 다시 갱신)
+    private static void addNameKey(SupportSQLiteDatabase db) {
+        db.execSQL("ALTER TABLE `ingredients` ADD COLUMN `nameKey` TEXT");
+        db.execSQL("CREATE INDEX IF NOT EXISTS `index_ingredients_nameKey` ON `ingredients` (`nameKey`)");
+
+        try (Cursor cursor = db.query("SELECT id, name FROM ingredients");
+             SupportSQLiteStatement update = db.compileStatement("UPDATE ingredients SET nameKey = ? WHERE id = ?")) {
+            while (cursor.moveToNext()) {
+                update.bindString(1, IngredientNormalizer.normalize(cursor.getString(1)));
+                update.bindLong(2, cursor.getLong(0));
+                update.executeUpdateDelete();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 11 → 12: 등록일순 목록 조회용 인덱스
+    private static void addRegisteredDateIndex(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS `index_ingredients_registeredDate` ON `ingredients` (`registeredDate`)");
+    }
+
+
+    // ===== 레시피 쪽 테이블 교체 =====
+
+    /**
+     * ingredients를 뺀 모든 테이블을 지우고 미리 만든 DB의 테이블, 트리거, 인덱스, 데이터로 교체
+     * 미리 만든 DB는 Room 스키마 JSON의 createSql로 만들어지므로 최신 스키마와 똑같음
+     */
+    private static void replaceRecipeTables(Context context, String prebuiltAsset, SupportSQLiteDatabase db) {
+        long startTime = System.currentTimeMillis();
+
+        dropRecipeTables(db);
+
+        File copy = new File(context.getCacheDir(), PREBUILT_COPY_NAME);
+        try {
+            copyAsset(context, prebuiltAsset, copy);
+
+            SQLiteDatabase prebuilt = SQLiteDatabase.openDatabase(copy.getPath(), null, SQLiteDatabase.OPEN_READONLY);
+            try {
+                List<String[]> objects = readSchema(prebuilt);
+
+                // 테이블 → 트리거(FTS 동기화) → 데이터 → 인덱스 순서
+                // 트리거를 먼저 만들어야 recipes를 넣을 때 recipes_fts 색인도 같이 채워짐
+                execAll(db, objects, "table");
+                execAll(db, objects, "trigger");
+
+                int rows = 0;
+                for (String[] object : objects) {
+                    if (object[0].equals("table") && !isVirtual(object[2])) {
+                        rows += copyRows(prebuilt, db, object[1]);
+                    }
+                }
+
+                execAll(db, objects, "index");
+
+                Log.d(TAG, "레시피 테이블 교체 완료: " + rows + "행, "
+                        + (System.currentTimeMillis() - startTime) + "ms");
+            } finally {
+                prebuilt.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("미리 만든 레시피 DB 복사 실패: " + prebuiltAsset, e);
+        } finally {
+            if (copy.exists() && !copy.delete()) {
+                Log.w(TAG, "임시 DB 파일 삭제 실패: " + copy);
+            }
+        }
+    }
+
+    /**
+     * ingredients를 뺀 테이블 삭제 (인덱스, 트리거는 테이블과 같이 삭제됨)
+     * FTS 테이블을 먼저 지워야 그 보조 테이블(recipes_fts_segments 등)도 같이 지워짐
+     */
+    private static void dropRecipeTables(SupportSQLiteDatabase db) {
+        for (boolean virtual : new boolean[]{true, false}) {
+            List<String> tables = new ArrayList<>();
+            try (Cursor cursor = db.query("SELECT name, sql FROM sqlite_master WHERE type = 'table'")) {
+                while (cursor.moveToNext()) {
+                    String name = cursor.getString(0);
+                    if (isRecipeTable(name) && isVirtual(cursor.getString(1)) == virtual) {
+                        tables.add(name);
+                    }
+                }
+            }
+            for (String table : tables) {
+                db.execSQL("DROP TABLE IF EXISTS `" + table + "`");
+            }
+        }
+    }
+
+    /**
+     * 미리 만든 DB의 레시피 쪽 스키마 객체 {type, name, sql}
+     * FTS 보조 테이블은 FTS 테이블을 만들면 자동으로 생기므로 제외
+     */
+    private static List<String[]> readSchema(SQLiteDatabase prebuilt) {
+        List<String[]> objects = new ArrayList<>();
+        List<String> virtualTables = new ArrayList<>();
+
+        try (Cursor cursor = prebuilt.rawQuery(
+                "SELECT type, name, tbl_name, sql FROM sqlite_master WHERE sql IS NOT NULL", null)) {
+            while (cursor.moveToNext()) {
+                String type = cursor.getString(0);
+                String table = cursor.getString(2);
+                String sql = cursor.getString(3);
+                if (!isRecipeTable(table)) {
+                    continue;
+                }
+                if (type.equals("table") && isVirtual(sql)) {
+                    virtualTables.add(table);
+                }
+                objects.add(new String[]{type, cursor.getString(1), sql});
+            }
+        }
+
+        List<String[]> result = new ArrayList<>();
+        for (String[] object : objects) {
+            if (!isShadowTable(object[1], virtualTables)) {
+                result.add(object);
+            }
+        }
+        return result;
+    }
+
+    private static void execAll(SupportSQLiteDatabase db, List<String[]> objects, String type) {
+        for (String[] object : objects) {
+            if (object[0].equals(type)) {
+                db.execSQL(object[2]);
+            }
+        }
+    }
+
+    /**
+     * 테이블 행 전체 복사 (컬럼 이름 기준이라 컬럼 순서와 상관없음)
+     */
+    private static int copyRows(SQLiteDatabase prebuilt, SupportSQLiteDatabase db, String table) {
+        int rows = 0;
+        try (Cursor cursor = prebuilt.rawQuery("SELECT * FROM `" + table + "`", null)) {
+            String[] columns = cursor.getColumnNames();
+            StringBuilder sql = new StringBuilder("INSERT INTO `").append(table).append("` (");
+            for (int i = 0; i < columns.length; i++) {
+                sql.append(i == 0 ? "`" : ", `").append(columns[i]).append('`');
+            }
+            sql.append(") VALUES (");
+            for (int i = 0; i < columns.length; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+
+            try (SupportSQLiteStatement insert = db.compileStatement(sql.toString())) {
+                while (cursor.moveToNext()) {
+                    for (int i = 0; i < columns.length; i++) {
+                        switch (cursor.getType(i)) {
+                            case Cursor.FIELD_TYPE_INTEGER:
+                                insert.bindLong(i + 1, cursor.getLong(i));
+                                break;
+                            case Cursor.FIELD_TYPE_FLOAT:
+                                insert.bindDouble(i + 1, cursor.getDouble(i));
+                                break;
+                            case Cursor.FIELD_TYPE_STRING:
+                                insert.bindString(i + 1, cursor.getString(i));
+                                break;
+                            case Cursor.FIELD_TYPE_BLOB:
+                                insert.bindBlob(i + 1, cursor.getBlob(i));
+                                break;
+                            default:
+                                insert.bindNull(i + 1);
+                                break;
+                        }
+                    }
+                    insert.executeInsert();
+                    insert.clearBindings();
+                    rows++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return rows;
+    }
+
+    private static void copyAsset(Context context, String asset, File target) throws IOException {
+        try (InputStream in = context.getAssets().open(asset);
+             OutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+
+    // ===== 테이블 구분 =====
+
+    private static boolean isRecipeTable(String table) {
+        return !table.equals(USER_TABLE)
+                && !table.startsWith("sqlite_")
+                && !table.equals("android_metadata")
+                && !table.equals("room_master_table");
+    }
+
+    private static boolean isVirtual(String sql) {
+        return sql != null && sql.regionMatches(true, 0, "CREATE VIRTUAL TABLE", 0, "CREATE VIRTUAL TABLE".length());
+    }
+
+    private static boolean isShadowTable(String table, List<String> virtualTables) {
+        for (String virtual : virtualTables) {
+            if (!table.equals(virtual) && table.startsWith(virtual + "_")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.makefoods.database;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * FridgeMatchTriggers
+ *
+ * 냉장고 재료(ingredients)가 바뀔 때 recipe_fridge_matches를 바로 갱신하는 트리거
+ * IngredientDao의 insert, update, delete, deleteAll 등 어떤 경로로 바뀌어도 같이 반영됨
+ *
+ * 재료 이름 대신 정규화한 이름(ingredients.nameKey = recipe_ingredients.name)으로 비교
+ * 같은 이름의 재료가 이미 냉장고에 있으면 (예: 계란 두 묶음) 보유 여부가 안 바뀌므로 아무것도 안 함
+ * 보유 여부가 바뀐 이름 하나에 대해 그 재료를 쓰는 레시피 행만 +1 / -1
+ * → 재료 하나 수정 비용은 그 재료를 쓰는 레시피 수에 비례 (recipe_ingredients.name 인덱스)
+ *
+ * 레시피 쪽이 바뀌는 경우 (파생 테이블 재생성, CSV upsert)는
+ * RecipeDao.refreshFridgeMatches / refreshFridgeMatchesForRecipes로 다시 계산
+ *
+ * Room 스키마에 없는 트리거라 DB를 열 때마다 없으면 생성 (AppDatabase onOpen)
+ */
+public class FridgeMatchTriggers {
+
+    // 이 이름을 쓰는 레시피 (중복 없음)
+    private static final String RECIPES_USING = "SELECT recipeId FROM recipe_ingredients WHERE name = ";
+
+    // 레시피 전체 재료 수 (정규화한 이름 기준, 중복 제외)
+    private static final String INGREDIENT_COUNT =
+            "(SELECT COUNT(DISTINCT x.name) FROM recipe_ingredients x WHERE x.recipeId = ri.recipeId)";
+
+    /**
+     * 트리거 생성 (이미 있으면 그대로)
+     */
+    public static void create(SupportSQLiteDatabase db) {
+        // ===== 추가 =====
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS fridge_match_insert AFTER INSERT ON ingredients"
+                + " WHEN " + firstOf("NEW") + " BEGIN " + add("NEW") + " END");
+
+        // ===== 삭제 =====
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS fridge_match_delete AFTER DELETE ON ingredients"
+                + " WHEN " + lastOf("OLD") + " BEGIN " + remove("OLD") + " END");
+
+        // ===== 이름 수정 (예전 이름 빼기, 새 이름 더하기) =====
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS fridge_match_update_old AFTER UPDATE OF nameKey ON ingredients"
+                + " WHEN OLD.nameKey IS NOT NEW.nameKey AND " + lastOf("OLD") + " BEGIN " + remove("OLD") + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS fridge_match_update_new AFTER UPDATE OF nameKey ON ingredients"
+                + " WHEN OLD.nameKey IS NOT NEW.nameKey AND " + firstOf("NEW") + " BEGIN " + add("NEW") + " END");
+    }
+
+
+    // 이 행이 이 이름의 첫 재료 (새로 보유하게 됨)
+    private static String firstOf(String row) {
+        return row + ".nameKey <> '' AND NOT EXISTS (SELECT 1 FROM ingredients"
+                + " WHERE nameKey = " + row + ".nameKey AND id <> " + row + ".id)";
+    }
+
+    // 이 행이 이 이름의 마지막 재료였음 (더 이상 없음)
+    private static String lastOf(String row) {
+        return row + ".nameKey <> '' AND NOT EXISTS (SELECT 1 FROM ingredients"
+                + " WHERE nameKey = " + row + ".nameKey)";
+    }
+
+    private static String add(String row) {
+        String key = row + ".nameKey";
+        return "INSERT OR IGNORE INTO recipe_fridge_matches (recipeId, matchCount, missingCount)"
+                + " SELECT DISTINCT ri.recipeId, 0, " + INGREDIENT_COUNT
+                + " FROM recipe_ingredients ri WHERE ri.name = " + key + ";"
+                + " UPDATE recipe_fridge_matches SET matchCount = matchCount + 1, missingCount = missingCount - 1"
+                + " WHERE recipeId IN (" + RECIPES_USING + key + ");";
+    }
+
+    private static String remove(String row) {
+        String key = row + ".nameKey";
+        return "UPDATE recipe_fridge_matches SET matchCount = matchCount - 1, missingCount = missingCount + 1"
+                + " WHERE recipeId IN (" + RECIPES_USING + key + ");"
+                + " DELETE FROM recipe_fridge_matches"
+                + " WHERE recipeId IN (" + RECIPES_USING + key + ") AND matchCount <= 0;";
+    }
+}
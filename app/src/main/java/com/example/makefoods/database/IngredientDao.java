@@ -17,10 +17,18 @@ import java.util.List;
  *
  * Room이 자동으로 구현체를 생성해줌
  * LiveData를 사용하여 데이터 변경 시 자동으로 UI 업데이트
+ *
+ * 재료가 추가/수정/삭제되면 트리거(FridgeMatchTriggers)가
+ * 레시피별 보유 현황(recipe_fridge_matches)을 같이 갱신함
+ *
+ * 소비기한 조회(임박, 지남, 소비기한순)는 expiryDate 인덱스,
+ * 등록일순 목록은 registeredDate 인덱스를 사용 (전체를 읽어서 Java에서 거르지 않음)
  */
 @Dao
 public interface IngredientDao {
 
+    long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
     /**
      * 모든 재료 조회
      * LiveData를 사용하여 데이터 변경 시 자동으로 관찰자에게 알림
@@ -39,26 +47,52 @@ public interface IngredientDao {
 
     /**
      * 재료 추가
+     * 정규화한 이름(nameKey)은 name으로 채워서 저장
      * @param ingredient 추가할 재료
      * @return 추가된 재료의 ID (자동 생성된 값)
      */
-    @Insert
-    long insert(Ingredient ingredient);
+    default long insert(Ingredient ingredient) {
+        fillNameKey(ingredient);
+        return insertRow(ingredient);
+    }
 
     /**
      * 여러 재료 한 번에 추가
      * @param ingredients 추가할 재료 목록
      */
-    @Insert
-    void insertAll(List<Ingredient> ingredients);
+    default void insertAll(List<Ingredient> ingredients) {
+        for (Ingredient ingredient : ingredients) {
+            fillNameKey(ingredient);
+        }
+        insertRows(ingredients);
+    }
 
     /**
      * 재료 정보 수정
-     * ID를 기준으로 찾아서 업데이트
+     * ID를 기준으로 찾아서 업데이트, 이름이 바뀌었으면 nameKey도 같이 바뀜
      * @param ingredient 수정할 재료 (ID 포함)
      */
+    default void update(Ingredient ingredient) {
+        fillNameKey(ingredient);
+        updateRow(ingredient);
+    }
+
+    // nameKey를 채우지 않고 저장 (insert, insertAll, update 사용)
+    @Insert
+    long insertRow(Ingredient ingredient);
+
+    @Insert
+    void insertRows(List<Ingredient> ingredients);
+
     @Update
-    void update(Ingredient ingredient);
+    void updateRow(Ingredient ingredient);
+
+    /**
+     * 재료 이름 → 정규화한 이름 (FridgeMatchTriggers, 레시피 재료 비교에 사용)
+     */
+    static void fillNameKey(Ingredient ingredient) {
+        ingredient.setNameKey(IngredientNormalizer.normalize(ingredient.getName()));
+    }
 
     /**
      * 재료 삭제
@@ -97,4 +131,98 @@ public interface IngredientDao {
     @Query("SELECT * FROM ingredients")
     List<Ingredient> getAllIngredientsSync();
 
+    /**
+     * 소비기한이 기간 안에 있는 재료 조회 (동기 방식)
+     * expiryDate 인덱스로 범위 검색
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * 예: from = 지금, to = 지금 + 3일 → 3일 안에 소비기한이 끝나는 재료 (이미 지난 재료 제외)
+     *
+     * @param from 시작 시각 (밀리초, 포함)
+     * @param to 끝 시각 (밀리초, 포함)
+     * @return 재료 목록 (소비기한 빠른순으로 정렬)
+     */
+    @Query("SELECT * FROM ingredients WHERE expiryDate BETWEEN :from AND :to ORDER BY expiryDate")
+    List<Ingredient> getIngredientsExpiringBetweenSync(long from, long to);
+
+    /**
+     * 소비기한이 기간 안에 있는 재료 조회
+     * LiveData는 재료가 바뀔 때마다 같은 기간으로 다시 조회함 (기간은 호출할 때 고정)
+     *
+     * @param from 시작 시각 (밀리초, 포함)
+     * @param to 끝 시각 (밀리초, 포함)
+     * @return 재료 목록 (소비기한 빠른순으로 정렬)
+     */
+    @Query("SELECT * FROM ingredients WHERE expiryDate BETWEEN :from AND :to ORDER BY expiryDate")
+    LiveData<List<Ingredient>> getIngredientsExpiringBetween(long from, long to);
+
+    /**
+     * 지금부터 days일 안에 소비기한이 끝나는 재료 (동기 방식, 이미 지난 재료 제외)
+     * 백그라운드 스레드에서만 호출해야 함
+     */
+    default List<Ingredient> getIngredientsExpiringWithinDaysSync(int days) {
+        long now = System.currentTimeMillis();
+        return getIngredientsExpiringBetweenSync(now, now + days * DAY_MILLIS);
+    }
+
+    /**
+     * 지금부터 days일 안에 소비기한이 끝나는 재료 (이미 지난 재료 제외)
+     */
+    default LiveData<List<Ingredient>> getIngredientsExpiringWithinDays(int days) {
+        long now = System.currentTimeMillis();
+        return getIngredientsExpiringBetween(now, now + days * DAY_MILLIS);
+    }
+
+    /**
+     * 소비기한이 지난 재료 조회 (동기 방식)
+     * expiryDate 인덱스로 범위 검색
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @param now 기준 시각 (밀리초, 이 시각보다 소비기한이 이르면 지난 것)
+     * @return 재료 목록 (소비기한 빠른순으로 정렬)
+     */
+    @Query("SELECT * FROM ingredients WHERE expiryDate < :now ORDER BY expiryDate")
+    List<Ingredient> getExpiredIngredientsSync(long now);
+
+    /**
+     * 소비기한이 지나지 않은 재료 조회 (동기 방식)
+     * expiryDate 인덱스로 범위 검색
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @param now 기준 시각 (밀리초, 이 시각 이후에 소비기한이 끝나는 재료)
+     * @return 재료 목록 (소비기한 빠른순으로 정렬)
+     */
+    @Query("SELECT * FROM ingredients WHERE expiryDate >= :now ORDER BY expiryDate")
+    List<Ingredient> getUnexpiredIngredientsSync(long now);
+
+    /**
+     * 소비기한이 지난 재료 조회
+     * @param now 기준 시각 (밀리초)
+     * @return 재료 목록 (소비기한 빠른순으로 정렬)
+     */
+    @Query("SELECT * FROM ingredients WHERE expiryDate < :now ORDER BY expiryDate")
+    LiveData<List<Ingredient>> getExpiredIngredients(long now);
+
+    /**
+     * 모든 재료를 소비기한 빠른순으로 조회 (동기 방식)
+     * expiryDate 인덱스 순서대로 읽으므로 따로 정렬하지 않음
+     * 백그라운드 스레드에서만 호출해야 함
+     */
+    @Query("SELECT * FROM ingredients ORDER BY expiryDate")
+    List<Ingredient> getIngredientsByExpirySync();
+
+    /**
+     * 모든 재료를 소비기한 빠른순으로 조회
+     */
+    @Query("SELECT * FROM ingredients ORDER BY expiryDate")
+    LiveData<List<Ingredient>> getIngredientsByExpiry();
+
+    /**
+     * 정규화한 이름만 수정 (정규화 사전이 바뀌었을 때, RecipeIndexBuilder)
+     * @param id 재료 ID
+     * @param nameKey 새로 정규화한 이름
+     */
+    @Query("UPDATE ingredients SET nameKey = :nameKey WHERE id = :id")
+    void updateNameKey(int id, String nameKey);
+
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.example.makefoods.database;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import com.example.makefoods.model.RecipeFilter;
+import com.example.makefoods.model.RecipeMatch;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * IngredientMatchQuery
+ *
+ * 재료 여러 개로 레시피를 한 번에 검색하는 동적 쿼리 생성 (RecipeDao @RawQuery용)
+ *
+ * 재료마다 recipe_ingredients.name 인덱스 검색을 하고 UNION ALL로 합친 뒤
+ * recipeId별로 묶어서 일치한 재료(term) 수를 셈
+ * 재료 이름은 IngredientNormalizer로 정규화해서 같은 이름만 일치 ("파" → 대파, 파프리카는 제외)
+ * 재료 개수와 상관없이 DB 왕복 1번, 레시피당 결과 1행
+ * 각 부분 쿼리에 DISTINCT를 넣으면 SQLite가 name 인덱스 대신 기본키 전체 스캔을 고르므로 넣지 않음
+ *
+ * SELECT r.recipeId, ..., m.matchCount FROM recipes r JOIN (
+ *     SELECT recipeId, COUNT(DISTINCT term) AS matchCount FROM (
+ *         SELECT recipeId, 0 AS term FROM recipe_ingredients WHERE name = ?
+ *         UNION ALL
+ *         SELECT recipeId, 1 AS term FROM recipe_ingredients WHERE name = ?
+ *         ...
+ *     ) GROUP BY recipeId
+ * ) m ON m.recipeId = r.recipeId
+ * ORDER BY m.matchCount DESC, r.recipeId
+ *
+ * 페이지 단위 조회 (forSummariesPage): 정렬 키 (matchCount, recipeId) 기준 keyset 방식
+ * 이전 페이지 마지막 행보다 뒤에 있는 행만 LIMIT개 → 페이지 크기만큼만 메모리에 올림
+ * WHERE m.matchCount < ? OR (m.matchCount = ? AND r.recipeId > ?) ... LIMIT ?
+ *
+ * 조리 시간, 난이도 조건 (RecipeFilter)이 있으면 r.difficultyLevel, r.cookingMinutes 범위 조건 추가
+ */
+public class IngredientMatchQuery {
+
+    // SQLite 변수 개수 제한 (999)보다 작게
+    public static final int MAX_INGREDIENTS = 500;
+
+    private static final String SUMMARY_COLUMNS = "r.recipeId, r.name, r.ingredients, r.cookingTime, r.difficulty";
+
+    /**
+     * 레시피 요약 + matchCount (RecipeMatch) 조회 쿼리
+     *
+     * @param ingredients 재료 목록 (빈 값, 중복은 무시)
+     * @return 쿼리, 검색할 재료가 없으면 null
+     */
+    public static SimpleSQLiteQuery forSummaries(List<String> ingredients) {
+        return build(SUMMARY_COLUMNS + ", m.matchCount", ingredients, RecipeFilter.NONE, null, 0);
+    }
+
+    /**
+     * 레시피 요약 + matchCount (RecipeMatch) 조회 쿼리 - 조리 시간, 난이도 조건
+     *
+     * @param ingredients 재료 목록 (빈 값, 중복은 무시)
+     * @param filter 조리 시간, 난이도 조건
+     * @return 쿼리, 검색할 재료가 없으면 null
+     */
+    public static SimpleSQLiteQuery forSummaries(List<String> ingredients, RecipeFilter filter) {
+        return build(SUMMARY_COLUMNS + ", m.matchCount", ingredients, filter, null, 0);
+    }
+
+    /**
+     * 레시피 요약 + matchCount (RecipeMatch) 한 페이지 조회 쿼리
+     *
+     * @param ingredients 재료 목록 (빈 값, 중복은 무시)
+     * @param after 이전 페이지의 마지막 행 (첫 페이지면 null)
+     * @param limit 페이지 크기
+     * @return 쿼리, 검색할 재료가 없으면 null
+     */
+    public static SimpleSQLiteQuery forSummariesPage(List<String> ingredients, RecipeMatch after, int limit) {
+        return build(SUMMARY_COLUMNS + ", m.matchCount", ingredients, RecipeFilter.NONE, after, Math.max(1, limit));
+    }
+
+    /**
+     * 전체 레시피 (Recipe) 조회 쿼리, 일치한 재료 수가 많은 순
+     *
+     * @param ingredients 재료 목록 (빈 값, 중복은 무시)
+     * @return 쿼리, 검색할 재료가 없으면 null
+     */
+    public static SimpleSQLiteQuery forRecipes(List<String> ingredients) {
+        return build("r.*", ingredients, RecipeFilter.NONE, null, 0);
+    }
+
+
+    /**
+     * 재료 검색어 → recipe_ingredients.name 검색 키
+     *
+     * 저장된 이름과 같은 규칙(IngredientNormalizer)으로 정규화
+     * 예: "다진 마늘" → "마늘", "달걀 2개" → "계란"
+     *
+     * @return 검색 키, 정규화 후 빈 이름이면 빈 문자열
+     */
+    public static String nameKey(String ingredient) {
+        return RecipeIngredientParser.canonicalName(ingredient);
+    }
+
+
+    // after가 있으면 그 뒤부터, limit > 0이면 limit개만
+    private static SimpleSQLiteQuery build(String columns, List<String> ingredients, RecipeFilter filter,
+                                           RecipeMatch after, int limit) {
+        // ===== 재료 → 검색 키 (중복 제거, 순서 유지) =====
+        Set<String> keys = new LinkedHashSet<>();
+        if (ingredients != null) {
+            for (String ingredient : ingredients) {
+                String key = nameKey(ingredient);
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                }
+                if (keys.size() == MAX_INGREDIENTS) {
+                    break;
+                }
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return null;
+        }
+
+        // ===== SQL 조립 =====
+        StringBuilder sql = new StringBuilder(128 + keys.size() * 80);
+        sql.append("SELECT ").append(columns).append(" FROM recipes r JOIN (")
+                .append("SELECT recipeId, COUNT(DISTINCT term) AS matchCount FROM (");
+
+        List<Object> args = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (!args.isEmpty()) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT recipeId, ").append(args.size())
+                    .append(" AS term FROM recipe_ingredients WHERE name = ?");
+            args.add(key);
+        }
+
+        sql.append(") GROUP BY recipeId) m ON m.recipeId = r.recipeId");
+
+        List<String> conditions = new ArrayList<>();
+
+        if (filter != null && !filter.isEmpty()) {
+            conditions.add("r.difficultyLevel BETWEEN ? AND ? AND r.cookingMinutes BETWEEN ? AND ?");
+            args.add(filter.minDifficulty());
+            args.add(filter.maxDifficulty());
+            args.add(filter.minMinutes());
+            args.add(filter.maxMinutes());
+        }
+
+        if (after != null) {
+            conditions.add("(m.matchCount < ? OR (m.matchCount = ? AND r.recipeId > ?))");
+            args.add(after.matchCount);
+            args.add(after.matchCount);
+            args.add(after.recipeId);
+        }
+
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        sql.append(" ORDER BY m.matchCount DESC, r.recipeId");
+
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            args.add(limit);
+        }
+
+        return new SimpleSQLiteQuery(sql.toString(), args.toArray());
+    }
+}
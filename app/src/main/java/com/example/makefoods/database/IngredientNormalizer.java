@@ -0,0 +1,239 @@
+package com.example.makefoods.database;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * IngredientNormalizer
+ *
+ * 재료 이름 정규화 사전 (색인 시점과 검색 시점에 같은 규칙 사용)
+ * - 레시피 재료 색인: RecipeIngredientParser → recipe_ingredients.name
+ * - 검색어: RecipeRepository, IngredientMatchQuery, IngredientBitmapIndex
+ * - 냉장고 입력: ImageResultFragment(인식 결과), FridgeFragment(직접 추가)
+ *
+ * 단계:
+ * 1. 한글 NFC 정규화 (자모가 나뉜 입력을 완성형으로)
+ * 2. 분량/단위 제거: "계란 3개" → 계란, "밥1공기" → 밥, "고추장 약간" → 고추장
+ * 3. 괄호 설명, 공백, 기호 제거 + 소문자
+ * 4. 동의어: 달걀 → 계란, 파 → 대파, 쇠고기 → 소고기, 고추가루 → 고춧가루, ...
+ * 5. 꾸밈말 제거 (남는 부분이 사전에 있는 기본 재료일 때만):
+ *    다진마늘 → 마늘, 소고기다짐육 → 소고기, 대파흰부분 → 대파
+ *    생강, 간장처럼 꾸밈말로 시작하지만 기본 재료가 아닌 이름은 그대로
+ * 6. 고기 부위/용도: 소고기부채살, 돼지고기카레용 → 소고기, 돼지고기 (소고기다시다 같은 양념은 제외)
+ *
+ * 검색은 정규화한 이름이 같을 때만 일치 (앞부분 일치 안 함)
+ * → "파"는 대파와 일치하고 파프리카, 파슬리와는 일치하지 않음
+ * 사전을 바꾸면 RecipeIndexBuilder.CURRENT_VERSION을 올려서 재료 테이블을 다시 만들어야 함
+ */
+public class IngredientNormalizer {
+
+    // 숫자 + 단위 (예: "3개", "1/2컵", "200g", "1.5 큰술") 또는 따로 떨어진 숫자 ("계란 3")
+    // "3분카레", "7up"처럼 이름에 붙은 숫자는 남김
+    private static final Pattern QUANTITY = Pattern.compile(
+            "\\d+(?:[./]\\d+)?\\s*(?:kg|mg|ml|g|l|cc|개|알|장|모|봉지|봉|팩|캔|병|컵|큰술|작은술|스푼|숟가락|줌|쪽|톨|마리|통|뿌리|대|단|포기|공기|인분|근|t)(?!\\p{L})"
+                    + "|(?<![\\p{L}\\p{N}])\\d+(?:[./]\\d+)?(?![\\p{L}\\p{N}])",
+            Pattern.CASE_INSENSITIVE);
+
+    // 이름 뒤에 붙는 분량 표현 (예: "고추장듬뿍", "소금 약간")
+    private static final Pattern AMOUNT_WORD = Pattern.compile(
+            "(?<=\\S)\\s*(?:약간|적당량|적당히|조금|듬뿍|한줌|반개|한개|두개|반모|한모|한컵|반컵|한스푼)$");
+
+    private static final Pattern PARENTHESES = Pattern.compile("\\([^)]*\\)|\\[[^\\]]*\\]");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // 검색 키에서 버리는 문자 (글자, 숫자 외 전부)
+    private static final Pattern NON_NAME = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // 표시 이름 앞뒤의 기호 (예: ". 계란", "계란,")
+    private static final Pattern EDGE_SYMBOLS = Pattern.compile("^[^\\p{L}\\p{N}(]+|[^\\p{L}\\p{N})]+$");
+
+
+    // ===== 사전 =====
+
+    // 다른 이름 → 대표 이름
+    private static final Map<String, String> SYNONYMS = new HashMap<>();
+
+    // 꾸밈말을 떼어낼 수 있는 기본 재료 (대표 이름은 자동 포함)
+    private static final Set<String> BASE_NAMES = new HashSet<>(Arrays.asList(
+            "마늘", "대파", "쪽파", "양파", "계란", "메추리알", "소고기", "돼지고기", "닭고기", "삼겹살",
+            "감자", "고구마", "당근", "무", "배추", "양배추", "애호박", "오이", "가지", "부추", "시금치",
+            "콩나물", "숙주", "깻잎", "상추", "고추", "청양고추", "홍고추", "파프리카", "피망", "브로콜리",
+            "버섯", "표고버섯", "팽이버섯", "새송이버섯", "느타리버섯", "양송이버섯", "토마토", "방울토마토",
+            "두부", "순두부", "김치", "어묵", "새우", "오징어", "멸치", "미역", "다시마", "굴", "바지락",
+            "생강", "후추", "소금", "설탕", "깨", "간장", "국간장", "고춧가루", "식용유", "올리브오일",
+            "밥", "우유", "버터", "치즈", "소시지", "햄", "떡"
+    ));
+
+    // 앞 꾸밈말 (손질, 상태)
+    private static final List<String> PREFIXES = Arrays.asList(
+            "채썬", "다진", "썬", "간", "편", "통", "깐", "생", "건", "말린", "냉동", "삶은", "데친", "볶은",
+            "구운", "손질된", "손질", "국물용", "미니", "칵테일", "고운", "굵은", "가는", "매운",
+            "빨간", "빨강", "노란", "노랑", "주황"
+    );
+
+    // 뒤 꾸밈말 (부위, 용도) - 긴 것부터
+    private static final List<String> SUFFIXES = Arrays.asList(
+            "국거리용", "불고기용", "볶음탕용", "불고기감", "초록부분", "앞다리살", "뒷다리살",
+            "다짐육", "국거리", "샤브용", "찌개용", "구이용", "수육용", "흰부분", "노른자",
+            "흰자", "등심", "안심", "양지", "사태", "목살", "빨강", "노랑", "주황"
+    );
+
+    // 고기 이름 + 부위/용도 (예: 소고기부채살, 돼지고기카레용) → 고기 이름
+    private static final List<String> MEAT_NAMES = Arrays.asList("소고기", "쇠고기", "돼지고기", "닭고기");
+
+    // 고기 이름으로 시작해도 고기가 아닌 것 (예: 소고기다시다, 소고기볶음고추장)
+    private static final List<String> NOT_MEAT_WORDS = Arrays.asList(
+            "다시다", "조미료", "스톡", "육수", "고추장", "먹장", "가루", "맛"
+    );
+
+    static {
+        synonyms("계란", "달걀", "계란노른자", "달걀노른자", "계란흰자", "달걀흰자");
+        synonyms("대파", "파", "썬파", "다진파", "대파잎");
+        synonyms("쪽파", "실파");
+        synonyms("소고기", "쇠고기");
+        synonyms("닭고기", "닭");
+        synonyms("마늘", "간마늘", "편마늘", "통마늘", "다진마늘");
+        synonyms("고춧가루", "고추가루");
+        synonyms("후추", "후춧가루", "후추가루", "통후추");
+        synonyms("간장", "진간장", "양조간장");
+        synonyms("국간장", "집간장", "조선간장");
+        synonyms("설탕", "흰설탕", "백설탕");
+        synonyms("소금", "꽃소금", "천일염", "죽염");
+        synonyms("깨", "통깨", "참깨", "깨소금");
+        synonyms("식용유", "식용류", "카놀라유", "포도씨유", "기름", "오일");
+        synonyms("올리브오일", "올리브유");
+        synonyms("케첩", "케찹");
+        synonyms("소시지", "소세지", "비엔나소시지", "비엔나소세지");
+        synonyms("숙주", "숙주나물");
+        synonyms("배추", "알배추", "알배기배추", "배춧잎", "배추잎");
+        synonyms("김치", "배추김치", "김장김치", "신김치", "묵은지", "익은김치");
+        synonyms("청양고추", "청양초");
+        synonyms("새우", "새우살", "칵테일새우");
+        synonyms("밥", "공기밥", "쌀밥", "흰쌀밥");
+        synonyms("돈가스소스", "돈까스소스");
+        synonyms("주꾸미", "쭈꾸미");
+        synonyms("무", "무우");
+
+        BASE_NAMES.addAll(SYNONYMS.values());
+    }
+
+    private static void synonyms(String canonical, String... variants) {
+        for (String variant : variants) {
+            SYNONYMS.put(variant, canonical);
+        }
+    }
+
+
+    /**
+     * 검색 키 (색인과 검색에 같이 사용)
+     *
+     * 예: "다진 마늘" → "마늘", "달걀 3개" → "계란", "두부(부침용)" → "두부", "파" → "대파"
+     *
+     * @return 정규화한 이름, 재료 이름이 없으면 빈 문자열
+     */
+    public static String normalize(String text) {
+        String name = displayName(text);
+        name = PARENTHESES.matcher(name).replaceAll("");
+        name = NON_NAME.matcher(name).replaceAll("").toLowerCase(Locale.ROOT);
+        if (name.isEmpty()) {
+            return name;
+        }
+
+        // 동의어 → 꾸밈말 제거를 더 바뀌지 않을 때까지 반복 ("다진파" → "파" → "대파")
+        for (int round = 0; round < 3; round++) {
+            String mapped = canonical(name);
+            String stripped = stripModifier(mapped);
+            if (stripped.equals(name)) {
+                break;
+            }
+            name = stripped;
+        }
+        return name;
+    }
+
+    /**
+     * 화면에 보여줄 재료 이름 (NFC, 분량/단위 제거, 공백 정리)
+     * 냉장고에 저장할 이름으로 사용, 동의어는 바꾸지 않음
+     *
+     * 예: "계란 3개" → "계란", "  다진 마늘 1큰술 " → "다진 마늘"
+     */
+    public static String displayName(String text) {
+        if (text == null) {
+            return "";
+        }
+        String name = Normalizer.normalize(text, Normalizer.Form.NFC);
+        String withoutQuantity = QUANTITY.matcher(name).replaceAll(" ");
+        withoutQuantity = AMOUNT_WORD.matcher(withoutQuantity.trim()).replaceAll("");
+        withoutQuantity = WHITESPACE.matcher(withoutQuantity).replaceAll(" ").trim();
+        withoutQuantity = EDGE_SYMBOLS.matcher(withoutQuantity).replaceAll("");
+
+        // 분량만 있는 이름 ("300g")은 지우지 않음
+        return withoutQuantity.isEmpty() ? WHITESPACE.matcher(name).replaceAll(" ").trim() : withoutQuantity;
+    }
+
+    /**
+     * 두 이름이 같은 재료인지 (예: "달걀", "계란 2개" → true)
+     */
+    public static boolean isSameIngredient(String a, String b) {
+        String normalizedA = normalize(a);
+        return !normalizedA.isEmpty() && normalizedA.equals(normalize(b));
+    }
+
+
+    private static String canonical(String name) {
+        String mapped = SYNONYMS.get(name);
+        return mapped != null ? mapped : name;
+    }
+
+    // 꾸밈말을 떼어낸 나머지가 기본 재료면 나머지 반환, 아니면 그대로
+    private static String stripModifier(String name) {
+        if (BASE_NAMES.contains(name)) {
+            return name;
+        }
+        String meat = meatOf(name);
+        if (meat != null) {
+            return meat;
+        }
+        for (String prefix : PREFIXES) {
+            if (name.length() > prefix.length() && name.startsWith(prefix)) {
+                String rest = canonical(name.substring(prefix.length()));
+                if (BASE_NAMES.contains(rest)) {
+                    return rest;
+                }
+            }
+        }
+        for (String suffix : SUFFIXES) {
+            if (name.length() > suffix.length() && name.endsWith(suffix)) {
+                String rest = canonical(name.substring(0, name.length() - suffix.length()));
+                if (BASE_NAMES.contains(rest)) {
+                    return rest;
+                }
+            }
+        }
+        return name;
+    }
+
+    // "소고기양지국거리용" → "소고기", 고기가 아니면 null
+    private static String meatOf(String name) {
+        for (String meat : MEAT_NAMES) {
+            if (name.length() > meat.length() && name.startsWith(meat)) {
+                String rest = name.substring(meat.length());
+                for (String word : NOT_MEAT_WORDS) {
+                    if (rest.contains(word)) {
+                        return null;
+                    }
+                }
+                return canonical(meat);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.makefoods.database;
+
+import android.util.Log;
+import com.example.makefoods.model.Recipe;
+import java.io.BufferedInputStream;
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelRecipeCsvLoader
+ *
+ * 번들 CSV보다 훨씬 큰 레시피 덤프 파일을 여러 코어로 파싱하는 로더
+ *
+ * 동작:
+ * 1. 파일을 한 번 훑으면서 레코드 경계(따옴표 밖의 줄바꿈)에 맞춰 바이트 구간으로 나눔
+ * 2. 각 구간을 ForkJoinPool에서 RecipeCsvTokenizer로 파싱
+ * 3. 구간 순서대로 결과를 모아 batchSize 단위로 sink에 전달 (CSV 순서 유지)
+ *
+ * 구간 크기(MAX_RANGE_BYTES)와 동시에 파싱 중인 구간 수를 제한해서 메모리 사용량이 파일 크기에 비례하지 않게 함
+ * 구간 하나라도 읽기/디코딩에 실패하면 순차 로더와 같이 IOException으로 전체 임포트 중단
+ * sink는 호출한 스레드에서만 실행됨
+ */
+public class ParallelRecipeCsvLoader {
+
+    private static final String TAG = "ParallelRecipeCsvLoader";
+
+    // 구간 하나의 최소 크기 (너무 잘게 나누면 작업 생성 비용이 더 큼)
+    private static final long MIN_RANGE_BYTES = 256 * 1024;
+
+    // 구간 하나의 최대 크기 (파일이 아무리 커도 동시에 올라가는 양은 구간 수 × 이 크기)
+    private static final long MAX_RANGE_BYTES = 4 * 1024 * 1024;
+
+    // 코어당 구간 수 (작업량이 고르지 않아도 코어가 놀지 않도록)
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * CSV 파일을 병렬로 파싱해서 순서대로 batchSize개씩 sink로 전달
+     *
+     * 백그라운드 스레드에서 호출해야 함
+     *
+     * @param csvFile 레시피 CSV 파일 (recipes.csv와 같은 컬럼 구성, 첫 줄 헤더)
+     * @param batchSize 한 번에 전달할 레시피 개수
+     * @param sink 배치를 받아서 처리할 대상 (예: DB 저장)
+     * @return 전달된 레시피 총 개수
+     * @throws IOException 파일 읽기나 UTF-8 디코딩 실패 (일부만 전달된 상태로 중단됨)
+     */
+    public static int streamRecipes(File csvFile, int batchSize, RecipeSink sink) throws IOException {
+        return streamRecipes(csvFile, batchSize, sink, Runtime.getRuntime().availableProcessors(), MIN_RANGE_BYTES);
+    }
+
+    // 테스트용 (스레드 수, 구간 최소 크기 지정)
+    static int streamRecipes(File csvFile, int batchSize, RecipeSink sink,
+                             int parallelism, long minRangeBytes) throws IOException {
+        if (batchSize <= 0) {
+            batchSize = RecipeCsvLoader.DEFAULT_BATCH_SIZE;
+        }
+        parallelism = Math.max(1, parallelism);
+
+        // 단일 코어면 구간 분할 비용만 추가되므로 순차 로더 사용
+        if (parallelism == 1) {
+            try (InputStream input = new FileInputStream(csvFile)) {
+                return RecipeCsvLoader.streamRecipes(input, batchSize, sink);
+            }
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<long[]> ranges = splitIntoRecordRanges(csvFile, parallelism * RANGES_PER_THREAD, minRangeBytes);
+
+        Log.d(TAG, csvFile.length() + " bytes → " + ranges.size() + "개 구간, " + parallelism + "개 스레드");
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<Recipe> batch = new ArrayList<>(batchSize);
+        int total = 0;
+
+        try (FileInputStream input = new FileInputStream(csvFile)) {
+            FileChannel channel = input.getChannel();
+
+            // ===== 동시에 파싱하는 구간 수 제한 =====
+            ArrayDeque<ForkJoinTask<List<Recipe>>> inFlight = new ArrayDeque<>();
+            int maxInFlight = parallelism * 2;
+            int nextRange = 0;
+
+            while (nextRange < ranges.size() && inFlight.size() < maxInFlight) {
+                inFlight.add(pool.submit(new RangeParseTask(channel, ranges.get(nextRange++))));
+            }
+
+            // ===== 구간 순서대로 결과 병합 =====
+            while (!inFlight.isEmpty()) {
+                List<Recipe> parsed;
+                try {
+                    parsed = inFlight.poll().join();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                if (nextRange < ranges.size()) {
+                    inFlight.add(pool.submit(new RangeParseTask(channel, ranges.get(nextRange++))));
+                }
+
+                for (Recipe recipe : parsed) {
+                    batch.add(recipe);
+                    if (batch.size() >= batchSize) {
+                        sink.accept(batch);
+                        total += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                total += batch.size();
+                batch.clear();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Log.d(TAG, "병렬 로드 완료! 총 " + total + "개 레시피, "
+                + (System.currentTimeMillis() - startTime) + "ms");
+
+        return total;
+    }
+
+
+    /**
+     * 파일을 레코드 경계에 맞춘 [시작, 끝) 바이트 구간으로 나눔
+     *
+     * 따옴표 안의 줄바꿈은 경계가 아니므로 처음부터 따옴표 상태를 추적해야 함
+     * UTF-8에서 '"'와 '\n'은 멀티바이트 문자 안에 나타나지 않으므로 바이트 단위로 검사 가능
+     * 첫 레코드(헤더)는 구간에서 제외
+     */
+    static List<long[]> splitIntoRecordRanges(File csvFile, int targetRangeCount, long minRangeBytes)
+            throws IOException {
+        long fileSize = csvFile.length();
+        long targetRangeBytes = Math.min(MAX_RANGE_BYTES,
+                Math.max(minRangeBytes, fileSize / Math.max(1, targetRangeCount)));
+
+        List<long[]> ranges = new ArrayList<>();
+        long rangeStart = -1;   // 헤더가 끝나기 전에는 -1
+        long position = 0;
+        boolean insideQuotes = false;
+
+        try (InputStream input = new BufferedInputStream(new FileInputStream(csvFile), 64 * 1024)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+
+            while ((read = input.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++, position++) {
+                    byte b = buffer[i];
+
+                    if (b == '"') {
+                        insideQuotes = !insideQuotes;
+                    } else if (b == '\n' && !insideQuotes) {
+                        long recordEnd = position + 1;
+
+                        if (rangeStart < 0) {
+                            rangeStart = recordEnd;
+                        } else if (recordEnd - rangeStart >= targetRangeBytes) {
+                            ranges.add(new long[]{rangeStart, recordEnd});
+                            rangeStart = recordEnd;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (rangeStart >= 0 && rangeStart < fileSize) {
+            ranges.add(new long[]{rangeStart, fileSize});
+        }
+
+        return ranges;
+    }
+
+
+    /**
+     * 바이트 구간 하나를 파싱하는 작업
+     * 구간마다 자체 토크나이저를 사용하므로 스레드 간 공유 상태 없음
+     */
+    private static class RangeParseTask extends RecursiveTask<List<Recipe>> {
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        RangeParseTask(FileChannel channel, long[] range) {
+            this.channel = channel;
+            this.start = range[0];
+            this.end = range[1];
+        }
+
+        @Override
+        protected List<Recipe> compute() {
+            List<Recipe> recipes = new ArrayList<>();
+
+            try {
+                ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                CharBuffer chars = StandardCharsets.UTF_8.newDecoder().decode(bytes);
+
+                RecipeCsvTokenizer tokenizer = new RecipeCsvTokenizer(
+                        new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()),
+                        RecipeCsvLoader.CSV_COLUMN_COUNT);
+
+                while (tokenizer.nextRecord()) {
+                    try {
+                        Recipe recipe = RecipeCsvLoader.parseRecipe(tokenizer);
+                        if (recipe != null) {
+                            recipes.add(recipe);
+                        }
+                    } catch (Exception e) {
+                        Log.e(TAG, "구간 " + start + " Line " + tokenizer.lineNumber() + " 파싱 실패: " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                // 구간 나머지를 버리고 성공으로 처리하면 안 되므로 호출한 쪽(streamRecipes)까지 전달
+                throw new UncheckedIOException("구간 " + start + "-" + end + " 읽기 실패", e);
+            }
+
+            return recipes;
+        }
+    }
+}
@@ -3,8 +3,12 @@ package com.example.makefoods.database;
 import android.content.Context;
 import android.util.Log;
 import com.example.makefoods.model.Recipe;
-import java.io.BufferedReader;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,134 +17,306 @@ public class RecipeCsvLoader {
 
     private static final String TAG = "RecipeCsvLoader";
 
+    // 한 트랜잭션에 넣을 레시피 개수 (메모리 사용량을 일정하게 유지)
+    public static final int DEFAULT_BATCH_SIZE = 250;
+
+    // recipes.csv 컬럼 수 (RCP_SNO ~ COOKING_STEPS)
+    static final int CSV_COLUMN_COUNT = 20;
+
+    // FIRST_REG_DT 형식 (예: 20240101000857, 한국 시간)
+    private static final DateTimeFormatter REGISTERED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final ZoneId REGISTERED_AT_ZONE = ZoneId.of("Asia/Seoul");
+
 
     public static List<Recipe> loadRecipesFromCsv(Context context) {
         List<Recipe> recipes = new ArrayList<>();
 
-        try {
-            //CSV 파일 오픈
+        // 스트리밍 로더로 읽으면서 전부 모음 (배치 리스트는 재사용되므로 복사)
+        streamRecipesFromCsv(context, DEFAULT_BATCH_SIZE, recipes::addAll);
 
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(context.getAssets().open("recipes.csv"), "UTF-8")
-            );
-
-            String line;
-            int lineNumber = 0;
+        return recipes;
+    }
 
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
+    /**
+     * CSV를 한 줄씩 읽으면서 batchSize개씩 sink로 전달
+     *
+     * 전체 레시피를 한 번에 메모리에 올리지 않으므로
+     * 최대 힙 사용량이 배치 크기만큼으로 제한됨
+     *
+     * @param context 안드로이드 컨텍스트
+     * @param batchSize 한 번에 전달할 레시피 개수
+     * @param sink 배치를 받아서 처리할 대상 (예: DB 저장, 실패하면 예외가 그대로 전달됨)
+     * @return 전달된 레시피 총 개수
+     */
+    public static int streamRecipesFromCsv(Context context, int batchSize, RecipeSink sink) {
+        try (InputStream input = context.getAssets().open("recipes.csv")) {
+            return streamRecipes(input, batchSize, sink);
+        } catch (java.io.IOException e) {
+            Log.e(TAG, "CSV 파일 읽기 실패: " + e.getMessage(), e);
+            return 0;
+        }
+    }
 
-                // 첫 줄 헤더 스킵
-                if (lineNumber == 1) {
-                    Log.d(TAG, "CSV 헤더 스킵");
-                    continue;
-                }
 
-                try {
+    public static int streamRecipes(InputStream input, int batchSize, RecipeSink sink) throws java.io.IOException {
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_BATCH_SIZE;
+        }
 
+        long startTime = System.currentTimeMillis();
+        List<Recipe> batch = new ArrayList<>(batchSize);
+        int total = 0;
+        int batchCount = 0;
 
-                    List<String> values = parseCSVLine(line);
+        //CSV 파일 오픈 (버퍼링은 토크나이저가 직접 처리)
 
+        RecipeCsvTokenizer tokenizer = new RecipeCsvTokenizer(
+                new InputStreamReader(input, "UTF-8"), CSV_COLUMN_COUNT);
 
-                    if (values.size() < 20) {
-                        Log.w(TAG, "Line " + lineNumber + ": 필드 개수 부족 (" + values.size() + "/20)");
-                        continue;
-                    }
+        int recordNumber = 0;
 
 
-                    try {
-                        int recipeId = Integer.parseInt(values.get(0).trim());    // RCP_SNO
-                        String name = values.get(1).trim();                       // RCP_TTL
-                        String description = values.get(12).trim();               // CKG_IPDC
-                        String ingredients = values.get(13).trim();               // CKG_MTRL_CN
-                        String difficulty = values.get(15).trim();                // CKG_DODF_NM
-                        String cookingTime = values.get(16).trim();               // CKG_TIME_NM
-                        String imageUrl = values.get(18).trim();                  // RCP_IMG_URL
-                        String cookingSteps = values.get(19).trim();              // COOKING_STEPS
+        while (tokenizer.nextRecord()) {
+            recordNumber++;
 
+            // 첫 줄 헤더 스킵
+            if (recordNumber == 1) {
+                Log.d(TAG, "CSV 헤더 스킵");
+                continue;
+            }
 
-                        if (name.isEmpty()) {
-                            Log.w(TAG, "Line " + lineNumber + ": 음식 이름이 비어있음");
-                            continue;
-                        }
+            // 특정 행 파싱 실패시 로그만 출력하고 계속 진행
+            Recipe recipe;
+            try {
+                recipe = parseRecipe(tokenizer);
+            } catch (Exception e) {
+                Log.e(TAG, "Line " + tokenizer.lineNumber() + " 파싱 실패: " + e.getMessage());
+                continue;
+            }
+            if (recipe == null) {
+                continue;
+            }
 
-                        // ===== Recipe 객체 생성 =====
-                        Recipe recipe = new Recipe(
-                                recipeId,
-                                name,
-                                ingredients,
-                                cookingSteps,
-                                cookingTime,
-                                difficulty,
-                                imageUrl,
-                                description
-                        );
+            batch.add(recipe);
 
-                        recipes.add(recipe);
+            // ===== 배치가 차면 sink로 넘기고 비우기 =====
+            // sink 실패(DB 오류 등)는 그대로 호출한 쪽으로 전달 (배치를 버리고 계속하면 안 됨)
+            if (batch.size() >= batchSize) {
+                sink.accept(batch);
+                total += batch.size();
+                batchCount++;
+                batch.clear();
+                Log.d(TAG, "CSV 로드 중... " + total + "개 처리됨");
+            }
+        }
 
+        // 남은 레시피 처리
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+            total += batch.size();
+            batchCount++;
+            batch.clear();
+        }
 
-                        if (lineNumber % 100 == 0) {
-                            Log.d(TAG, "CSV 로드 중... " + lineNumber + "개 처리됨");
-                        }
+        Log.d(TAG, "CSV 로드 완료! 총 " + total + "개 레시피, " + batchCount + "개 배치, "
+                + (System.currentTimeMillis() - startTime) + "ms");
 
-                    } catch (NumberFormatException e) {
-                        Log.e(TAG, "Line " + lineNumber + ": 레시피 ID 파싱 실패: " + values.get(0));
-                    }
+        return total;
+    }
 
-                } catch (Exception e) {
-                    // 특정 행 파싱 실패시 로그만 출력하고 계속 진행
-                    Log.e(TAG, "Line " + lineNumber + " 파싱 실패: " + e.getMessage());
-                }
-            }
 
-            reader.close();
-            Log.d(TAG, "CSV 로드 완료! 총 " + recipes.size() + "개 레시피");
+    /**
+     * 토크나이저의 현재 레코드를 Recipe로 변환
+     * Recipe에 필요한 컬럼만 변환 (등록자 RGTR_ID, RGTR_NM은 사용하지 않음)
+     * @return 변환된 레시피, 건너뛸 행이면 null
+     */
+    static Recipe parseRecipe(RecipeCsvTokenizer record) {
+        int lineNumber = record.lineNumber();
 
-        } catch (Exception e) {
-            Log.e(TAG, "CSV 파일 읽기 실패: " + e.getMessage(), e);
+        if (record.fieldCount() < CSV_COLUMN_COUNT) {
+            Log.w(TAG, "Line " + lineNumber + ": 필드 개수 부족 (" + record.fieldCount() + "/" + CSV_COLUMN_COUNT + ")");
+            return null;
         }
 
-        return recipes;
-    }
 
+        try {
+            int recipeId = record.intField(0);                 // RCP_SNO
+            String name = record.field(1);                     // RCP_TTL
+            String description = record.field(12);             // CKG_IPDC
+            String ingredients = record.field(13);             // CKG_MTRL_CN
+            String difficulty = record.field(15);              // CKG_DODF_NM
+            String cookingTime = record.field(16);             // CKG_TIME_NM
+            String imageUrl = record.field(18);                // RCP_IMG_URL
+            String cookingSteps = record.field(19);            // COOKING_STEPS
+
+
+            if (name.isEmpty()) {
+                Log.w(TAG, "Line " + lineNumber + ": 음식 이름이 비어있음");
+                return null;
+            }
 
+            // ===== Recipe 객체 생성 =====
+            Recipe recipe = new Recipe(
+                    recipeId,
+                    name,
+                    ingredients,
+                    cookingSteps,
+                    cookingTime,
+                    difficulty,
+                    imageUrl,
+                    description
+            );
+            recipe.setDishName(record.field(2));                           // CKG_NM
+            recipe.setViewCount(intFieldOrZero(record, 5));                // INQ_CNT
+            recipe.setRecommendCount(intFieldOrZero(record, 6));           // RCMM_CNT
+            recipe.setScrapCount(intFieldOrZero(record, 7));               // SRAP_CNT
+            recipe.setCookingMethod(record.field(8));                      // CKG_MTH_ACTO_NM
+            recipe.setCookingSituation(record.field(9));                   // CKG_STA_ACTO_NM
+            recipe.setMainMaterial(record.field(10));                      // CKG_MTRL_ACTO_NM
+            recipe.setDishKind(record.field(11));                          // CKG_KND_ACTO_NM
+            recipe.setServings(parseServings(record.field(14)));           // CKG_INBUN_NM
+            recipe.setRegisteredAt(parseRegisteredAt(record.field(17)));   // FIRST_REG_DT
+            recipe.setCookingMinutes(parseCookingMinutes(cookingTime));    // CKG_TIME_NM
+            recipe.setDifficultyLevel(parseDifficultyLevel(difficulty));   // CKG_DODF_NM
+
+            recipe.setContentHash(contentHash(recipe));
+
+            return recipe;
+
+        } catch (NumberFormatException e) {
+            Log.e(TAG, "Line " + lineNumber + ": 레시피 ID 파싱 실패: " + record.field(0));
+            return null;
+        }
+    }
 
-    private static List<String> parseCSVLine(String line) {
-        List<String> fields = new ArrayList<>();
-        StringBuilder currentField = new StringBuilder();
-        boolean insideQuotes = false;
 
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            char nextChar = (i + 1 < line.length()) ? line.charAt(i + 1) : '\0';
+    /**
+     * CSV에서 온 값들로 행 내용 해시 계산 (FNV-1a 64비트)
+     *
+     * 데이터셋 업그레이드 때 바뀐 행만 골라내는 데 사용
+     * app/build.gradle.kts의 빌드 시점 DB 생성 코드와 같은 규칙이어야 함
+     */
+    static long contentHash(Recipe recipe) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hashField(hash, recipe.getName());
+        hash = hashField(hash, recipe.getIngredients());
+        hash = hashField(hash, recipe.getCookingSteps());
+        hash = hashField(hash, recipe.getCookingTime());
+        hash = hashField(hash, recipe.getDifficulty());
+        hash = hashField(hash, recipe.getImageUrl());
+        hash = hashField(hash, recipe.getDescription());
+        hash = hashField(hash, recipe.getDishName());
+        hash = hashField(hash, String.valueOf(recipe.getViewCount()));
+        hash = hashField(hash, String.valueOf(recipe.getRecommendCount()));
+        hash = hashField(hash, String.valueOf(recipe.getScrapCount()));
+        hash = hashField(hash, recipe.getCookingMethod());
+        hash = hashField(hash, recipe.getCookingSituation());
+        hash = hashField(hash, recipe.getMainMaterial());
+        hash = hashField(hash, recipe.getDishKind());
+        hash = hashField(hash, String.valueOf(recipe.getServings()));
+        hash = hashField(hash, String.valueOf(recipe.getRegisteredAt()));
+        hash = hashField(hash, String.valueOf(recipe.getCookingMinutes()));
+        hash = hashField(hash, String.valueOf(recipe.getDifficultyLevel()));
+        return hash;
+    }
 
 
-            if (c == '"') {
-                if (insideQuotes && nextChar == '"') {
+    // 숫자 컬럼 (조회수 등), 비어있거나 숫자가 아니면 0
+    private static int intFieldOrZero(RecipeCsvTokenizer record, int index) {
+        try {
+            return record.intField(index);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 
-                    currentField.append('"');
-                    i++;
-                } else {
 
-                    insideQuotes = !insideQuotes;
-                }
+    /**
+     * 인분 문자열 → 숫자
+     * "2인분" → 2, "6인분이상" → 6, 빈 값 → 0
+     */
+    static int parseServings(String text) {
+        int servings = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
             }
+            servings = servings * 10 + (c - '0');
+        }
+        return servings;
+    }
 
-            else if (c == ',' && !insideQuotes) {
 
-                fields.add(currentField.toString());
-                currentField = new StringBuilder();
-            }
+    /**
+     * 조리 시간 문자열 → 분
+     * "30분이내" → 30, "2시간이내" → 120, "2시간이상" → 121 (120분 초과), 빈 값 → 0
+     */
+    static int parseCookingMinutes(String text) {
+        int value = 0;
+        int i = 0;
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            value = value * 10 + (text.charAt(i) - '0');
+            i++;
+        }
+        if (i == 0) {
+            return 0;
+        }
 
-            else {
-                currentField.append(c);
-            }
+        int minutes = text.startsWith("시간", i) ? value * 60 : value;
+        return text.endsWith("이상") ? minutes + 1 : minutes;
+    }
+
+
+    /**
+     * 난이도 문자열 → 단계 (Recipe.DIFFICULTY_*)
+     * "아무나" → 1, "초급" → 2, "중급" → 3, "고급" → 4, 그 외 → 0
+     */
+    static int parseDifficultyLevel(String text) {
+        switch (text) {
+            case "아무나":
+                return Recipe.DIFFICULTY_ANYONE;
+            case "초급":
+                return Recipe.DIFFICULTY_BEGINNER;
+            case "중급":
+                return Recipe.DIFFICULTY_INTERMEDIATE;
+            case "고급":
+                return Recipe.DIFFICULTY_ADVANCED;
+            default:
+                return Recipe.DIFFICULTY_UNKNOWN;
         }
+    }
+
 
+    /**
+     * 최초 등록일 → 밀리초
+     * "20240101000857" (한국 시간) → epoch 밀리초, 형식이 다르면 0
+     */
+    static long parseRegisteredAt(String text) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        try {
+            return LocalDateTime.parse(text, REGISTERED_AT_FORMAT)
+                    .atZone(REGISTERED_AT_ZONE)
+                    .toInstant()
+                    .toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
 
-        fields.add(currentField.toString());
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
 
-        return fields;
+    private static long hashField(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        // 필드 구분자 (US, 0x1F)
+        return (hash ^ 0x1F) * FNV_PRIME;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,211 @@
+package com.example.makefoods.database;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * RecipeCsvTokenizer
+ *
+ * 재사용 가능한 char 버퍼 기반 CSV 토크나이저
+ *
+ * 동작:
+ * - Reader에서 고정 크기 버퍼로 읽어서 레코드 하나를 recordBuffer에 복사
+ * - 필드마다 시작/끝 오프셋만 기록 (필드 문자열은 만들지 않음)
+ * - field(i)를 호출한 컬럼만 String 생성 → Recipe가 쓰는 컬럼만 할당됨
+ * - 따옴표 안의 줄바꿈은 레코드의 일부로 처리 (readLine()과 달리 레코드가 끊기지 않음)
+ *
+ * 한 인스턴스는 하나의 스레드에서만 사용
+ */
+public class RecipeCsvTokenizer {
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    private final Reader reader;
+    private final char[] readBuffer = new char[READ_BUFFER_SIZE];
+    private int readPosition = 0;
+    private int readLimit = 0;
+
+    // 현재 레코드 내용 (따옴표 제거, "" → " 처리된 상태)
+    private char[] recordBuffer = new char[1024];
+    private int recordLength = 0;
+
+    // 필드 오프셋 (recordBuffer 기준)
+    private final int[] fieldStarts;
+    private final int[] fieldEnds;
+    private int fieldCount = 0;
+
+    // 로그용 물리적 줄 번호
+    private int lineNumber = 1;
+    private int recordLineNumber = 0;
+
+    /**
+     * @param reader CSV 입력
+     * @param maxFields 오프셋을 저장할 최대 필드 수 (넘치는 필드는 개수만 셈)
+     */
+    public RecipeCsvTokenizer(Reader reader, int maxFields) {
+        this.reader = reader;
+        this.fieldStarts = new int[maxFields];
+        this.fieldEnds = new int[maxFields];
+    }
+
+    /**
+     * 다음 레코드 읽기
+     * @return 레코드가 있으면 true, 입력 끝이면 false
+     */
+    public boolean nextRecord() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        recordLineNumber = lineNumber;
+
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+
+        boolean insideQuotes = false;
+        int fieldStart = 0;
+
+        while (c != -1) {
+            if (insideQuotes) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        // 이스케이프된 따옴표
+                        append('"');
+                    } else {
+                        insideQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    append((char) c);
+                }
+            } else if (c == '"') {
+                insideQuotes = true;
+            } else if (c == ',') {
+                endField(fieldStart);
+                fieldStart = recordLength;
+            } else if (c == '\n') {
+                lineNumber++;
+                break;
+            } else if (c != '\r') {
+                append((char) c);
+            }
+            c = read();
+        }
+
+        endField(fieldStart);
+        return true;
+    }
+
+    /**
+     * 현재 레코드의 필드 개수
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 현재 레코드가 시작된 물리적 줄 번호 (1부터)
+     */
+    public int lineNumber() {
+        return recordLineNumber;
+    }
+
+    /**
+     * 필드 값을 앞뒤 공백 제거해서 반환
+     * 이 메서드를 호출할 때만 String이 생성됨
+     *
+     * @param index 컬럼 번호 (0부터)
+     * @return 필드 값, 없는 필드면 빈 문자열
+     */
+    public String field(int index) {
+        if (index >= fieldCount || index >= fieldStarts.length) {
+            return "";
+        }
+
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        while (start < end && recordBuffer[start] <= ' ') start++;
+        while (end > start && recordBuffer[end - 1] <= ' ') end--;
+
+        return start == end ? "" : new String(recordBuffer, start, end - start);
+    }
+
+    /**
+     * 정수 필드를 String 생성 없이 파싱
+     * @throws NumberFormatException 숫자가 아닌 경우
+     */
+    public int intField(int index) {
+        if (index >= fieldCount || index >= fieldStarts.length) {
+            throw new NumberFormatException("필드 없음: " + index);
+        }
+
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        while (start < end && recordBuffer[start] <= ' ') start++;
+        while (end > start && recordBuffer[end - 1] <= ' ') end--;
+
+        // 헤더의 BOM 등 숫자가 아닌 문자는 예외
+        if (start == end) {
+            throw new NumberFormatException("빈 숫자 필드");
+        }
+
+        boolean negative = recordBuffer[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException(field(index));
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            char ch = recordBuffer[i];
+            if (ch < '0' || ch > '9') {
+                throw new NumberFormatException(field(index));
+            }
+            value = value * 10 + (ch - '0');
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new NumberFormatException(field(index));
+            }
+        }
+
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException(field(index));
+        }
+        return (int) value;
+    }
+
+
+    private void endField(int fieldStart) {
+        if (fieldCount < fieldStarts.length) {
+            fieldStarts[fieldCount] = fieldStart;
+            fieldEnds[fieldCount] = recordLength;
+        }
+        fieldCount++;
+    }
+
+    private void append(char c) {
+        if (recordLength == recordBuffer.length) {
+            char[] grown = new char[recordBuffer.length * 2];
+            System.arraycopy(recordBuffer, 0, grown, 0, recordLength);
+            recordBuffer = grown;
+        }
+        recordBuffer[recordLength++] = c;
+    }
+
+    private int read() throws IOException {
+        if (readPosition == readLimit) {
+            readLimit = reader.read(readBuffer, 0, readBuffer.length);
+            readPosition = 0;
+            if (readLimit <= 0) {
+                readLimit = 0;
+                return -1;
+            }
+        }
+        return readBuffer[readPosition++];
+    }
+}
@@ -1,9 +1,30 @@
 package com.example.makefoods.database;
 
+import android.os.CancellationSignal;
 import androidx.room.Dao;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+import androidx.sqlite.db.SupportSQLiteQuery;
 import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeContentHash;
+import com.example.makefoods.model.RecipeDataset;
+import com.example.makefoods.model.RecipeFtsMatch;
+import com.example.makefoods.model.RecipeIngredient;
+import com.example.makefoods.model.RecipeIngredientName;
+import com.example.makefoods.model.RecipeLshBand;
+import com.example.makefoods.model.RecipeMatch;
+import com.example.makefoods.model.RecipeName;
+import com.example.makefoods.model.RecipeNameTrigram;
+import com.example.makefoods.model.RecipePopularity;
+import com.example.makefoods.model.RecipeRecommendation;
+import com.example.makefoods.model.RecipeSignature;
+import com.example.makefoods.model.RecipeSummary;
+import com.example.makefoods.model.RecipeText;
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -21,6 +42,66 @@ public interface RecipeDao {
     void insertRecipes(List<Recipe> recipes);
 
 
+    // 있으면 수정, 없으면 추가 (데이터셋 업그레이드용)
+    @Upsert
+    void upsertRecipes(List<Recipe> recipes);
+
+
+
+    @Insert
+    void insertRecipeIngredients(List<RecipeIngredient> ingredients);
+
+
+
+    @Insert
+    void insertNameTrigrams(List<RecipeNameTrigram> trigrams);
+
+
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertSignatures(List<RecipeSignature> signatures);
+
+
+
+    @Insert
+    void insertLshBands(List<RecipeLshBand> bands);
+
+
+
+    /**
+     * 레시피와 검색용 파생 테이블을 함께 저장
+     * - 재료 행(recipe_ingredients): Recipe.ingredients 문자열을 파싱해서 새로 만듦
+     * - 이름 조각(recipe_name_trigrams): Recipe.name을 trigram으로 나눠서 새로 만듦
+     * - MinHash 서명, LSH 밴드(recipe_signatures, recipe_lsh_bands): 재료 행으로 새로 만듦
+     * 행 생성 규칙은 RecipeDerivedRows (전체 재생성, 빌드 시점 DB와 같음)
+     */
+    @Transaction
+    default void upsertRecipesWithIngredients(List<Recipe> recipes) {
+        upsertRecipes(recipes);
+
+        List<Integer> recipeIds = new ArrayList<>(recipes.size());
+        List<RecipeIngredient> ingredients = new ArrayList<>();
+        List<RecipeNameTrigram> trigrams = new ArrayList<>();
+        List<RecipeSignature> signatures = new ArrayList<>();
+        List<RecipeLshBand> bands = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            recipeIds.add(recipe.getRecipeId());
+            RecipeDerivedRows.add(recipe.getRecipeId(), recipe.getName(), recipe.getIngredients(),
+                    ingredients, trigrams, signatures, bands);
+        }
+
+        deleteIngredientsForRecipes(recipeIds);
+        insertRecipeIngredients(ingredients);
+        deleteNameTrigramsForRecipes(recipeIds);
+        insertNameTrigrams(trigrams);
+        deleteSignaturesForRecipes(recipeIds);
+        insertSignatures(signatures);
+        deleteLshBandsForRecipes(recipeIds);
+        insertLshBands(bands);
+        refreshFridgeMatchesForRecipes(recipeIds);
+    }
+
+
 
     @Query("SELECT * FROM recipes")
     List<Recipe> getAllRecipes();
@@ -42,9 +123,155 @@ public interface RecipeDao {
 
 
 
-    @Query("SELECT * FROM recipes WHERE ingredients LIKE '%' || :ingredient1 || '%' " +
-            "OR ingredients LIKE '%' || :ingredient2 || '%'")
-    List<Recipe> searchByIngredients(String ingredient1, String ingredient2);
+    // 재료 여러 개로 한 번에 검색 (IngredientMatchQuery.forRecipes)
+    @RawQuery
+    List<Recipe> searchByIngredients(SupportSQLiteQuery query);
+
+
+
+    // 재료 여러 개로 한 번에 검색, 레시피별 일치 재료 수 포함 (IngredientMatchQuery.forSummaries)
+    @RawQuery
+    List<RecipeMatch> searchMatchesByIngredients(SupportSQLiteQuery query);
+
+
+
+    // ===== 재료 테이블 검색 (recipe_ingredients.name 인덱스 사용) =====
+    // name은 정규화한 재료 이름 (IngredientMatchQuery.nameKey), 정규화한 이름끼리 정확히 같은 행만 찾음
+    // (예: "소고기" → 소고기, 쇠고기, 소고기다짐육처럼 "소고기"로 정규화된 행만, 앞부분만 같은 소고기다시다는 제외)
+
+
+    @Query("SELECT * FROM recipes WHERE recipeId IN " +
+            "(SELECT recipeId FROM recipe_ingredients WHERE name = :name)")
+    List<Recipe> searchByIngredientName(String name);
+
+
+
+    // ===== 요약 조회 (cookingSteps, description 제외) =====
+
+
+    // 이름 부분 일치 요약 조회 (취소 신호를 받는 버전과 같은 SQL)
+    String SUMMARIES_BY_NAME = "SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes " +
+            "WHERE name LIKE '%' || :keyword || '%'";
+
+    @Query(SUMMARIES_BY_NAME)
+    List<RecipeSummary> searchSummariesByName(String keyword);
+
+    // 취소 가능한 버전 (RecipeSearchRunner, 취소되면 OperationCanceledException)
+    @Query(SUMMARIES_BY_NAME)
+    List<RecipeSummary> searchSummariesByName(String keyword, CancellationSignal signal);
+
+
+
+    // 조리 시간, 난이도 조건 (RecipeFilter 범위, (difficultyLevel, cookingMinutes) 인덱스)
+    @Query("SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes " +
+            "WHERE difficultyLevel BETWEEN :minDifficulty AND :maxDifficulty " +
+            "AND cookingMinutes BETWEEN :minMinutes AND :maxMinutes " +
+            "AND name LIKE '%' || :keyword || '%'")
+    List<RecipeSummary> searchSummariesByNameFiltered(String keyword, int minMinutes, int maxMinutes,
+                                                      int minDifficulty, int maxDifficulty);
+
+
+
+    // 이름 조각이 하나라도 일치하는 (조각, 레시피) 행 (trigram 기본 키 범위 조회)
+    // 추천 음식 이름을 DB 레시피로 연결할 때 사용 (RecipeRepository.resolveRecipeNames)
+    @Query("SELECT trigram, recipeId FROM recipe_name_trigrams WHERE trigram IN (:trigrams)")
+    List<RecipeNameTrigram> getNameTrigramHits(List<String> trigrams);
+
+
+
+    // 이름 자동완성 색인 빌드용 (RecipeNameIndex)
+    @Query("SELECT recipeId, name FROM recipes ORDER BY recipeId")
+    List<RecipeName> getAllRecipeNames();
+
+
+
+    // 설명/조리 단계 검색 색인 빌드용 (RecipeTextIndex), recipeId 순서로 limit개씩
+    @Query("SELECT recipeId, description, cookingSteps FROM recipes WHERE recipeId > :afterRecipeId " +
+            "ORDER BY recipeId LIMIT :limit")
+    List<RecipeText> getRecipeTextsAfter(int afterRecipeId, int limit);
+
+
+
+    // 레시피 여러 개의 재료 행 (부족한 재료 목록 표시용, 레시피 안의 순서대로)
+    @Query("SELECT * FROM recipe_ingredients WHERE recipeId IN (:recipeIds) ORDER BY recipeId, position")
+    List<RecipeIngredient> getIngredientsForRecipes(List<Integer> recipeIds);
+
+
+
+    // 메모리 색인 빌드용 (IngredientBitmapIndex)
+    @Query("SELECT recipeId, name FROM recipe_ingredients ORDER BY recipeId")
+    List<RecipeIngredientName> getAllIngredientNames();
+
+
+
+    // 메모리 색인 빌드용 (recipeId 오름차순이어야 함)
+    @Query("SELECT recipeId, viewCount, scrapCount FROM recipes ORDER BY recipeId")
+    List<RecipePopularity> getAllRecipePopularity();
+
+
+
+    // ===== 전문 검색 (recipes_fts) =====
+    // query는 RecipeFtsQuery.build()로 만든 MATCH 문자열
+
+
+    @Query("SELECT rowid AS recipeId, matchinfo(recipes_fts, 'pcnx') AS matchInfo " +
+            "FROM recipes_fts WHERE recipes_fts MATCH :query")
+    List<RecipeFtsMatch> matchFullText(String query);
+
+
+
+    @Query("SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes WHERE recipeId IN (:recipeIds)")
+    List<RecipeSummary> getSummariesByIds(List<Integer> recipeIds);
+
+
+
+    // ===== 분류 / 인기순 조회 (분류 컬럼 인덱스 사용) =====
+
+
+    @Query("SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes " +
+            "WHERE dishKind = :dishKind ORDER BY scrapCount DESC, viewCount DESC LIMIT :limit")
+    List<RecipeSummary> getPopularSummariesByDishKind(String dishKind, int limit);
+
+
+
+    // 조리 시간, 난이도 조건에 맞는 인기 레시피 ((difficultyLevel, cookingMinutes) 인덱스로 거른 뒤 정렬)
+    @Query("SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes " +
+            "WHERE difficultyLevel BETWEEN :minDifficulty AND :maxDifficulty " +
+            "AND cookingMinutes BETWEEN :minMinutes AND :maxMinutes " +
+            "ORDER BY scrapCount DESC, viewCount DESC LIMIT :limit")
+    List<RecipeSummary> getPopularSummariesFiltered(int minMinutes, int maxMinutes,
+                                                    int minDifficulty, int maxDifficulty, int limit);
+
+
+
+    @Query("SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes " +
+            "WHERE mainMaterial = :mainMaterial ORDER BY scrapCount DESC, viewCount DESC LIMIT :limit")
+    List<RecipeSummary> getPopularSummariesByMainMaterial(String mainMaterial, int limit);
+
+
+
+    @Query("SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes " +
+            "WHERE cookingSituation = :cookingSituation ORDER BY scrapCount DESC, viewCount DESC LIMIT :limit")
+    List<RecipeSummary> getPopularSummariesBySituation(String cookingSituation, int limit);
+
+
+
+    @Query("SELECT DISTINCT dishKind FROM recipes WHERE dishKind != '' ORDER BY dishKind")
+    List<String> getDishKinds();
+
+
+
+    // 이름 검색 한 페이지 (recipeId 기준 keyset, 기본 키 순서라 정렬 없이 LIMIT개에서 멈춤)
+    @Query("SELECT recipeId, name, ingredients, cookingTime, difficulty FROM recipes " +
+            "WHERE name LIKE '%' || :keyword || '%' AND recipeId > :afterRecipeId " +
+            "ORDER BY recipeId LIMIT :limit")
+    List<RecipeSummary> searchSummariesByNamePage(String keyword, int afterRecipeId, int limit);
+
+
+
+    // 레시피 이름만 필요할 때 (채팅 추천 버튼)
+    @Query("SELECT name FROM recipes WHERE name LIKE '%' || :keyword || '%'")
+    List<String> searchNamesByName(String keyword);
 
 
 
@@ -55,4 +282,164 @@ public interface RecipeDao {
 
     @Query("SELECT COUNT(*) FROM recipes")
     int getRecipeCount();
-}
\ No newline at end of file
+
+
+
+    // ===== 데이터셋 업그레이드 =====
+
+
+    @Query("SELECT recipeId, contentHash FROM recipes WHERE recipeId IN (:recipeIds)")
+    List<RecipeContentHash> getContentHashes(List<Integer> recipeIds);
+
+
+
+    @Query("SELECT recipeId FROM recipes")
+    List<Integer> getAllRecipeIds();
+
+
+
+    @Query("DELETE FROM recipes WHERE recipeId IN (:recipeIds)")
+    int deleteRecipesByIds(List<Integer> recipeIds);
+
+
+
+    @Query("DELETE FROM recipe_ingredients WHERE recipeId IN (:recipeIds)")
+    void deleteIngredientsForRecipes(List<Integer> recipeIds);
+
+
+
+    @Query("DELETE FROM recipe_ingredients")
+    void deleteAllRecipeIngredients();
+
+
+
+    // ===== 레시피별 냉장고 재료 보유 현황 (recipe_fridge_matches) =====
+    // 냉장고 쪽 변경은 트리거(FridgeMatchTriggers)가 반영, 레시피 재료가 바뀌면 아래로 다시 계산
+
+    // 부족한 재료가 maxMissing개 이하, 적은 순 (같으면 recipeId 순)
+    // (missingCount, recipeId) 인덱스 범위를 순서 그대로 읽음
+    @Query("SELECT r.recipeId, r.name, r.ingredients, r.cookingTime, r.difficulty, " +
+            "m.matchCount, m.missingCount, m.matchCount + m.missingCount AS ingredientCount " +
+            "FROM recipe_fridge_matches m JOIN recipes r ON r.recipeId = m.recipeId " +
+            "WHERE m.missingCount <= :maxMissing " +
+            "ORDER BY m.missingCount, m.recipeId LIMIT :limit")
+    List<RecipeRecommendation> getCookableRecipes(int maxMissing, int limit);
+
+
+
+    // 전체 다시 계산 (파생 테이블 재생성 후)
+    @Transaction
+    default void refreshFridgeMatches() {
+        deleteAllFridgeMatches();
+        insertAllFridgeMatches();
+    }
+
+
+
+    // 일부 레시피만 다시 계산 (레시피 재료가 바뀌었을 때)
+    @Transaction
+    default void refreshFridgeMatchesForRecipes(List<Integer> recipeIds) {
+        deleteFridgeMatchesForRecipes(recipeIds);
+        insertFridgeMatchesForRecipes(recipeIds);
+    }
+
+
+
+    @Query("DELETE FROM recipe_fridge_matches")
+    void deleteAllFridgeMatches();
+
+
+
+    @Query("DELETE FROM recipe_fridge_matches WHERE recipeId IN (:recipeIds)")
+    void deleteFridgeMatchesForRecipes(List<Integer> recipeIds);
+
+
+
+    // 냉장고 재료를 하나라도 쓰는 레시피만 계산
+    @Query("INSERT INTO recipe_fridge_matches (recipeId, matchCount, missingCount) " +
+            "SELECT recipeId, " +
+            "COUNT(DISTINCT CASE WHEN name IN (SELECT nameKey FROM ingredients) THEN name END), " +
+            "COUNT(DISTINCT name) - COUNT(DISTINCT CASE WHEN name IN (SELECT nameKey FROM ingredients) THEN name END) " +
+            "FROM recipe_ingredients " +
+            "WHERE recipeId IN (SELECT recipeId FROM recipe_ingredients WHERE name IN (SELECT nameKey FROM ingredients)) " +
+            "GROUP BY recipeId")
+    void insertAllFridgeMatches();
+
+
+
+    @Query("INSERT INTO recipe_fridge_matches (recipeId, matchCount, missingCount) " +
+            "SELECT recipeId, " +
+            "COUNT(DISTINCT CASE WHEN name IN (SELECT nameKey FROM ingredients) THEN name END), " +
+            "COUNT(DISTINCT name) - COUNT(DISTINCT CASE WHEN name IN (SELECT nameKey FROM ingredients) THEN name END) " +
+            "FROM recipe_ingredients " +
+            "WHERE recipeId IN (:recipeIds) " +
+            "AND recipeId IN (SELECT recipeId FROM recipe_ingredients WHERE name IN (SELECT nameKey FROM ingredients)) " +
+            "GROUP BY recipeId")
+    void insertFridgeMatchesForRecipes(List<Integer> recipeIds);
+
+
+
+    @Query("DELETE FROM recipe_name_trigrams WHERE recipeId IN (:recipeIds)")
+    void deleteNameTrigramsForRecipes(List<Integer> recipeIds);
+
+
+
+    @Query("DELETE FROM recipe_name_trigrams")
+    void deleteAllNameTrigrams();
+
+
+
+    // ===== 비슷한 레시피 (MinHash 서명 + LSH 밴드, RecipeMinHash) =====
+
+
+    @Query("SELECT * FROM recipe_signatures WHERE recipeId = :recipeId LIMIT 1")
+    RecipeSignature getSignature(int recipeId);
+
+
+
+    // LSH 버킷을 하나라도 공유하는 레시피의 서명 (공유한 밴드가 많은 순서로 limit개)
+    // recipe_lsh_bands 기본 키 (band, bucket, recipeId) 범위 조회 밴드 수만큼 → 전체 레시피를 비교하지 않음
+    @Query("SELECT s.recipeId, s.signature FROM recipe_signatures s " +
+            "JOIN (SELECT b.recipeId, COUNT(*) AS sharedBands FROM recipe_lsh_bands a " +
+            "JOIN recipe_lsh_bands b ON b.band = a.band AND b.bucket = a.bucket " +
+            "WHERE a.recipeId = :recipeId AND b.recipeId != :recipeId " +
+            "GROUP BY b.recipeId ORDER BY sharedBands DESC, b.recipeId LIMIT :limit) c " +
+            "ON c.recipeId = s.recipeId")
+    List<RecipeSignature> getSimilarCandidates(int recipeId, int limit);
+
+
+
+    @Query("DELETE FROM recipe_signatures WHERE recipeId IN (:recipeIds)")
+    void deleteSignaturesForRecipes(List<Integer> recipeIds);
+
+
+
+    @Query("DELETE FROM recipe_signatures")
+    void deleteAllSignatures();
+
+
+
+    @Query("DELETE FROM recipe_lsh_bands WHERE recipeId IN (:recipeIds)")
+    void deleteLshBandsForRecipes(List<Integer> recipeIds);
+
+
+
+    @Query("DELETE FROM recipe_lsh_bands")
+    void deleteAllLshBands();
+
+
+
+    // recipeId 순서로 limit개씩 (파생 테이블 재생성용)
+    @Query("SELECT * FROM recipes WHERE recipeId > :afterRecipeId ORDER BY recipeId LIMIT :limit")
+    List<Recipe> getRecipesAfter(int afterRecipeId, int limit);
+
+
+
+    @Query("SELECT * FROM recipe_dataset WHERE id = 0 LIMIT 1")
+    RecipeDataset getDataset();
+
+
+
+    @Upsert
+    void upsertDataset(RecipeDataset dataset);
+}
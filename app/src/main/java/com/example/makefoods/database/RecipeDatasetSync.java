@@ -0,0 +1,125 @@
+package com.example.makefoods.database;
+
+import android.content.Context;
+import android.util.Log;
+import com.example.makefoods.BuildConfig;
+import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeContentHash;
+import com.example.makefoods.model.RecipeDataset;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RecipeDatasetSync
+ *
+ * assets/recipes.csv와 DB의 레시피 테이블을 맞추는 클래스
+ *
+ * 동작:
+ * 1. CSV 체크섬(빌드할 때 계산한 BuildConfig.RECIPES_CSV_SHA256)이 recipe_dataset에 저장된 값과 같으면 아무것도 하지 않음
+ *    실행할 때마다 CSV 전체를 읽어서 해시하지 않음
+ * 2. 다르면 CSV를 스트리밍으로 읽으면서 행 해시(contentHash)가 바뀐 행만 upsert (재료 테이블 포함)
+ * 3. CSV에서 사라진 레시피(RCP_SNO 기준)는 삭제
+ * 4. 새 체크섬과 데이터셋 버전 저장 (모든 배치가 커밋된 뒤에만, 삭제와 같은 트랜잭션)
+ *
+ * 앱 업데이트 비용이 실제로 바뀐 데이터 양에 비례함
+ * 레시피 테이블이 비어있으면 전체 임포트와 같음
+ */
+public class RecipeDatasetSync {
+
+    private static final String TAG = "RecipeDatasetSync";
+    private static final String CSV_ASSET = "recipes.csv";
+
+    // IN (...) 쿼리 한 번에 넣을 ID 개수 (SQLite 변수 개수 제한 999)
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    /**
+     * CSV 데이터셋 동기화
+     * 백그라운드 스레드에서만 호출해야 함
+     * 배치 저장이 실패하면 예외를 던지고 체크섬은 그대로 둠 (다음 실행 때 바뀐 행부터 다시 반영)
+     *
+     * @return 추가/수정/삭제된 레시피 수 (변경 없으면 0)
+     */
+    public static int sync(Context context, AppDatabase database) throws Exception {
+        RecipeDao recipeDao = database.recipeDao();
+
+        // ===== 1. 체크섬 비교 =====
+        String checksum = BuildConfig.RECIPES_CSV_SHA256;
+        RecipeDataset dataset = recipeDao.getDataset();
+
+        if (dataset != null && checksum.equals(dataset.assetChecksum)) {
+            Log.d(TAG, "레시피 데이터셋 최신 상태 (v" + dataset.version + ")");
+            return 0;
+        }
+
+        int newVersion = dataset != null ? dataset.version + 1 : 1;
+        Log.d(TAG, "레시피 데이터셋 변경 감지 → v" + newVersion + " 업그레이드 시작");
+
+        long startTime = System.currentTimeMillis();
+        Set<Integer> seenIds = new HashSet<>();
+        int[] changedCount = {0};
+
+        // ===== 2. 바뀐 행만 upsert (배치 하나 = 트랜잭션 하나) =====
+        try (InputStream input = context.getAssets().open(CSV_ASSET)) {
+            RecipeCsvLoader.streamRecipes(input, RecipeCsvLoader.DEFAULT_BATCH_SIZE, batch ->
+                    database.runInTransaction(() -> {
+                        List<Integer> ids = new ArrayList<>(batch.size());
+                        for (Recipe recipe : batch) {
+                            ids.add(recipe.getRecipeId());
+                        }
+                        seenIds.addAll(ids);
+
+                        Map<Integer, Long> storedHashes = new HashMap<>();
+                        for (RecipeContentHash row : recipeDao.getContentHashes(ids)) {
+                            storedHashes.put(row.recipeId, row.contentHash);
+                        }
+
+                        List<Recipe> changed = new ArrayList<>();
+                        for (Recipe recipe : batch) {
+                            Long stored = storedHashes.get(recipe.getRecipeId());
+                            if (stored == null || stored != recipe.getContentHash()) {
+                                recipe.setDatasetVersion(newVersion);
+                                changed.add(recipe);
+                            }
+                        }
+
+                        if (!changed.isEmpty()) {
+                            recipeDao.upsertRecipesWithIngredients(changed);
+                            changedCount[0] += changed.size();
+                        }
+                    }));
+        }
+
+        // ===== 3. CSV에서 사라진 레시피 삭제 + 4. 새 체크섬 저장 =====
+        // 여기까지 왔으면 모든 배치가 커밋된 것 (배치 하나라도 실패하면 streamRecipes가 예외를 그대로 던짐)
+        // 체크섬은 삭제와 같은 트랜잭션에서 마지막에 저장 → 중간에 실패하면 다음 실행 때 다시 동기화
+        List<Integer> removed = new ArrayList<>();
+        for (Integer recipeId : recipeDao.getAllRecipeIds()) {
+            if (!seenIds.contains(recipeId)) {
+                removed.add(recipeId);
+            }
+        }
+
+        database.runInTransaction(() -> {
+            for (int i = 0; i < removed.size(); i += DELETE_CHUNK_SIZE) {
+                recipeDao.deleteRecipesByIds(removed.subList(i, Math.min(i + DELETE_CHUNK_SIZE, removed.size())));
+            }
+
+            RecipeDataset updated = new RecipeDataset();
+            updated.assetChecksum = checksum;
+            updated.version = newVersion;
+            updated.updatedAt = System.currentTimeMillis();
+            updated.derivedIndexVersion = dataset != null ? dataset.derivedIndexVersion : 0;
+            recipeDao.upsertDataset(updated);
+        });
+
+        Log.d(TAG, "데이터셋 v" + newVersion + " 반영 완료: " + changedCount[0] + "개 추가/수정, "
+                + removed.size() + "개 삭제, " + (System.currentTimeMillis() - startTime) + "ms");
+
+        return changedCount[0] + removed.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.makefoods.database;
+
+import com.example.makefoods.model.RecipeIngredient;
+import com.example.makefoods.model.RecipeLshBand;
+import com.example.makefoods.model.RecipeNameTrigram;
+import com.example.makefoods.model.RecipeSignature;
+import java.util.List;
+
+/**
+ * RecipeDerivedRows
+ *
+ * 레시피 하나에서 검색용 파생 테이블 행을 만드는 규칙 (한 곳에서만 정의)
+ * - recipe_ingredients: RecipeIngredientParser (재료 이름은 IngredientNormalizer로 정규화)
+ * - recipe_name_trigrams: RecipeNameTrigrams
+ * - recipe_signatures, recipe_lsh_bands: RecipeMinHash
+ *
+ * 사용하는 곳:
+ * - RecipeIndexBuilder: 파생 테이블 버전이 바뀌었을 때 전체 재생성
+ * - RecipeDao.upsertRecipesWithIngredients: CSV가 바뀌어서 upsert되는 레시피
+ * - app/build.gradle.kts BuildRecipeDatabaseTask: 빌드 시점 DB (컴파일된 클래스를 불러서 호출)
+ *
+ * 빌드 작업에는 안드로이드, Room 클래스가 없으므로 이 클래스와 위 클래스들은 안드로이드 API를 쓰면 안 됨
+ */
+public class RecipeDerivedRows {
+
+    /**
+     * 레시피 하나의 파생 테이블 행을 각 목록에 추가
+     *
+     * @param recipeId 레시피 ID
+     * @param name 레시피 이름 (recipes.name)
+     * @param ingredientsText 재료 원문 (recipes.ingredients)
+     */
+    public static void add(int recipeId, String name, String ingredientsText,
+                           List<RecipeIngredient> ingredients, List<RecipeNameTrigram> trigrams,
+                           List<RecipeSignature> signatures, List<RecipeLshBand> bands) {
+        List<RecipeIngredient> parsed = RecipeIngredientParser.parse(recipeId, ingredientsText);
+        ingredients.addAll(parsed);
+        trigrams.addAll(RecipeNameTrigrams.rowsFor(recipeId, name));
+        RecipeMinHash.addRows(recipeId, parsed, signatures, bands);
+    }
+}
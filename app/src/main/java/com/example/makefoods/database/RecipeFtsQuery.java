@@ -0,0 +1,114 @@
+package com.example.makefoods.database;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+
+/**
+ * RecipeFtsQuery
+ *
+ * recipes_fts 전문 검색용 MATCH 문자열 생성과 검색 점수 계산
+ *
+ * MATCH 문자열:
+ * - 검색어를 글자/숫자가 아닌 문자 기준으로 나눠서 단어마다 앞부분 일치(김치*) 구문으로 만듦
+ * - 기호는 모두 구분자로 버리고 단어는 소문자로 바꾸므로 사용자가 입력한 -, :, ", AND, OR 같은
+ *   FTS 연산자가 연산자로 해석되지 않음 (unicode61은 대소문자를 구분하지 않음)
+ * - 단어가 여러 개면 모두 포함된 레시피만 일치 (AND)
+ *
+ * 점수 (matchinfo 'pcnx' 기반 TF-IDF):
+ * - 단어마다, 컬럼마다 (1 + log(해당 행 일치 수)) × log(1 + 전체 행 수 / 일치 행 수) × 컬럼 가중치
+ * - 이름 일치 > 재료 일치 > 설명 일치 순으로 가중치
+ */
+public class RecipeFtsQuery {
+
+    // 컬럼 순서: RecipeFts의 필드 순서 (name, ingredients, description)
+    public static final String COLUMN_NAME = "name";
+    public static final String COLUMN_INGREDIENTS = "ingredients";
+
+    private static final double[] COLUMN_WEIGHTS = {3.0, 2.0, 1.0};
+
+    /**
+     * 검색어 → MATCH 문자열
+     *
+     * 예: "김치 돼지고기" → 김치* 돼지고기*
+     *     column = "name" → name:김치* name:돼지고기*
+     *
+     * @param text 사용자 검색어
+     * @param column 검색할 컬럼 (null이면 전체 컬럼)
+     * @return MATCH 문자열, 검색할 단어가 없으면 빈 문자열
+     */
+    public static String build(String text, String column) {
+        if (text == null) {
+            return "";
+        }
+
+        StringBuilder query = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            // 단어 시작 찾기
+            while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                continue;
+            }
+
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            if (column != null) {
+                query.append(column).append(':');
+            }
+            query.append(text.substring(start, i).toLowerCase(Locale.ROOT)).append('*');
+        }
+
+        return query.toString();
+    }
+
+
+    /**
+     * matchinfo(recipes_fts, 'pcnx') 결과로 관련도 점수 계산
+     *
+     * 형식 (32비트 정수, 기기 바이트 순서):
+     * [단어 수 p][컬럼 수 c][전체 행 수 n] + 단어 i, 컬럼 j마다 [이 행 일치 수][전체 일치 수][일치 행 수]
+     *
+     * @return 점수 (클수록 관련도 높음)
+     */
+    public static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 12) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+        int rowCount = buffer.getInt(8);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int offset = 12 + 12 * (phrase * columnCount + column);
+                if (offset + 12 > matchInfo.length) {
+                    return score;
+                }
+
+                int hitsInRow = buffer.getInt(offset);
+                int rowsWithHits = buffer.getInt(offset + 8);
+                if (hitsInRow <= 0 || rowsWithHits <= 0) {
+                    continue;
+                }
+
+                double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+                double tf = 1 + Math.log(hitsInRow);
+                double idf = Math.log(1 + (double) rowCount / rowsWithHits);
+                score += weight * tf * idf;
+            }
+        }
+
+        return score;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.makefoods.database;
+
+import android.util.Log;
+import com.example.makefoods.model.Ingredient;
+import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeDataset;
+import com.example.makefoods.model.RecipeIngredient;
+import com.example.makefoods.model.RecipeLshBand;
+import com.example.makefoods.model.RecipeNameTrigram;
+import com.example.makefoods.model.RecipeSignature;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RecipeIndexBuilder
+ *
+ * recipes 테이블에서 파생되는 검색용 테이블을 다시 만드는 클래스
+ * - recipe_ingredients: Recipe.ingredients를 재료 단위로 나눈 테이블
+ * - recipe_name_trigrams: Recipe.name을 세 글자 조각으로 나눈 테이블 (추천 음식 이름 연결용)
+ * - recipe_fridge_matches: 레시피별 냉장고 재료 보유 현황 (재생성 후 전체 다시 계산)
+ * - recipe_signatures, recipe_lsh_bands: 재료 집합의 MinHash 서명과 LSH 밴드 (비슷한 레시피 검색용)
+ *
+ * 빌드 시점에 만든 DB(createFromAsset)에는 파생 테이블이 이미 채워져 있음 (derivedIndexVersion = CURRENT_VERSION)
+ * 빌드 작업(app/build.gradle.kts)도 RecipeDerivedRows로 만들므로 기기에서 만드는 것과 같은 행
+ * 저장된 버전이 CURRENT_VERSION보다 낮으면 (이전 버전 앱에서 업데이트) 전체 레시피를 배치 단위로 읽어서 다시 생성
+ * 파싱 규칙을 바꾸거나 파생 테이블을 추가하면 CURRENT_VERSION을 올리면 됨
+ *
+ * CSV가 바뀌어서 upsert되는 레시피는 RecipeDao.upsertRecipesWithIngredients()가 바로 반영
+ */
+public class RecipeIndexBuilder {
+
+    private static final String TAG = "RecipeIndexBuilder";
+
+    // 파생 테이블 버전 (파싱 규칙이 바뀌거나 테이블이 추가되면 1씩 증가)
+    // 빌드 시점 DB 생성도 이 값을 읽어서 recipe_dataset.derivedIndexVersion에 저장
+    // 1: recipe_ingredients, 2: recipe_name_trigrams, 3: 재료 이름 정규화 사전 (IngredientNormalizer)
+    // 4: recipe_fridge_matches, 5: recipe_signatures, recipe_lsh_bands (RecipeMinHash)
+    public static final int CURRENT_VERSION = 5;
+
+    private static final int BATCH_SIZE = 250;
+
+    /**
+     * 파생 테이블이 최신이 아니면 다시 생성
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @return 다시 만든 레시피 수 (최신이면 0)
+     */
+    public static int rebuildIfNeeded(AppDatabase database) {
+        RecipeDao recipeDao = database.recipeDao();
+        RecipeDataset dataset = recipeDao.getDataset();
+
+        if (dataset == null || dataset.derivedIndexVersion >= CURRENT_VERSION) {
+            return 0;
+        }
+
+        Log.d(TAG, "파생 테이블 v" + dataset.derivedIndexVersion + " → v" + CURRENT_VERSION + " 재생성 시작");
+        long startTime = System.currentTimeMillis();
+
+        recipeDao.deleteAllRecipeIngredients();
+        recipeDao.deleteAllNameTrigrams();
+        recipeDao.deleteAllSignatures();
+        recipeDao.deleteAllLshBands();
+
+        int total = 0;
+        int lastRecipeId = Integer.MIN_VALUE;
+
+        // ===== recipeId 순서로 배치 단위 처리 (배치 하나 = 트랜잭션 하나) =====
+        while (true) {
+            List<Recipe> recipes = recipeDao.getRecipesAfter(lastRecipeId, BATCH_SIZE);
+            if (recipes.isEmpty()) {
+                break;
+            }
+
+            List<RecipeIngredient> ingredients = new ArrayList<>();
+            List<RecipeNameTrigram> trigrams = new ArrayList<>();
+            List<RecipeSignature> signatures = new ArrayList<>();
+            List<RecipeLshBand> bands = new ArrayList<>();
+            for (Recipe recipe : recipes) {
+                RecipeDerivedRows.add(recipe.getRecipeId(), recipe.getName(), recipe.getIngredients(),
+                        ingredients, trigrams, signatures, bands);
+            }
+
+            database.runInTransaction(() -> {
+                recipeDao.insertRecipeIngredients(ingredients);
+                recipeDao.insertNameTrigrams(trigrams);
+                recipeDao.insertSignatures(signatures);
+                recipeDao.insertLshBands(bands);
+            });
+
+            total += recipes.size();
+            lastRecipeId = recipes.get(recipes.size() - 1).getRecipeId();
+        }
+
+        // ===== 냉장고 재료 정규화 이름 (사전이 바뀌었을 수 있음) + 보유 현황 =====
+        IngredientDao ingredientDao = database.ingredientDao();
+        database.runInTransaction(() -> {
+            for (Ingredient ingredient : ingredientDao.getAllIngredientsSync()) {
+                String nameKey = IngredientNormalizer.normalize(ingredient.getName());
+                if (!nameKey.equals(ingredient.getNameKey())) {
+                    ingredientDao.updateNameKey(ingredient.getId(), nameKey);
+                }
+            }
+            recipeDao.refreshFridgeMatches();
+        });
+
+        dataset.derivedIndexVersion = CURRENT_VERSION;
+        recipeDao.upsertDataset(dataset);
+
+        Log.d(TAG, "파생 테이블 재생성 완료: " + total + "개 레시피, "
+                + (System.currentTimeMillis() - startTime) + "ms");
+
+        return total;
+    }
+}
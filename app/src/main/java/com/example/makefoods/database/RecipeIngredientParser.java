@@ -0,0 +1,122 @@
+package com.example.makefoods.database;
+
+import com.example.makefoods.model.RecipeIngredient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * RecipeIngredientParser
+ *
+ * CKG_MTRL_CN 재료 문자열을 재료 단위(RecipeIngredient)로 나누는 파서
+ *
+ * CSV 형식:
+ * - 재료 하나 = "이름\u0007분량\u0007단위\u0007"
+ * - 재료 사이는 "| ", 구역이 바뀌면 " [양념] " 같은 머리말
+ * 예: "[재료] 떡국떡\u0007400\u0007g\u0007| 계란\u00072\u0007개\u0007 [양념] 국간장\u00071\u0007T"
+ */
+public class RecipeIngredientParser {
+
+    private static final char FIELD_SEPARATOR = '\u0007';
+
+    // "[재료]", "[양념장]" 같은 구역 머리말
+    private static final Pattern SECTION_HEADER = Pattern.compile("\\[[^\\]]*\\]");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 레시피 하나의 재료 문자열 파싱
+     *
+     * @param recipeId 레시피 ID
+     * @param ingredientsText Recipe.ingredients (CKG_MTRL_CN)
+     * @return 재료 목록 (순서 유지), 같은 정규화 이름은 한 번만 포함
+     */
+    public static List<RecipeIngredient> parse(int recipeId, String ingredientsText) {
+        List<RecipeIngredient> result = new ArrayList<>();
+        if (ingredientsText == null || ingredientsText.isEmpty()) {
+            return result;
+        }
+
+        List<String> seenNames = new ArrayList<>();
+        String[] tokens = ingredientsText.split(String.valueOf(FIELD_SEPARATOR), -1);
+
+        // 이름, 분량, 단위가 세 개씩 반복됨
+        for (int i = 0; i < tokens.length; i += 3) {
+            String rawName = cleanName(tokens[i]);
+            String name = canonicalName(rawName);
+
+            if (name.isEmpty() || seenNames.contains(name)) {
+                continue;
+            }
+            seenNames.add(name);
+
+            String quantityText = i + 1 < tokens.length ? tokens[i + 1].trim() : "";
+            String unit = i + 2 < tokens.length ? tokens[i + 2].trim() : "";
+
+            RecipeIngredient ingredient = new RecipeIngredient();
+            ingredient.recipeId = recipeId;
+            ingredient.position = result.size();
+            ingredient.name = name;
+            ingredient.rawName = rawName;
+            ingredient.amount = quantityText + unit;
+            ingredient.quantity = parseQuantity(quantityText);
+            ingredient.unit = unit;
+            result.add(ingredient);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * 검색 키로 쓰는 정규화 이름 (IngredientNormalizer 규칙)
+     *
+     * 예: "돼지 등갈비" → "돼지등갈비", "두부(부침용)" → "두부", "다진마늘" → "마늘", "달걀" → "계란"
+     */
+    public static String canonicalName(String rawName) {
+        return IngredientNormalizer.normalize(rawName);
+    }
+
+
+    // 재료 이름 앞의 "| ", 구역 머리말 제거
+    private static String cleanName(String token) {
+        String name = SECTION_HEADER.matcher(token).replaceAll(" ");
+        name = name.replace('|', ' ').trim();
+        return WHITESPACE.matcher(name).replaceAll(" ");
+    }
+
+
+    /**
+     * 분량 문자열을 숫자로 변환
+     * "1/2" → 0.5, "1.5" → 1.5, "2~3" → 2.5 (범위는 중간값)
+     *
+     * @return 변환한 값, 숫자가 아니면 null
+     */
+    static Double parseQuantity(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        int rangeIndex = text.indexOf('~');
+        if (rangeIndex > 0) {
+            Double low = parseQuantity(text.substring(0, rangeIndex));
+            Double high = parseQuantity(text.substring(rangeIndex + 1));
+            if (low == null) return high;
+            if (high == null) return low;
+            return (low + high) / 2;
+        }
+
+        try {
+            int slashIndex = text.indexOf('/');
+            if (slashIndex > 0) {
+                double numerator = Double.parseDouble(text.substring(0, slashIndex).trim());
+                double denominator = Double.parseDouble(text.substring(slashIndex + 1).trim());
+                return denominator == 0 ? null : numerator / denominator;
+            }
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.makefoods.database;
+
+import com.example.makefoods.model.RecipeIngredient;
+import com.example.makefoods.model.RecipeLshBand;
+import com.example.makefoods.model.RecipeSignature;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RecipeMinHash
+ *
+ * 레시피 재료 집합 → MinHash 서명, LSH 밴드 ("비슷한 레시피" 검색용)
+ *
+ * MinHash:
+ * - 재료 이름(정규화한 이름, recipe_ingredients.name) 집합을 해시 함수 SIGNATURE_SIZE개로 각각 최솟값만 남김
+ * - 두 레시피 서명에서 같은 자리의 값이 같은 비율 ≈ 재료 집합의 Jaccard 유사도
+ *
+ * LSH 밴드:
+ * - 서명을 BANDS개 구간(구간마다 ROWS개 값)으로 나누고 구간마다 버킷 해시를 저장 (recipe_lsh_bands)
+ * - 한 구간이라도 버킷이 같은 레시피만 후보 → 전체 레시피와 비교하지 않음
+ * - 32 x 2 기준으로 Jaccard 0.2 정도부터 후보가 될 확률이 절반을 넘음 ((1/32)^(1/2) ≈ 0.18)
+ *
+ * 서명과 밴드는 레시피를 저장할 때 같이 만들어서 DB에 저장 (RecipeDao.upsertRecipesWithIngredients, RecipeIndexBuilder)
+ * 해시 규칙을 바꾸면 RecipeIndexBuilder.CURRENT_VERSION을 올려야 함
+ */
+public class RecipeMinHash {
+
+    public static final int BANDS = 32;
+    public static final int ROWS = 2;
+    public static final int SIGNATURE_SIZE = BANDS * ROWS;
+
+    // 해시 함수별 시드 (고정값, 바꾸면 저장된 서명과 맞지 않음)
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+
+    /**
+     * 재료 이름 집합 → 서명
+     *
+     * @param names 정규화한 재료 이름 (빈 값, 중복은 무시)
+     * @return 서명, 재료가 없으면 null
+     */
+    public static int[] signatureOf(Collection<String> names) {
+        int[] signature = null;
+
+        for (String name : names) {
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+            if (signature == null) {
+                signature = new int[SIGNATURE_SIZE];
+                Arrays.fill(signature, Integer.MAX_VALUE);
+            }
+
+            long base = hashName(name);
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int value = (int) (mix(base ^ SEEDS[i]) >>> 33);  // 0 이상 int
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+
+        return signature;
+    }
+
+    /**
+     * 레시피 한 개의 서명 행 + 밴드 행 추가 (재료가 없으면 추가하지 않음)
+     *
+     * @param ingredients 그 레시피의 재료 행 (RecipeIngredientParser.parse 결과)
+     */
+    public static void addRows(int recipeId, List<RecipeIngredient> ingredients,
+                               List<RecipeSignature> signatures, List<RecipeLshBand> bands) {
+        Set<String> names = new LinkedHashSet<>();
+        for (RecipeIngredient ingredient : ingredients) {
+            names.add(ingredient.name);
+        }
+
+        int[] signature = signatureOf(names);
+        if (signature != null) {
+            signatures.add(new RecipeSignature(recipeId, toBytes(signature)));
+            bands.addAll(bandsFor(recipeId, signature));
+        }
+    }
+
+    /**
+     * 서명 → LSH 밴드 행 (BANDS개)
+     */
+    public static List<RecipeLshBand> bandsFor(int recipeId, int[] signature) {
+        List<RecipeLshBand> bands = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            long bucket = band;
+            for (int row = 0; row < ROWS; row++) {
+                bucket = mix(bucket * 31 + signature[band * ROWS + row]);
+            }
+            bands.add(new RecipeLshBand(band, bucket, recipeId));
+        }
+        return bands;
+    }
+
+    /**
+     * 추정 Jaccard 유사도 (같은 자리 값이 같은 비율, 0~1)
+     */
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / SIGNATURE_SIZE;
+    }
+
+
+    // ===== 저장 형식 (int SIGNATURE_SIZE개 → BLOB) =====
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * 4);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[bytes.length / 4];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+
+    // FNV-1a 64비트 (String.hashCode보다 충돌이 적음)
+    private static long hashName(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // splitmix64 마무리 단계 (비트를 고르게 섞음)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.makefoods.database;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.util.Log;
+import androidx.room.InvalidationTracker;
+import com.example.makefoods.model.RecipeDataset;
+import com.example.makefoods.model.RecipeName;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RecipeNameIndex
+ *
+ * 레시피 이름 자동완성 색인 (음절 앞부분 일치 + 초성 검색)
+ * 예: "떡구" → 떡국, "ㄸㄱ" → 떡국, "떡ㄱ" → 떡국, "김치" → 돼지고기 김치찌개 (단어 중간부터도 일치)
+ * 색인 구조와 검색은 RecipeNameIndexSnapshot, 이 클래스는 현재 데이터셋에 맞는 스냅샷을 준비해서 들고 있음
+ *
+ * 저장:
+ * - 정렬이 가장 비싸므로 정렬 결과를 파일로 저장
+ * - 빌드할 때 빌드 시점 DB와 같은 데이터셋 기준으로 만든 파일을 assets/indexes/recipe_name_index.bin으로 배포
+ *   → 설치 직후 DB가 빌드 시점 그대로면 기기에서 정렬하지 않고 읽기만 함
+ * - 앱 시작 때 filesDir/recipe_name_index.bin → 배포된 파일 순서로 데이터셋 버전/갱신 시각/레시피 수가 같은 것을 읽음
+ * - 둘 다 다르면 (기기에서 데이터셋이 바뀐 경우) 레시피 동기화 직후(AppDatabase) rebuildIfNeeded()로 다시 만들어 filesDir에 저장
+ * - 앱 실행 중 recipes가 바뀌면 (InvalidationTracker) 다음 검색 때 다시 생성
+ *
+ * 앱 전체에서 하나만 사용 (getInstance)
+ * 검색은 불변 스냅샷(RecipeNameIndexSnapshot)으로 처리하므로 여러 스레드에서 동시에 호출 가능
+ */
+public class RecipeNameIndex {
+
+    private static final String TAG = "RecipeNameIndex";
+
+    private static final String FILE_NAME = "recipe_name_index.bin";
+    static final String ASSET_PATH = "indexes/" + FILE_NAME;
+
+    private static RecipeNameIndex instance;
+
+    private final AppDatabase database;
+    private final AssetManager assets;
+    private final File file;
+
+    // 재생성 필요 여부 (recipes가 바뀌면 true)
+    private volatile boolean stale = false;
+    private volatile RecipeNameIndexSnapshot snapshot;     // null이면 아직 파일에서 읽지 않음
+
+
+    public static synchronized RecipeNameIndex getInstance(Context context) {
+        if (instance == null) {
+            instance = new RecipeNameIndex(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private RecipeNameIndex(Context context) {
+        this.database = AppDatabase.getInstance(context);
+        this.assets = context.getAssets();
+        this.file = new File(context.getFilesDir(), FILE_NAME);
+
+        // 레시피 테이블이 바뀌면 다음 검색 때 다시 생성
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("recipes") {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                stale = true;
+            }
+        });
+    }
+
+
+    /**
+     * 저장된 색인과 배포된 색인이 모두 현재 레시피 데이터셋과 다르면 다시 만들어서 저장
+     * 레시피 동기화 직후 호출 (첫 검색 때 기다리지 않도록)
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @return 다시 만든 레시피 수 (최신이면 0)
+     */
+    public synchronized int rebuildIfNeeded() {
+        RecipeDataset dataset = database.recipeDao().getDataset();
+        int recipeCount = database.recipeDao().getRecipeCount();
+
+        if (!stale && snapshot == null) {
+            snapshot = load(dataset, recipeCount);
+        }
+        if (!stale && snapshot != null) {
+            return 0;
+        }
+
+        stale = false;
+        snapshot = build();
+        save(snapshot, dataset);
+        return snapshot.recipeCount();
+    }
+
+    /**
+     * 현재 색인 (파일에서 읽거나 최신이 아니면 이 호출에서 다시 생성)
+     * DB나 파일을 읽을 수 있으므로 백그라운드 스레드에서 호출
+     */
+    public RecipeNameIndexSnapshot snapshot() {
+        RecipeNameIndexSnapshot current = snapshot;
+        if (current == null || stale) {
+            synchronized (this) {
+                rebuildIfNeeded();
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+
+    // ===== 생성 =====
+
+    private RecipeNameIndexSnapshot build() {
+        long startTime = System.currentTimeMillis();
+
+        List<RecipeName> rows = database.recipeDao().getAllRecipeNames();
+        int[] recipeIds = new int[rows.size()];
+        String[] names = new String[rows.size()];
+        for (int i = 0; i < names.length; i++) {
+            recipeIds[i] = rows.get(i).recipeId;
+            names[i] = rows.get(i).name != null ? rows.get(i).name : "";
+        }
+
+        RecipeNameIndexSnapshot built = RecipeNameIndexSnapshot.create(recipeIds, names);
+
+        Log.d(TAG, "이름 색인 생성: 레시피 " + names.length + "개, 단어 " + built.wordCount() + "개, "
+                + (System.currentTimeMillis() - startTime) + "ms");
+        return built;
+    }
+
+
+    // ===== 파일 저장/읽기 =====
+
+    private void save(RecipeNameIndexSnapshot index, RecipeDataset dataset) {
+        File temp = new File(file.getPath() + ".tmp");
+
+        try (OutputStream out = new FileOutputStream(temp)) {
+            index.writeTo(out, dataset != null ? dataset.version : 0, dataset != null ? dataset.updatedAt : 0);
+        } catch (IOException e) {
+            Log.e(TAG, "이름 색인 저장 실패: " + e.getMessage(), e);
+            temp.delete();
+            return;
+        }
+
+        // 쓰는 도중 앱이 종료돼도 예전 파일이 깨지지 않도록 임시 파일을 바꿔치기
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "이름 색인 파일 교체 실패");
+            temp.delete();
+        }
+    }
+
+    // 저장된 색인 → 배포된 색인 순서로 현재 데이터셋과 같은 것을 읽어서 반환, 없거나 다르면 null
+    private RecipeNameIndexSnapshot load(RecipeDataset dataset, int recipeCount) {
+        if (dataset == null) {
+            return null;
+        }
+
+        if (file.exists()) {
+            try (InputStream input = new FileInputStream(file)) {
+                RecipeNameIndexSnapshot loaded = read(input, "저장된", dataset, recipeCount);
+                if (loaded != null) {
+                    return loaded;
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "저장된 이름 색인 열기 실패: " + e.getMessage());
+            }
+        }
+
+        try (InputStream input = assets.open(ASSET_PATH)) {
+            return read(input, "배포된", dataset, recipeCount);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "배포된 이름 색인 열기 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 헤더가 현재 데이터셋과 같으면 읽어서 반환, 다르거나 깨졌으면 null (다음 후보 또는 재생성)
+    private RecipeNameIndexSnapshot read(InputStream input, String source, RecipeDataset dataset, int recipeCount) {
+        long startTime = System.currentTimeMillis();
+        try {
+            RecipeNameIndexSnapshot loaded = RecipeNameIndexSnapshot.readFrom(input, dataset.version, dataset.updatedAt, recipeCount);
+            if (loaded == null) {
+                Log.d(TAG, source + " 이름 색인이 현재 데이터셋(v" + dataset.version + ") 기준이 아님");
+                return null;
+            }
+
+            Log.d(TAG, source + " 이름 색인 읽기: 레시피 " + recipeCount + "개, "
+                    + (System.currentTimeMillis() - startTime) + "ms");
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, source + " 이름 색인 읽기 실패: " + e.getMessage());
+            return null;
+        }
+    }
+}
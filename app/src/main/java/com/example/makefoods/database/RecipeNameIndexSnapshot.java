@@ -0,0 +1,429 @@
+package com.example.makefoods.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RecipeNameIndexSnapshot
+ *
+ * 한 번 만들어진 레시피 이름 자동완성 색인 (불변, RecipeNameIndex가 들고 있음)
+ * 예: "떡구" → 떡국, "ㄸㄱ" → 떡국, "떡ㄱ" → 떡국, "김치" → 돼지고기 김치찌개 (단어 중간부터도 일치)
+ *
+ * 구조 (단어 시작 위치만 담은 접미사 배열):
+ * - text: 모든 이름을 글자/숫자만 남기고 소문자로 바꿔서 이어붙인 배열 (이름 사이는 '\0')
+ * - choseong: text와 같은 길이, 한글 음절을 초성으로 바꾼 배열 (떡국 → ㄸㄱ)
+ * - nameOrder / choseongOrder: 이름 속 단어 시작 위치를 text / choseong 기준으로 정렬한 배열
+ * → 검색어로 시작하는 구간을 이진 탐색 두 번으로 찾음 (이름 수 n에 대해 O(log n))
+ *
+ * 마지막 글자가 받침 없는 음절이면 받침이 붙은 음절까지 일치 (입력 중인 "떡구" → "떡국")
+ * 같은 초성+중성 음절은 유니코드에서 연속(받침 0~27)이므로 구간 비교 한 번으로 처리
+ *
+ * 파일 형식 (writeTo / readFrom): 헤더(데이터셋 버전, 갱신 시각, 레시피 수) + 이름 + 정렬 결과
+ * - 기기: filesDir/recipe_name_index.bin (RecipeNameIndex)
+ * - 빌드: assets/indexes/recipe_name_index.bin (app/build.gradle.kts BuildRecipeDatabaseTask가 컴파일된 이 클래스를 불러서 생성)
+ * 빌드 작업에는 안드로이드 클래스가 없으므로 이 클래스는 안드로이드 API를 쓰면 안 됨
+ */
+public class RecipeNameIndexSnapshot {
+
+    static final int FILE_MAGIC = 0x524E4958;     // "RNIX"
+    static final int FORMAT_VERSION = 1;          // 정규화/파일 형식이 바뀌면 1씩 증가
+
+    // 초성 검색에서 검증할 최대 후보 위치 수 ("ㄱ"처럼 짧은 검색어가 전체를 훑지 않도록)
+    private static final int MAX_SCAN = 4096;
+
+    // 한글 음절 (가 ~ 힣): (초성 × 21 + 중성) × 28 + 종성
+    private static final char HANGUL_FIRST = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+
+    // 초성 19개 (호환용 자모, 키보드로 입력되는 ㄱ, ㄲ, ...)
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private final int[] recipeIds;          // 순번 → recipeId
+    private final String[] names;           // 순번 → 원래 이름 (자동완성 표시용)
+    private final int[] nameStarts;         // 순번 → text에서 이름이 시작하는 위치
+    private final char[] text;              // 정규화한 이름들 ('\0'으로 구분)
+    private final char[] choseong;          // text의 초성 버전 (같은 위치 = 같은 글자)
+    private final int[] nameOrder;          // 단어 시작 위치, text 기준 정렬
+    private final int[] choseongOrder;      // 단어 시작 위치, choseong 기준 정렬
+
+    private RecipeNameIndexSnapshot(int[] recipeIds, String[] names, int[] nameStarts, char[] text, char[] choseong,
+                                    int[] nameOrder, int[] choseongOrder) {
+        this.recipeIds = recipeIds;
+        this.names = names;
+        this.nameStarts = nameStarts;
+        this.text = text;
+        this.choseong = choseong;
+        this.nameOrder = nameOrder;
+        this.choseongOrder = choseongOrder;
+    }
+
+    /**
+     * 이름 목록으로 색인 생성 (정렬 포함)
+     *
+     * @param recipeIds 레시피 ID (recipeId 순)
+     * @param names recipeIds와 같은 순서의 레시피 이름 (null 불가)
+     */
+    public static RecipeNameIndexSnapshot create(int[] recipeIds, String[] names) {
+        return create(recipeIds, names, null, null);
+    }
+
+    /**
+     * 이름에서 text/choseong을 만들고, 정렬 결과가 없으면 정렬까지 수행
+     */
+    static RecipeNameIndexSnapshot create(int[] recipeIds, String[] names, int[] nameOrder, int[] choseongOrder) {
+        int totalLength = 0;
+        for (String name : names) {
+            totalLength += name.length() + 1;
+        }
+
+        // ===== 1. 이름 이어붙이기 + 단어 시작 위치 =====
+        char[] text = new char[totalLength];
+        char[] choseong = new char[totalLength];
+        int[] nameStarts = new int[names.length];
+        int[] wordStarts = new int[totalLength];
+        int wordCount = 0;
+        int length = 0;
+
+        for (int i = 0; i < names.length; i++) {
+            nameStarts[i] = length;
+            boolean inWord = false;
+            String name = names[i];
+
+            for (int j = 0; j < name.length(); j++) {
+                char c = name.charAt(j);
+                if (!Character.isLetterOrDigit(c)) {
+                    inWord = false;
+                    continue;
+                }
+                if (!inWord) {
+                    wordStarts[wordCount++] = length;
+                    inWord = true;
+                }
+                text[length] = Character.toLowerCase(c);
+                choseong[length] = choseongOf(text[length]);
+                length++;
+            }
+
+            text[length] = '\0';
+            choseong[length] = '\0';
+            length++;
+        }
+
+        text = Arrays.copyOf(text, length);
+        choseong = Arrays.copyOf(choseong, length);
+
+        // ===== 2. 단어 시작 위치 정렬 (저장된 결과가 있으면 생략) =====
+        if (nameOrder == null || choseongOrder == null) {
+            nameOrder = sortSuffixes(text, wordStarts, wordCount);
+            choseongOrder = sortSuffixes(choseong, wordStarts, wordCount);
+        } else if (nameOrder.length != wordCount) {
+            throw new IllegalStateException("단어 수 불일치: " + nameOrder.length + " != " + wordCount);
+        }
+
+        return new RecipeNameIndexSnapshot(recipeIds, names, nameStarts, text, choseong, nameOrder, choseongOrder);
+    }
+
+    private static int[] sortSuffixes(char[] chars, int[] wordStarts, int wordCount) {
+        Integer[] positions = new Integer[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            positions[i] = wordStarts[i];
+        }
+
+        // 이름 끝('\0')까지만 비교, 같으면 위치 순 (결과 순서를 항상 같게)
+        Arrays.sort(positions, (a, b) -> {
+            int i = a;
+            int j = b;
+            while (chars[i] == chars[j] && chars[i] != '\0') {
+                i++;
+                j++;
+            }
+            int byChar = Character.compare(chars[i], chars[j]);
+            return byChar != 0 ? byChar : Integer.compare(a, b);
+        });
+
+        int[] sorted = new int[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            sorted[i] = positions[i];
+        }
+        return sorted;
+    }
+
+
+    // ===== 파일 저장/읽기 =====
+
+    /**
+     * 색인을 파일 형식으로 기록 (out은 닫지 않음)
+     *
+     * @param datasetVersion 색인을 만든 데이터셋 버전 (recipe_dataset.version)
+     * @param updatedAt 색인을 만든 데이터셋 갱신 시각 (recipe_dataset.updatedAt)
+     */
+    public void writeTo(OutputStream out, int datasetVersion, long updatedAt) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 65536));
+        data.writeInt(FILE_MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(datasetVersion);
+        data.writeLong(updatedAt);
+
+        data.writeInt(recipeIds.length);
+        for (int i = 0; i < recipeIds.length; i++) {
+            byte[] name = names[i].getBytes(StandardCharsets.UTF_8);
+            data.writeInt(recipeIds[i]);
+            data.writeInt(name.length);
+            data.write(name);
+        }
+
+        data.writeInt(nameOrder.length);
+        for (int position : nameOrder) {
+            data.writeInt(position);
+        }
+        for (int position : choseongOrder) {
+            data.writeInt(position);
+        }
+        data.flush();
+    }
+
+    /**
+     * 파일 형식으로 기록된 색인 읽기 (정렬은 다시 하지 않고 text, choseong만 이름에서 선형 시간 복원)
+     *
+     * @return 헤더가 주어진 데이터셋 버전/갱신 시각/레시피 수와 같으면 색인, 다르면 null
+     * @throws IOException 파일이 깨졌거나 형식이 다른 경우
+     */
+    static RecipeNameIndexSnapshot readFrom(InputStream input, int datasetVersion, long updatedAt, int recipeCount)
+            throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, 65536));
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        int version = in.readInt();
+        long fileUpdatedAt = in.readLong();
+        int count = in.readInt();
+        if (version != datasetVersion || fileUpdatedAt != updatedAt || count != recipeCount) {
+            return null;
+        }
+
+        int[] recipeIds = new int[count];
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            recipeIds[i] = in.readInt();
+            byte[] name = new byte[in.readInt()];
+            in.readFully(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        int[] nameOrder = new int[in.readInt()];
+        int[] choseongOrder = new int[nameOrder.length];
+        for (int i = 0; i < nameOrder.length; i++) {
+            nameOrder[i] = in.readInt();
+        }
+        for (int i = 0; i < choseongOrder.length; i++) {
+            choseongOrder[i] = in.readInt();
+        }
+
+        return create(recipeIds, names, nameOrder, choseongOrder);
+    }
+
+
+    /**
+     * 자동완성
+     *
+     * 이름 속 단어가 검색어로 시작하는 레시피를 사전순으로 반환 (같은 레시피는 한 번만)
+     * - 음절: "떡국" → 떡국, 떡국떡, ... / 마지막 음절은 받침까지 ("떡구" → 떡국)
+     * - 초성: "ㄸㄱ" → 떡국, 떡갈비, ... / 섞어서도 가능 ("떡ㄱ")
+     *
+     * @param query 입력 중인 검색어
+     * @param limit 최대 개수
+     * @return 레시피 순번 목록 (recipeIdAt, nameAt으로 조회)
+     */
+    public int[] suggest(String query, int limit) {
+        String normalized = query != null ? normalize(query) : "";
+        if (normalized.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        boolean hasChoseong = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isChoseong(normalized.charAt(i))) {
+                hasChoseong = true;
+                break;
+            }
+        }
+
+        return hasChoseong ? suggestByChoseong(normalized, limit) : suggestBySyllables(normalized, limit);
+    }
+
+    // 음절만 입력: 구간 안의 위치는 모두 일치하므로 앞에서부터 limit개
+    private int[] suggestBySyllables(String query, int limit) {
+        int from = lowerBound(text, nameOrder, query, false);
+        int to = lowerBound(text, nameOrder, query, true);
+        return collect(nameOrder, from, to, null, limit);
+    }
+
+    // 초성 포함: 초성 배열에서 구간을 찾고, 음절로 입력한 글자는 text에서 다시 확인
+    private int[] suggestByChoseong(String query, int limit) {
+        StringBuilder choseongQuery = new StringBuilder(query.length());
+        for (int i = 0; i < query.length(); i++) {
+            choseongQuery.append(choseongOf(query.charAt(i)));
+        }
+        String pattern = choseongQuery.toString();
+
+        int from = lowerBound(choseong, choseongOrder, pattern, false);
+        int to = lowerBound(choseong, choseongOrder, pattern, true);
+        return collect(choseongOrder, from, Math.min(to, from + MAX_SCAN), query, limit);
+    }
+
+    private int[] collect(int[] order, int from, int to, String verifyQuery, int limit) {
+        List<Integer> ordinals = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+
+        for (int i = from; i < to && ordinals.size() < limit; i++) {
+            int position = order[i];
+            if (verifyQuery != null && comparePrefix(text, position, verifyQuery, true) != 0) {
+                continue;
+            }
+            int ordinal = ordinalAt(position);
+            if (seen.add(ordinal)) {
+                ordinals.add(ordinal);
+            }
+        }
+
+        int[] result = new int[ordinals.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ordinals.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * 정렬된 위치 배열에서 검색어 구간의 경계
+     *
+     * @param upper false면 검색어로 시작하는 첫 위치, true면 검색어 구간 바로 다음 위치
+     */
+    private static int lowerBound(char[] chars, int[] order, String query, boolean upper) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = comparePrefix(chars, order[mid], query, false);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * position에서 시작하는 글자들과 검색어 비교 (검색어 길이까지만)
+     *
+     * 마지막 글자가 받침 없는 음절이면 받침이 붙은 음절까지 같다고 봄 (구 ~ 궇)
+     * skipChoseong이 true면 검색어의 초성 글자는 음절의 초성과 비교
+     *
+     * @return 음수: position 쪽이 앞, 0: 검색어로 시작, 양수: position 쪽이 뒤
+     */
+    private static int comparePrefix(char[] chars, int position, String query, boolean skipChoseong) {
+        int last = query.length() - 1;
+        for (int i = 0; i <= last; i++) {
+            char c = chars[position + i];
+            if (c == '\0') {
+                return -1;
+            }
+
+            char q = query.charAt(i);
+            if (skipChoseong && isChoseong(q)) {
+                if (choseongOf(c) != q) {
+                    return choseongOf(c) < q ? -1 : 1;
+                }
+                continue;
+            }
+
+            char qHigh = q;
+            if (i == last && isHangulSyllable(q) && (q - HANGUL_FIRST) % JONGSEONG_COUNT == 0) {
+                qHigh = (char) (q + JONGSEONG_COUNT - 1);
+            }
+
+            if (c < q) {
+                return -1;
+            }
+            if (c > qHigh) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    // text 위치 → 레시피 순번
+    private int ordinalAt(int position) {
+        int index = Arrays.binarySearch(nameStarts, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int recipeCount() {
+        return recipeIds.length;
+    }
+
+    public int recipeIdAt(int ordinal) {
+        return recipeIds[ordinal];
+    }
+
+    public String nameAt(int ordinal) {
+        return names[ordinal];
+    }
+
+    // 단어 수 (로그용)
+    int wordCount() {
+        return nameOrder.length;
+    }
+
+
+    // ===== 한글 처리 =====
+
+    static boolean isHangulSyllable(char c) {
+        return c >= HANGUL_FIRST && c <= HANGUL_LAST;
+    }
+
+    static boolean isChoseong(char c) {
+        return Arrays.binarySearch(CHOSEONG, c) >= 0;
+    }
+
+    /**
+     * 한글 음절 → 초성 (떡 → ㄸ), 나머지 글자는 그대로
+     */
+    static char choseongOf(char c) {
+        if (!isHangulSyllable(c)) {
+            return c;
+        }
+        return CHOSEONG[(c - HANGUL_FIRST) / (JUNGSEONG_COUNT * JONGSEONG_COUNT)];
+    }
+
+    /**
+     * 이름/검색어 정규화: 글자와 숫자만 남기고 소문자로 (공백, 기호 제거)
+     * 예: "#수육용 삼겹살" → "수육용삼겹살"
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.makefoods.database;
+
+import com.example.makefoods.model.RecipeNameTrigram;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RecipeNameTrigrams
+ *
+ * 레시피 이름 → trigram(세 글자 조각) 집합, 두 이름의 유사도 계산
+ *
+ * 조각 만들기 (PostgreSQL pg_trgm 방식):
+ * - 글자/숫자가 아닌 문자 기준으로 단어를 나누고 소문자로 바꿈
+ * - 단어마다 앞에 공백 2개, 뒤에 공백 1개를 붙여서 세 글자씩 자름
+ *   → 한두 글자 단어("죽", "라면")도 조각이 생기고, 단어 시작/끝이 같으면 점수가 더 높음
+ * 예: "소고기 떡국" → "  소", " 소고", "소고기", "고기 ", "  떡", " 떡국", "떡국 "
+ *
+ * 유사도:
+ * - 포함률: 검색 이름의 조각 중 레시피 이름에 있는 비율
+ *   ("소고기 떡국" → "멸치육수 소고기 떡국 만드는법"은 포함률이 높음)
+ * - Jaccard: 공통 조각 / 전체 조각 (군더더기가 적은 이름일수록 높음)
+ * - 두 값의 평균 (포함률 위주로 고르고, 비슷하면 짧고 정확한 이름 우선)
+ */
+public class RecipeNameTrigrams {
+
+    /**
+     * 이름 → trigram 집합 (중복 없음, 나온 순서 유지)
+     */
+    public static Set<String> of(String name) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (name == null) {
+            return trigrams;
+        }
+
+        StringBuilder word = new StringBuilder("  ");
+        for (int i = 0; i <= name.length(); i++) {
+            char c = i < name.length() ? name.charAt(i) : ' ';
+
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+                continue;
+            }
+
+            // 단어 끝: 뒤에 공백 1개를 붙여서 조각으로 자름
+            if (word.length() > 2) {
+                word.append(' ');
+                for (int j = 0; j + 3 <= word.length(); j++) {
+                    trigrams.add(word.substring(j, j + 3));
+                }
+            }
+            word.setLength(2);
+        }
+
+        return trigrams;
+    }
+
+    /**
+     * 레시피 한 개의 trigram 행 (recipe_name_trigrams)
+     */
+    public static List<RecipeNameTrigram> rowsFor(int recipeId, String name) {
+        List<RecipeNameTrigram> rows = new ArrayList<>();
+        for (String trigram : of(name)) {
+            rows.add(new RecipeNameTrigram(trigram, recipeId));
+        }
+        return rows;
+    }
+
+    /**
+     * 유사도 (0~1)
+     *
+     * @param queryCount 검색 이름의 조각 수
+     * @param recipeCount 레시피 이름의 조각 수
+     * @param sharedCount 공통 조각 수
+     */
+    public static double similarity(int queryCount, int recipeCount, int sharedCount) {
+        if (queryCount == 0 || sharedCount == 0) {
+            return 0;
+        }
+        double containment = (double) sharedCount / queryCount;
+        double jaccard = (double) sharedCount / (queryCount + recipeCount - sharedCount);
+        return (containment + jaccard) / 2;
+    }
+}
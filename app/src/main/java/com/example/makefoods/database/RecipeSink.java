@@ -0,0 +1,24 @@
+package com.example.makefoods.database;
+
+import com.example.makefoods.model.Recipe;
+
+import java.util.List;
+
+/**
+ * RecipeSink
+ *
+ * CSV에서 파싱된 레시피를 배치 단위로 받아가는 인터페이스
+ * RecipeCsvLoader가 일정 개수(batchSize)만큼 모일 때마다 호출
+ *
+ * 주의: 전달된 batch 리스트는 로더가 재사용하므로
+ * accept() 밖에서 참조를 보관하면 안 됨 (필요하면 복사해서 사용)
+ */
+public interface RecipeSink {
+
+    /**
+     * 파싱된 레시피 한 배치 처리
+     * 예외를 던지면 로딩이 바로 중단되고 로더를 호출한 쪽으로 그대로 전달됨
+     * @param batch 이번 배치의 레시피 목록 (호출이 끝나면 재사용됨)
+     */
+    void accept(List<Recipe> batch);
+}
@@ -0,0 +1,212 @@
+package com.example.makefoods.database;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.util.Log;
+import androidx.room.InvalidationTracker;
+import com.example.makefoods.model.RecipeDataset;
+import com.example.makefoods.model.RecipeText;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RecipeTextIndex
+ *
+ * 레시피 설명 + 조리 단계 자유 문장 검색 색인 (BM25)
+ * 예: "추운 날 따뜻하고 매콤한 거" → 설명/조리 단계에 "따뜻", "매콤", "추운"이 많이 나오는 레시피
+ * 채팅에서 인터넷 없이 바로 답할 때 사용 (ChatViewModel)
+ * 단어 조각, 역색인 구조, 점수는 RecipeTextIndexSnapshot, 이 클래스는 현재 데이터셋에 맞는 스냅샷을 준비해서 들고 있음
+ *
+ * 저장 (RecipeNameIndex와 같은 방식):
+ * - 빌드할 때 빌드 시점 DB와 같은 데이터셋 기준으로 만든 파일을 assets/indexes/recipe_text_index.bin으로 배포
+ *   → 설치 직후 DB가 빌드 시점 그대로면 기기에서 설명/조리 단계 전체를 읽어서 자르지 않고 파일만 읽음
+ * - 앱 시작 때 filesDir/recipe_text_index.bin → 배포된 파일 순서로 데이터셋 버전/갱신 시각/레시피 수가 같은 것을 읽음
+ * - 둘 다 다르면 (기기에서 데이터셋이 바뀐 경우) 레시피 동기화 직후(AppDatabase) rebuildIfNeeded()로 다시 만들어 filesDir에 저장
+ * - 앱 실행 중 recipes가 바뀌면 (InvalidationTracker) 다음 검색 때 다시 생성
+ *
+ * 앱 전체에서 하나만 사용 (getInstance)
+ * 검색은 불변 스냅샷(RecipeTextIndexSnapshot)으로 처리하므로 여러 스레드에서 동시에 호출 가능
+ */
+public class RecipeTextIndex {
+
+    private static final String TAG = "RecipeTextIndex";
+
+    private static final String FILE_NAME = "recipe_text_index.bin";
+    static final String ASSET_PATH = "indexes/" + FILE_NAME;
+
+    private static final int BATCH_SIZE = 250;
+
+    private static RecipeTextIndex instance;
+
+    private final AppDatabase database;
+    private final AssetManager assets;
+    private final File file;
+
+    // 재생성 필요 여부 (recipes가 바뀌면 true)
+    private volatile boolean stale = false;
+    private volatile RecipeTextIndexSnapshot snapshot;     // null이면 아직 파일에서 읽지 않음
+
+
+    public static synchronized RecipeTextIndex getInstance(Context context) {
+        if (instance == null) {
+            instance = new RecipeTextIndex(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private RecipeTextIndex(Context context) {
+        this.database = AppDatabase.getInstance(context);
+        this.assets = context.getAssets();
+        this.file = new File(context.getFilesDir(), FILE_NAME);
+
+        // 레시피 테이블이 바뀌면 다음 검색 때 다시 생성
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("recipes") {
+            @Override
+            public void onInvalidated(Set<String> tables) {
+                stale = true;
+            }
+        });
+    }
+
+
+    /**
+     * 저장된 색인과 배포된 색인이 모두 현재 레시피 데이터셋과 다르면 다시 만들어서 저장
+     * 레시피 동기화 직후 호출 (첫 검색 때 기다리지 않도록)
+     * 백그라운드 스레드에서만 호출해야 함
+     *
+     * @return 다시 만든 레시피 수 (최신이면 0)
+     */
+    public synchronized int rebuildIfNeeded() {
+        RecipeDataset dataset = database.recipeDao().getDataset();
+        int recipeCount = database.recipeDao().getRecipeCount();
+
+        if (!stale && snapshot == null) {
+            snapshot = load(dataset, recipeCount);
+        }
+        if (!stale && snapshot != null) {
+            return 0;
+        }
+
+        stale = false;
+        snapshot = build();
+        save(snapshot, dataset);
+        return snapshot.recipeCount();
+    }
+
+    /**
+     * 현재 색인 (파일에서 읽거나 최신이 아니면 이 호출에서 다시 생성)
+     * DB나 파일을 읽을 수 있으므로 백그라운드 스레드에서 호출
+     */
+    public RecipeTextIndexSnapshot snapshot() {
+        RecipeTextIndexSnapshot current = snapshot;
+        if (current == null || stale) {
+            synchronized (this) {
+                rebuildIfNeeded();
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+
+    // ===== 생성 =====
+
+    // recipeId 순서로 배치 단위로 읽으면서 색인에 추가
+    private RecipeTextIndexSnapshot build() {
+        long startTime = System.currentTimeMillis();
+        RecipeDao recipeDao = database.recipeDao();
+        RecipeTextIndexSnapshot.Builder builder = new RecipeTextIndexSnapshot.Builder();
+
+        int lastRecipeId = Integer.MIN_VALUE;
+        while (true) {
+            List<RecipeText> rows = recipeDao.getRecipeTextsAfter(lastRecipeId, BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (RecipeText row : rows) {
+                builder.add(row.recipeId, row.description, row.cookingSteps);
+            }
+            lastRecipeId = rows.get(rows.size() - 1).recipeId;
+        }
+
+        RecipeTextIndexSnapshot built = builder.build();
+
+        Log.d(TAG, "설명/조리 단계 색인 생성: 레시피 " + built.recipeCount() + "개, 조각 " + built.termCount() + "개, "
+                + (built.memoryBytes() / 1024) + "KB, " + (System.currentTimeMillis() - startTime) + "ms");
+        return built;
+    }
+
+
+    // ===== 파일 저장/읽기 =====
+
+    private void save(RecipeTextIndexSnapshot index, RecipeDataset dataset) {
+        File temp = new File(file.getPath() + ".tmp");
+
+        try (OutputStream out = new FileOutputStream(temp)) {
+            index.writeTo(out, dataset != null ? dataset.version : 0, dataset != null ? dataset.updatedAt : 0);
+        } catch (IOException e) {
+            Log.e(TAG, "설명/조리 단계 색인 저장 실패: " + e.getMessage(), e);
+            temp.delete();
+            return;
+        }
+
+        // 쓰는 도중 앱이 종료돼도 예전 파일이 깨지지 않도록 임시 파일을 바꿔치기
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "설명/조리 단계 색인 파일 교체 실패");
+            temp.delete();
+        }
+    }
+
+    // 저장된 색인 → 배포된 색인 순서로 현재 데이터셋과 같은 것을 읽어서 반환, 없거나 다르면 null
+    private RecipeTextIndexSnapshot load(RecipeDataset dataset, int recipeCount) {
+        if (dataset == null) {
+            return null;
+        }
+
+        if (file.exists()) {
+            try (InputStream input = new FileInputStream(file)) {
+                RecipeTextIndexSnapshot loaded = read(input, "저장된", dataset, recipeCount);
+                if (loaded != null) {
+                    return loaded;
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "저장된 설명/조리 단계 색인 열기 실패: " + e.getMessage());
+            }
+        }
+
+        try (InputStream input = assets.open(ASSET_PATH)) {
+            return read(input, "배포된", dataset, recipeCount);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "배포된 설명/조리 단계 색인 열기 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 헤더가 현재 데이터셋과 같으면 읽어서 반환, 다르거나 깨졌으면 null (다음 후보 또는 재생성)
+    private RecipeTextIndexSnapshot read(InputStream input, String source, RecipeDataset dataset, int recipeCount) {
+        long startTime = System.currentTimeMillis();
+        try {
+            RecipeTextIndexSnapshot loaded = RecipeTextIndexSnapshot.readFrom(input, dataset.version, dataset.updatedAt, recipeCount);
+            if (loaded == null) {
+                Log.d(TAG, source + " 설명/조리 단계 색인이 현재 데이터셋(v" + dataset.version + ") 기준이 아님");
+                return null;
+            }
+
+            Log.d(TAG, source + " 설명/조리 단계 색인 읽기: 레시피 " + recipeCount + "개, "
+                    + (System.currentTimeMillis() - startTime) + "ms");
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, source + " 설명/조리 단계 색인 읽기 실패: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.example.makefoods.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RecipeTextIndexSnapshot
+ *
+ * 한 번 만들어진 레시피 설명 + 조리 단계 자유 문장 검색 색인 (불변, RecipeTextIndex가 들고 있음)
+ * 예: "추운 날 따뜻하고 매콤한 거" → 설명/조리 단계에 "따뜻", "매콤", "추운"이 많이 나오는 레시피
+ *
+ * 단어 조각 (term):
+ * - 글자/숫자가 아닌 문자 기준으로 단어를 나누고 소문자로 바꿈
+ * - 단어마다 두 글자씩 겹쳐서 자름 (한 글자 단어는 그대로)
+ *   → 조사/어미가 붙어도 일치: "매콤한", "매콤하게" → 둘 다 "매콤" 포함
+ * - 조각은 최대 두 글자이므로 int 하나로 표현 (앞 글자 << 16 | 뒤 글자)
+ *
+ * 구조 (역색인):
+ * - termKeys: 정렬된 조각 → 이진 탐색
+ * - postings: 조각마다 (레시피 순번 차이, 조각 개수)를 가변 길이 정수로 이어붙인 byte 배열
+ *   → 레시피 2000개 기준 int 배열보다 훨씬 작음, 검색 때 필요한 조각만 풀어서 사용
+ * - 레시피 순번별 문서 길이 (BM25 길이 보정용)
+ *
+ * 점수 (BM25, k1 = 1.2, b = 0.75):
+ * - 검색어 조각마다 idf × tf(k1 + 1) / (tf + k1(1 - b + b × 길이/평균 길이))
+ * - "하고", "넣어"처럼 거의 모든 레시피에 나오는 조각은 idf가 0에 가까워서 점수에 영향이 거의 없음
+ *
+ * 생성은 Builder, 파일 형식은 writeTo / readFrom (헤더: 데이터셋 버전, 갱신 시각, 레시피 수)
+ * - 기기: filesDir/recipe_text_index.bin (RecipeTextIndex)
+ * - 빌드: assets/indexes/recipe_text_index.bin (app/build.gradle.kts BuildRecipeDatabaseTask가 컴파일된 이 클래스를 불러서 생성)
+ * 빌드 작업에는 안드로이드 클래스가 없으므로 이 클래스는 안드로이드 API를 쓰면 안 됨
+ */
+public class RecipeTextIndexSnapshot {
+
+    static final int FILE_MAGIC = 0x52544958;     // "RTIX"
+    static final int FORMAT_VERSION = 1;          // 조각 규칙/파일 형식이 바뀌면 1씩 증가
+
+    // BM25 파라미터
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final int[] recipeIds;          // 순번 → recipeId
+    private final int[] docLengths;         // 순번 → 조각 수 (중복 포함)
+    private final float averageLength;
+    private final int[] termKeys;           // 정렬된 조각
+    private final int[] docFreqs;           // termKeys와 같은 순서, 조각이 나온 레시피 수
+    private final int[] offsets;            // termKeys와 같은 순서, postings에서 목록 시작 위치 (마지막은 전체 길이)
+    private final byte[] postings;          // (순번 차이, 개수) 가변 길이 정수 목록
+
+    private RecipeTextIndexSnapshot(int[] recipeIds, int[] docLengths, int[] termKeys, int[] docFreqs, int[] offsets, byte[] postings) {
+        this.recipeIds = recipeIds;
+        this.docLengths = docLengths;
+        this.termKeys = termKeys;
+        this.docFreqs = docFreqs;
+        this.offsets = offsets;
+        this.postings = postings;
+
+        long totalLength = 0;
+        for (int length : docLengths) {
+            totalLength += length;
+        }
+        this.averageLength = docLengths.length > 0 ? Math.max(1f, (float) totalLength / docLengths.length) : 1f;
+    }
+
+
+    /**
+     * 레시피를 recipeId 순서로 하나씩 추가해서 색인 생성
+     * (순번이 recipeId 순이어야 검색에서 같은 점수를 recipeId 순으로 정렬)
+     */
+    public static class Builder {
+
+        private int[] recipeIds = new int[16];
+        private int[] docLengths = new int[16];
+        private int count;
+        private final Map<Integer, PostingWriter> writers = new HashMap<>();
+
+        /**
+         * 레시피 하나 추가
+         *
+         * @param description 설명 (recipes.description, null 가능)
+         * @param cookingSteps 조리 단계 (recipes.cookingSteps, null 가능)
+         */
+        public void add(int recipeId, String description, String cookingSteps) {
+            if (count == recipeIds.length) {
+                recipeIds = Arrays.copyOf(recipeIds, count * 2);
+                docLengths = Arrays.copyOf(docLengths, count * 2);
+            }
+            int ordinal = count++;
+            recipeIds[ordinal] = recipeId;
+
+            // 조각을 정렬해서 같은 조각끼리 묶음 → (조각, 개수)
+            int[] terms = terms(description, cookingSteps);
+            docLengths[ordinal] = terms.length;
+            Arrays.sort(terms);
+
+            for (int i = 0; i < terms.length; ) {
+                int j = i;
+                while (j < terms.length && terms[j] == terms[i]) {
+                    j++;
+                }
+                PostingWriter writer = writers.get(terms[i]);
+                if (writer == null) {
+                    writer = new PostingWriter();
+                    writers.put(terms[i], writer);
+                }
+                writer.add(ordinal, j - i);
+                i = j;
+            }
+        }
+
+        /**
+         * 조각 정렬 + 목록 이어붙이기
+         */
+        public RecipeTextIndexSnapshot build() {
+            int[] termKeys = new int[writers.size()];
+            int termIndex = 0;
+            for (int key : writers.keySet()) {
+                termKeys[termIndex++] = key;
+            }
+            Arrays.sort(termKeys);
+
+            int[] docFreqs = new int[termKeys.length];
+            int[] offsets = new int[termKeys.length + 1];
+            int totalBytes = 0;
+            for (int i = 0; i < termKeys.length; i++) {
+                PostingWriter writer = writers.get(termKeys[i]);
+                docFreqs[i] = writer.docFreq;
+                offsets[i] = totalBytes;
+                totalBytes += writer.size;
+            }
+            offsets[termKeys.length] = totalBytes;
+
+            byte[] postings = new byte[totalBytes];
+            for (int i = 0; i < termKeys.length; i++) {
+                PostingWriter writer = writers.get(termKeys[i]);
+                System.arraycopy(writer.bytes, 0, postings, offsets[i], writer.size);
+            }
+
+            return new RecipeTextIndexSnapshot(Arrays.copyOf(recipeIds, count), Arrays.copyOf(docLengths, count),
+                    termKeys, docFreqs, offsets, postings);
+        }
+    }
+
+
+    // ===== 파일 저장/읽기 =====
+
+    /**
+     * 색인을 파일 형식으로 기록 (out은 닫지 않음)
+     *
+     * @param datasetVersion 색인을 만든 데이터셋 버전 (recipe_dataset.version)
+     * @param updatedAt 색인을 만든 데이터셋 갱신 시각 (recipe_dataset.updatedAt)
+     */
+    public void writeTo(OutputStream out, int datasetVersion, long updatedAt) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 65536));
+        data.writeInt(FILE_MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(datasetVersion);
+        data.writeLong(updatedAt);
+
+        data.writeInt(recipeIds.length);
+        for (int i = 0; i < recipeIds.length; i++) {
+            data.writeInt(recipeIds[i]);
+            data.writeInt(docLengths[i]);
+        }
+
+        data.writeInt(termKeys.length);
+        for (int i = 0; i < termKeys.length; i++) {
+            data.writeInt(termKeys[i]);
+            data.writeInt(docFreqs[i]);
+            data.writeInt(offsets[i]);
+        }
+
+        data.writeInt(postings.length);
+        data.write(postings);
+        data.flush();
+    }
+
+    /**
+     * 파일 형식으로 기록된 색인 읽기
+     *
+     * @return 헤더가 주어진 데이터셋 버전/갱신 시각/레시피 수와 같으면 색인, 다르면 null
+     * @throws IOException 파일이 깨졌거나 형식이 다른 경우
+     */
+    static RecipeTextIndexSnapshot readFrom(InputStream input, int datasetVersion, long updatedAt, int recipeCount)
+            throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, 65536));
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        int version = in.readInt();
+        long fileUpdatedAt = in.readLong();
+        int count = in.readInt();
+        if (version != datasetVersion || fileUpdatedAt != updatedAt || count != recipeCount) {
+            return null;
+        }
+
+        int[] recipeIds = new int[count];
+        int[] docLengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            recipeIds[i] = in.readInt();
+            docLengths[i] = in.readInt();
+        }
+
+        int termCount = in.readInt();
+        int[] termKeys = new int[termCount];
+        int[] docFreqs = new int[termCount];
+        int[] offsets = new int[termCount + 1];
+        for (int i = 0; i < termCount; i++) {
+            termKeys[i] = in.readInt();
+            docFreqs[i] = in.readInt();
+            offsets[i] = in.readInt();
+        }
+
+        byte[] postings = new byte[in.readInt()];
+        in.readFully(postings);
+        offsets[termCount] = postings.length;
+
+        return new RecipeTextIndexSnapshot(recipeIds, docLengths, termKeys, docFreqs, offsets, postings);
+    }
+
+
+    /**
+     * 자유 문장 검색 (BM25 점수 높은 순)
+     *
+     * @param query 검색 문장 (예: "추운 날 따뜻하고 매콤한 거")
+     * @param limit 최대 개수
+     * @return 레시피 순번 목록 (recipeIdAt으로 조회), 점수가 같으면 recipeId 순
+     */
+    public int[] search(String query, int limit) {
+        if (query == null || limit <= 0 || recipeIds.length == 0) {
+            return new int[0];
+        }
+
+        // 검색어 조각 (같은 조각은 한 번만)
+        int[] queryTerms = terms(query);
+        Arrays.sort(queryTerms);
+
+        float[] scores = new float[recipeIds.length];
+        int n = recipeIds.length;
+
+        for (int t = 0; t < queryTerms.length; t++) {
+            if (t > 0 && queryTerms[t] == queryTerms[t - 1]) {
+                continue;
+            }
+            int index = Arrays.binarySearch(termKeys, queryTerms[t]);
+            if (index < 0) {
+                continue;
+            }
+
+            int df = docFreqs[index];
+            float idf = (float) Math.log(1 + (n - df + 0.5) / (df + 0.5));
+
+            // 목록 풀면서 점수 누적
+            int position = offsets[index];
+            int end = offsets[index + 1];
+            int ordinal = -1;
+            while (position < end) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = postings[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+
+                int termFreq = 0;
+                shift = 0;
+                do {
+                    b = postings[position++];
+                    termFreq |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+
+                ordinal += gap;
+                float norm = K1 * (1 - B + B * docLengths[ordinal] / averageLength);
+                scores[ordinal] += idf * termFreq * (K1 + 1) / (termFreq + norm);
+            }
+        }
+
+        // 점수가 있는 레시피만 모아서 정렬 (순번이 recipeId 순이므로 같은 점수는 순번 순)
+        int matched = 0;
+        for (float score : scores) {
+            if (score > 0) {
+                matched++;
+            }
+        }
+        Integer[] order = new Integer[matched];
+        matched = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0) {
+                order[matched++] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Float.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+
+        int[] result = new int[Math.min(limit, order.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    public int recipeCount() {
+        return recipeIds.length;
+    }
+
+    public int recipeIdAt(int ordinal) {
+        return recipeIds[ordinal];
+    }
+
+    /**
+     * 색인의 대략적인 메모리 사용량 (바이트)
+     */
+    public long memoryBytes() {
+        return recipeIds.length * 8L + termKeys.length * 12L + postings.length;
+    }
+
+    // 조각 수 (로그용)
+    int termCount() {
+        return termKeys.length;
+    }
+
+
+    // ===== 단어 조각 =====
+
+    /**
+     * 글 → 조각 목록 (중복 포함, 나온 순서)
+     *
+     * 예: "매콤한 떡" → 매콤, 콤한, 떡
+     */
+    static int[] terms(String... texts) {
+        int length = 0;
+        for (String text : texts) {
+            length += text != null ? text.length() : 0;
+        }
+
+        int[] terms = new int[length];
+        int count = 0;
+
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+
+            char previous = 0;          // 단어 안의 바로 앞 글자 (0이면 단어 시작)
+            boolean single = false;     // 지금 단어가 아직 한 글자인지
+            for (int i = 0; i <= text.length(); i++) {
+                char c = i < text.length() ? text.charAt(i) : ' ';
+
+                if (Character.isLetterOrDigit(c)) {
+                    c = Character.toLowerCase(c);
+                    if (previous == 0) {
+                        single = true;
+                    } else {
+                        terms[count++] = termKey(previous, c);
+                        single = false;
+                    }
+                    previous = c;
+                    continue;
+                }
+
+                // 단어 끝: 한 글자 단어는 그 글자만 조각으로
+                if (single) {
+                    terms[count++] = termKey(previous, (char) 0);
+                }
+                previous = 0;
+                single = false;
+            }
+        }
+
+        return Arrays.copyOf(terms, count);
+    }
+
+    private static int termKey(char first, char second) {
+        return (first << 16) | second;
+    }
+
+
+    /**
+     * 조각 하나의 목록 (레시피 순번 오름차순으로만 추가)
+     * 순번은 바로 앞 순번과의 차이로 저장해서 대부분 1바이트
+     */
+    private static class PostingWriter {
+        byte[] bytes = new byte[8];
+        int size;
+        int docFreq;
+        int lastOrdinal = -1;
+
+        void add(int ordinal, int termFreq) {
+            writeVarInt(ordinal - lastOrdinal);
+            writeVarInt(termFreq);
+            lastOrdinal = ordinal;
+            docFreq++;
+        }
+
+        private void writeVarInt(int value) {
+            if (size + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+}
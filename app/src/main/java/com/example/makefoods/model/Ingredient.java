@@ -1,6 +1,7 @@
 package com.example.makefoods.model;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
@@ -9,11 +10,19 @@ import androidx.room.PrimaryKey;
  * 주요 필드:
  * - id: 고유 식별자 (자동 생성)
  * - name: 재료 이름
+ * - nameKey: 정규화한 재료 이름 (레시피 재료와 비교용, 저장할 때 IngredientDao가 name으로 채움)
  * - quantity: 수량
  * - registeredDate: 등록일 (밀리초 단위 타임스탬프)
  * - expiryDate: 소비기한 (밀리초 단위 타임스탬프)
  */
-@Entity(tableName = "ingredients")
+@Entity(
+        tableName = "ingredients",
+        indices = {
+                @Index("expiryDate"),      // 소비기한 임박/지난 재료, 소비기한순 조회용
+                @Index("registeredDate"),  // 등록일순 목록 조회용 (IngredientDao.getAllIngredients)
+                @Index("nameKey")          // 같은 재료 보유 여부 확인용 (FridgeMatchTriggers)
+        }
+)
 public class Ingredient {
 
     // 고유 ID (자동 생성)
@@ -23,6 +32,9 @@ public class Ingredient {
     // 재료 이름 (예: "계란", "우유", "당근")
     private String name;
 
+    // 정규화한 이름 (예: "달걀 3개" → "계란")
+    private String nameKey;
+
     // 수량 (예: 5개, 1개)
     private int quantity;
 
@@ -65,6 +77,14 @@ public class Ingredient {
         this.name = name;
     }
 
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    public void setNameKey(String nameKey) {
+        this.nameKey = nameKey;
+    }
+
     public int getQuantity() {
         return quantity;
     }
@@ -16,7 +16,7 @@ public class Message {
     private final Sender sender;
     private final Type type;
     private final List<String> recipeOptions;  // 레시피 옵션 리스트
-    private final List<Recipe> recipes;        // 레시피 카드 데이터
+    private final List<RecipeSummary> recipes; // 레시피 카드 데이터 (상세는 recipeId로 따로 조회)
 
     // 일반 메시지 생성자
     public Message(String text, Sender sender) {
@@ -37,7 +37,7 @@ public class Message {
     }
 
 
-    public Message(String text, Sender sender, Recipe recipe) {
+    public Message(String text, Sender sender, RecipeSummary recipe) {
         this.text = text;
         this.sender = sender;
         this.type = Type.RECIPE_CARD;
@@ -49,14 +49,14 @@ public class Message {
     }
 
 
-    public static Message createRecipeCardMessage(String text, Sender sender, List<Recipe> recipes) {
+    public static Message createRecipeCardMessage(String text, Sender sender, List<RecipeSummary> recipes) {
         Message msg = new Message(text, sender);
 
         return new Message(text, sender, recipes, Type.RECIPE_CARD);
     }
 
 
-    private Message(String text, Sender sender, List<Recipe> recipes, Type type) {
+    private Message(String text, Sender sender, List<RecipeSummary> recipes, Type type) {
         this.text = text;
         this.sender = sender;
         this.type = type;
@@ -68,5 +68,5 @@ public class Message {
     public Sender getSender() { return sender; }
     public Type getType() { return type; }
     public List<String> getRecipeOptions() { return recipeOptions; }
-    public List<Recipe> getRecipes() { return recipes; }
+    public List<RecipeSummary> getRecipes() { return recipes; }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.makefoods.model;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
@@ -8,8 +9,25 @@ import androidx.room.PrimaryKey;
  * CSV 파일에서 로드한 레시피를 SQLite DB에 저장하는 클래스
  * Room 라이브러리를 사용해 자동으로 DB 테이블로 변환
  */
-@Entity(tableName = "recipes")
+@Entity(
+        tableName = "recipes",
+        indices = {
+                @Index("cookingMethod"),
+                @Index("cookingSituation"),
+                @Index("mainMaterial"),
+                @Index("dishKind"),
+                @Index({"difficultyLevel", "cookingMinutes"})  // 조리 시간, 난이도 조건 검색 (RecipeFilter)
+        }
+)
 public class Recipe {
+
+    // 난이도 단계 (difficultyLevel, CKG_DODF_NM)
+    public static final int DIFFICULTY_UNKNOWN = 0;
+    public static final int DIFFICULTY_ANYONE = 1;        // 아무나
+    public static final int DIFFICULTY_BEGINNER = 2;      // 초급
+    public static final int DIFFICULTY_INTERMEDIATE = 3;  // 중급
+    public static final int DIFFICULTY_ADVANCED = 4;      // 고급
+
     // ===== DB 컬럼 =====
     @PrimaryKey
     public int recipeId;              // 레시피 고유 ID (RCP_SNO)
@@ -22,6 +40,24 @@ public class Recipe {
     public String imageUrl;           // 이미지 URL (RCP_IMG_URL)
     public String description;        // 설명 (CKG_IPDC)
 
+    public String dishName;           // 요리명 (CKG_NM, 예: "시금치무침")
+    public int viewCount;             // 조회수 (INQ_CNT)
+    public int recommendCount;        // 추천수 (RCMM_CNT)
+    public int scrapCount;            // 스크랩수 (SRAP_CNT)
+
+    public String cookingMethod;      // 요리방법별 분류 (CKG_MTH_ACTO_NM, 예: "끓이기")
+    public String cookingSituation;   // 요리상황별 분류 (CKG_STA_ACTO_NM, 예: "일상")
+    public String mainMaterial;       // 요리재료별 분류 (CKG_MTRL_ACTO_NM, 예: "채소류")
+    public String dishKind;           // 요리종류별 분류 (CKG_KND_ACTO_NM, 예: "밑반찬")
+
+    public int servings;              // 인분 (CKG_INBUN_NM, "6인분이상" → 6, 정보 없으면 0)
+    public long registeredAt;         // 최초 등록일 (FIRST_REG_DT, 밀리초, 정보 없으면 0)
+    public int cookingMinutes;        // 조리 시간 (분, "30분이내" → 30, "2시간이상" → 121, 정보 없으면 0)
+    public int difficultyLevel;       // 난이도 단계 (DIFFICULTY_*, 정보 없으면 0)
+
+    public long contentHash;          // CSV 값 기준 내용 해시 (변경 감지용)
+    public int datasetVersion;        // 이 행이 마지막으로 바뀐 데이터셋 버전
+
     // ===== 생성자 =====
 
     public Recipe() {
@@ -49,6 +85,20 @@ public class Recipe {
     public String getDifficulty() { return difficulty; }
     public String getImageUrl() { return imageUrl; }
     public String getDescription() { return description; }
+    public String getDishName() { return dishName; }
+    public int getViewCount() { return viewCount; }
+    public int getRecommendCount() { return recommendCount; }
+    public int getScrapCount() { return scrapCount; }
+    public String getCookingMethod() { return cookingMethod; }
+    public String getCookingSituation() { return cookingSituation; }
+    public String getMainMaterial() { return mainMaterial; }
+    public String getDishKind() { return dishKind; }
+    public int getServings() { return servings; }
+    public long getRegisteredAt() { return registeredAt; }
+    public int getCookingMinutes() { return cookingMinutes; }
+    public int getDifficultyLevel() { return difficultyLevel; }
+    public long getContentHash() { return contentHash; }
+    public int getDatasetVersion() { return datasetVersion; }
 
 
     public void setRecipeId(int recipeId) { this.recipeId = recipeId; }
@@ -59,4 +109,18 @@ public class Recipe {
     public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     public void setDescription(String description) { this.description = description; }
+    public void setDishName(String dishName) { this.dishName = dishName; }
+    public void setViewCount(int viewCount) { this.viewCount = viewCount; }
+    public void setRecommendCount(int recommendCount) { this.recommendCount = recommendCount; }
+    public void setScrapCount(int scrapCount) { this.scrapCount = scrapCount; }
+    public void setCookingMethod(String cookingMethod) { this.cookingMethod = cookingMethod; }
+    public void setCookingSituation(String cookingSituation) { this.cookingSituation = cookingSituation; }
+    public void setMainMaterial(String mainMaterial) { this.mainMaterial = mainMaterial; }
+    public void setDishKind(String dishKind) { this.dishKind = dishKind; }
+    public void setServings(int servings) { this.servings = servings; }
+    public void setRegisteredAt(long registeredAt) { this.registeredAt = registeredAt; }
+    public void setCookingMinutes(int cookingMinutes) { this.cookingMinutes = cookingMinutes; }
+    public void setDifficultyLevel(int difficultyLevel) { this.difficultyLevel = difficultyLevel; }
+    public void setContentHash(long contentHash) { this.contentHash = contentHash; }
+    public void setDatasetVersion(int datasetVersion) { this.datasetVersion = datasetVersion; }
 }
\ No newline at end of file
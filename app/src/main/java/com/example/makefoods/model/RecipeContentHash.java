@@ -0,0 +1,10 @@
+package com.example.makefoods.model;
+
+/**
+ * 레시피 ID + 내용 해시만 담는 조회 결과
+ * 데이터셋 업그레이드 때 바뀐 행만 골라내는 용도 (본문 컬럼은 읽지 않음)
+ */
+public class RecipeContentHash {
+    public int recipeId;
+    public long contentHash;
+}
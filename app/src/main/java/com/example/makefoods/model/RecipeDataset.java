@@ -0,0 +1,28 @@
+package com.example.makefoods.model;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * 레시피 데이터셋 정보 (행 1개)
+ *
+ * 현재 DB에 반영된 recipes.csv의 체크섬과 데이터셋 버전을 저장
+ * 앱 업데이트로 CSV가 바뀌었는지 판단할 때 사용
+ */
+@Entity(tableName = "recipe_dataset")
+public class RecipeDataset {
+
+    // 항상 0 (단일 행)
+    public static final int SINGLETON_ID = 0;
+
+    @PrimaryKey
+    public int id = SINGLETON_ID;
+
+    public String assetChecksum;      // 반영된 CSV의 SHA-256 (hex)
+    public int version;               // 데이터셋 버전 (CSV가 바뀔 때마다 1씩 증가)
+    public long updatedAt;            // 마지막 반영 시각 (밀리초)
+    public int derivedIndexVersion;   // 레시피에서 파생된 테이블(recipe_ingredients 등)의 버전 (RecipeIndexBuilder)
+
+    public RecipeDataset() {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.makefoods.model;
+
+/**
+ * 레시피 검색 조건 (조리 시간, 난이도)
+ *
+ * Recipe.cookingMinutes, Recipe.difficultyLevel과 비교 (recipes의 (difficultyLevel, cookingMinutes) 인덱스)
+ * 0이면 조건 없음, 조건이 있으면 정보가 없는 레시피(0)는 제외
+ *
+ * 예: new RecipeFilter(30, Recipe.DIFFICULTY_BEGINNER) → 30분 이내, 아무나/초급
+ */
+public class RecipeFilter {
+
+    // 조건 없음
+    public static final RecipeFilter NONE = new RecipeFilter(0, 0);
+
+    public final int maxCookingMinutes;   // 최대 조리 시간 (분, 0이면 조건 없음)
+    public final int maxDifficultyLevel;  // 최대 난이도 (Recipe.DIFFICULTY_*, 0이면 조건 없음)
+
+    public RecipeFilter(int maxCookingMinutes, int maxDifficultyLevel) {
+        this.maxCookingMinutes = Math.max(0, maxCookingMinutes);
+        this.maxDifficultyLevel = Math.max(0, maxDifficultyLevel);
+    }
+
+    public boolean isEmpty() {
+        return maxCookingMinutes == 0 && maxDifficultyLevel == 0;
+    }
+
+    // ===== SQL BETWEEN 범위 (조건 없으면 전체) =====
+
+    public int minMinutes() { return maxCookingMinutes > 0 ? 1 : 0; }
+    public int maxMinutes() { return maxCookingMinutes > 0 ? maxCookingMinutes : Integer.MAX_VALUE; }
+    public int minDifficulty() { return maxDifficultyLevel > 0 ? 1 : 0; }
+    public int maxDifficulty() { return maxDifficultyLevel > 0 ? maxDifficultyLevel : Integer.MAX_VALUE; }
+
+    /**
+     * 캐시 키 (예: "t30d2")
+     */
+    public String key() {
+        return "t" + maxCookingMinutes + "d" + maxDifficultyLevel;
+    }
+}
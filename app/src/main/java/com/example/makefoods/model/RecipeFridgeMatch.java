@@ -0,0 +1,35 @@
+package com.example.makefoods.model;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * 레시피별 냉장고 재료 보유 현황 ("지금 만들 수 있는 레시피" 표)
+ *
+ * 냉장고에 있는 재료를 하나라도 쓰는 레시피만 행이 있음
+ * 냉장고 재료가 추가/수정/삭제될 때 트리거로 그 재료를 쓰는 레시피만 갱신 (FridgeMatchTriggers)
+ * (missingCount, recipeId) 인덱스로 부족한 재료가 적은 순 조회를 정렬 없이 처리
+ *
+ * 예: 냉장고 [계란, 대파] → 계란말이(재료 4개): matchCount 2, missingCount 2
+ */
+@Entity(
+        tableName = "recipe_fridge_matches",
+        foreignKeys = @ForeignKey(
+                entity = Recipe.class,
+                parentColumns = "recipeId",
+                childColumns = "recipeId",
+                onDelete = ForeignKey.CASCADE
+        ),
+        indices = {@Index({"missingCount", "recipeId"})}
+)
+public class RecipeFridgeMatch {
+    @PrimaryKey
+    public int recipeId;              // 레시피 ID (recipes.recipeId)
+    public int matchCount;            // 냉장고에 있는 재료 수 (정규화한 이름 기준, 중복 제외)
+    public int missingCount;          // 냉장고에 없는 재료 수
+
+    public RecipeFridgeMatch() {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.makefoods.model;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * 레시피 전문 검색(FTS) 테이블
+ *
+ * recipes 테이블의 name, ingredients, description을 단어 단위로 색인
+ * 내용은 recipes 테이블에만 저장되고 (external content), 색인은 Room이 만든 트리거로 자동 동기화
+ * rowid = recipes.recipeId
+ *
+ * 토크나이저: unicode61 (공백/기호/제어문자 기준으로 나눔, 한글 단어 그대로 유지)
+ * → "김치*" 같은 앞부분 일치 검색 가능, 2~3글자 접두어는 prefix 색인으로 빠르게 처리
+ *
+ * 컬럼 순서가 검색 점수의 컬럼 가중치 순서와 같아야 함 (RecipeFtsQuery)
+ */
+@Fts4(
+        contentEntity = Recipe.class,
+        tokenizer = FtsOptions.TOKENIZER_UNICODE61,
+        prefix = {2, 3}
+)
+@Entity(tableName = "recipes_fts")
+public class RecipeFts {
+    public String name;               // 요리 이름
+    public String ingredients;        // 재료 목록
+    public String description;        // 설명
+}
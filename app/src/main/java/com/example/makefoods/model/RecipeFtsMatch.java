@@ -0,0 +1,12 @@
+package com.example.makefoods.model;
+
+/**
+ * 전문 검색 결과 한 행
+ *
+ * recipes_fts에서 일치한 레시피 ID와 matchinfo(..., 'pcnx') 값
+ * 점수 계산은 RecipeFtsQuery.score()
+ */
+public class RecipeFtsMatch {
+    public int recipeId;              // 레시피 ID (recipes_fts rowid)
+    public byte[] matchInfo;          // SQLite matchinfo() 결과 (32비트 정수 배열)
+}
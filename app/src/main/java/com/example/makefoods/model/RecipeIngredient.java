@@ -0,0 +1,39 @@
+package com.example.makefoods.model;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * 레시피 재료 (레시피 1개 : 재료 N개)
+ *
+ * Recipe.ingredients 문자열(CKG_MTRL_CN)을 임포트 시점에 재료 단위로 나눠서 저장
+ * name 컬럼 인덱스로 "이 재료가 들어간 레시피" 검색을 전체 스캔 없이 처리
+ *
+ * 예: "[재료] 떡국떡\u0007400\u0007g\u0007| 다진소고기\u0007100\u0007g..."
+ *     → (떡국떡, "400g", 400.0, "g"), (다진소고기, "100g", 100.0, "g"), ...
+ */
+@Entity(
+        tableName = "recipe_ingredients",
+        primaryKeys = {"recipeId", "position"},
+        foreignKeys = @ForeignKey(
+                entity = Recipe.class,
+                parentColumns = "recipeId",
+                childColumns = "recipeId",
+                onDelete = ForeignKey.CASCADE
+        ),
+        indices = {@Index("name")}
+)
+public class RecipeIngredient {
+    public int recipeId;              // 레시피 ID (recipes.recipeId)
+    public int position;              // 레시피 안에서의 순서 (0부터)
+
+    public String name;               // 정규화된 재료 이름 (검색 키)
+    public String rawName;            // 원본 재료 이름
+    public String amount;             // 원본 분량 (예: "1/2큰술")
+    public Double quantity;           // 숫자로 변환한 분량 (변환 불가면 null)
+    public String unit;               // 단위 (예: "g", "큰술", "개")
+
+    public RecipeIngredient() {
+    }
+}
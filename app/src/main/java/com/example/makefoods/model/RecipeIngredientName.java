@@ -0,0 +1,10 @@
+package com.example.makefoods.model;
+
+/**
+ * recipe_ingredients에서 (레시피 ID, 재료 이름)만 읽어오는 Room 조회 결과
+ * 메모리 색인(IngredientBitmapIndex) 빌드용
+ */
+public class RecipeIngredientName {
+    public int recipeId;              // 레시피 ID
+    public String name;               // 정규화된 재료 이름
+}
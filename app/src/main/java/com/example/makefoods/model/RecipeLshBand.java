@@ -0,0 +1,37 @@
+package com.example.makefoods.model;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * MinHash 서명의 LSH 밴드 버킷 (레시피 1개 : 밴드 RecipeMinHash.BANDS개)
+ *
+ * 기본 키가 (band, bucket, recipeId)라서 "이 버킷에 들어있는 레시피" 검색이 인덱스 범위 조회
+ * 같은 버킷을 하나라도 공유하는 레시피가 "비슷한 레시피" 후보 (RecipeMinHash)
+ */
+@Entity(
+        tableName = "recipe_lsh_bands",
+        primaryKeys = {"band", "bucket", "recipeId"},
+        foreignKeys = @ForeignKey(
+                entity = Recipe.class,
+                parentColumns = "recipeId",
+                childColumns = "recipeId",
+                onDelete = ForeignKey.CASCADE
+        ),
+        indices = {@Index("recipeId")}
+)
+public class RecipeLshBand {
+    public int band;                  // 밴드 번호 (0 ~ BANDS-1)
+    public long bucket;               // 밴드 값들의 해시
+    public int recipeId;              // 레시피 ID (recipes.recipeId)
+
+    public RecipeLshBand() {
+    }
+
+    public RecipeLshBand(int band, long bucket, int recipeId) {
+        this.band = band;
+        this.bucket = bucket;
+        this.recipeId = recipeId;
+    }
+}
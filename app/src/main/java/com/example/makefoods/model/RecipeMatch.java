@@ -0,0 +1,13 @@
+package com.example.makefoods.model;
+
+/**
+ * 재료 검색 결과 (레시피 요약 + 일치한 재료 수)
+ *
+ * 여러 재료로 한 번에 검색했을 때 레시피마다 검색 재료 중 몇 개가 들어있는지 함께 반환
+ * 예: [소고기, 계란, 파]로 검색 → 소고기무국 (matchCount = 2)
+ */
+public class RecipeMatch extends RecipeSummary {
+    public int matchCount;            // 이 레시피에 들어있는 검색 재료 수
+
+    public int getMatchCount() { return matchCount; }
+}
@@ -0,0 +1,10 @@
+package com.example.makefoods.model;
+
+/**
+ * recipes에서 (레시피 ID, 이름)만 읽어오는 Room 조회 결과
+ * 이름 자동완성 색인(RecipeNameIndex) 빌드용
+ */
+public class RecipeName {
+    public int recipeId;              // 레시피 ID
+    public String name;               // 레시피 이름 (RCP_TTL)
+}
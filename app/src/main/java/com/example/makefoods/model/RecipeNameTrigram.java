@@ -0,0 +1,40 @@
+package com.example.makefoods.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * 레시피 이름 trigram (레시피 1개 : trigram N개)
+ *
+ * 레시피 이름을 세 글자 조각으로 나눠서 저장 (RecipeNameTrigrams)
+ * 기본 키가 (trigram, recipeId)라서 "이 조각이 들어간 레시피" 검색이 인덱스 범위 조회
+ * GPT가 추천한 음식 이름을 비슷한 DB 레시피로 연결하는 데 사용
+ *
+ * 예: "소고기 떡국" → "  소", " 소고", "소고기", "고기 ", "  떡", " 떡국", "떡국 "
+ */
+@Entity(
+        tableName = "recipe_name_trigrams",
+        primaryKeys = {"trigram", "recipeId"},
+        foreignKeys = @ForeignKey(
+                entity = Recipe.class,
+                parentColumns = "recipeId",
+                childColumns = "recipeId",
+                onDelete = ForeignKey.CASCADE
+        ),
+        indices = {@Index("recipeId")}
+)
+public class RecipeNameTrigram {
+    @NonNull
+    public String trigram = "";       // 세 글자 조각 (소문자, 단어 앞뒤는 공백으로 채움)
+    public int recipeId;              // 레시피 ID (recipes.recipeId)
+
+    public RecipeNameTrigram() {
+    }
+
+    public RecipeNameTrigram(String trigram, int recipeId) {
+        this.trigram = trigram;
+        this.recipeId = recipeId;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.makefoods.model;
+
+/**
+ * 레시피 인기도 컬럼만 읽어오는 Room 조회 결과
+ * 메모리 색인(IngredientBitmapIndex) 빌드용
+ */
+public class RecipePopularity {
+    public int recipeId;              // 레시피 ID
+    public int viewCount;             // 조회수
+    public int scrapCount;            // 스크랩수
+}
@@ -0,0 +1,19 @@
+package com.example.makefoods.model;
+
+/**
+ * 냉장고 재료 기반 추천 결과 (레시피 요약 + 점수)
+ *
+ * matchCount: 냉장고에 있는 재료 수
+ * ingredientCount: 레시피 전체 재료 수
+ * missingCount: 냉장고에 없는 재료 수
+ * score: 추천 점수 (RecipeRanker, 클수록 추천)
+ */
+public class RecipeRecommendation extends RecipeMatch {
+    public int ingredientCount;       // 레시피 전체 재료 수
+    public int missingCount;          // 부족한 재료 수
+    public double score;              // 추천 점수
+
+    public int getIngredientCount() { return ingredientCount; }
+    public int getMissingCount() { return missingCount; }
+    public double getScore() { return score; }
+}
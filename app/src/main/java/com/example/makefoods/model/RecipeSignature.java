@@ -0,0 +1,38 @@
+package com.example.makefoods.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * 레시피 재료 집합의 MinHash 서명 (레시피 1개 : 행 1개)
+ *
+ * int 64개를 BLOB으로 저장 (RecipeMinHash.toBytes / fromBytes)
+ * "비슷한 레시피" 후보끼리 유사도를 추정할 때 사용
+ * 재료가 없는 레시피는 행이 없음
+ */
+@Entity(
+        tableName = "recipe_signatures",
+        foreignKeys = @ForeignKey(
+                entity = Recipe.class,
+                parentColumns = "recipeId",
+                childColumns = "recipeId",
+                onDelete = ForeignKey.CASCADE
+        )
+)
+public class RecipeSignature {
+    @PrimaryKey
+    public int recipeId;              // 레시피 ID (recipes.recipeId)
+
+    @NonNull
+    public byte[] signature = new byte[0];   // MinHash 서명 (RecipeMinHash.SIGNATURE_SIZE개 int)
+
+    public RecipeSignature() {
+    }
+
+    public RecipeSignature(int recipeId, @NonNull byte[] signature) {
+        this.recipeId = recipeId;
+        this.signature = signature;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.makefoods.model;
+
+/**
+ * 레시피 요약 (목록/카드 표시용)
+ *
+ * recipes 테이블에서 카드에 필요한 컬럼만 읽어오는 Room 조회 결과
+ * 크기가 큰 cookingSteps, description은 포함하지 않음
+ * 상세 정보는 recipeId로 필요할 때 따로 조회 (RecipeRepository.getRecipeById)
+ */
+public class RecipeSummary {
+    public int recipeId;              // 레시피 고유 ID (RCP_SNO)
+    public String name;               // 요리 이름
+    public String ingredients;        // 재료 목록 (문자열)
+    public String cookingTime;        // 조리 시간
+    public String difficulty;         // 난이도
+
+    public int getRecipeId() { return recipeId; }
+    public String getName() { return name; }
+    public String getIngredients() { return ingredients; }
+    public String getCookingTime() { return cookingTime; }
+    public String getDifficulty() { return difficulty; }
+}
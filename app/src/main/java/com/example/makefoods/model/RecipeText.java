@@ -0,0 +1,11 @@
+package com.example.makefoods.model;
+
+/**
+ * recipes에서 (레시피 ID, 설명, 조리 단계)만 읽어오는 Room 조회 결과
+ * 설명/조리 단계 검색 색인(RecipeTextIndex) 빌드용
+ */
+public class RecipeText {
+    public int recipeId;              // 레시피 ID
+    public String description;        // 설명 (CKG_IPDC)
+    public String cookingSteps;       // 조리 단계 (COOKING_STEPS)
+}
@@ -0,0 +1,18 @@
+package com.example.makefoods.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부족한 재료 목록이 포함된 추천 결과
+ *
+ * "재료를 N개까지 더 사면 만들 수 있는 레시피" 검색 결과 (RecipeRepository.findRecipesMissingAtMost)
+ * missingIngredients: 가지고 있지 않은 재료의 원본 이름 (레시피에 적힌 순서, 같은 재료는 한 번만)
+ *
+ * 예: 계란말이 (계란, 대파 보유) → missingIngredients = [당근, 소금]
+ */
+public class RecipeWithMissing extends RecipeRecommendation {
+    public List<String> missingIngredients = new ArrayList<>();
+
+    public List<String> getMissingIngredients() { return missingIngredients; }
+}
@@ -17,6 +17,7 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.makefoods.R;
+import com.example.makefoods.database.IngredientNormalizer;
 import com.example.makefoods.model.Ingredient;
 import com.example.makefoods.ui.fridge.FridgeViewModel;
 
@@ -184,7 +185,8 @@ public class ImageResultFragment extends Fragment {
                     boolean found = false;
 
                     for (Ingredient existing : existingIngredients) {
-                        if (existing.getName().equalsIgnoreCase(newIngredient.getName())) {
+                        // "달걀"과 "계란"처럼 이름이 달라도 같은 재료면 수량만 더함
+                        if (IngredientNormalizer.isSameIngredient(existing.getName(), newIngredient.getName())) {
                             int updatedQuantity = existing.getQuantity() + newIngredient.getQuantity();
                             existing.setQuantity(updatedQuantity);
 
@@ -262,6 +264,12 @@ public class ImageResultFragment extends Fragment {
             // 특수문자 제거 (-, *, 등)
             ingredientName = ingredientName.replaceAll("^[-*]\\s*", "");
 
+            // 분량/단위 제거 (예: "계란 3개" → "계란")
+            ingredientName = IngredientNormalizer.displayName(ingredientName);
+            if (ingredientName.isEmpty()) {
+                continue;
+            }
+
             // 재료 객체 생성
             Ingredient ingredient = new Ingredient(
                     ingredientName,  // 재료 이름
@@ -16,6 +16,7 @@ import androidx.viewpager2.widget.ViewPager2;
 import com.example.makefoods.R;
 import com.example.makefoods.model.Message;
 import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeSummary;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,15 +29,45 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
     private final List<Message> items = new ArrayList<>();
     private OnRecipeClickListener recipeClickListener;
+    private RecipeDetailLoader recipeDetailLoader;
+    private OnSimilarRecipesRequestListener similarRecipesRequestListener;
 
     public interface OnRecipeClickListener {
         void onRecipeClick(String recipeName);
     }
 
+    /**
+     * 카드의 "비슷한 레시피" 버튼 클릭
+     */
+    public interface OnSimilarRecipesRequestListener {
+        void onSimilarRecipesRequest(RecipeSummary recipe);
+    }
+
+    /**
+     * 레시피 상세 정보 로더
+     * 카드에는 요약만 있으므로 상세 다이얼로그를 열 때 recipeId로 전체 레시피를 조회
+     */
+    public interface RecipeDetailLoader {
+        void loadRecipeDetail(int recipeId, RecipeDetailCallback callback);
+    }
+
+    public interface RecipeDetailCallback {
+        // 메인 스레드에서 호출되어야 함
+        void onLoaded(Recipe recipe);
+    }
+
     public void setOnRecipeClickListener(OnRecipeClickListener listener) {
         this.recipeClickListener = listener;
     }
 
+    public void setRecipeDetailLoader(RecipeDetailLoader loader) {
+        this.recipeDetailLoader = loader;
+    }
+
+    public void setOnSimilarRecipesRequestListener(OnSimilarRecipesRequestListener listener) {
+        this.similarRecipesRequestListener = listener;
+    }
+
     public void submitList(List<Message> newList) {
         items.clear();
         if (newList != null) items.addAll(newList);
@@ -69,7 +100,15 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             return new UserMessageVH(v);
         } else if (viewType == VIEW_TYPE_RECIPE_CARD) {
             View v = inflater.inflate(R.layout.item_message_recipe_card, parent, false);
-            return new RecipeCardVH(v);
+            return new RecipeCardVH(v, recipeId -> {
+                if (recipeDetailLoader != null) {
+                    recipeDetailLoader.loadRecipeDetail(recipeId, recipe -> RecipeCardVH.showRecipeDetailDialog(v, recipe));
+                }
+            }, recipe -> {
+                if (similarRecipesRequestListener != null) {
+                    similarRecipesRequestListener.onSimilarRecipesRequest(recipe);
+                }
+            });
         } else {
             View v = inflater.inflate(R.layout.item_message_bot, parent, false);
             return new BotMessageVH(v);
@@ -168,7 +207,8 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         private final TextView tvPageIndicator;
         private final RecipeCardAdapter adapter;
 
-        RecipeCardVH(@NonNull View itemView) {
+        RecipeCardVH(@NonNull View itemView, java.util.function.IntConsumer onRecipeDetailRequest,
+                     RecipeCardAdapter.OnSimilarRecipesClickListener onSimilarRecipesRequest) {
             super(itemView);
             recipeCardPager = itemView.findViewById(R.id.recipeCardPager);
             tvPageIndicator = itemView.findViewById(R.id.tvPageIndicator);
@@ -178,12 +218,13 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
                     new ArrayList<>(),
                     new RecipeCardAdapter.OnRecipeClickListener() {
                         @Override
-                        public void onRecipeClick(Recipe recipe) {
-                            // 레시피 클릭 시 상세 정보 다이얼로그 표시
-                            showRecipeDetailDialog(itemView, recipe);
+                        public void onRecipeClick(RecipeSummary recipe) {
+                            // 레시피 클릭 시 상세 정보를 조회해서 다이얼로그 표시
+                            onRecipeDetailRequest.accept(recipe.getRecipeId());
                         }
                     }
             );
+            adapter.setOnSimilarRecipesClickListener(onSimilarRecipesRequest);
             recipeCardPager.setAdapter(adapter);
 
             // 페이지 변경 리스너 (인디케이터 업데이트)
@@ -211,7 +252,7 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
          // 레시피 상세 정보 다이얼로그 표시
 
-        private void showRecipeDetailDialog(View itemView, Recipe recipe) {
+        private static void showRecipeDetailDialog(View itemView, Recipe recipe) {
             if (recipe == null) {
                 return;
             }
@@ -74,6 +74,17 @@ public class ChatFragment extends Fragment {
             viewModel.requestRecipeDetail(recipeName);
         });
 
+        // 레시피 카드 클릭시 상세 정보는 그때 DB에서 조회
+        adapter.setRecipeDetailLoader((recipeId, callback) ->
+                viewModel.loadRecipeDetail(recipeId, recipe -> {
+                    if (isAdded()) {
+                        requireActivity().runOnUiThread(() -> callback.onLoaded(recipe));
+                    }
+                }));
+
+        // 레시피 카드의 "비슷한 레시피" 버튼
+        adapter.setOnSimilarRecipesRequestListener(recipe -> viewModel.showSimilarRecipes(recipe));
+
         // 입력창 & 전송버튼 설정
         EditText etMessage = view.findViewById(R.id.etMessage);
         ImageButton btnSend = view.findViewById(R.id.btnSend);
@@ -1,6 +1,9 @@
 package com.example.makefoods.ui.chat;
 
 import android.app.Application;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
 import android.util.Log;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
@@ -10,14 +13,18 @@ import com.example.makefoods.BuildConfig;
 import com.example.makefoods.data.chat.ChatRepository;
 import com.example.makefoods.data.chat.ChatRepositoryImpl;
 import com.example.makefoods.data.recipe.RecipeRepository;
+import com.example.makefoods.data.recipe.RecipeSearchRunner;
 import com.example.makefoods.database.AppDatabase;
 import com.example.makefoods.database.IngredientDao;
 import com.example.makefoods.model.Ingredient;
 import com.example.makefoods.model.Message;
 import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeRecommendation;
+import com.example.makefoods.model.RecipeSummary;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ChatViewModel
@@ -29,6 +36,7 @@ import java.util.List;
  * 2. Gemini/GPT API 호출
  * 3. 재료 인식 결과로 레시피 DB 검색
  * 4. 메시지 목록 관리
+ * 5. 인터넷이 없거나 API 호출이 실패하면 기기 안 색인으로 답변 (설명/조리 단계 문장 검색)
  *
  * 모듈화:
  * - ChatRepository: OpenAI API 호출
@@ -39,6 +47,15 @@ public class ChatViewModel extends AndroidViewModel {
 
     private static final String TAG = "ChatViewModel";
 
+    // 재료 기반 추천 버튼 최대 개수
+    private static final int MAX_RECOMMENDATIONS = 10;
+
+    // 비슷한 레시피 카드 최대 개수
+    private static final int MAX_SIMILAR_RECIPES = 10;
+
+    // 소비기한 임박으로 표시할 남은 일수
+    private static final int EXPIRY_WARNING_DAYS = 3;
+
     // 채팅 메시지 목록
     private final MutableLiveData<List<Message>> messages = new MutableLiveData<>(new ArrayList<>());
 
@@ -54,6 +71,17 @@ public class ChatViewModel extends AndroidViewModel {
 
     private final IngredientDao ingredientDao;
 
+    // 검색 종류별 실행기 (새 요청이 오면 예전 요청은 취소, 늦게 끝난 예전 결과는 버림)
+    private final RecipeSearchRunner ingredientSearch = new RecipeSearchRunner();
+    private final RecipeSearchRunner detailSearch = new RecipeSearchRunner();
+    private final RecipeSearchRunner similarSearch = new RecipeSearchRunner();
+    private final RecipeSearchRunner offlineSearch = new RecipeSearchRunner();
+    private final RecipeSearchRunner chatSend = new RecipeSearchRunner();
+    private final RecipeSearchRunner detailLoad = new RecipeSearchRunner();
+
+    // 가장 최근에 보낸 메시지 번호 (API 응답은 실행기 밖에서 오므로 이 번호로 예전 답변을 버림)
+    private volatile int latestChatRequest;
+
     public ChatViewModel(Application application) {
         super(application);
 
@@ -85,6 +113,9 @@ public class ChatViewModel extends AndroidViewModel {
      * 2. Gemini로 재료 인식
      * 3. 인식된 재료로 DB에서 레시피 검색
      * 4. 검색 결과를 메시지로 표시
+     *
+     * 인터넷에 연결되어 있지 않으면 API를 호출하지 않고 바로 기기 안에서 검색한 레시피로 답변
+     * 답변을 기다리는 중에 새 메시지를 보내면 예전 메시지의 남은 작업은 취소하고 답변도 버림 (최신 메시지만 답변)
      */
     public void sendUserMessage(String text) {
         // 사용자 메시지 추가
@@ -92,159 +123,328 @@ public class ChatViewModel extends AndroidViewModel {
         list.add(new Message(text, Message.Sender.USER));
         messages.setValue(list);
 
+        int requestId = ++latestChatRequest;
 
-        new Thread(() -> {
-            try {
-                // 냉장고 재료 조회
-                List<Ingredient> ingredients = ingredientDao.getAllIngredientsSync();
-                String ingredientInfo = buildIngredientInfoString(ingredients);
-                List<Message> recentMessages = getRecentMessages(list, 10);
-
+        // 냉장고 재료 조회 (소비기한 빠른순), 오프라인이면 null
+        chatSend.submit(
+                signal -> isNetworkAvailable() ? buildIngredientInfoString() : null,
+                new RecipeSearchRunner.Callback<String>() {
+                    @Override
+                    public void onResult(String ingredientInfo) {
+                        // 오프라인: 요청 시간 초과를 기다리지 않고 바로 기기 안 검색으로 답변
+                        if (ingredientInfo == null) {
+                            Log.d(TAG, "인터넷 연결 없음, 기기 안 검색으로 답변");
+                            postOfflineAnswer(text, "인터넷에 연결되어 있지 않아서");
+                            return;
+                        }
+                        askGpt(requestId, text, ingredientInfo, getRecentMessages(list, 10));
+                    }
 
-                chatRepo.askGpt(text, ingredientInfo, recentMessages, new ChatRepository.Callback() {
                     @Override
-                    public void onSuccess(String reply) {
+                    public void onError(Exception e) {
+                        Log.e(TAG, "메시지 처리 중 오류: " + e.getMessage(), e);
+                        List<Message> cur = new ArrayList<>(messages.getValue());
+                        cur.add(new Message("오류가 발생했어요.", Message.Sender.BOT));
+                        messages.postValue(cur);
+                    }
+                });
+    }
+
+    /**
+     * API 호출 (sendUserMessage)
+     * 응답 콜백은 메인 스레드에서 오므로 DB 조회가 필요한 처리는 chatSend에서 실행
+     */
+    private void askGpt(int requestId, String text, String ingredientInfo, List<Message> recentMessages) {
+        chatRepo.askGpt(text, ingredientInfo, recentMessages, new ChatRepository.Callback() {
+            @Override
+            public void onSuccess(String reply) {
+                if (requestId != latestChatRequest) {
+                    Log.d(TAG, "더 새로운 메시지가 있어서 답변 버림");
+                    return;
+                }
 
-                        if (reply.startsWith("RECIPE_LIST:")) {
+                if (reply.startsWith("RECIPE_LIST:")) {
 
-                            List<String> recipeNames = parseRecipeList(reply);
-                            Log.d(TAG, "GPT가 추천한 음식: " + recipeNames);
+                    List<String> recipeNames = parseRecipeList(reply);
+                    Log.d(TAG, "GPT가 추천한 음식: " + recipeNames);
 
+                    // 추천 이름마다 가장 비슷한 DB 레시피 하나로 연결 (한 번에 조회)
+                    chatSend.submit(
+                            signal -> recipeRepository.resolveRecipeNames(recipeNames),
+                            new RecipeSearchRunner.Callback<Map<String, RecipeSummary>>() {
+                                @Override
+                                public void onResult(Map<String, RecipeSummary> resolved) {
+                                    postRecipeNameButtons(resolved);
+                                }
 
-                            List<Recipe> foundRecipes = new ArrayList<>();
-                            for (String recipeName : recipeNames) {
-                                List<Recipe> results = recipeRepository.searchRecipeByName(recipeName);
-                                foundRecipes.addAll(results);
-                            }
+                                @Override
+                                public void onError(Exception e) {
+                                    Log.e(TAG, "추천 음식 연결 실패: " + e.getMessage(), e);
+                                    List<Message> cur = new ArrayList<>(messages.getValue());
+                                    cur.add(new Message("오류가 발생했어요.", Message.Sender.BOT));
+                                    messages.postValue(cur);
+                                }
+                            });
 
-                            Log.d(TAG, "DB에서 찾은 레시피: " + foundRecipes.size() + "개");
+                } else {
+                    // 일반적인 텍스트 응답
+                    List<Message> cur = new ArrayList<>(messages.getValue());
+                    cur.add(new Message(reply, Message.Sender.BOT));
+                    messages.postValue(cur);
+                }
+            }
 
+            @Override
+            public void onError(Throwable t) {
+                Log.e(TAG, "Gemini 요청 실패: " + t.getMessage());
+                if (requestId != latestChatRequest) {
+                    return;
+                }
+                postOfflineAnswer(text, "답변을 받지 못해서");
+            }
+        });
+    }
 
-                            if (foundRecipes.isEmpty()) {
+    // 버튼에는 이름만 필요하므로 이름만 사용, 같은 레시피로 연결되면 한 번만
+    private void postRecipeNameButtons(Map<String, RecipeSummary> resolved) {
+        List<String> foundRecipeNames = new ArrayList<>();
+        for (RecipeSummary recipe : resolved.values()) {
+            if (!foundRecipeNames.contains(recipe.getName())) {
+                foundRecipeNames.add(recipe.getName());
+            }
+        }
 
-                                List<Message> cur = new ArrayList<>(messages.getValue());
-                                cur.add(new Message("이 재료들로는 저장된 레시피가 없네요.", Message.Sender.BOT));
-                                messages.postValue(cur);
-                            } else {
+        Log.d(TAG, "DB에서 찾은 레시피: " + foundRecipeNames.size() + "개");
 
-                                List<String> foundRecipeNames = new ArrayList<>();
-                                for (Recipe recipe : foundRecipes) {
-                                    foundRecipeNames.add(recipe.getName());
-                                }
-                                
-                                String displayText = "이런 음식들을 만들 수 있어요!";
-                                List<Message> cur = new ArrayList<>(messages.getValue());
-                                cur.add(new Message(displayText, Message.Sender.BOT, foundRecipeNames));
-                                messages.postValue(cur);
-                            }
+        List<Message> cur = new ArrayList<>(messages.getValue());
+        if (foundRecipeNames.isEmpty()) {
+            cur.add(new Message("이 재료들로는 저장된 레시피가 없네요.", Message.Sender.BOT));
+        } else {
+            cur.add(new Message("이런 음식들을 만들 수 있어요!", Message.Sender.BOT, foundRecipeNames));
+        }
+        messages.postValue(cur);
+    }
 
+    /**
+     * 재료 기반 레시피 검색
+     * 
+     * DB에 있는 레시피만 추천
+     * 냉장고 재료로 만들기 좋은 순서로 상위 MAX_RECOMMENDATIONS개만 표시
+     */
+    public void searchRecipesByRecognizedIngredients(List<String> recognizedIngredients) {
+        Log.d(TAG, "재료 기반 레시피 검색: " + recognizedIngredients);
+
+        // 재료 충족률, 부족한 재료 수, 인기도 기준 상위 몇 개만
+        ingredientSearch.submit(
+                signal -> recipeRepository.recommendRecipes(recognizedIngredients, MAX_RECOMMENDATIONS, signal),
+                new RecipeSearchRunner.Callback<List<RecipeRecommendation>>() {
+                    @Override
+                    public void onResult(List<RecipeRecommendation> foundRecipes) {
+                        Log.d(TAG, "검색 완료: " + foundRecipes.size() + "개 레시피 찾음 (캐시 적중 "
+                                + recipeRepository.getSearchCacheHitCount() + ", 실패 " + recipeRepository.getSearchCacheMissCount() + ")");
+
+
+                        if (foundRecipes.isEmpty()) {
+                            // 검색 결과 없음
+                            List<Message> cur = new ArrayList<>(messages.getValue());
+                            cur.add(new Message("이 재료들로는 저장된 레시피가 없네요.", Message.Sender.BOT));
+                            messages.postValue(cur);
                         } else {
-                            // 일반적인 텍스트 응답
+
+                            List<String> recipeNames = new ArrayList<>();
+                            for (RecipeRecommendation recipe : foundRecipes) {
+                                recipeNames.add(recipe.getName());
+                            }
+
+                            String displayText = "이 재료들로 만들기 좋은 음식 " + foundRecipes.size() + "개를 골랐어요!";
                             List<Message> cur = new ArrayList<>(messages.getValue());
-                            cur.add(new Message(reply, Message.Sender.BOT));
+                            cur.add(new Message(displayText, Message.Sender.BOT, recipeNames));
                             messages.postValue(cur);
                         }
                     }
 
                     @Override
-                    public void onError(Throwable t) {
-                        Log.e(TAG, "Gemini 요청 실패: " + t.getMessage());
+                    public void onError(Exception e) {
+                        Log.e(TAG, "레시피 검색 실패: " + e.getMessage(), e);
                         List<Message> cur = new ArrayList<>(messages.getValue());
-                        cur.add(new Message("죄송합니다. 다시 시도해주세요.", Message.Sender.BOT));
+                        cur.add(new Message("레시피 검색 중 오류가 발생했어요.", Message.Sender.BOT));
                         messages.postValue(cur);
                     }
                 });
-
-            } catch (Exception e) {
-                Log.e(TAG, "메시지 처리 중 오류: " + e.getMessage(), e);
-                List<Message> cur = new ArrayList<>(messages.getValue());
-                cur.add(new Message("오류가 발생했어요.", Message.Sender.BOT));
-                messages.postValue(cur);
-            }
-        }).start();
     }
 
-    /**
-     * 재료 기반 레시피 검색
-     * 
-     * DB에 있는 레시피만 추천
-     */
-    public void searchRecipesByRecognizedIngredients(List<String> recognizedIngredients) {
-        Log.d(TAG, "재료 기반 레시피 검색: " + recognizedIngredients);
+    public void requestRecipeDetail(String recipeName) {
+        Log.d(TAG, "레시피 상세 조회: " + recipeName);
 
-        new Thread(() -> {
-            try {
+        detailSearch.submit(
+                signal -> recipeRepository.searchRecipeSummariesByName(recipeName, signal),
+                new RecipeSearchRunner.Callback<List<RecipeSummary>>() {
+                    @Override
+                    public void onResult(List<RecipeSummary> results) {
+                        if (results.isEmpty()) {
+                            Log.w(TAG, "DB에서 '" + recipeName + "' 찾지 못함");
+                            List<Message> cur = new ArrayList<>(messages.getValue());
+                            cur.add(new Message("죄송해요. 레시피를 찾을 수 없어요.", Message.Sender.BOT));
+                            messages.postValue(cur);
+                        } else {
 
-                List<Recipe> foundRecipes = recipeRepository.searchRecipesByIngredients(recognizedIngredients);
+                            RecipeSummary recipe = results.get(0);
+                            Log.d(TAG, "레시피 찾음: " + recipe.getName());
+
+                            List<Message> cur = new ArrayList<>(messages.getValue());
+                            cur.add(new Message("", Message.Sender.BOT, recipe));
+                            messages.postValue(cur);
+                        }
+                    }
 
-                Log.d(TAG, "검색 완료: " + foundRecipes.size() + "개 레시피 찾음");
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "레시피 상세 조회 실패: " + e.getMessage(), e);
+                        List<Message> cur = new ArrayList<>(messages.getValue());
+                        cur.add(new Message("레시피를 불러올 수 없어요.", Message.Sender.BOT));
+                        messages.postValue(cur);
+                    }
+                });
+    }
 
 
-                if (foundRecipes.isEmpty()) {
-                    // 검색 결과 없음
-                    List<Message> cur = new ArrayList<>(messages.getValue());
-                    cur.add(new Message("이 재료들로는 저장된 레시피가 없네요.", Message.Sender.BOT));
-                    messages.postValue(cur);
-                } else {
+    /**
+     * 레시피 상세 정보 조회 (조리 단계, 설명 포함)
+     *
+     * 카드에는 요약만 들고 있으므로 상세 다이얼로그를 열 때만 호출
+     * 다른 카드를 연달아 누르면 마지막 카드의 상세만 전달
+     * 콜백은 백그라운드 스레드에서 호출됨
+     */
+    public void loadRecipeDetail(int recipeId, ChatAdapter.RecipeDetailCallback callback) {
+        detailLoad.submit(
+                signal -> recipeRepository.getRecipeById(recipeId),
+                new RecipeSearchRunner.Callback<Recipe>() {
+                    @Override
+                    public void onResult(Recipe recipe) {
+                        if (recipe == null) {
+                            Log.w(TAG, "DB에서 레시피 " + recipeId + " 찾지 못함");
+                            return;
+                        }
+                        callback.onLoaded(recipe);
+                    }
 
-                    List<String> recipeNames = new ArrayList<>();
-                    for (Recipe recipe : foundRecipes) {
-                        recipeNames.add(recipe.getName());
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "레시피 상세 조회 실패: " + e.getMessage(), e);
                     }
+                });
+    }
 
-                    String displayText = foundRecipes.size() + "개의 음식을 만들 수 있어요!";
-                    List<Message> cur = new ArrayList<>(messages.getValue());
-                    cur.add(new Message(displayText, Message.Sender.BOT, recipeNames));
-                    messages.postValue(cur);
-                }
 
-            } catch (Exception e) {
-                Log.e(TAG, "레시피 검색 실패: " + e.getMessage(), e);
-                List<Message> cur = new ArrayList<>(messages.getValue());
-                cur.add(new Message("레시피 검색 중 오류가 발생했어요.", Message.Sender.BOT));
-                messages.postValue(cur);
-            }
-        }).start();
+    /**
+     * 재료 구성이 비슷한 레시피를 카드로 표시 (레시피 카드의 "비슷한 레시피" 버튼)
+     */
+    public void showSimilarRecipes(RecipeSummary recipe) {
+        Log.d(TAG, "비슷한 레시피 조회: " + recipe.getName());
+
+        similarSearch.submit(
+                signal -> recipeRepository.findSimilarRecipes(recipe.getRecipeId(), MAX_SIMILAR_RECIPES, signal),
+                new RecipeSearchRunner.Callback<List<RecipeSummary>>() {
+                    @Override
+                    public void onResult(List<RecipeSummary> similar) {
+                        List<Message> cur = new ArrayList<>(messages.getValue());
+                        if (similar.isEmpty()) {
+                            cur.add(new Message("'" + recipe.getName() + "'와 재료가 비슷한 레시피가 없어요.", Message.Sender.BOT));
+                        } else {
+                            cur.add(new Message("'" + recipe.getName() + "'와 재료가 비슷한 레시피 " + similar.size() + "개예요!", Message.Sender.BOT));
+                            cur.add(Message.createRecipeCardMessage("", Message.Sender.BOT, similar));
+                        }
+                        messages.postValue(cur);
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "비슷한 레시피 조회 실패: " + e.getMessage(), e);
+                        List<Message> cur = new ArrayList<>(messages.getValue());
+                        cur.add(new Message("비슷한 레시피를 불러올 수 없어요.", Message.Sender.BOT));
+                        messages.postValue(cur);
+                    }
+                });
     }
 
-    public void requestRecipeDetail(String recipeName) {
-        Log.d(TAG, "레시피 상세 조회: " + recipeName);
 
-        new Thread(() -> {
-            try {
+    /**
+     * 기기 안 색인으로 답변 (네트워크 없이)
+     * 설명/조리 단계를 BM25로 검색해서 카드로 표시, 결과가 없으면 다시 시도 안내
+     *
+     * 색인 파일을 읽거나 다시 만들 수 있으므로 항상 offlineSearch에서 실행
+     * → API 실패 콜백(Retrofit, 메인 스레드)에서 불러도 됨
+     *
+     * @param reason 안내 문구 앞부분 (예: "인터넷에 연결되어 있지 않아서")
+     */
+    private void postOfflineAnswer(String text, String reason) {
+        offlineSearch.submit(
+                signal -> recipeRepository.searchRecipesByText(text, MAX_RECOMMENDATIONS, signal),
+                new RecipeSearchRunner.Callback<List<RecipeSummary>>() {
+                    @Override
+                    public void onResult(List<RecipeSummary> found) {
+                        List<Message> cur = new ArrayList<>(messages.getValue());
+                        if (found.isEmpty()) {
+                            cur.add(new Message("죄송합니다. 다시 시도해주세요.", Message.Sender.BOT));
+                        } else {
+                            cur.add(new Message(reason + " 저장된 레시피에서 찾아봤어요!", Message.Sender.BOT));
+                            cur.add(Message.createRecipeCardMessage("", Message.Sender.BOT, found));
+                        }
+                        messages.postValue(cur);
+                    }
 
-                List<Recipe> results = recipeRepository.searchRecipeByName(recipeName);
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "기기 안 검색 실패: " + e.getMessage(), e);
+                        List<Message> cur = new ArrayList<>(messages.getValue());
+                        cur.add(new Message("죄송합니다. 다시 시도해주세요.", Message.Sender.BOT));
+                        messages.postValue(cur);
+                    }
+                });
+    }
 
-                if (results.isEmpty()) {
-                    Log.w(TAG, "DB에서 '" + recipeName + "' 찾지 못함");
-                    List<Message> cur = new ArrayList<>(messages.getValue());
-                    cur.add(new Message("죄송해요. 레시피를 찾을 수 없어요.", Message.Sender.BOT));
-                    messages.postValue(cur);
-                } else {
+    private boolean isNetworkAvailable() {
+        ConnectivityManager connectivityManager = getApplication().getSystemService(ConnectivityManager.class);
+        if (connectivityManager == null) {
+            return true;
+        }
+        Network network = connectivityManager.getActiveNetwork();
+        NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(network);
+        return capabilities != null && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+    }
 
-                    Recipe recipe = results.get(0);
-                    Log.d(TAG, "레시피 찾음: " + recipe.getName());
 
-                    List<Message> cur = new ArrayList<>(messages.getValue());
-                    cur.add(new Message("", Message.Sender.BOT, recipe));
-                    messages.postValue(cur);
-                }
+    @Override
+    protected void onCleared() {
+        super.onCleared();
 
-            } catch (Exception e) {
-                Log.e(TAG, "레시피 상세 조회 실패: " + e.getMessage(), e);
-                List<Message> cur = new ArrayList<>(messages.getValue());
-                cur.add(new Message("레시피를 불러올 수 없어요.", Message.Sender.BOT));
-                messages.postValue(cur);
-            }
-        }).start();
+        // 화면이 끝나면 진행 중인 검색 취소 (결과를 받을 곳이 없음)
+        ingredientSearch.cancel();
+        detailSearch.cancel();
+        similarSearch.cancel();
+        offlineSearch.cancel();
+        chatSend.cancel();
+        detailLoad.cancel();
+        latestChatRequest++;
     }
 
 
-    private String buildIngredientInfoString(List<Ingredient> ingredients) {
+    /**
+     * GPT에게 전달할 냉장고 재료 정보
+     *
+     * expiryDate 인덱스 순서(소비기한 빠른순)로 읽으므로
+     * 지난 재료 → 임박 재료 → 나머지 순서로 나옴, 남은 일수는 임박 재료만 계산
+     */
+    private String buildIngredientInfoString() {
+        List<Ingredient> ingredients = ingredientDao.getIngredientsByExpirySync();
         if (ingredients == null || ingredients.isEmpty()) {
             return "냉장고가 비어있습니다.";
         }
 
+        long now = System.currentTimeMillis();
+        // 남은 일수(내림)가 EXPIRY_WARNING_DAYS 이하인 마지막 시각
+        long warningEnd = now + (EXPIRY_WARNING_DAYS + 1) * IngredientDao.DAY_MILLIS;
+
         StringBuilder sb = new StringBuilder();
         sb.append("냉장고 재료:\n");
 
@@ -253,11 +453,12 @@ public class ChatViewModel extends AndroidViewModel {
             sb.append(" (").append(ingredient.getQuantity()).append("개)");
 
             // 유통기한 정보
-            long daysUntilExpiry = (ingredient.getExpiryDate() - System.currentTimeMillis()) / (1000 * 60 * 60 * 24);
-            if (daysUntilExpiry <= 3 && daysUntilExpiry >= 0) {
-                sb.append(" [소비기한 임박: ").append(daysUntilExpiry).append("일]");
-            } else if (daysUntilExpiry < 0) {
+            long expiryDate = ingredient.getExpiryDate();
+            if (expiryDate < now) {
                 sb.append(" [유통기한 지남]");
+            } else if (expiryDate < warningEnd) {
+                long daysUntilExpiry = (expiryDate - now) / IngredientDao.DAY_MILLIS;
+                sb.append(" [소비기한 임박: ").append(daysUntilExpiry).append("일]");
             }
 
             sb.append("\n");
@@ -2,6 +2,7 @@ package com.example.makefoods.ui.chat;
 
 import android.text.method.ScrollingMovementMethod;
 import android.view.LayoutInflater;
+import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
@@ -9,7 +10,7 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.makefoods.R;
-import com.example.makefoods.model.Recipe;
+import com.example.makefoods.model.RecipeSummary;
 
 import java.util.List;
 
@@ -18,18 +19,25 @@ import java.util.List;
  *
  * 검색된 레시피를 카드 형태로 표시하는 어댑터
  * 각 카드는 레시피 이름, 재료, 조리 시간, 난이도 등을 표시
+ * 카드에는 요약(RecipeSummary)만 들고 있고, 상세 정보는 클릭 시 조회
+ * "비슷한 레시피" 버튼은 리스너를 설정했을 때만 표시
  */
 public class RecipeCardAdapter extends RecyclerView.Adapter<RecipeCardAdapter.RecipeCardViewHolder> {
 
-    private List<Recipe> recipes;
+    private List<RecipeSummary> recipes;
     private OnRecipeClickListener listener;
+    private OnSimilarRecipesClickListener similarRecipesListener;
 
 
     public interface OnRecipeClickListener {
-        void onRecipeClick(Recipe recipe);
+        void onRecipeClick(RecipeSummary recipe);
     }
 
-    public RecipeCardAdapter(List<Recipe> recipes, OnRecipeClickListener listener) {
+    public interface OnSimilarRecipesClickListener {
+        void onSimilarRecipesClick(RecipeSummary recipe);
+    }
+
+    public RecipeCardAdapter(List<RecipeSummary> recipes, OnRecipeClickListener listener) {
         this.recipes = recipes;
         this.listener = listener;
     }
@@ -58,7 +66,13 @@ public class RecipeCardAdapter extends RecyclerView.Adapter<RecipeCardAdapter.Re
     }
 
 
-    public void updateRecipes(List<Recipe> newRecipes) {
+    public void setOnSimilarRecipesClickListener(OnSimilarRecipesClickListener listener) {
+        this.similarRecipesListener = listener;
+        notifyDataSetChanged();
+    }
+
+
+    public void updateRecipes(List<RecipeSummary> newRecipes) {
         this.recipes = newRecipes;
         notifyDataSetChanged();
     }
@@ -70,6 +84,7 @@ public class RecipeCardAdapter extends RecyclerView.Adapter<RecipeCardAdapter.Re
         private TextView cookingTimeTextView;
         private TextView difficultyTextView;
         private TextView ingredientsTextView;
+        private TextView similarRecipesButton;
 
         public RecipeCardViewHolder(@NonNull ViewGroup itemView) {
             super(itemView);
@@ -78,6 +93,7 @@ public class RecipeCardAdapter extends RecyclerView.Adapter<RecipeCardAdapter.Re
             cookingTimeTextView = itemView.findViewById(R.id.cooking_time_text_view);
             difficultyTextView = itemView.findViewById(R.id.difficulty_text_view);
             ingredientsTextView = itemView.findViewById(R.id.ingredients_text_view);
+            similarRecipesButton = itemView.findViewById(R.id.similar_recipes_button);
 
 
             if (ingredientsTextView != null) {
@@ -86,7 +102,7 @@ public class RecipeCardAdapter extends RecyclerView.Adapter<RecipeCardAdapter.Re
             }
         }
 
-        public void bind(Recipe recipe) {
+        public void bind(RecipeSummary recipe) {
             if (recipe == null) return;
 
             // 1) 레시피 이름
@@ -124,6 +140,17 @@ public class RecipeCardAdapter extends RecyclerView.Adapter<RecipeCardAdapter.Re
                 ingredientsTextView.scrollTo(0, 0);
             }
 
+            // 5) 비슷한 레시피 버튼
+            if (similarRecipesButton != null) {
+                if (similarRecipesListener != null) {
+                    similarRecipesButton.setVisibility(View.VISIBLE);
+                    similarRecipesButton.setOnClickListener(v -> similarRecipesListener.onSimilarRecipesClick(recipe));
+                } else {
+                    similarRecipesButton.setVisibility(View.GONE);
+                    similarRecipesButton.setOnClickListener(null);
+                }
+            }
+
             // 카드 클릭
             itemView.setOnClickListener(v -> {
                 if (listener != null) {
@@ -25,6 +25,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.makefoods.R;
+import com.example.makefoods.database.IngredientNormalizer;
 import com.example.makefoods.model.Ingredient;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
@@ -420,7 +421,8 @@ public class FridgeFragment extends Fragment {
 
         // 확인 버튼
         builder.setPositiveButton("추가", (dialog, which) -> {
-            String ingredientName = etIngredientName.getText().toString().trim();
+            // 분량/단위는 떼고 저장 (예: "계란 3개" → "계란")
+            String ingredientName = IngredientNormalizer.displayName(etIngredientName.getText().toString());
 
             // 유효성 검사
             if (ingredientName.isEmpty()) {
@@ -0,0 +1,179 @@
+package com.example.makefoods.data.recipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+
+/**
+ * RecipeBitmap 테스트
+ *
+ * 집합 연산 결과를 TreeSet으로 계산한 값과 비교
+ * 배열 구간(4096개 이하)과 비트맵 구간, 여러 구간(65536 이상 순번)을 모두 거치도록 구성
+ */
+public class RecipeBitmapTest {
+
+    private static final long SEED = 20240601L;
+
+
+    @Test
+    public void emptyBitmap() {
+        RecipeBitmap bitmap = new RecipeBitmap();
+
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.cardinality());
+        assertFalse(bitmap.contains(0));
+        assertTrue(RecipeBitmap.or(bitmap, new RecipeBitmap()).isEmpty());
+        assertTrue(RecipeBitmap.and(bitmap, bitmapOf(new TreeSet<>(List.of(1, 2, 3)))).isEmpty());
+    }
+
+    @Test
+    public void addIgnoresDuplicatesAndKeepsOrder() {
+        RecipeBitmap bitmap = new RecipeBitmap();
+        int[] values = {70_000, 5, 3, 5, 65_535, 65_536, 3, 0};
+        for (int value : values) {
+            bitmap.add(value);
+        }
+
+        assertEquals(List.of(0, 3, 5, 65_535, 65_536, 70_000), toList(bitmap));
+        assertEquals(6, bitmap.cardinality());
+        assertTrue(bitmap.contains(65_536));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(131_072));
+    }
+
+    @Test
+    public void arrayContainerTurnsIntoBitmapPastLimit() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        RecipeBitmap bitmap = new RecipeBitmap();
+
+        // 역순으로 추가해서 정렬 위치 삽입 경로도 확인
+        for (int value = 2 * 5000; value > 0; value -= 2) {
+            bitmap.add(value);
+            expected.add(value);
+        }
+        long bitmapBytes = bitmap.sizeInBytes();
+
+        assertEquals(5000, bitmap.cardinality());
+        assertEquals(new ArrayList<>(expected), toList(bitmap));
+        assertTrue(bitmap.contains(10_000));
+        assertFalse(bitmap.contains(9_999));
+        assertTrue("비트맵 구간은 8KB 이상: " + bitmapBytes, bitmapBytes >= 8 * 1024);
+    }
+
+    @Test
+    public void trimKeepsContents() {
+        TreeSet<Integer> expected = randomSet(new Random(SEED), 300, 200_000);
+        RecipeBitmap bitmap = bitmapOf(expected);
+        long before = bitmap.sizeInBytes();
+
+        bitmap.trim();
+
+        assertEquals(new ArrayList<>(expected), toList(bitmap));
+        assertTrue(bitmap.sizeInBytes() <= before);
+    }
+
+    @Test
+    public void orAndMatchTreeSet() {
+        Random random = new Random(SEED);
+
+        // (원소 수, 범위): 희소 배열, 비트맵 구간, 여러 구간 섞기
+        int[][] shapes = {
+                {50, 2_000}, {3_000, 60_000}, {6_000, 65_536}, {20_000, 70_000},
+                {10_000, 300_000}, {40_000, 200_000}, {1, 1_000_000}
+        };
+
+        for (int[] left : shapes) {
+            for (int[] right : shapes) {
+                TreeSet<Integer> a = randomSet(random, left[0], left[1]);
+                TreeSet<Integer> b = randomSet(random, right[0], right[1]);
+                RecipeBitmap bitmapA = bitmapOf(a);
+                RecipeBitmap bitmapB = bitmapOf(b);
+                String shape = left[0] + "/" + left[1] + " × " + right[0] + "/" + right[1];
+
+                TreeSet<Integer> union = new TreeSet<>(a);
+                union.addAll(b);
+                assertSameSet(shape + " or", union, RecipeBitmap.or(bitmapA, bitmapB));
+
+                TreeSet<Integer> intersection = new TreeSet<>(a);
+                intersection.retainAll(b);
+                assertSameSet(shape + " and", intersection, RecipeBitmap.and(bitmapA, bitmapB));
+
+                // 입력은 바뀌지 않음
+                assertSameSet(shape + " a", a, bitmapA);
+                assertSameSet(shape + " b", b, bitmapB);
+            }
+        }
+    }
+
+    @Test
+    public void andOfDenseSetsCanShrinkToArray() {
+        // 둘 다 비트맵 구간이지만 교집합은 몇 개뿐
+        TreeSet<Integer> evens = new TreeSet<>();
+        TreeSet<Integer> odds = new TreeSet<>();
+        for (int value = 0; value < 20_000; value++) {
+            (value % 2 == 0 ? evens : odds).add(value);
+        }
+        odds.add(100);
+        odds.add(10_000);
+
+        RecipeBitmap result = RecipeBitmap.and(bitmapOf(evens), bitmapOf(odds));
+
+        assertEquals(List.of(100, 10_000), toList(result));
+        assertTrue(result.sizeInBytes() < 1024);
+    }
+
+    @Test
+    public void disjointSetsHaveEmptyIntersection() {
+        TreeSet<Integer> low = randomSet(new Random(SEED), 5_000, 60_000);
+        TreeSet<Integer> high = new TreeSet<>();
+        for (int value : low) {
+            high.add(value + 65_536);
+        }
+
+        RecipeBitmap result = RecipeBitmap.and(bitmapOf(low), bitmapOf(high));
+
+        assertTrue(result.isEmpty());
+        assertEquals(10_000, RecipeBitmap.or(bitmapOf(low), bitmapOf(high)).cardinality());
+    }
+
+
+    private static TreeSet<Integer> randomSet(Random random, int size, int bound) {
+        TreeSet<Integer> set = new TreeSet<>();
+        while (set.size() < Math.min(size, bound)) {
+            set.add(random.nextInt(bound));
+        }
+        return set;
+    }
+
+    private static RecipeBitmap bitmapOf(TreeSet<Integer> values) {
+        RecipeBitmap bitmap = new RecipeBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    private static List<Integer> toList(RecipeBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+
+    private static void assertSameSet(String message, TreeSet<Integer> expected, RecipeBitmap actual) {
+        assertEquals(message, new ArrayList<>(expected), toList(actual));
+        assertEquals(message, expected.size(), actual.cardinality());
+        assertEquals(message, expected.isEmpty(), actual.isEmpty());
+        for (int value : expected) {
+            assertTrue(message + " contains " + value, actual.contains(value));
+            if (!expected.contains(value + 1)) {
+                assertFalse(message + " !contains " + (value + 1), actual.contains(value + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.makefoods.data.recipe;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Test;
+
+/**
+ * RecipeRanker 테스트 (가중치 점수, 상위 K개 힙, 부족한 재료 순)
+ * DB 없이 작은 IngredientBitmapIndex.Snapshot을 직접 만들어서 사용
+ */
+public class RecipeRankerTest {
+
+    private static final double DELTA = 1e-9;
+
+    private static final List<String> FRIDGE = List.of("계란", "대파", "두부", "김치", "양파");
+
+
+    @Test
+    public void scoreWeighsCoverageMissingAndPopularity() {
+        IngredientBitmapIndex.Snapshot snapshot = snapshot(
+                recipe(1, 5, 0f, "계란", "대파", "두부", "김치", "양파"),
+                recipe(2, 20, 1f, "계란", "대파", "두부", "김치", "양파"),
+                recipe(3, 4, 0.5f, "계란", "감자"),
+                recipe(4, 2, 1f, "감자", "소금"));
+
+        RecipeRanker.Ranked[] ranked = RecipeRanker.topK(snapshot, FRIDGE, 10);
+
+        // 5개 중 5개 보유 > 4개 중 1개 보유 > 20개 중 5개 보유 (부족 15개), 일치 없는 4번은 제외
+        assertArrayEquals(new int[]{1, 3, 2}, recipeIds(ranked));
+        assertEquals(0.6 + 0.25, ranked[0].score, DELTA);
+        assertEquals(0.6 * 1 / 4 + 0.25 * 0.7 + 0.15 * 0.5, ranked[1].score, DELTA);
+        assertEquals(0.6 * 5 / 20 + 0.15, ranked[2].score, DELTA);
+        assertEquals(1, ranked[1].matchCount);
+        assertEquals(4, ranked[1].ingredientCount);
+    }
+
+    @Test
+    public void equivalentFridgeIngredientsCountOnce() {
+        IngredientBitmapIndex.Snapshot snapshot = snapshot(recipe(1, 2, 0f, "계란", "대파"));
+
+        RecipeRanker.Ranked[] ranked = RecipeRanker.topK(snapshot, List.of("달걀", "계란 2개"), 10);
+
+        assertEquals(1, ranked[0].matchCount);
+        assertEquals(0.6 / 2 + 0.25 * 0.9, ranked[0].score, DELTA);
+    }
+
+    @Test
+    public void missingScoreIsCappedAtTen() {
+        IngredientBitmapIndex.Snapshot snapshot = snapshot(
+                recipe(1, 10, 0f, "계란"),
+                recipe(2, 11, 0f, "계란"),
+                recipe(3, 30, 0f, "계란"));
+
+        Map<Integer, Double> scores = scoresById(RecipeRanker.topK(snapshot, FRIDGE, 10));
+
+        // 부족 9개: 부족 점수 0.1 남음, 부족 10개 이상: 0
+        assertEquals(0.6 / 10 + 0.25 * 0.1, scores.get(1), DELTA);
+        assertEquals(0.6 / 11, scores.get(2), DELTA);
+        assertEquals(0.6 / 30, scores.get(3), DELTA);
+    }
+
+    @Test
+    public void heapKeepsBestKWithRecipeIdTieBreak() {
+        IngredientBitmapIndex.Snapshot snapshot = snapshot(
+                recipe(10, 1, 0f, "계란"),
+                recipe(11, 1, 0f, "계란"),
+                recipe(12, 1, 0f, "계란"),
+                recipe(13, 1, 0f, "계란"),
+                recipe(14, 1, 0f, "계란"),
+                recipe(20, 1, 1f, "계란"));
+
+        // 마지막에 나오는 높은 점수가 힙의 최소값을 밀어내고, 같은 점수는 recipeId 작은 것이 남음
+        assertArrayEquals(new int[]{20, 10, 11}, recipeIds(RecipeRanker.topK(snapshot, FRIDGE, 3)));
+        assertArrayEquals(new int[]{20, 10, 11, 12, 13, 14}, recipeIds(RecipeRanker.topK(snapshot, FRIDGE, 100)));
+        assertEquals(0, RecipeRanker.topK(snapshot, FRIDGE, 0).length);
+        assertEquals(0, RecipeRanker.topK(snapshot, List.of(), 3).length);
+    }
+
+    @Test
+    public void expiryWeightFavorsRecipesUsingUrgentIngredients() {
+        IngredientBitmapIndex.Snapshot snapshot = snapshot(
+                recipe(1, 2, 0f, "계란", "대파"),
+                recipe(2, 2, 0f, "계란", "두부"));
+
+        Map<Integer, Double> scores = scoresById(
+                RecipeRanker.topK(snapshot, FRIDGE, Map.of("두부", 1.0, "양파", 0.5), 10));
+
+        // 임박 재료 긴급도 합 1.5 중 2번은 두부(1.0)를 씀
+        assertEquals(0.6 + 0.25, scores.get(1), DELTA);
+        assertEquals(0.6 + 0.25 + 0.5 * (1.0 / 1.5), scores.get(2), DELTA);
+    }
+
+    @Test
+    public void withinMissingOrdersByMissingThenRecipeId() {
+        IngredientBitmapIndex.Snapshot snapshot = snapshot(
+                recipe(2, 2, 0.2f, "계란"),
+                recipe(3, 2, 0.9f, "계란"),
+                recipe(4, 1, 1f, "감자"),
+                recipe(5, 3, 0.5f, "계란"),
+                recipe(7, 1, 0.1f, "계란"),
+                recipe(9, 4, 1f, "계란"));
+
+        // 부족: 7번 0개, 2·3번 1개, 5번 2개, 9번 3개 (제외), 4번은 일치 없음
+        RecipeRanker.Ranked[] ranked = RecipeRanker.withinMissing(snapshot, FRIDGE, 2, 10);
+        assertArrayEquals(new int[]{7, 2, 3, 5}, recipeIds(ranked));
+        assertEquals(0.9, ranked[2].score, 1e-6);
+
+        assertArrayEquals(new int[]{7, 2}, recipeIds(RecipeRanker.withinMissing(snapshot, FRIDGE, 2, 2)));
+        assertArrayEquals(new int[]{7}, recipeIds(RecipeRanker.withinMissing(snapshot, FRIDGE, 0, 10)));
+        assertEquals(0, RecipeRanker.withinMissing(snapshot, FRIDGE, -1, 10).length);
+    }
+
+
+    private static Recipe recipe(int recipeId, int ingredientCount, float popularity, String... ingredients) {
+        return new Recipe(recipeId, ingredientCount, popularity, ingredients);
+    }
+
+    // recipeId 순으로 순번을 매기고 재료별 비트맵 생성 (IngredientBitmapIndex.build와 같은 구조)
+    private static IngredientBitmapIndex.Snapshot snapshot(Recipe... recipes) {
+        Recipe[] sorted = recipes.clone();
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.recipeId, b.recipeId));
+
+        int[] recipeIds = new int[sorted.length];
+        int[] ingredientCounts = new int[sorted.length];
+        float[] popularity = new float[sorted.length];
+        TreeMap<String, RecipeBitmap> bitmapsByName = new TreeMap<>();
+
+        for (int ordinal = 0; ordinal < sorted.length; ordinal++) {
+            recipeIds[ordinal] = sorted[ordinal].recipeId;
+            ingredientCounts[ordinal] = sorted[ordinal].ingredientCount;
+            popularity[ordinal] = sorted[ordinal].popularity;
+            for (String name : sorted[ordinal].ingredients) {
+                bitmapsByName.computeIfAbsent(name, key -> new RecipeBitmap()).add(ordinal);
+            }
+        }
+
+        return new IngredientBitmapIndex.Snapshot(recipeIds, ingredientCounts, popularity,
+                bitmapsByName.keySet().toArray(new String[0]),
+                bitmapsByName.values().toArray(new RecipeBitmap[0]), 0);
+    }
+
+    private static int[] recipeIds(RecipeRanker.Ranked[] ranked) {
+        return Arrays.stream(ranked).mapToInt(entry -> entry.recipeId).toArray();
+    }
+
+    private static Map<Integer, Double> scoresById(RecipeRanker.Ranked[] ranked) {
+        Map<Integer, Double> scores = new TreeMap<>();
+        for (RecipeRanker.Ranked entry : ranked) {
+            scores.put(entry.recipeId, entry.score);
+        }
+        return scores;
+    }
+
+
+    private static final class Recipe {
+        final int recipeId;
+        final int ingredientCount;
+        final float popularity;
+        final String[] ingredients;
+
+        Recipe(int recipeId, int ingredientCount, float popularity, String[] ingredients) {
+            this.recipeId = recipeId;
+            this.ingredientCount = ingredientCount;
+            this.popularity = popularity;
+            this.ingredients = ingredients;
+        }
+    }
+}
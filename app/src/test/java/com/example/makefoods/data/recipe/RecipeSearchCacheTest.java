@@ -0,0 +1,115 @@
+package com.example.makefoods.data.recipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.room.InvalidationTracker;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * RecipeSearchCache 테스트 (키 정규화, 크기 제한, 세대 번호)
+ * DB 없이 테이블 변경 감지 객체를 직접 받아서 onInvalidated 호출
+ */
+public class RecipeSearchCacheTest {
+
+    private final List<InvalidationTracker.Observer> observers = new ArrayList<>();
+    private final RecipeSearchCache cache = new RecipeSearchCache(observers::add);
+    private final AtomicInteger loads = new AtomicInteger();
+
+
+    @Test
+    public void equivalentIngredientListsShareEntry() {
+        String key = RecipeSearchCache.ingredientKey("matches", List.of("달걀", "파"));
+        String same = RecipeSearchCache.ingredientKey("matches", List.of("대파", "계란 2개", " "));
+
+        assertEquals("matches|계란|대파", key);
+        assertEquals(key, same);
+
+        assertEquals(List.of(1, 2), cache.getOrLoad(key, () -> rows(1, 2)));
+        assertEquals(List.of(1, 2), cache.getOrLoad(same, () -> rows(9)));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedPastMaxEntries() {
+        for (int i = 0; i < RecipeSearchCache.MAX_ENTRIES; i++) {
+            cache.getOrLoad("key" + i, () -> rows(1));
+        }
+        // key0을 다시 써서 가장 오래 안 쓴 것은 key1
+        cache.getOrLoad("key0", () -> rows(1));
+        cache.getOrLoad("new", () -> rows(1));
+
+        assertEquals(RecipeSearchCache.MAX_ENTRIES, cache.size());
+        int before = loads.get();
+        cache.getOrLoad("key0", () -> rows(1));
+        assertEquals("key0은 남아 있음", before, loads.get());
+        cache.getOrLoad("key1", () -> rows(1));
+        assertEquals("key1은 삭제됨", before + 1, loads.get());
+    }
+
+    @Test
+    public void evictsPastMaxRows() {
+        int half = RecipeSearchCache.MAX_ROWS / 2;
+        cache.getOrLoad("a", () -> rowsOfSize(half));
+        cache.getOrLoad("b", () -> rowsOfSize(half));
+        assertEquals(2, cache.size());
+
+        // 합계가 MAX_ROWS를 넘으면 가장 오래된 a부터 삭제
+        cache.getOrLoad("c", () -> rowsOfSize(1));
+        assertEquals(2, cache.size());
+        int before = loads.get();
+        cache.getOrLoad("b", () -> rowsOfSize(half));
+        cache.getOrLoad("c", () -> rowsOfSize(1));
+        assertEquals(before, loads.get());
+
+        // MAX_ROWS보다 큰 결과는 저장하지 않고 기존 항목도 그대로
+        cache.getOrLoad("huge", () -> rowsOfSize(RecipeSearchCache.MAX_ROWS + 1));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void resultLoadedDuringClearIsNotStored() {
+        List<Integer> result = cache.getOrLoad("key", () -> {
+            cache.clear();
+            return rows(1);
+        });
+        assertEquals(List.of(1), result);
+        assertEquals(0, cache.size());
+
+        cache.getOrLoad("key", () -> rows(1));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void observerIsRegisteredOnFirstLoadAndClearsCache() {
+        assertTrue("생성자에서는 등록하지 않음", observers.isEmpty());
+
+        cache.getOrLoad("key", () -> rows(1));
+        cache.getOrLoad("other", () -> rows(2));
+        assertEquals(1, observers.size());
+
+        observers.get(0).onInvalidated(Collections.singleton("recipes"));
+        assertEquals(0, cache.size());
+        cache.getOrLoad("key", () -> rows(1));
+        assertEquals(3, loads.get());
+    }
+
+
+    private List<Integer> rows(Integer... values) {
+        loads.incrementAndGet();
+        return List.of(values);
+    }
+
+    private List<Integer> rowsOfSize(int size) {
+        loads.incrementAndGet();
+        return Collections.nCopies(size, 0);
+    }
+}
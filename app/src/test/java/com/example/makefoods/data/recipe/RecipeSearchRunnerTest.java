@@ -0,0 +1,172 @@
+package com.example.makefoods.data.recipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.os.OperationCanceledException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * RecipeSearchRunner 테스트
+ *
+ * 스레드 하나짜리 실행기를 넘겨서 검색 실행 순서를 고정하고
+ * 최근 요청만 전달되는지, 취소된 요청은 콜백이 없는지 확인
+ */
+public class RecipeSearchRunnerTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final RecipeSearchRunner runner = new RecipeSearchRunner(executor);
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    @Test
+    public void deliversOnlyLatestResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 첫 검색은 실행 중에 다음 요청이 들어옴 (signal을 무시하고 끝까지 실행)
+        runner.submit(signal -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }, recording());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        runner.submit(signal -> "second", recording());
+        release.countDown();
+        awaitIdle();
+
+        assertEquals(List.of("second"), delivered);
+    }
+
+    @Test
+    public void queuedSearchIsSkippedWhenReplaced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        boolean[] ran = {false};
+
+        // 실행기를 막아두고 다음 검색을 대기열에 넣음
+        runner.submit(signal -> {
+            started.countDown();
+            release.await();
+            return "blocking";
+        }, recording());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        runner.submit(signal -> {
+            ran[0] = true;
+            return "queued";
+        }, recording());
+        runner.submit(signal -> "latest", recording());
+        release.countDown();
+        awaitIdle();
+
+        assertFalse("대기 중에 취소된 검색은 실행하지 않음", ran[0]);
+        assertEquals(List.of("latest"), delivered);
+    }
+
+    @Test
+    public void cancelledSearchNeverCallsBack() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        RecipeSearchRunner.Handle handle = runner.submit(signal -> {
+            started.countDown();
+            release.await();
+            return "cancelled";
+        }, recording());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        runner.cancel();
+        assertTrue(handle.isCancelled());
+        release.countDown();
+
+        // 쿼리가 취소 신호로 중단된 경우(OperationCanceledException)도 onError 없음
+        runner.submit(signal -> {
+            throw new OperationCanceledException();
+        }, recording());
+        awaitIdle();
+
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    public void errorGoesToOnError() throws Exception {
+        runner.submit(signal -> {
+            throw new IllegalStateException("DB 오류");
+        }, recording());
+        awaitIdle();
+
+        assertEquals(List.of("error: DB 오류"), delivered);
+    }
+
+    @Test
+    public void submitDoesNotWaitForRunningCallback() throws Exception {
+        CountDownLatch inCallback = new CountDownLatch(1);
+        CountDownLatch releaseCallback = new CountDownLatch(1);
+
+        runner.submit(signal -> "slow", new RecipeSearchRunner.Callback<String>() {
+            @Override
+            public void onResult(String result) {
+                inCallback.countDown();
+                try {
+                    releaseCallback.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.add(result);
+            }
+
+            @Override
+            public void onError(Exception e) {
+            }
+        });
+        assertTrue(inCallback.await(5, TimeUnit.SECONDS));
+
+        // 콜백이 끝나지 않았어도 다른 스레드(메인 스레드 역할)의 submit()은 바로 반환
+        Thread submitter = new Thread(() -> runner.submit(signal -> "next", recording()));
+        submitter.start();
+        submitter.join(2000);
+        boolean submitReturned = !submitter.isAlive();
+
+        releaseCallback.countDown();
+        awaitIdle();
+
+        assertTrue("콜백 실행 중 submit()이 막힘", submitReturned);
+        assertEquals(List.of("slow", "next"), delivered);
+    }
+
+
+    private RecipeSearchRunner.Callback<String> recording() {
+        return new RecipeSearchRunner.Callback<String>() {
+            @Override
+            public void onResult(String result) {
+                delivered.add(result);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                delivered.add("error: " + e.getMessage());
+            }
+        };
+    }
+
+    // 이미 제출된 작업이 모두 끝날 때까지 대기
+    private void awaitIdle() throws Exception {
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteProgram;
+import com.example.makefoods.model.RecipeFilter;
+import com.example.makefoods.model.RecipeMatch;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * IngredientMatchQuery 테스트 (SQL 문자열, 바인딩 인자)
+ * 인자는 bindTo로 받아서 확인 (정수는 Long, 문자열은 String)
+ */
+public class IngredientMatchQueryTest {
+
+    private static final String SUMMARY_SELECT = "SELECT r.recipeId, r.name, r.ingredients, r.cookingTime, "
+            + "r.difficulty, m.matchCount FROM recipes r JOIN (";
+
+    // [계란, 대파] 두 재료의 UNION ALL + 묶기
+    private static final String TWO_TERMS = "SELECT recipeId, COUNT(DISTINCT term) AS matchCount FROM ("
+            + "SELECT recipeId, 0 AS term FROM recipe_ingredients WHERE name = ?"
+            + " UNION ALL "
+            + "SELECT recipeId, 1 AS term FROM recipe_ingredients WHERE name = ?"
+            + ") GROUP BY recipeId) m ON m.recipeId = r.recipeId";
+
+    private static final String ORDER = " ORDER BY m.matchCount DESC, r.recipeId";
+
+    // 정규화하면 [계란, 대파] (동의어, 분량, 빈 값은 하나로)
+    private static final List<String> INGREDIENTS = List.of("달걀", "파", "계란 2개", " ", "대파");
+
+
+    @Test
+    public void firstPage() {
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummariesPage(INGREDIENTS, null, 20);
+
+        assertEquals(SUMMARY_SELECT + TWO_TERMS + ORDER + " LIMIT ?", query.getSql());
+        assertArrayEquals(new Object[]{"계란", "대파", 20L}, args(query));
+    }
+
+    @Test
+    public void nextPageStartsAfterLastRow() {
+        RecipeMatch last = new RecipeMatch();
+        last.matchCount = 2;
+        last.recipeId = 37;
+
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummariesPage(INGREDIENTS, last, 20);
+
+        assertEquals(SUMMARY_SELECT + TWO_TERMS
+                + " WHERE (m.matchCount < ? OR (m.matchCount = ? AND r.recipeId > ?))"
+                + ORDER + " LIMIT ?", query.getSql());
+        assertArrayEquals(new Object[]{"계란", "대파", 2L, 2L, 37L, 20L}, args(query));
+
+        // 페이지 크기는 최소 1
+        assertArrayEquals(new Object[]{"계란", "대파", 2L, 2L, 37L, 1L},
+                args(IngredientMatchQuery.forSummariesPage(INGREDIENTS, last, 0)));
+    }
+
+    @Test
+    public void filterAddsRangeConditions() {
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummaries(INGREDIENTS, new RecipeFilter(30, 2));
+
+        assertEquals(SUMMARY_SELECT + TWO_TERMS
+                + " WHERE r.difficultyLevel BETWEEN ? AND ? AND r.cookingMinutes BETWEEN ? AND ?"
+                + ORDER, query.getSql());
+        assertArrayEquals(new Object[]{"계란", "대파", 1L, 2L, 1L, 30L}, args(query));
+
+        // 조건이 없는 필터는 WHERE 없음
+        SimpleSQLiteQuery unfiltered = IngredientMatchQuery.forSummaries(INGREDIENTS, RecipeFilter.NONE);
+        assertEquals(SUMMARY_SELECT + TWO_TERMS + ORDER, unfiltered.getSql());
+        assertArrayEquals(new Object[]{"계란", "대파"}, args(unfiltered));
+    }
+
+    @Test
+    public void fullRecipesSelectAllColumns() {
+        SimpleSQLiteQuery query = IngredientMatchQuery.forRecipes(List.of("두부"));
+
+        assertTrue(query.getSql().startsWith("SELECT r.* FROM recipes r JOIN ("));
+        assertTrue(query.getSql().endsWith(ORDER));
+        assertArrayEquals(new Object[]{"두부"}, args(query));
+    }
+
+    @Test
+    public void noSearchableIngredientsGivesNull() {
+        assertNull(IngredientMatchQuery.forSummaries(null));
+        assertNull(IngredientMatchQuery.forSummaries(List.of("", "  ")));
+        assertNull(IngredientMatchQuery.forSummariesPage(List.of(), null, 20));
+    }
+
+    @Test
+    public void truncatesToMaxIngredients() {
+        List<String> ingredients = new ArrayList<>();
+        Set<String> expectedKeys = new LinkedHashSet<>();
+        for (int i = 0; expectedKeys.size() < IngredientMatchQuery.MAX_INGREDIENTS + 100; i++) {
+            String ingredient = (char) ('가' + i) + "채";
+            ingredients.add(ingredient);
+            ingredients.add(ingredient);
+            expectedKeys.add(IngredientMatchQuery.nameKey(ingredient));
+        }
+
+        SimpleSQLiteQuery query = IngredientMatchQuery.forSummaries(ingredients);
+
+        int max = IngredientMatchQuery.MAX_INGREDIENTS;
+        assertEquals(max, query.getArgCount());
+        assertEquals(max - 1, query.getSql().split(" UNION ALL ", -1).length - 1);
+        assertTrue(query.getSql().contains("SELECT recipeId, " + (max - 1) + " AS term "));
+        assertArrayEquals(new ArrayList<>(expectedKeys).subList(0, max).toArray(), args(query));
+    }
+
+
+    private static Object[] args(SimpleSQLiteQuery query) {
+        Object[] args = new Object[query.getArgCount()];
+        query.bindTo(new SupportSQLiteProgram() {
+            @Override
+            public void bindNull(int index) {
+                args[index - 1] = null;
+            }
+
+            @Override
+            public void bindLong(int index, long value) {
+                args[index - 1] = value;
+            }
+
+            @Override
+            public void bindDouble(int index, double value) {
+                args[index - 1] = value;
+            }
+
+            @Override
+            public void bindString(int index, String value) {
+                args[index - 1] = value;
+            }
+
+            @Override
+            public void bindBlob(int index, byte[] value) {
+                args[index - 1] = value;
+            }
+
+            @Override
+            public void clearBindings() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return args;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * IngredientNormalizer 테스트 (클래스 설명에 있는 예시 기준)
+ */
+public class IngredientNormalizerTest {
+
+    @Test
+    public void removesQuantitiesAndUnits() {
+        assertEquals("계란", IngredientNormalizer.normalize("계란 3개"));
+        assertEquals("밥", IngredientNormalizer.normalize("밥1공기"));
+        assertEquals("고추장", IngredientNormalizer.normalize("고추장 약간"));
+        assertEquals("고추장", IngredientNormalizer.normalize("고추장듬뿍"));
+        assertEquals("설탕", IngredientNormalizer.normalize("설탕 1/2컵"));
+        assertEquals("간장", IngredientNormalizer.normalize("간장 1.5 큰술"));
+        assertEquals("계란", IngredientNormalizer.normalize("계란 3"));
+    }
+
+    @Test
+    public void keepsNumbersThatArePartOfName() {
+        assertEquals("3분카레", IngredientNormalizer.normalize("3분카레"));
+        assertEquals("7up", IngredientNormalizer.normalize("7UP"));
+    }
+
+    @Test
+    public void removesParenthesesSpacesAndSymbols() {
+        assertEquals("두부", IngredientNormalizer.normalize("두부(부침용)"));
+        assertEquals("두부", IngredientNormalizer.normalize("두부[1모]"));
+        assertEquals("계란", IngredientNormalizer.normalize(". 계란,"));
+    }
+
+    @Test
+    public void mapsSynonymsToCanonicalName() {
+        assertEquals("계란", IngredientNormalizer.normalize("달걀"));
+        assertEquals("대파", IngredientNormalizer.normalize("파"));
+        assertEquals("소고기", IngredientNormalizer.normalize("쇠고기"));
+        assertEquals("고춧가루", IngredientNormalizer.normalize("고추가루"));
+        assertEquals("무", IngredientNormalizer.normalize("무우"));
+    }
+
+    @Test
+    public void stripsModifiersOnlyAroundBaseNames() {
+        assertEquals("마늘", IngredientNormalizer.normalize("다진 마늘"));
+        assertEquals("마늘", IngredientNormalizer.normalize("다진마늘"));
+        assertEquals("소고기", IngredientNormalizer.normalize("소고기다짐육"));
+        assertEquals("대파", IngredientNormalizer.normalize("대파흰부분"));
+        assertEquals("대파", IngredientNormalizer.normalize("다진파"));
+
+        // 꾸밈말처럼 시작하지만 기본 재료 자체인 이름
+        assertEquals("생강", IngredientNormalizer.normalize("생강"));
+        assertEquals("간장", IngredientNormalizer.normalize("간장"));
+    }
+
+    @Test
+    public void meatCutsMapToMeatButSeasoningsDoNot() {
+        assertEquals("소고기", IngredientNormalizer.normalize("소고기부채살"));
+        assertEquals("소고기", IngredientNormalizer.normalize("쇠고기 양지 국거리용"));
+        assertEquals("돼지고기", IngredientNormalizer.normalize("돼지고기카레용"));
+        assertEquals("소고기다시다", IngredientNormalizer.normalize("소고기다시다"));
+        assertEquals("소고기볶음고추장", IngredientNormalizer.normalize("소고기볶음고추장"));
+    }
+
+    @Test
+    public void composesDecomposedHangul() {
+        // 자모로 나뉜 "계란" (NFD)
+        String decomposed = java.text.Normalizer.normalize("계란", java.text.Normalizer.Form.NFD);
+        assertNotEquals("계란", decomposed);
+        assertEquals("계란", IngredientNormalizer.normalize(decomposed));
+    }
+
+    @Test
+    public void emptyWhenNoName() {
+        assertEquals("", IngredientNormalizer.normalize(null));
+        assertEquals("", IngredientNormalizer.normalize("  "));
+        assertEquals("", IngredientNormalizer.normalize("(선택)"));
+    }
+
+    @Test
+    public void displayNameKeepsWordsButDropsQuantity() {
+        assertEquals("계란", IngredientNormalizer.displayName("계란 3개"));
+        assertEquals("다진 마늘", IngredientNormalizer.displayName("  다진 마늘 1큰술 "));
+        assertEquals("달걀", IngredientNormalizer.displayName("달걀"));
+
+        // 분량만 있는 이름은 그대로
+        assertEquals("300g", IngredientNormalizer.displayName("300g"));
+        assertEquals("", IngredientNormalizer.displayName(null));
+    }
+
+    @Test
+    public void sameIngredientUsesExactNormalizedMatch() {
+        assertTrue(IngredientNormalizer.isSameIngredient("달걀", "계란 2개"));
+        assertTrue(IngredientNormalizer.isSameIngredient("쇠고기", "소고기다짐육"));
+
+        // 앞부분 일치는 같은 재료가 아님
+        assertFalse(IngredientNormalizer.isSameIngredient("파", "파프리카"));
+        assertFalse(IngredientNormalizer.isSameIngredient("파", "파슬리"));
+        assertFalse(IngredientNormalizer.isSameIngredient("소고기", "소고기다시다"));
+
+        // 빈 이름끼리는 같은 재료가 아님
+        assertFalse(IngredientNormalizer.isSameIngredient("", " "));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.example.makefoods.model.Recipe;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * ParallelRecipeCsvLoader 테스트
+ *
+ * 스레드 수와 구간 최소 크기를 직접 넘겨서 단일 코어 환경에서도 병렬 경로를 실행
+ * 결과는 순차 로더(RecipeCsvLoader.streamRecipes)와 레시피, 순서가 같아야 함
+ */
+public class ParallelRecipeCsvLoaderTest {
+
+    // 단위 테스트는 app 모듈 디렉터리에서 실행됨
+    private static final File RECIPES_CSV = new File("src/main/assets/recipes.csv");
+
+    private static final int RECIPE_COUNT = 2001;
+    private static final int PARALLELISM = 4;
+    private static final int BATCH_SIZE = 250;
+
+    private static final String HEADER = "RCP_SNO,RCP_TTL,CKG_NM,RGTR_ID,RGTR_NM,INQ_CNT,RCMM_CNT,SRAP_CNT,"
+            + "CKG_MTH_ACTO_NM,CKG_STA_ACTO_NM,CKG_MTRL_ACTO_NM,CKG_KND_ACTO_NM,CKG_IPDC,CKG_MTRL_CN,"
+            + "CKG_INBUN_NM,CKG_DODF_NM,CKG_TIME_NM,FIRST_REG_DT,RCP_IMG_URL,COOKING_STEPS\n";
+
+    private final List<File> tempFiles = new ArrayList<>();
+
+
+    @After
+    public void deleteTempFiles() {
+        for (File file : tempFiles) {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void sameRecipesInSameOrderAsSequentialLoader() throws Exception {
+        List<String> parallel = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        int total = ParallelRecipeCsvLoader.streamRecipes(RECIPES_CSV, BATCH_SIZE, batch -> {
+            batchSizes.add(batch.size());
+            addKeys(parallel, batch);
+        }, PARALLELISM, 16 * 1024);
+
+        assertTrue(ParallelRecipeCsvLoader.splitIntoRecordRanges(RECIPES_CSV, PARALLELISM * 4, 16 * 1024).size() > 1);
+        assertEquals(RECIPE_COUNT, total);
+        assertEquals(sequentialKeys(RECIPES_CSV), parallel);
+
+        // 마지막 배치만 BATCH_SIZE보다 작음
+        for (int i = 0; i < batchSizes.size() - 1; i++) {
+            assertEquals(BATCH_SIZE, (int) batchSizes.get(i));
+        }
+    }
+
+    @Test
+    public void multiLineQuotedFieldsAcrossRangeBoundaries() throws Exception {
+        // 대부분의 바이트가 여러 줄짜리 따옴표 필드 안에 있고, 그 안에 레코드처럼 보이는 줄이 있음
+        // 구간을 따옴표 안에서 자르면 가짜 레시피가 생기거나 레시피 수가 달라짐
+        int recipeCount = 60;
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        csv.write(HEADER.getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < recipeCount; i++) {
+            csv.write(record(i, "레시피 " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        File file = writeTemp(csv.toByteArray());
+
+        List<long[]> ranges = ParallelRecipeCsvLoader.splitIntoRecordRanges(file, PARALLELISM * 4, 256);
+        assertTrue("구간 " + ranges.size() + "개", ranges.size() >= 8);
+
+        List<String> parallel = new ArrayList<>();
+        int total = ParallelRecipeCsvLoader.streamRecipes(file, 7, batch -> addKeys(parallel, batch), PARALLELISM, 256);
+
+        assertEquals(recipeCount, total);
+        assertEquals(sequentialKeys(file), parallel);
+        for (String key : parallel) {
+            assertFalse(key, key.contains("가짜"));
+        }
+    }
+
+    @Test
+    public void decodingErrorInOneRangeFailsImport() throws Exception {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        csv.write(HEADER.getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 60; i++) {
+            byte[] bytes = record(i, "레시피 " + i).getBytes(StandardCharsets.UTF_8);
+            if (i == 45) {
+                // 뒤쪽 구간에 잘못된 UTF-8 바이트
+                bytes[bytes.length / 2] = (byte) 0xFF;
+            }
+            csv.write(bytes);
+        }
+        File file = writeTemp(csv.toByteArray());
+
+        int[] delivered = {0};
+        try {
+            ParallelRecipeCsvLoader.streamRecipes(file, 7, batch -> delivered[0] += batch.size(), PARALLELISM, 256);
+            fail("구간 하나의 디코딩 실패가 IOException으로 전달되어야 함");
+        } catch (IOException expected) {
+            // 실패한 구간 이후는 전달하지 않음
+            assertTrue("전달된 레시피 " + delivered[0], delivered[0] < 45);
+        }
+    }
+
+
+    // recipes.csv와 같은 20개 컬럼, 설명과 조리 순서는 여러 줄짜리 따옴표 필드
+    private static String record(int index, String name) {
+        String fakeLine = (9000 + index) + ",가짜 레시피 " + index + ",x,,,,,,,,,,,,,,,,,";
+        String description = "\"설명 " + index + "\n" + fakeLine + "\n\"\"따옴표\"\" 포함\"";
+        String steps = "\"1. 재료를 손질한다.\n" + fakeLine + "\n2. 끓인다. 냄비, 국자\n3. 그릇에 담는다.\"";
+
+        return String.join(",",
+                String.valueOf(1000 + index), name, "요리" + index, "user" + index, "작성자",
+                String.valueOf(index), "0", "1", "끓이기", "일상", "소고기", "국/탕",
+                description, "[재료] 소고기100g| 대파1대",
+                "2인분", "초급", "30분이내", "20240101000000", "", steps) + "\n";
+    }
+
+    private File writeTemp(byte[] content) throws IOException {
+        File file = File.createTempFile("recipes", ".csv");
+        tempFiles.add(file);
+        Files.write(file.toPath(), content);
+        return file;
+    }
+
+    private static List<String> sequentialKeys(File csvFile) throws IOException {
+        List<String> keys = new ArrayList<>();
+        try (InputStream input = new FileInputStream(csvFile)) {
+            RecipeCsvLoader.streamRecipes(input, BATCH_SIZE, batch -> addKeys(keys, batch));
+        }
+        return keys;
+    }
+
+    // sink로 받은 배치는 다음 배치에 재사용되므로 바로 복사
+    private static void addKeys(List<String> keys, List<Recipe> batch) {
+        for (Recipe recipe : batch) {
+            keys.add(recipe.getRecipeId() + "|" + recipe.getName() + "|" + RecipeCsvLoader.contentHash(recipe));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.example.makefoods.model.Recipe;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * RecipeCsvLoader 스트리밍 임포트 테스트
+ *
+ * 번들 CSV(assets/recipes.csv)를 그대로 읽어서 배치 크기와 실패 처리를 확인
+ */
+public class RecipeCsvLoaderTest {
+
+    // 단위 테스트는 app 모듈 디렉터리에서 실행됨
+    private static final File RECIPES_CSV = new File("src/main/assets/recipes.csv");
+
+    // 번들 CSV의 레시피 수 (app/build.gradle.kts의 expectedRowCount와 같음)
+    private static final int RECIPE_COUNT = 2001;
+
+    private static final int BATCH_SIZE = 250;
+
+
+    @Test
+    public void streamsWholeAssetInBoundedBatches() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+
+        int total;
+        try (InputStream input = new FileInputStream(RECIPES_CSV)) {
+            total = RecipeCsvLoader.streamRecipes(input, BATCH_SIZE, batch -> batchSizes.add(batch.size()));
+        }
+
+        assertEquals(RECIPE_COUNT, total);
+        assertEquals((RECIPE_COUNT + BATCH_SIZE - 1) / BATCH_SIZE, batchSizes.size());
+        for (int i = 0; i < batchSizes.size() - 1; i++) {
+            assertEquals(BATCH_SIZE, (int) batchSizes.get(i));
+        }
+        assertEquals(RECIPE_COUNT % BATCH_SIZE, (int) batchSizes.get(batchSizes.size() - 1));
+    }
+
+    @Test
+    public void sinkFailureStopsImport() throws Exception {
+        int[] calls = {0};
+
+        try (InputStream input = new FileInputStream(RECIPES_CSV)) {
+            RecipeCsvLoader.streamRecipes(input, BATCH_SIZE, batch -> {
+                calls[0]++;
+                if (calls[0] == 2) {
+                    throw new IllegalStateException("DB 저장 실패");
+                }
+            });
+            fail("sink 예외가 호출한 쪽으로 전달되어야 함");
+        } catch (IllegalStateException e) {
+            assertEquals("DB 저장 실패", e.getMessage());
+        }
+
+        // 실패한 배치를 붙잡고 계속 읽지 않음
+        assertEquals(2, calls[0]);
+    }
+
+    @Test
+    public void skipsRowsThatFailToParse() throws Exception {
+        String csv = row("RCP_SNO", "RCP_TTL") + "\n"
+                + row("abc", "숫자가 아닌 ID") + "\n"
+                + row("1", "") + "\n"
+                + "2,필드가 모자란 행\n"
+                + row("3", "김치찌개") + "\n";
+
+        List<Recipe> recipes = new ArrayList<>();
+        int total = RecipeCsvLoader.streamRecipes(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BATCH_SIZE, recipes::addAll);
+
+        assertEquals(1, total);
+        assertEquals(3, recipes.get(0).getRecipeId());
+        assertEquals("김치찌개", recipes.get(0).getName());
+    }
+
+
+    // 20개 컬럼 행 (ID, 이름 외에는 채우기용 값)
+    private static String row(String id, String name) {
+        StringBuilder row = new StringBuilder(id).append(',').append(name);
+        for (int i = 2; i < RecipeCsvLoader.CSV_COLUMN_COUNT; i++) {
+            row.append(",x");
+        }
+        return row.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+/**
+ * RecipeCsvTokenizer 테스트
+ *
+ * 따옴표/줄바꿈 처리, 필드 접근
+ */
+public class RecipeCsvTokenizerTest {
+
+    @Test
+    public void quotedFieldKeepsLineBreaksAndCommas() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer("1,\"첫 줄,\n둘째 줄\",끝\n2,다음,레코드\n", 3);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.fieldCount());
+        assertEquals("첫 줄,\n둘째 줄", tokenizer.field(1));
+        assertEquals("끝", tokenizer.field(2));
+        assertEquals(1, tokenizer.lineNumber());
+
+        // 따옴표 안의 줄바꿈도 물리적 줄 번호에 포함
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("2", tokenizer.field(0));
+        assertEquals(3, tokenizer.lineNumber());
+
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    public void doubledQuoteIsEscapedQuote() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer("\"그는 \"\"맛있다\"\"고 했다\",\"\"\"\"\n", 2);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("그는 \"맛있다\"고 했다", tokenizer.field(0));
+        assertEquals("\"", tokenizer.field(1));
+    }
+
+    @Test
+    public void crlfEndsRecordOutsideQuotes() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer("a,b\r\nc,d\r\n", 2);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("b", tokenizer.field(1));
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("c", tokenizer.field(0));
+        assertEquals("d", tokenizer.field(1));
+        assertEquals(2, tokenizer.lineNumber());
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    public void lastRecordWithoutLineBreak() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer("a,b\nc,d", 2);
+
+        assertTrue(tokenizer.nextRecord());
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("d", tokenizer.field(1));
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    public void fieldsAreTrimmedAndMissingFieldsAreEmpty() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer("  김치찌개 \t,,\" 공백 \"\n", 5);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.fieldCount());
+        assertEquals("김치찌개", tokenizer.field(0));
+        assertEquals("", tokenizer.field(1));
+        assertEquals("공백", tokenizer.field(2));
+        assertEquals("", tokenizer.field(3));
+    }
+
+    @Test
+    public void fieldsBeyondMaxFieldsAreOnlyCounted() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer("a,b,c,d\n", 2);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(4, tokenizer.fieldCount());
+        assertEquals("b", tokenizer.field(1));
+        assertEquals("", tokenizer.field(2));
+    }
+
+    @Test
+    public void intFieldParsesWithoutCreatingString() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer(" 42 ,-7,2147483647,-2147483648\n", 4);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(42, tokenizer.intField(0));
+        assertEquals(-7, tokenizer.intField(1));
+        assertEquals(Integer.MAX_VALUE, tokenizer.intField(2));
+        assertEquals(Integer.MIN_VALUE, tokenizer.intField(3));
+    }
+
+    @Test
+    public void intFieldRejectsNonNumbers() throws IOException {
+        RecipeCsvTokenizer tokenizer = tokenizer("\uFEFFRCP_SNO,,-,12a,2147483648\n", 6);
+        assertTrue(tokenizer.nextRecord());
+
+        // 헤더의 BOM, 빈 값, 부호만, 숫자 아닌 문자, 범위 초과, 없는 필드
+        for (int index = 0; index < 6; index++) {
+            try {
+                tokenizer.intField(index);
+                fail("NumberFormatException 필요: " + index);
+            } catch (NumberFormatException expected) {
+                // 예상한 예외
+            }
+        }
+    }
+
+    @Test
+    public void recordLongerThanInitialBuffer() throws IOException {
+        StringBuilder longField = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            longField.append((char) ('가' + i % 100));
+        }
+        RecipeCsvTokenizer tokenizer = tokenizer("1,\"" + longField + "\",끝\n", 3);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(longField.toString(), tokenizer.field(1));
+        assertEquals("끝", tokenizer.field(2));
+    }
+
+
+    private static RecipeCsvTokenizer tokenizer(String csv, int maxFields) {
+        return new RecipeCsvTokenizer(new StringReader(csv), maxFields);
+    }
+}
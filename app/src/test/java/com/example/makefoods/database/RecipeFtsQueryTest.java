@@ -0,0 +1,72 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.Test;
+
+/**
+ * RecipeFtsQuery 테스트 (MATCH 문자열, matchinfo 점수)
+ * 실제 검색 시간은 기기 테스트(RecipeFtsLatencyTest)에서 측정
+ */
+public class RecipeFtsQueryTest {
+
+    @Test
+    public void buildsPrefixTermsPerWord() {
+        assertEquals("김치* 돼지고기*", RecipeFtsQuery.build("김치 돼지고기", null));
+        assertEquals("name:김치* name:돼지고기*", RecipeFtsQuery.build("김치 돼지고기", RecipeFtsQuery.COLUMN_NAME));
+        assertEquals("ingredients:두부*", RecipeFtsQuery.build(" 두부 ", RecipeFtsQuery.COLUMN_INGREDIENTS));
+    }
+
+    @Test
+    public void operatorsAreNotPassedThrough() {
+        assertEquals("김치* or* 찌개*", RecipeFtsQuery.build("김치 OR -찌개", null));
+        assertEquals("name* 김치*", RecipeFtsQuery.build("name:\"김치\"*", null));
+        assertEquals("", RecipeFtsQuery.build(" -*\"() ", null));
+        assertEquals("", RecipeFtsQuery.build(null, null));
+    }
+
+    @Test
+    public void scoreWeightsNameAboveIngredientsAboveDescription() {
+        // 단어 1개, 컬럼 3개, 전체 100행, 일치 행 10개
+        double nameHit = RecipeFtsQuery.score(matchInfo(1, 3, 100, new int[][]{{1, 1, 10}, {0, 0, 10}, {0, 0, 10}}));
+        double ingredientHit = RecipeFtsQuery.score(matchInfo(1, 3, 100, new int[][]{{0, 0, 10}, {1, 1, 10}, {0, 0, 10}}));
+        double descriptionHit = RecipeFtsQuery.score(matchInfo(1, 3, 100, new int[][]{{0, 0, 10}, {0, 0, 10}, {1, 1, 10}}));
+
+        assertTrue(nameHit > ingredientHit);
+        assertTrue(ingredientHit > descriptionHit);
+        assertEquals(3.0 * Math.log(1 + 100.0 / 10), nameHit, 1e-9);
+    }
+
+    @Test
+    public void rareWordsScoreHigher() {
+        double rare = RecipeFtsQuery.score(matchInfo(1, 3, 1000, new int[][]{{1, 1, 2}, {0, 0, 0}, {0, 0, 0}}));
+        double common = RecipeFtsQuery.score(matchInfo(1, 3, 1000, new int[][]{{1, 1, 500}, {0, 0, 0}, {0, 0, 0}}));
+
+        assertTrue(rare > common);
+    }
+
+    @Test
+    public void malformedMatchInfoScoresWhatItCan() {
+        assertEquals(0.0, RecipeFtsQuery.score(null), 0.0);
+        assertEquals(0.0, RecipeFtsQuery.score(new byte[8]), 0.0);
+
+        // 컬럼 정보가 잘린 경우: 앞 컬럼까지만 점수
+        byte[] full = matchInfo(1, 3, 100, new int[][]{{1, 1, 10}, {1, 1, 10}, {1, 1, 10}});
+        byte[] truncated = java.util.Arrays.copyOf(full, 12 + 12);
+        assertEquals(3.0 * Math.log(11), RecipeFtsQuery.score(truncated), 1e-9);
+    }
+
+
+    // matchinfo 'pcnx' 형식: [p][c][n] + 단어/컬럼마다 [이 행 일치 수][전체 일치 수][일치 행 수]
+    private static byte[] matchInfo(int phrases, int columns, int rows, int[][] hits) {
+        ByteBuffer buffer = ByteBuffer.allocate(12 + 12 * hits.length).order(ByteOrder.nativeOrder());
+        buffer.putInt(phrases).putInt(columns).putInt(rows);
+        for (int[] hit : hits) {
+            buffer.putInt(hit[0]).putInt(hit[1]).putInt(hit[2]);
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.makefoods.model.RecipeIngredient;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * RecipeIngredientParser 테스트 (CKG_MTRL_CN 형식)
+ */
+public class RecipeIngredientParserTest {
+
+    private static final char SEP = '\u0007';
+
+
+    @Test
+    public void parsesNameQuantityAndUnitAcrossSections() {
+        String text = "[재료] 떡국떡" + SEP + "400" + SEP + "g" + SEP
+                + "| 계란" + SEP + "2" + SEP + "개" + SEP
+                + " [양념] 국간장" + SEP + "1" + SEP + "T";
+
+        List<RecipeIngredient> ingredients = RecipeIngredientParser.parse(7, text);
+
+        assertEquals(3, ingredients.size());
+
+        RecipeIngredient first = ingredients.get(0);
+        assertEquals(7, first.recipeId);
+        assertEquals(0, first.position);
+        assertEquals("떡국떡", first.name);
+        assertEquals("떡국떡", first.rawName);
+        assertEquals("400g", first.amount);
+        assertEquals(400.0, first.quantity, 0.0);
+        assertEquals("g", first.unit);
+
+        assertEquals("계란", ingredients.get(1).name);
+        assertEquals(1, ingredients.get(1).position);
+
+        // 구역 머리말은 이름에서 제거
+        assertEquals("국간장", ingredients.get(2).name);
+        assertEquals("국간장", ingredients.get(2).rawName);
+        assertEquals("T", ingredients.get(2).unit);
+    }
+
+    @Test
+    public void keepsFirstOfSameNormalizedName() {
+        String text = "달걀" + SEP + "1" + SEP + "개" + SEP
+                + "| 다진 마늘" + SEP + "1" + SEP + "큰술" + SEP
+                + "| 계란" + SEP + "2" + SEP + "개" + SEP
+                + "| 마늘" + SEP + "3" + SEP + "쪽" + SEP;
+
+        List<RecipeIngredient> ingredients = RecipeIngredientParser.parse(1, text);
+
+        assertEquals(2, ingredients.size());
+        assertEquals("계란", ingredients.get(0).name);
+        assertEquals("달걀", ingredients.get(0).rawName);
+        assertEquals("1개", ingredients.get(0).amount);
+        assertEquals("마늘", ingredients.get(1).name);
+        assertEquals("다진 마늘", ingredients.get(1).rawName);
+        assertEquals(1, ingredients.get(1).position);
+    }
+
+    @Test
+    public void toleratesMissingQuantityAndEmptyInput() {
+        List<RecipeIngredient> ingredients = RecipeIngredientParser.parse(1, "소금" + SEP + "약간");
+
+        assertEquals(1, ingredients.size());
+        assertEquals("소금", ingredients.get(0).name);
+        assertEquals("약간", ingredients.get(0).amount);
+        assertNull(ingredients.get(0).quantity);
+        assertEquals("", ingredients.get(0).unit);
+
+        assertTrue(RecipeIngredientParser.parse(1, null).isEmpty());
+        assertTrue(RecipeIngredientParser.parse(1, "").isEmpty());
+        assertTrue(RecipeIngredientParser.parse(1, "[재료]" + SEP + SEP + SEP).isEmpty());
+    }
+
+    @Test
+    public void parsesQuantities() {
+        assertEquals(0.5, RecipeIngredientParser.parseQuantity("1/2"), 0.0);
+        assertEquals(1.5, RecipeIngredientParser.parseQuantity("1.5"), 0.0);
+        assertEquals(2.5, RecipeIngredientParser.parseQuantity("2~3"), 0.0);
+        assertEquals(3.0, RecipeIngredientParser.parseQuantity("약간~3"), 0.0);
+        assertNull(RecipeIngredientParser.parseQuantity("1/0"));
+        assertNull(RecipeIngredientParser.parseQuantity("약간"));
+        assertNull(RecipeIngredientParser.parseQuantity(""));
+        assertNull(RecipeIngredientParser.parseQuantity(null));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.makefoods.model.RecipeIngredient;
+import com.example.makefoods.model.RecipeLshBand;
+import com.example.makefoods.model.RecipeSignature;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * RecipeMinHash 테스트 (서명, 유사도 추정, LSH 밴드, 저장 형식)
+ */
+public class RecipeMinHashTest {
+
+    @Test
+    public void sameSetGivesSameSignatureRegardlessOfOrder() {
+        int[] a = RecipeMinHash.signatureOf(Arrays.asList("계란", "대파", "소금"));
+        int[] b = RecipeMinHash.signatureOf(Arrays.asList("소금", "", "계란", "대파", "계란", null));
+
+        assertEquals(RecipeMinHash.SIGNATURE_SIZE, a.length);
+        assertArrayEquals(a, b);
+        assertEquals(1.0, RecipeMinHash.similarity(a, b), 0.0);
+    }
+
+    @Test
+    public void noNamesGivesNoSignature() {
+        assertNull(RecipeMinHash.signatureOf(Collections.emptyList()));
+        assertNull(RecipeMinHash.signatureOf(Arrays.asList("", null)));
+
+        List<RecipeSignature> signatures = new ArrayList<>();
+        List<RecipeLshBand> bands = new ArrayList<>();
+        RecipeMinHash.addRows(1, Collections.emptyList(), signatures, bands);
+
+        assertTrue(signatures.isEmpty());
+        assertTrue(bands.isEmpty());
+    }
+
+    @Test
+    public void similarityApproximatesJaccard() {
+        // 재료 100개씩, 50개 공유 → Jaccard 50 / 150
+        List<String> a = names(0, 100);
+        List<String> b = names(50, 150);
+
+        double estimate = RecipeMinHash.similarity(RecipeMinHash.signatureOf(a), RecipeMinHash.signatureOf(b));
+        assertEquals(1.0 / 3, estimate, 0.15);
+
+        double disjoint = RecipeMinHash.similarity(
+                RecipeMinHash.signatureOf(names(0, 100)), RecipeMinHash.signatureOf(names(100, 200)));
+        assertTrue("겹치지 않는 집합: " + disjoint, disjoint < 0.15);
+    }
+
+    @Test
+    public void bandsMatchForSameSignature() {
+        int[] signature = RecipeMinHash.signatureOf(Arrays.asList("두부", "김치", "돼지고기"));
+
+        List<RecipeLshBand> first = RecipeMinHash.bandsFor(1, signature);
+        List<RecipeLshBand> second = RecipeMinHash.bandsFor(2, signature.clone());
+
+        assertEquals(RecipeMinHash.BANDS, first.size());
+        for (int band = 0; band < RecipeMinHash.BANDS; band++) {
+            assertEquals(band, first.get(band).band);
+            assertEquals(1, first.get(band).recipeId);
+            assertEquals(first.get(band).bucket, second.get(band).bucket);
+        }
+    }
+
+    @Test
+    public void addRowsUsesIngredientNames() {
+        List<RecipeSignature> signatures = new ArrayList<>();
+        List<RecipeLshBand> bands = new ArrayList<>();
+        RecipeMinHash.addRows(9, Arrays.asList(ingredient("계란"), ingredient("대파")), signatures, bands);
+
+        assertEquals(1, signatures.size());
+        assertEquals(9, signatures.get(0).recipeId);
+        assertArrayEquals(RecipeMinHash.signatureOf(Arrays.asList("계란", "대파")),
+                RecipeMinHash.fromBytes(signatures.get(0).signature));
+        assertEquals(RecipeMinHash.BANDS, bands.size());
+    }
+
+    @Test
+    public void bytesRoundTrip() {
+        int[] signature = RecipeMinHash.signatureOf(names(0, 10));
+        byte[] bytes = RecipeMinHash.toBytes(signature);
+
+        assertEquals(RecipeMinHash.SIGNATURE_SIZE * 4, bytes.length);
+        assertArrayEquals(signature, RecipeMinHash.fromBytes(bytes));
+    }
+
+
+    private static List<String> names(int from, int to) {
+        List<String> names = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            names.add("재료" + i);
+        }
+        return names;
+    }
+
+    private static RecipeIngredient ingredient(String name) {
+        RecipeIngredient ingredient = new RecipeIngredient();
+        ingredient.name = name;
+        return ingredient;
+    }
+}
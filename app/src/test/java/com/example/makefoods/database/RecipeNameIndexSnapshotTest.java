@@ -0,0 +1,126 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+
+/**
+ * RecipeNameIndexSnapshot 테스트 (초성 변환, 음절/초성 자동완성)
+ * DB 없이 이름 배열로 직접 만들어서 사용
+ */
+public class RecipeNameIndexSnapshotTest {
+
+    // 순번 0 ~ 6
+    private static final String[] NAMES = {
+            "떡국", "떡갈비", "소고기 떡국", "돼지고기 김치찌개", "김치전", "구운 떡", "라면"
+    };
+
+    private static final int[] RECIPE_IDS = {10, 11, 12, 13, 14, 15, 16};
+
+
+    @Test
+    public void choseongOfSyllables() {
+        assertEquals('ㄸ', RecipeNameIndexSnapshot.choseongOf('떡'));
+        assertEquals('ㄱ', RecipeNameIndexSnapshot.choseongOf('국'));
+        assertEquals('ㅎ', RecipeNameIndexSnapshot.choseongOf('힣'));
+        assertEquals('a', RecipeNameIndexSnapshot.choseongOf('a'));
+        assertEquals('ㄱ', RecipeNameIndexSnapshot.choseongOf('ㄱ'));
+
+        assertTrue(RecipeNameIndexSnapshot.isChoseong('ㄱ'));
+        assertTrue(RecipeNameIndexSnapshot.isChoseong('ㅎ'));
+        assertFalse(RecipeNameIndexSnapshot.isChoseong('ㅏ'));
+        assertFalse(RecipeNameIndexSnapshot.isChoseong('가'));
+    }
+
+    @Test
+    public void normalizeKeepsLettersAndDigits() {
+        assertEquals("수육용삼겹살", RecipeNameIndexSnapshot.normalize("#수육용 삼겹살"));
+        assertEquals("bbq치킨2인분", RecipeNameIndexSnapshot.normalize("BBQ 치킨 (2인분)"));
+    }
+
+    @Test
+    public void syllablePrefixIncludesFinalConsonant() {
+        RecipeNameIndexSnapshot index = snapshot();
+
+        // "떡구" → 떡국 (마지막 음절은 받침까지), 떡갈비는 아님
+        assertArrayEquals(new int[]{0, 2}, index.suggest("떡구", 10));
+        assertArrayEquals(new int[]{0, 2}, index.suggest("떡국", 10));
+        assertArrayEquals(new int[]{1}, index.suggest("떡가", 10));
+        assertArrayEquals(new int[]{6}, index.suggest("라", 10));
+    }
+
+    @Test
+    public void matchesWordsInsideName() {
+        RecipeNameIndexSnapshot index = snapshot();
+
+        // 사전순: 김치전 < 김치찌개
+        assertArrayEquals(new int[]{4, 3}, index.suggest("김치", 10));
+        assertArrayEquals(new int[]{3}, index.suggest("돼지", 10));
+
+        // 단어 중간("고기", "갈비")부터는 일치하지 않음
+        assertArrayEquals(new int[]{5, 4, 3}, index.suggest("ㄱ", 10));
+        assertArrayEquals(new int[0], index.suggest("고기", 10));
+        assertArrayEquals(new int[0], index.suggest("갈비", 10));
+    }
+
+    @Test
+    public void choseongAndMixedQueries() {
+        RecipeNameIndexSnapshot index = snapshot();
+
+        assertArrayEquals(new int[]{0, 2, 1}, index.suggest("ㄸㄱ", 10));
+        assertArrayEquals(new int[]{0, 2, 1}, index.suggest("떡ㄱ", 10));
+        assertArrayEquals(new int[]{0, 2}, index.suggest("ㄸ국", 10));
+        assertArrayEquals(new int[]{4, 3}, index.suggest("ㄱㅊ", 10));
+        assertArrayEquals(new int[0], index.suggest("ㅋ", 10));
+    }
+
+    @Test
+    public void limitAndEmptyQuery() {
+        RecipeNameIndexSnapshot index = snapshot();
+
+        assertEquals(2, index.suggest("ㄸㄱ", 2).length);
+        assertEquals(0, index.suggest("떡", 0).length);
+        assertEquals(0, index.suggest("", 10).length);
+        assertEquals(0, index.suggest(" !", 10).length);
+        assertEquals(0, index.suggest(null, 10).length);
+    }
+
+    @Test
+    public void ordinalsMapToRecipes() {
+        RecipeNameIndexSnapshot index = snapshot();
+
+        assertEquals(NAMES.length, index.recipeCount());
+        int ordinal = index.suggest("소고기", 10)[0];
+        assertEquals(12, index.recipeIdAt(ordinal));
+        assertEquals("소고기 떡국", index.nameAt(ordinal));
+    }
+
+    @Test
+    public void fileRoundTripKeepsSortedOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot().writeTo(out, 3, 1234L);
+        byte[] bytes = out.toByteArray();
+
+        RecipeNameIndexSnapshot loaded = RecipeNameIndexSnapshot.readFrom(
+                new ByteArrayInputStream(bytes), 3, 1234L, NAMES.length);
+        assertArrayEquals(new int[]{0, 2, 1}, loaded.suggest("ㄸㄱ", 10));
+        assertArrayEquals(new int[]{4, 3}, loaded.suggest("김치", 10));
+        assertEquals("소고기 떡국", loaded.nameAt(2));
+
+        // 다른 데이터셋 기준 (버전, 갱신 시각, 레시피 수)이면 읽지 않음
+        assertNull(RecipeNameIndexSnapshot.readFrom(new ByteArrayInputStream(bytes), 4, 1234L, NAMES.length));
+        assertNull(RecipeNameIndexSnapshot.readFrom(new ByteArrayInputStream(bytes), 3, 1235L, NAMES.length));
+        assertNull(RecipeNameIndexSnapshot.readFrom(new ByteArrayInputStream(bytes), 3, 1234L, NAMES.length + 1));
+    }
+
+
+    private static RecipeNameIndexSnapshot snapshot() {
+        return RecipeNameIndexSnapshot.create(RECIPE_IDS, NAMES);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.makefoods.model.RecipeNameTrigram;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * RecipeNameTrigrams 테스트 (조각 만들기, 유사도)
+ */
+public class RecipeNameTrigramsTest {
+
+    @Test
+    public void splitsWordsWithPadding() {
+        assertEquals(Arrays.asList("  소", " 소고", "소고기", "고기 ", "  떡", " 떡국", "떡국 "),
+                new ArrayList<>(RecipeNameTrigrams.of("소고기 떡국")));
+    }
+
+    @Test
+    public void shortWordsStillHaveTrigrams() {
+        assertEquals(Arrays.asList("  죽", " 죽 "), new ArrayList<>(RecipeNameTrigrams.of("죽")));
+        assertEquals(Arrays.asList("  라", " 라면", "라면 "), new ArrayList<>(RecipeNameTrigrams.of("라면")));
+    }
+
+    @Test
+    public void ignoresSymbolsAndCaseAndDuplicates() {
+        assertEquals(RecipeNameTrigrams.of("소고기 떡국"), RecipeNameTrigrams.of("#소고기, 떡국!!"));
+        assertEquals(RecipeNameTrigrams.of("bbq"), RecipeNameTrigrams.of("BBQ"));
+        assertEquals(RecipeNameTrigrams.of("떡국"), RecipeNameTrigrams.of("떡국 떡국"));
+        assertTrue(RecipeNameTrigrams.of(null).isEmpty());
+        assertTrue(RecipeNameTrigrams.of(" !? ").isEmpty());
+    }
+
+    @Test
+    public void rowsForKeepsRecipeId() {
+        List<RecipeNameTrigram> rows = RecipeNameTrigrams.rowsFor(5, "떡국");
+
+        assertEquals(3, rows.size());
+        for (RecipeNameTrigram row : rows) {
+            assertEquals(5, row.recipeId);
+        }
+        assertEquals(" 떡국", rows.get(1).trigram);
+    }
+
+    @Test
+    public void similarityPrefersContainingAndShorterNames() {
+        double exact = similarityOf("소고기 떡국", "소고기 떡국");
+        double longer = similarityOf("소고기 떡국", "멸치육수 소고기 떡국 만드는법");
+        double partial = similarityOf("소고기 떡국", "소고기 무국");
+        double unrelated = similarityOf("소고기 떡국", "김치전");
+
+        assertEquals(1.0, exact, 1e-9);
+        assertTrue(longer > partial);
+        assertTrue(partial > unrelated);
+        assertEquals(0.0, unrelated, 0.0);
+        assertEquals(0.0, RecipeNameTrigrams.similarity(0, 5, 0), 0.0);
+    }
+
+
+    private static double similarityOf(String query, String recipeName) {
+        Set<String> queryTrigrams = RecipeNameTrigrams.of(query);
+        Set<String> recipeTrigrams = RecipeNameTrigrams.of(recipeName);
+        Set<String> shared = new HashSet<>(queryTrigrams);
+        shared.retainAll(recipeTrigrams);
+        return RecipeNameTrigrams.similarity(queryTrigrams.size(), recipeTrigrams.size(), shared.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.makefoods.database;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+
+/**
+ * RecipeTextIndexSnapshot 테스트 (단어 조각, BM25 순서, 파일 형식)
+ * DB 없이 Builder에 설명/조리 단계를 직접 넣어서 사용
+ */
+public class RecipeTextIndexSnapshotTest {
+
+    @Test
+    public void termsAreOverlappingPairsPerWord() {
+        assertArrayEquals(RecipeTextIndexSnapshot.terms("매콤", "콤한", "떡"),
+                RecipeTextIndexSnapshot.terms("매콤한 떡"));
+        assertArrayEquals(RecipeTextIndexSnapshot.terms("ab"), RecipeTextIndexSnapshot.terms("AB!"));
+        assertEquals(0, RecipeTextIndexSnapshot.terms(null, " ,.").length);
+    }
+
+    @Test
+    public void searchRanksByBm25() {
+        RecipeTextIndexSnapshot index = snapshot();
+
+        // 매콤: 11번 2회 > 10번 1회 (짧은 글) > 13번 1회 (긴 글), 12번은 없음
+        assertArrayEquals(new int[]{1, 0, 3}, index.search("매콤", 10));
+        assertArrayEquals(new int[]{1}, index.search("매콤", 1));
+
+        // 매콤하게: 조각 세 개(매콤, 콤하, 하게)가 모두 나오는 13번이 먼저
+        assertArrayEquals(new int[]{3, 1, 0}, index.search("매콤하게", 10));
+        assertArrayEquals(new int[]{2}, index.search("담백한", 10));
+        assertEquals(0, index.search("초콜릿", 10).length);
+        assertEquals(0, index.search(null, 10).length);
+        assertEquals(11, index.recipeIdAt(1));
+    }
+
+    @Test
+    public void fileRoundTripKeepsScores() throws Exception {
+        RecipeTextIndexSnapshot index = snapshot();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out, 2, 99L);
+        byte[] bytes = out.toByteArray();
+
+        RecipeTextIndexSnapshot loaded = RecipeTextIndexSnapshot.readFrom(new ByteArrayInputStream(bytes), 2, 99L, 4);
+        assertEquals(index.recipeCount(), loaded.recipeCount());
+        assertEquals(index.memoryBytes(), loaded.memoryBytes());
+        assertArrayEquals(index.search("매콤하게 끓인 국물", 10), loaded.search("매콤하게 끓인 국물", 10));
+
+        // 다른 데이터셋 기준이면 읽지 않음
+        assertNull(RecipeTextIndexSnapshot.readFrom(new ByteArrayInputStream(bytes), 1, 99L, 4));
+        assertNull(RecipeTextIndexSnapshot.readFrom(new ByteArrayInputStream(bytes), 2, 98L, 4));
+        assertNull(RecipeTextIndexSnapshot.readFrom(new ByteArrayInputStream(bytes), 2, 99L, 5));
+    }
+
+
+    // 순번 0 ~ 3 = recipeId 10 ~ 13
+    private static RecipeTextIndexSnapshot snapshot() {
+        RecipeTextIndexSnapshot.Builder builder = new RecipeTextIndexSnapshot.Builder();
+        builder.add(10, "매콤한 찌개", "1. 국물을 끓인다.");
+        builder.add(11, "매콤 매콤한 볶음", null);
+        builder.add(12, "담백한 국", "1. 육수를 끓인다.");
+        builder.add(13, null, "1. 매콤하게 볶는다. 2. 국물을 조린다.");
+        return builder.build();
+    }
+}